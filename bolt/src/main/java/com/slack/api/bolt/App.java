@@ -26,6 +26,7 @@ import com.slack.api.bolt.service.builtin.DefaultOAuthCallbackService;
 import com.slack.api.bolt.service.builtin.FileInstallationService;
 import com.slack.api.bolt.service.builtin.oauth.*;
 import com.slack.api.bolt.service.builtin.oauth.default_impl.*;
+import com.slack.api.methods.MethodsConfig;
 import com.slack.api.methods.SlackApiException;
 import com.slack.api.model.event.Event;
 import com.slack.api.model.event.MessageEvent;
@@ -86,6 +87,12 @@ public class App {
         RequestVerification requestVerification = new RequestVerification(verifier);
         middlewareList.add(requestVerification);
 
+        // removing the cached API responses when Slack notifies their changes
+        MethodsConfig methodsConfig = appConfig.getSlack().getConfig().getMethodsConfig();
+        if (!methodsConfig.getResponseCacheTtlMillis().isEmpty()) {
+            middlewareList.add(new ResponseCacheInvalidation(appConfig.getSlack().getConfig()));
+        }
+
         // single team authorization
         if (appConfig.isDistributedApp()) {
             middlewareList.add(new MultiTeamsAuthorization(config(), installationService));
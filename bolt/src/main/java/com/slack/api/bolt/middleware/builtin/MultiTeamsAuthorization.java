@@ -12,6 +12,7 @@ import com.slack.api.bolt.response.Responder;
 import com.slack.api.bolt.response.Response;
 import com.slack.api.bolt.service.InstallationService;
 import com.slack.api.methods.SlackApiException;
+import com.slack.api.methods.impl.TeamIdCache;
 import com.slack.api.methods.response.auth.AuthTestResponse;
 import com.slack.api.model.block.LayoutBlock;
 import lombok.extern.slf4j.Slf4j;
@@ -62,6 +63,8 @@ public class MultiTeamsAuthorization implements Middleware {
         Installer installer = null;
         if (bot != null) {
             botToken = bot.getBotAccessToken();
+            // The team ID for the token is already known; the API client doesn't need to call auth.test for it
+            TeamIdCache.put(botToken, bot.getTeamId());
         }
 
         if ((isAlwaysRequestUserTokenNeeded() || bot == null) && context.getRequestUserId() != null) {
@@ -73,6 +76,7 @@ public class MultiTeamsAuthorization implements Middleware {
             );
             if (installer != null) {
                 userToken = installer.getInstallerUserAccessToken();
+                TeamIdCache.put(userToken, installer.getTeamId());
             }
         }
 
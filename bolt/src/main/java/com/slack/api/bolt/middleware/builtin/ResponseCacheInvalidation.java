@@ -0,0 +1,136 @@
+package com.slack.api.bolt.middleware.builtin;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.slack.api.SlackConfig;
+import com.slack.api.bolt.middleware.Middleware;
+import com.slack.api.bolt.middleware.MiddlewareChain;
+import com.slack.api.bolt.request.Request;
+import com.slack.api.bolt.request.RequestType;
+import com.slack.api.bolt.request.builtin.EventRequest;
+import com.slack.api.bolt.response.Response;
+import com.slack.api.methods.Methods;
+import com.slack.api.methods.cache.ResponseCacheStore;
+import com.slack.api.util.json.GsonFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Removes the API responses cached by {@link com.slack.api.methods.MethodsConfig#getResponseCacheTtlMillis()}
+ * when Events API notifies the changes of the resources (e.g., user_change for users.info).
+ */
+@Slf4j
+public class ResponseCacheInvalidation implements Middleware {
+
+    // The event types handled in #invalidate - the other events are passed through without parsing their bodies
+    private static final Set<String> EVENT_TYPES = new HashSet<>(Arrays.asList(
+            "user_change", "team_join",
+            "channel_rename", "channel_archive", "channel_unarchive", "channel_deleted", "channel_left",
+            "group_rename", "group_archive", "group_unarchive", "group_deleted", "group_left",
+            "member_joined_channel", "member_left_channel", "channel_id_changed",
+            "bot_changed",
+            "team_rename", "team_domain_change",
+            "subteam_created", "subteam_updated", "subteam_members_changed",
+            "app_uninstalled", "tokens_revoked"
+    ));
+
+    private final Gson gson;
+    private final ResponseCacheStore store;
+
+    public ResponseCacheInvalidation(SlackConfig config) {
+        this.gson = GsonFactory.createSnakeCase(config);
+        this.store = config.getMethodsConfig().getResponseCacheStore();
+    }
+
+    @Override
+    public Response apply(Request req, Response resp, MiddlewareChain chain) throws Exception {
+        if (req.getRequestType() == RequestType.Event) {
+            String teamId = req.getContext().getTeamId();
+            if (teamId != null) {
+                try {
+                    invalidate(teamId, (EventRequest) req);
+                } catch (RuntimeException e) {
+                    log.warn("Failed to invalidate the cached API responses (team: {}, error: {})", teamId, e.getMessage(), e);
+                }
+            }
+        }
+        return chain.next(req);
+    }
+
+    private void invalidate(String teamId, EventRequest req) {
+        String eventType = req.getEventType();
+        if (eventType == null || !EVENT_TYPES.contains(eventType)) {
+            return;
+        }
+        JsonObject event = gson.fromJson(req.getRequestBodyAsString(), JsonElement.class)
+                .getAsJsonObject().getAsJsonObject("event");
+        switch (eventType) {
+            case "user_change":
+            case "team_join":
+                invalidate(teamId, Methods.USERS_INFO, extractId(event.get("user")));
+                invalidate(teamId, Methods.USERS_PROFILE_GET, extractId(event.get("user")));
+                break;
+            case "channel_rename":
+            case "channel_archive":
+            case "channel_unarchive":
+            case "channel_deleted":
+            case "channel_left":
+            case "group_rename":
+            case "group_archive":
+            case "group_unarchive":
+            case "group_deleted":
+            case "group_left":
+            case "member_joined_channel":
+            case "member_left_channel":
+                invalidate(teamId, Methods.CONVERSATIONS_INFO, extractId(event.get("channel")));
+                break;
+            case "channel_id_changed":
+                invalidate(teamId, Methods.CONVERSATIONS_INFO, extractId(event.get("old_channel_id")));
+                break;
+            case "bot_changed":
+                invalidate(teamId, Methods.BOTS_INFO, extractId(event.get("bot")));
+                break;
+            case "team_rename":
+            case "team_domain_change":
+                invalidate(teamId, Methods.TEAM_INFO, "");
+                invalidate(teamId, Methods.TEAM_INFO, teamId);
+                break;
+            case "subteam_created":
+            case "subteam_updated":
+            case "subteam_members_changed":
+                invalidate(teamId, Methods.USERGROUPS_LIST, "");
+                break;
+            case "app_uninstalled":
+            case "tokens_revoked":
+                store.invalidateAll(teamId);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void invalidate(String teamId, String methodName, String resourceId) {
+        if (resourceId != null) {
+            log.debug("Invalidating the cached {} API responses (team: {}, resource: {})", methodName, teamId, resourceId);
+            store.invalidate(teamId, methodName, resourceId);
+        }
+    }
+
+    // The ID of a resource in an event is either a string or an object that has "id"
+    private static String extractId(JsonElement elem) {
+        if (elem == null || elem.isJsonNull()) {
+            return null;
+        } else if (elem.isJsonPrimitive()) {
+            return elem.getAsString();
+        } else if (elem.isJsonObject() && elem.getAsJsonObject().get("id") != null) {
+            return elem.getAsJsonObject().get("id").getAsString();
+        } else {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+package test_locally.middleware;
+
+import com.slack.api.SlackConfig;
+import com.slack.api.bolt.middleware.MiddlewareChain;
+import com.slack.api.bolt.middleware.builtin.ResponseCacheInvalidation;
+import com.slack.api.bolt.request.RequestHeaders;
+import com.slack.api.bolt.request.builtin.EventRequest;
+import com.slack.api.bolt.response.Response;
+import com.slack.api.methods.MethodsConfig;
+import com.slack.api.methods.cache.ResponseCacheStore;
+import com.slack.api.methods.cache.impl.MemoryResponseCacheStore;
+import org.junit.Test;
+
+import java.util.HashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ResponseCacheInvalidationTest {
+
+    final MiddlewareChain chain = req -> Response.error(404);
+
+    ResponseCacheStore store = new MemoryResponseCacheStore();
+    SlackConfig config = new SlackConfig();
+
+    {
+        config.setMethodsConfig(MethodsConfig.builder().responseCacheStore(store).build());
+    }
+
+    EventRequest buildRequest(String event) {
+        String body = "{\"token\":\"xxx\",\"team_id\":\"T123\",\"type\":\"event_callback\",\"event\":" + event + "}";
+        return new EventRequest(body, new RequestHeaders(new HashMap<>()));
+    }
+
+    @Test
+    public void userChange() throws Exception {
+        store.put("T123", "users.info", "U111", "", "{\"ok\":true}", 60_000L);
+        store.put("T123", "users.info", "U222", "", "{\"ok\":true}", 60_000L);
+        EventRequest req = buildRequest("{\"type\":\"user_change\",\"user\":{\"id\":\"U111\",\"name\":\"foo\"}}");
+        Response result = new ResponseCacheInvalidation(config).apply(req, new Response(), chain);
+        assertEquals(404L, result.getStatusCode().longValue());
+        assertNull(store.get("T123", "users.info", "U111", ""));
+        assertEquals("{\"ok\":true}", store.get("T123", "users.info", "U222", ""));
+    }
+
+    @Test
+    public void channelRename() throws Exception {
+        store.put("T123", "conversations.info", "C111", "include_locale=true", "{\"ok\":true}", 60_000L);
+        EventRequest req = buildRequest("{\"type\":\"channel_rename\",\"channel\":{\"id\":\"C111\",\"name\":\"new-name\"}}");
+        new ResponseCacheInvalidation(config).apply(req, new Response(), chain);
+        assertNull(store.get("T123", "conversations.info", "C111", "include_locale=true"));
+    }
+
+    @Test
+    public void memberJoinedChannel() throws Exception {
+        store.put("T123", "conversations.info", "C111", "", "{\"ok\":true}", 60_000L);
+        EventRequest req = buildRequest("{\"type\":\"member_joined_channel\",\"user\":\"U111\",\"channel\":\"C111\"}");
+        new ResponseCacheInvalidation(config).apply(req, new Response(), chain);
+        assertNull(store.get("T123", "conversations.info", "C111", ""));
+    }
+
+    @Test
+    public void tokensRevoked() throws Exception {
+        store.put("T123", "users.info", "U111", "", "{\"ok\":true}", 60_000L);
+        store.put("T123", "usergroups.list", "", "", "{\"ok\":true}", 60_000L);
+        EventRequest req = buildRequest("{\"type\":\"tokens_revoked\",\"tokens\":{\"bot\":[\"U999\"]}}");
+        new ResponseCacheInvalidation(config).apply(req, new Response(), chain);
+        assertNull(store.get("T123", "users.info", "U111", ""));
+        assertNull(store.get("T123", "usergroups.list", "", ""));
+    }
+
+}
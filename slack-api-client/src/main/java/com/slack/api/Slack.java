@@ -4,6 +4,7 @@ import com.slack.api.audit.AuditClient;
 import com.slack.api.audit.impl.AuditClientImpl;
 import com.slack.api.methods.*;
 import com.slack.api.methods.impl.AsyncMethodsClientImpl;
+import com.slack.api.methods.impl.FilesDownloaderImpl;
 import com.slack.api.methods.impl.MethodsClientImpl;
 import com.slack.api.methods.request.rtm.RTMConnectRequest;
 import com.slack.api.methods.request.rtm.RTMStartRequest;
@@ -19,15 +20,23 @@ import com.slack.api.status.v1.LegacyStatusClient;
 import com.slack.api.status.v1.impl.LegacyStatusClientImpl;
 import com.slack.api.status.v2.StatusClient;
 import com.slack.api.status.v2.impl.StatusClientImpl;
+import com.slack.api.util.http.HttpCallTimingsEventListener;
 import com.slack.api.util.http.SlackHttpClient;
+import com.slack.api.util.thread.ExecutorServiceFactory;
 import com.slack.api.webhook.Payload;
 import com.slack.api.webhook.WebhookResponse;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import okhttp3.Response;
 
 import java.io.IOException;
 import java.net.*;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class is a kind of facade of a variety of Slack API clients offered by this SDK.
@@ -53,6 +62,8 @@ public class Slack implements AutoCloseable {
 
     private final SlackHttpClient httpClient;
     private final SlackConfig config;
+    // lazily created as most apps don't download files
+    private volatile ExecutorService filesDownloaderExecutor;
 
     public Slack() {
         this(SlackConfig.DEFAULT, buildHttpClient(SlackConfig.DEFAULT));
@@ -95,6 +106,9 @@ public class Slack implements AutoCloseable {
     @Override
     public void close() throws Exception {
         getHttpClient().close();
+        if (filesDownloaderExecutor != null) {
+            filesDownloaderExecutor.shutdown();
+        }
     }
 
     /**
@@ -297,31 +311,70 @@ public class Slack implements AutoCloseable {
         return new AsyncMethodsClientImpl(token, client, config);
     }
 
+    /**
+     * Creates a client that downloads the files uploaded to Slack.
+     */
+    public FilesDownloader filesDownloader(String token) {
+        return new FilesDownloaderImpl(httpClient, token, getOrCreateFilesDownloaderExecutor());
+    }
+
     public MethodsStats methodsStats(String teamId) {
         return methodsStats(MethodsConfig.DEFAULT_SINGLETON_EXECUTOR_NAME, teamId);
     }
 
     public MethodsStats methodsStats(String executorName, String teamId) {
-        return config.getMethodsConfig().getMetricsDatastore().getStats(executorName, teamId);
+        MethodsStats stats = config.getMethodsConfig().getMetricsDatastore().getStats(executorName, teamId);
+        if (stats == null) {
+            // e.g., RedisMetricsDatastore has no stats for the team yet
+            return null;
+        }
+        stats.setHttpClientQueuedCalls(httpClient.getQueuedCallsCount());
+        stats.setHttpClientRunningCalls(httpClient.getRunningCallsCount());
+        return stats;
     }
 
     // -------------------------------------------------------
 
+    private ExecutorService getOrCreateFilesDownloaderExecutor() {
+        if (filesDownloaderExecutor == null) {
+            synchronized (this) {
+                if (filesDownloaderExecutor == null) {
+                    filesDownloaderExecutor = ExecutorServiceFactory.createDaemonThreadPoolExecutor(
+                            "slack-files-downloader", config.getFilesDownloaderMaxConcurrency());
+                }
+            }
+        }
+        return filesDownloaderExecutor;
+    }
+
     private static SlackHttpClient buildHttpClient(SlackConfig config) {
-        OkHttpClient okHttpClient;
+        OkHttpClient.Builder okHttpClient = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(
+                        config.getHttpClientMaxIdleConnections(),
+                        config.getHttpClientKeepAliveDurationMillis(),
+                        TimeUnit.MILLISECONDS))
+                .connectTimeout(config.getHttpClientConnectTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .readTimeout(config.getHttpClientReadTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .writeTimeout(config.getHttpClientWriteTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .callTimeout(config.getHttpClientCallTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .eventListenerFactory(HttpCallTimingsEventListener.FACTORY);
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(config.getHttpClientMaxRequests());
+        dispatcher.setMaxRequestsPerHost(config.getHttpClientMaxRequestsPerHost());
+        okHttpClient.dispatcher(dispatcher);
+        if (!config.isHttp2Enabled()) {
+            okHttpClient.protocols(Collections.singletonList(Protocol.HTTP_1_1));
+        }
         if (config.getProxyUrl() != null && !config.getProxyUrl().trim().isEmpty()) {
             try {
                 URL url = new URL(config.getProxyUrl());
                 InetSocketAddress address = new InetSocketAddress(url.getHost(), url.getPort());
-                Proxy proxy = new Proxy(Proxy.Type.HTTP, address);
-                okHttpClient = new OkHttpClient.Builder().proxy(proxy).build();
+                okHttpClient.proxy(new Proxy(Proxy.Type.HTTP, address));
             } catch (MalformedURLException e) {
                 throw new IllegalArgumentException("Failed to parse the proxy URL: " + config.getProxyUrl());
             }
-        } else {
-            okHttpClient = new OkHttpClient.Builder().build();
         }
-        SlackHttpClient httpClient = new SlackHttpClient(okHttpClient);
+        SlackHttpClient httpClient = new SlackHttpClient(okHttpClient.build());
         httpClient.setConfig(config);
         return httpClient;
     }
@@ -3,16 +3,20 @@ package com.slack.api;
 import com.slack.api.audit.AuditClient;
 import com.slack.api.methods.MethodsClient;
 import com.slack.api.methods.MethodsConfig;
+import com.slack.api.methods.MethodsRateLimitTier;
 import com.slack.api.scim.SCIMClient;
 import com.slack.api.status.v1.LegacyStatusClient;
 import com.slack.api.status.v2.StatusClient;
 import com.slack.api.util.http.listener.DetailedLoggingListener;
+import com.slack.api.util.http.listener.HttpCallTimingsListener;
 import com.slack.api.util.http.listener.HttpResponseListener;
 import com.slack.api.util.http.listener.ResponsePrettyPrintingListener;
 import lombok.Data;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * The basic configuration of this SDK. Some settings can be propagated to sub modules such as Bolt.
@@ -44,11 +48,21 @@ public class SlackConfig {
             throwException();
         }
 
+        @Override
+        public void setUnknownPropertyRecordingEnabled(boolean unknownPropertyRecordingEnabled) {
+            throwException();
+        }
+
         @Override
         public void setTokenExistenceVerificationEnabled(boolean tokenExistenceVerificationEnabled) {
             throwException();
         }
 
+        @Override
+        public void setModelTypeAdapterFactoryEnabled(boolean modelTypeAdapterFactoryEnabled) {
+            throwException();
+        }
+
         @Override
         public void setHttpClientResponseHandlers(List<HttpResponseListener> httpClientResponseHandlers) {
             throwException();
@@ -88,6 +102,81 @@ public class SlackConfig {
         public void setProxyUrl(String proxyUrl) {
             throwException();
         }
+
+        @Override
+        public void setHttpClientMaxIdleConnections(int httpClientMaxIdleConnections) {
+            throwException();
+        }
+
+        @Override
+        public void setHttpClientKeepAliveDurationMillis(long httpClientKeepAliveDurationMillis) {
+            throwException();
+        }
+
+        @Override
+        public void setHttpClientMaxRequests(int httpClientMaxRequests) {
+            throwException();
+        }
+
+        @Override
+        public void setHttpClientMaxRequestsPerHost(int httpClientMaxRequestsPerHost) {
+            throwException();
+        }
+
+        @Override
+        public void setHttpClientConnectTimeoutMillis(long httpClientConnectTimeoutMillis) {
+            throwException();
+        }
+
+        @Override
+        public void setHttpClientReadTimeoutMillis(long httpClientReadTimeoutMillis) {
+            throwException();
+        }
+
+        @Override
+        public void setHttpClientWriteTimeoutMillis(long httpClientWriteTimeoutMillis) {
+            throwException();
+        }
+
+        @Override
+        public void setHttpClientCallTimeoutMillis(long httpClientCallTimeoutMillis) {
+            throwException();
+        }
+
+        @Override
+        public void setHttpClientCallTimeoutMillisPerTier(Map<MethodsRateLimitTier, Long> httpClientCallTimeoutMillisPerTier) {
+            throwException();
+        }
+
+        @Override
+        public void setHttp2Enabled(boolean http2Enabled) {
+            throwException();
+        }
+
+        @Override
+        public void setHttpClientCallTimingsEnabled(boolean httpClientCallTimingsEnabled) {
+            throwException();
+        }
+
+        @Override
+        public void setHttpClientCallTimingsListeners(List<HttpCallTimingsListener> httpClientCallTimingsListeners) {
+            throwException();
+        }
+
+        @Override
+        public void setFilesDownloaderMaxConcurrency(int filesDownloaderMaxConcurrency) {
+            throwException();
+        }
+
+        @Override
+        public void setFilesDownloaderMaxResumeAttempts(int filesDownloaderMaxResumeAttempts) {
+            throwException();
+        }
+
+        @Override
+        public void setFilesDownloaderBufferSize(int filesDownloaderBufferSize) {
+            throwException();
+        }
     };
 
     public SlackConfig() {
@@ -109,9 +198,26 @@ public class SlackConfig {
 
     /**
      * If you would like to detect unknown properties by throwing exceptions, set this flag as true.
+     * The detection enables ModelTypeAdapterFactory regardless of modelTypeAdapterFactoryEnabled.
      */
     private boolean failOnUnknownProperties = false;
 
+    /**
+     * If true, unknown properties in API responses are counted by UnknownPropertyRecorder instead of being ignored.
+     * Unlike failOnUnknownProperties, this mode doesn't stop parsing, so it's light enough to be enabled
+     * in staging environments. This flag is ignored when failOnUnknownProperties or libraryMaintainerMode is true.
+     * As the recording is done by ModelTypeAdapterFactory, enabling this flag enables the factory as well.
+     */
+    private boolean unknownPropertyRecordingEnabled = false;
+
+    /**
+     * If true, the model and API response classes are parsed and serialized by ModelTypeAdapterFactory
+     * instead of Gson's reflective adapters. The factory is faster but relies on some Gson internals.
+     * Regardless of this flag, the Block Kit classes are always parsed by the factory, and so are all the classes
+     * when failOnUnknownProperties or libraryMaintainerMode is true.
+     */
+    private boolean modelTypeAdapterFactoryEnabled = false;
+
     /**
      * Slack Web API client verifies the existence of tokens before sending HTTP requests to Slack servers.
      */
@@ -131,4 +237,78 @@ public class SlackConfig {
 
     private MethodsConfig methodsConfig = MethodsConfig.DEFAULT_SINGLETON;
 
+    // -------------------------------------------------------
+    // The OkHttpClient settings applied when building a Slack instance with this config
+
+    /**
+     * The max number of idle connections to keep in the connection pool.
+     */
+    private int httpClientMaxIdleConnections = 5;
+
+    /**
+     * The time to keep an idle connection in the connection pool.
+     */
+    private long httpClientKeepAliveDurationMillis = 5 * 60 * 1000L;
+
+    /**
+     * The max number of asynchronous requests to execute concurrently.
+     */
+    private int httpClientMaxRequests = 64;
+
+    /**
+     * The max number of asynchronous requests to execute concurrently for each host.
+     * As all the Web API calls go to slack.com, this is usually the effective limit.
+     */
+    private int httpClientMaxRequestsPerHost = 5;
+
+    private long httpClientConnectTimeoutMillis = 10 * 1000L;
+
+    private long httpClientReadTimeoutMillis = 10 * 1000L;
+
+    private long httpClientWriteTimeoutMillis = 10 * 1000L;
+
+    /**
+     * The time limit for a whole HTTP call including DNS resolution, connecting, sending the request,
+     * and reading the response. 0 means no time limit.
+     */
+    private long httpClientCallTimeoutMillis = 0L;
+
+    /**
+     * Rate limit tier -> the time limit for a whole Web API call in the tier.
+     * The value overrides httpClientCallTimeoutMillis for the methods in the tier.
+     */
+    private Map<MethodsRateLimitTier, Long> httpClientCallTimeoutMillisPerTier = new HashMap<>();
+
+    /**
+     * If false, the HTTP client uses only HTTP/1.1.
+     */
+    private boolean http2Enabled = true;
+
+    /**
+     * If true, the DNS lookup, connecting, TLS handshake, request writing, time-to-first-byte, body reading,
+     * and JSON parsing durations of Web API calls are recorded into the metrics datastore
+     * and passed to httpClientCallTimingsListeners.
+     * <p>
+     * The network timings are recorded with custom OkHttpClients as well, as SlackHttpClient adds
+     * its event listener to them while keeping the client's own one.
+     */
+    private boolean httpClientCallTimingsEnabled = false;
+
+    private List<HttpCallTimingsListener> httpClientCallTimingsListeners = new ArrayList<>();
+
+    /**
+     * The maximum number of files that FilesDownloader#downloadAsync downloads at the same time.
+     */
+    private int filesDownloaderMaxConcurrency = 4;
+
+    /**
+     * The maximum number of times FilesDownloader resumes an interrupted download with a Range request.
+     */
+    private int filesDownloaderMaxResumeAttempts = 3;
+
+    /**
+     * The size of the buffer FilesDownloader uses to copy a response body to its destination.
+     */
+    private int filesDownloaderBufferSize = 64 * 1024;
+
 }
\ No newline at end of file
@@ -117,6 +117,10 @@ public class AuditClientImpl implements AuditClient {
     }
 
     private <T> T parseJsonResponseAndRunListeners(Response response, Class<T> clazz) throws IOException, AuditApiException {
+        if (response.isSuccessful() && !slackHttpClient.isResponseBodyRequiredByListeners()) {
+            slackHttpClient.runHttpResponseListeners(response, null);
+            return SlackHttpClient.parseJsonResponseBody(GsonFactory.createSnakeCase(slackHttpClient.getConfig()), response, clazz);
+        }
         String body = response.body().string();
         slackHttpClient.runHttpResponseListeners(response, body);
         if (response.isSuccessful()) {
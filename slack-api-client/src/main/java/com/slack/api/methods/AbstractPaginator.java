@@ -0,0 +1,109 @@
+package com.slack.api.methods;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The item iteration shared by {@link CursorPaginator} and {@link PageNumberPaginator}.
+ */
+abstract class AbstractPaginator<R extends SlackApiResponse, T> implements Iterable<T> {
+
+    interface Pages<R> extends Iterator<R> {
+        /**
+         * Stops the iteration and cancels the page requests in progress.
+         */
+        void cancel();
+    }
+
+    private final Function<R, List<T>> itemsExtractor;
+
+    AbstractPaginator(Function<R, List<T>> itemsExtractor) {
+        this.itemsExtractor = itemsExtractor;
+    }
+
+    /**
+     * Returns a new iterator over the pages. Each iterator starts from the first page.
+     */
+    public abstract Pages<R> pages();
+
+    @Override
+    public Iterator<T> iterator() {
+        return new ItemIterator(pages());
+    }
+
+    /**
+     * Returns a sequential stream of the items. Closing the stream cancels the page requests in progress.
+     */
+    public Stream<T> stream() {
+        Pages<R> pages = pages();
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(new ItemIterator(pages), Spliterator.ORDERED);
+        return StreamSupport.stream(spliterator, false).onClose(pages::cancel);
+    }
+
+    private class ItemIterator implements Iterator<T> {
+
+        private final Pages<R> pages;
+        private Iterator<T> items = Collections.emptyIterator();
+
+        ItemIterator(Pages<R> pages) {
+            this.pages = pages;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!items.hasNext()) {
+                if (!pages.hasNext()) {
+                    return false;
+                }
+                List<T> pageItems = itemsExtractor.apply(pages.next());
+                items = pageItems != null ? pageItems.iterator() : Collections.emptyIterator();
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return items.next();
+        }
+    }
+
+    static MethodsCompletionException unsuccessfulResponse(SlackApiResponse page) {
+        return new MethodsCompletionException(null, null,
+                new IllegalStateException("Got an unsuccessful response (error: " + page.getError() + ")"));
+    }
+
+    static <R> R await(CompletableFuture<R> page) {
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof MethodsCompletionException) {
+                throw (MethodsCompletionException) cause;
+            } else if (cause instanceof IOException) {
+                throw new MethodsCompletionException((IOException) cause, null, null);
+            } else if (cause instanceof SlackApiException) {
+                throw new MethodsCompletionException(null, (SlackApiException) cause, null);
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Exception) {
+                throw new MethodsCompletionException(null, null, (Exception) cause);
+            } else {
+                throw e;
+            }
+        }
+    }
+
+}
@@ -120,6 +120,7 @@ import com.slack.api.methods.response.views.ViewsPushResponse;
 import com.slack.api.methods.response.views.ViewsUpdateResponse;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * API Methods.
@@ -129,6 +130,27 @@ public interface AsyncMethodsClient {
 
     MethodsClient underlying();
 
+    /**
+     * Returns a client that puts the calls into the queue lane for the given priority.
+     * For instance, the calls for views.open with a trigger_id should be {@link MethodsCallPriority#Interactive}.
+     * The implementations without priority lanes return this client as-is.
+     */
+    default AsyncMethodsClient withPriority(MethodsCallPriority priority) {
+        return this;
+    }
+
+    /**
+     * Returns a client whose calls give up after the given time limit including the time waiting in the queue.
+     * The time limit overrides {@link MethodsConfig#getDefaultTimeoutMillis()}.
+     * A timed-out call completes exceptionally with a {@link MethodsCompletionException} whose
+     * {@link MethodsCompletionException#getOtherException()} is a {@link java.util.concurrent.TimeoutException},
+     * and is removed from the queue.
+     * The implementations without time limits return this client as-is.
+     */
+    default AsyncMethodsClient withTimeout(long timeout, TimeUnit unit) {
+        return this;
+    }
+
     // ------------------------------
     // admin.apps
     // ------------------------------
@@ -0,0 +1,232 @@
+package com.slack.api.methods;
+
+import com.slack.api.RequestConfigurator;
+import com.slack.api.methods.request.conversations.ConversationsHistoryRequest;
+import com.slack.api.methods.request.conversations.ConversationsListRequest;
+import com.slack.api.methods.request.conversations.ConversationsMembersRequest;
+import com.slack.api.methods.request.files.remote.FilesRemoteListRequest;
+import com.slack.api.methods.request.users.UsersListRequest;
+import com.slack.api.methods.response.conversations.ConversationsHistoryResponse;
+import com.slack.api.methods.response.conversations.ConversationsListResponse;
+import com.slack.api.methods.response.conversations.ConversationsMembersResponse;
+import com.slack.api.methods.response.files.remote.FilesRemoteListResponse;
+import com.slack.api.methods.response.users.UsersListResponse;
+import com.slack.api.model.Conversation;
+import com.slack.api.model.File;
+import com.slack.api.model.Message;
+import com.slack.api.model.ResponseMetadata;
+import com.slack.api.model.User;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Iterates over the items of a cursor-based API method (e.g., conversations.list) page by page.
+ * <pre>
+ * CursorPaginator.conversationsList(asyncClient, r -&gt; r.limit(200)).stream()
+ *     .filter(c -&gt; c.isMember())
+ *     .forEach(c -&gt; ...);
+ * </pre>
+ * The pages are fetched lazily. With {@link AsyncMethodsClient}, the next page is requested through its
+ * rate-limited queue as soon as the current page is handed to the consumer, so that the consumer doesn't wait
+ * for the next page while processing the current one. No more pages are requested until the consumer moves on
+ * to the prefetched page. With {@link MethodsClient}, each page is requested when the consumer needs it.
+ * <p>
+ * Errors and unsuccessful responses are thrown as {@link MethodsCompletionException} from the iterator.
+ */
+public class CursorPaginator<R extends SlackApiResponse, T> extends AbstractPaginator<R, T> {
+
+    @FunctionalInterface
+    public interface PageFetcher<R extends SlackApiResponse> {
+        R fetch(String cursor) throws IOException, SlackApiException;
+    }
+
+    private final Function<String, CompletableFuture<R>> pageFetcher;
+    private final Function<R, ResponseMetadata> metadataExtractor;
+    private final boolean prefetchEnabled;
+
+    private CursorPaginator(
+            Function<String, CompletableFuture<R>> pageFetcher,
+            Function<R, List<T>> itemsExtractor,
+            Function<R, ResponseMetadata> metadataExtractor,
+            boolean prefetchEnabled) {
+        super(itemsExtractor);
+        this.pageFetcher = pageFetcher;
+        this.metadataExtractor = metadataExtractor;
+        this.prefetchEnabled = prefetchEnabled;
+    }
+
+    /**
+     * Creates a paginator that prefetches the next page. pageFetcher receives null for the first page.
+     */
+    public static <R extends SlackApiResponse, T> CursorPaginator<R, T> create(
+            Function<String, CompletableFuture<R>> pageFetcher,
+            Function<R, List<T>> itemsExtractor,
+            Function<R, ResponseMetadata> metadataExtractor) {
+        return new CursorPaginator<>(pageFetcher, itemsExtractor, metadataExtractor, true);
+    }
+
+    /**
+     * Creates a paginator that requests a page in the consumer's thread when the consumer needs it.
+     */
+    public static <R extends SlackApiResponse, T> CursorPaginator<R, T> createBlocking(
+            PageFetcher<R> pageFetcher,
+            Function<R, List<T>> itemsExtractor,
+            Function<R, ResponseMetadata> metadataExtractor) {
+        Function<String, CompletableFuture<R>> fetcher = cursor -> {
+            CompletableFuture<R> page = new CompletableFuture<>();
+            try {
+                page.complete(pageFetcher.fetch(cursor));
+            } catch (IOException | SlackApiException | RuntimeException e) {
+                page.completeExceptionally(e);
+            }
+            return page;
+        };
+        return new CursorPaginator<>(fetcher, itemsExtractor, metadataExtractor, false);
+    }
+
+    // ----------------------------------------------
+    // The API methods that have cursor-based pagination
+    // ----------------------------------------------
+
+    public static CursorPaginator<ConversationsHistoryResponse, Message> conversationsHistory(
+            AsyncMethodsClient client,
+            RequestConfigurator<ConversationsHistoryRequest.ConversationsHistoryRequestBuilder> req) {
+        return create(cursor -> client.conversationsHistory(r -> req.configure(r).cursor(cursor)),
+                ConversationsHistoryResponse::getMessages, ConversationsHistoryResponse::getResponseMetadata);
+    }
+
+    public static CursorPaginator<ConversationsHistoryResponse, Message> conversationsHistory(
+            MethodsClient client,
+            RequestConfigurator<ConversationsHistoryRequest.ConversationsHistoryRequestBuilder> req) {
+        return createBlocking(cursor -> client.conversationsHistory(r -> req.configure(r).cursor(cursor)),
+                ConversationsHistoryResponse::getMessages, ConversationsHistoryResponse::getResponseMetadata);
+    }
+
+    public static CursorPaginator<ConversationsListResponse, Conversation> conversationsList(
+            AsyncMethodsClient client,
+            RequestConfigurator<ConversationsListRequest.ConversationsListRequestBuilder> req) {
+        return create(cursor -> client.conversationsList(r -> req.configure(r).cursor(cursor)),
+                ConversationsListResponse::getChannels, ConversationsListResponse::getResponseMetadata);
+    }
+
+    public static CursorPaginator<ConversationsListResponse, Conversation> conversationsList(
+            MethodsClient client,
+            RequestConfigurator<ConversationsListRequest.ConversationsListRequestBuilder> req) {
+        return createBlocking(cursor -> client.conversationsList(r -> req.configure(r).cursor(cursor)),
+                ConversationsListResponse::getChannels, ConversationsListResponse::getResponseMetadata);
+    }
+
+    public static CursorPaginator<ConversationsMembersResponse, String> conversationsMembers(
+            AsyncMethodsClient client,
+            RequestConfigurator<ConversationsMembersRequest.ConversationsMembersRequestBuilder> req) {
+        return create(cursor -> client.conversationsMembers(r -> req.configure(r).cursor(cursor)),
+                ConversationsMembersResponse::getMembers, ConversationsMembersResponse::getResponseMetadata);
+    }
+
+    public static CursorPaginator<ConversationsMembersResponse, String> conversationsMembers(
+            MethodsClient client,
+            RequestConfigurator<ConversationsMembersRequest.ConversationsMembersRequestBuilder> req) {
+        return createBlocking(cursor -> client.conversationsMembers(r -> req.configure(r).cursor(cursor)),
+                ConversationsMembersResponse::getMembers, ConversationsMembersResponse::getResponseMetadata);
+    }
+
+    public static CursorPaginator<FilesRemoteListResponse, File> filesRemoteList(
+            AsyncMethodsClient client,
+            RequestConfigurator<FilesRemoteListRequest.FilesRemoteListRequestBuilder> req) {
+        return create(cursor -> client.filesRemoteList(r -> req.configure(r).cursor(cursor)),
+                FilesRemoteListResponse::getFiles, FilesRemoteListResponse::getResponseMetadata);
+    }
+
+    public static CursorPaginator<FilesRemoteListResponse, File> filesRemoteList(
+            MethodsClient client,
+            RequestConfigurator<FilesRemoteListRequest.FilesRemoteListRequestBuilder> req) {
+        return createBlocking(cursor -> client.filesRemoteList(r -> req.configure(r).cursor(cursor)),
+                FilesRemoteListResponse::getFiles, FilesRemoteListResponse::getResponseMetadata);
+    }
+
+    public static CursorPaginator<UsersListResponse, User> usersList(
+            AsyncMethodsClient client,
+            RequestConfigurator<UsersListRequest.UsersListRequestBuilder> req) {
+        return create(cursor -> client.usersList(r -> req.configure(r).cursor(cursor)),
+                UsersListResponse::getMembers, UsersListResponse::getResponseMetadata);
+    }
+
+    public static CursorPaginator<UsersListResponse, User> usersList(
+            MethodsClient client,
+            RequestConfigurator<UsersListRequest.UsersListRequestBuilder> req) {
+        return createBlocking(cursor -> client.usersList(r -> req.configure(r).cursor(cursor)),
+                UsersListResponse::getMembers, UsersListResponse::getResponseMetadata);
+    }
+
+    // ----------------------------------------------
+    // Iteration
+    // ----------------------------------------------
+
+    @Override
+    public PageIterator pages() {
+        return new PageIterator();
+    }
+
+    public class PageIterator implements Pages<R> {
+
+        private String cursor;
+        private boolean lastPageReturned;
+        // The page requested but not yet returned to the consumer
+        private CompletableFuture<R> pending;
+
+        @Override
+        public boolean hasNext() {
+            return pending != null || !lastPageReturned;
+        }
+
+        @Override
+        public R next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (pending == null) {
+                pending = pageFetcher.apply(cursor);
+            }
+            R page;
+            try {
+                page = await(pending);
+            } catch (RuntimeException e) {
+                // The failed page cannot be skipped without losing items
+                pending = null;
+                lastPageReturned = true;
+                throw e;
+            }
+            pending = null;
+            if (!page.isOk()) {
+                lastPageReturned = true;
+                throw unsuccessfulResponse(page);
+            }
+            ResponseMetadata metadata = metadataExtractor.apply(page);
+            cursor = metadata != null ? metadata.getNextCursor() : null;
+            if (cursor == null || cursor.isEmpty()) {
+                lastPageReturned = true;
+            } else if (prefetchEnabled) {
+                // The consumer processes this page while the next one is being fetched
+                pending = pageFetcher.apply(cursor);
+            }
+            return page;
+        }
+
+        /**
+         * Stops the iteration and cancels the page request in progress if exists.
+         */
+        @Override
+        public void cancel() {
+            lastPageReturned = true;
+            if (pending != null) {
+                pending.cancel(true);
+                pending = null;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.slack.api.methods;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Downloads the files that {@link com.slack.api.model.File#getUrlPrivate()} and
+ * {@link com.slack.api.model.File#getUrlPrivateDownload()} point to.
+ * <p>
+ * The response body is copied to the destination through a fixed-size buffer, so the heap usage doesn't depend
+ * on the file size. When the connection is lost in the middle of a download, the download is resumed
+ * from the last written byte with an HTTP Range request.
+ *
+ * @see com.slack.api.SlackConfig#getFilesDownloaderMaxResumeAttempts()
+ * @see com.slack.api.SlackConfig#getFilesDownloaderBufferSize()
+ */
+public interface FilesDownloader {
+
+    /**
+     * Downloads the file into the path. The existing file is overwritten.
+     *
+     * @return the number of downloaded bytes
+     */
+    long download(String url, Path destination) throws IOException;
+
+    /**
+     * Downloads the file into the stream. The stream is not closed by this method.
+     *
+     * @return the number of downloaded bytes
+     */
+    long download(String url, OutputStream destination) throws IOException;
+
+    /**
+     * Downloads the file into the channel from its current position. The channel is not closed by this method.
+     *
+     * @return the number of downloaded bytes
+     */
+    long download(String url, FileChannel destination) throws IOException;
+
+    /**
+     * Downloads the file into the path in a background thread.
+     * The number of concurrent downloads is limited by {@link com.slack.api.SlackConfig#getFilesDownloaderMaxConcurrency()}.
+     *
+     * @return the number of downloaded bytes
+     */
+    CompletableFuture<Long> downloadAsync(String url, Path destination);
+
+}
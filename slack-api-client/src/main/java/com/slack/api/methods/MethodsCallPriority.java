@@ -0,0 +1,21 @@
+package com.slack.api.methods;
+
+/**
+ * The priority of asynchronous API method calls.
+ * The queued calls in the interactive lane run prior to the ones in the background lane.
+ *
+ * @see AsyncMethodsClient#withPriority(MethodsCallPriority)
+ */
+public enum MethodsCallPriority {
+
+    /**
+     * For the calls a user is waiting for, such as views.open with a trigger_id that expires in 3 seconds.
+     */
+    Interactive,
+
+    /**
+     * For the calls that can wait, such as bulk operations in background jobs. This is the default.
+     */
+    Background
+
+}
@@ -0,0 +1,43 @@
+package com.slack.api.methods;
+
+import lombok.Data;
+
+/**
+ * The summary of the network timings of a Web API method's calls.
+ * The latencies are available only when {@link com.slack.api.SlackConfig#isHttpClientCallTimingsEnabled()} is true.
+ */
+@Data
+public class MethodsCallTimings {
+
+    private long calls;
+    private long reusedConnections;
+
+    private Latency dns;
+    private Latency connect;
+    private Latency tls;
+    private Latency requestWrite;
+    private Latency timeToFirstByte;
+    private Latency bodyRead;
+    private Latency parse;
+
+    /**
+     * Returns the ratio of the calls that reused a pooled connection.
+     */
+    public double getConnectionReuseRatio() {
+        return calls > 0 ? (double) reusedConnections / calls : 0.0d;
+    }
+
+    /**
+     * The percentiles are approximations as the durations are aggregated into power-of-two buckets.
+     */
+    @Data
+    public static class Latency {
+        private long count;
+        private double meanMillis;
+        private double p50Millis;
+        private double p90Millis;
+        private double p99Millis;
+        private double maxMillis;
+    }
+
+}
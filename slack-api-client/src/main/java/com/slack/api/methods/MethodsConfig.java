@@ -1,5 +1,7 @@
 package com.slack.api.methods;
 
+import com.slack.api.methods.cache.ResponseCacheStore;
+import com.slack.api.methods.cache.impl.MemoryResponseCacheStore;
 import com.slack.api.methods.metrics.MetricsDatastore;
 import com.slack.api.methods.metrics.impl.MemoryMetricsDatastore;
 import lombok.AllArgsConstructor;
@@ -8,7 +10,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Configuration for {@link MethodsClient}.
@@ -63,6 +67,71 @@ public class MethodsConfig {
         public void setCustomThreadPoolSizes(Map<String, Integer> customThreadPoolSizes) {
             throwException();
         }
+
+        @Override
+        public void setDefaultThreadPoolTeamWeights(Map<String, Integer> defaultThreadPoolTeamWeights) {
+            throwException();
+        }
+
+        @Override
+        public void setNonBlockingHttpEnabled(boolean nonBlockingHttpEnabled) {
+            throwException();
+        }
+
+        @Override
+        public void setTokenBucketRateLimiterEnabled(boolean tokenBucketRateLimiterEnabled) {
+            throwException();
+        }
+
+        @Override
+        public void setMaxQueueSize(int maxQueueSize) {
+            throwException();
+        }
+
+        @Override
+        public void setQueueRejectionPolicy(MethodsQueueRejectionPolicy queueRejectionPolicy) {
+            throwException();
+        }
+
+        @Override
+        public void setJsonRequestBodyEnabled(boolean jsonRequestBodyEnabled) {
+            throwException();
+        }
+
+        @Override
+        public void setDefaultTimeoutMillis(Map<MethodsRateLimitTier, Long> defaultTimeoutMillis) {
+            throwException();
+        }
+
+        @Override
+        public void setTeamIdCacheMaxSize(int teamIdCacheMaxSize) {
+            throwException();
+        }
+
+        @Override
+        public void setTeamIdCacheTtlMillis(long teamIdCacheTtlMillis) {
+            throwException();
+        }
+
+        @Override
+        public void setTeamIdCacheNegativeTtlMillis(long teamIdCacheNegativeTtlMillis) {
+            throwException();
+        }
+
+        @Override
+        public void setResponseCacheTtlMillis(Map<String, Long> responseCacheTtlMillis) {
+            throwException();
+        }
+
+        @Override
+        public void setResponseCacheStore(ResponseCacheStore responseCacheStore) {
+            throwException();
+        }
+
+        @Override
+        public void setCoalescedMethodNames(Set<String> coalescedMethodNames) {
+            throwException();
+        }
     };
 
     @Builder.Default
@@ -92,10 +161,108 @@ public class MethodsConfig {
     @Builder.Default
     private Map<String, Integer> customThreadPoolSizes = new HashMap<>();
 
+    /**
+     * Team ID -> weight in the default thread pool (default: 1)
+     * <p>
+     * The teams that don't have custom thread pools share the default thread pool in a round-robin manner.
+     * A team with weight N can run N tasks in a row in its turn.
+     */
+    @Builder.Default
+    private Map<String, Integer> defaultThreadPoolTeamWeights = new HashMap<>();
+
     /**
      * The metrics datastore to track the traffic associated to this executor name.
      */
     @Builder.Default
     private MetricsDatastore metricsDatastore = new MemoryMetricsDatastore(1);
 
+    /**
+     * If true, asynchronous API method calls are sent via OkHttp's asynchronous calls.
+     * In this mode, no thread is occupied while waiting for responses from Slack.
+     */
+    @Builder.Default
+    private boolean nonBlockingHttpEnabled = false;
+
+    /**
+     * If true, asynchronous API method calls are paced by token buckets per team and method
+     * (per team and channel for chat.postMessage) sized from {@link MethodsRateLimitTier}.
+     * When Slack returns a rate-limited response, the refill rate is lowered and then gradually recovers.
+     */
+    @Builder.Default
+    private boolean tokenBucketRateLimiterEnabled = false;
+
+    /**
+     * The max number of asynchronous API method calls waiting in the queue for a team and method.
+     */
+    @Builder.Default
+    private int maxQueueSize = Integer.MAX_VALUE;
+
+    /**
+     * The way to handle a new asynchronous API method call when its queue already has maxQueueSize calls.
+     */
+    @Builder.Default
+    private MethodsQueueRejectionPolicy queueRejectionPolicy = MethodsQueueRejectionPolicy.FailFast;
+
+    /**
+     * Rate limit tier -> the default time limit in milliseconds for asynchronous API method calls
+     * <p>
+     * When a call doesn't complete within the time limit (including the time waiting in the queue),
+     * its future completes with a {@link java.util.concurrent.TimeoutException} and the call is removed from the queue.
+     * The tiers not in this map have no time limit. {@link AsyncMethodsClient#withTimeout(long, java.util.concurrent.TimeUnit)}
+     * overrides this value.
+     */
+    @Builder.Default
+    private Map<MethodsRateLimitTier, Long> defaultTimeoutMillis = new HashMap<>();
+
+    /**
+     * If true, the API methods that accept application/json request bodies (chat.postMessage, chat.update,
+     * views.open, and views.publish) send their parameters as JSON instead of URL-encoded forms.
+     * This saves the cost to encode Block Kit payloads twice.
+     */
+    @Builder.Default
+    private boolean jsonRequestBodyEnabled = false;
+
+    /**
+     * The max number of tokens whose team IDs are kept in memory for the metrics and the per-team queues.
+     */
+    @Builder.Default
+    private int teamIdCacheMaxSize = 10_000;
+
+    /**
+     * The period to keep a team ID resolved by an auth.test API call.
+     */
+    @Builder.Default
+    private long teamIdCacheTtlMillis = 24 * 60 * 60 * 1000L;
+
+    /**
+     * The period to skip auth.test API calls for a token after its auth.test API call failed.
+     * 0 means a failed lookup is retried by the next API call with the token.
+     */
+    @Builder.Default
+    private long teamIdCacheNegativeTtlMillis = 30 * 1000L;
+
+    /**
+     * API method name -> the period to reuse its successful responses (e.g., "users.info" -> 5 minutes)
+     * <p>
+     * Set this only for read-only API methods. The responses are cached per team and request parameters.
+     * The methods not in this map are never cached.
+     */
+    @Builder.Default
+    private Map<String, Long> responseCacheTtlMillis = new HashMap<>();
+
+    /**
+     * The store for the API responses cached by responseCacheTtlMillis.
+     * Use RedisResponseCacheStore to share the cache among multiple nodes.
+     */
+    @Builder.Default
+    private ResponseCacheStore responseCacheStore = new MemoryResponseCacheStore();
+
+    /**
+     * The read-only API methods whose concurrent identical calls (same token and parameters) share
+     * one HTTP request. The numbers of shared calls are available from
+     * {@link com.slack.api.methods.impl.RequestCoalescer#getHitCounts()}.
+     */
+    @Builder.Default
+    private Set<String> coalescedMethodNames = new HashSet<>();
+
 }
@@ -0,0 +1,29 @@
+package com.slack.api.methods;
+
+/**
+ * The way to handle a new asynchronous API method call when its queue is already full.
+ *
+ * @see MethodsConfig#getMaxQueueSize()
+ */
+public enum MethodsQueueRejectionPolicy {
+
+    /**
+     * Completes the new call exceptionally with a {@link java.util.concurrent.RejectedExecutionException}.
+     */
+    FailFast,
+
+    /**
+     * Drops the oldest waiting call (a background one if exists) to make room for the new call.
+     * The dropped call completes exceptionally with a {@link java.util.concurrent.RejectedExecutionException}.
+     */
+    DropOldest,
+
+    /**
+     * Runs the new call in the thread that called the API method without putting it into the queue.
+     * The thread waits for the rate limiter before running the call, so that the caller slows down
+     * instead of exceeding the rate limits. As the queue size is checked before handing the call to
+     * the team's thread pool, concurrent calls can make the queue slightly exceed the max size.
+     */
+    CallerRuns
+
+}
@@ -49,5 +49,25 @@ public class MethodsStats {
      */
     @Builder.Default
     private final Map<String, Long> rateLimitedMethods = new HashMap<>();
+    /**
+     * Method name -> # of calls rejected as the queue was full
+     */
+    @Builder.Default
+    private final Map<String, Long> rejectedCalls = new HashMap<>();
+    /**
+     * Method name -> The summary of the network timings
+     */
+    @Builder.Default
+    private final Map<String, MethodsCallTimings> callTimings = new HashMap<>();
+    /**
+     * The number of asynchronous HTTP calls waiting in OkHttp's dispatcher (shared by all the teams).
+     * This value is available only via {@link com.slack.api.Slack#methodsStats(String, String)}.
+     */
+    private int httpClientQueuedCalls;
+    /**
+     * The number of HTTP calls being executed by OkHttp (shared by all the teams).
+     * This value is available only via {@link com.slack.api.Slack#methodsStats(String, String)}.
+     */
+    private int httpClientRunningCalls;
 
 }
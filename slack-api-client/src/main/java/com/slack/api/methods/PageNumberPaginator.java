@@ -0,0 +1,198 @@
+package com.slack.api.methods;
+
+import com.slack.api.RequestConfigurator;
+import com.slack.api.methods.request.files.FilesListRequest;
+import com.slack.api.methods.request.search.SearchFilesRequest;
+import com.slack.api.methods.request.search.SearchMessagesRequest;
+import com.slack.api.methods.request.team.TeamAccessLogsRequest;
+import com.slack.api.methods.request.team.TeamIntegrationLogsRequest;
+import com.slack.api.methods.response.files.FilesListResponse;
+import com.slack.api.methods.response.search.SearchFilesResponse;
+import com.slack.api.methods.response.search.SearchMessagesResponse;
+import com.slack.api.methods.response.team.TeamAccessLogsResponse;
+import com.slack.api.methods.response.team.TeamIntegrationLogsResponse;
+import com.slack.api.model.File;
+import com.slack.api.model.IntegrationLog;
+import com.slack.api.model.Login;
+import com.slack.api.model.MatchedItem;
+import com.slack.api.model.Paging;
+import com.slack.api.model.SearchResult;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Iterates over the items of an API method that uses page numbers (e.g., search.messages, files.list) in order.
+ * <p>
+ * Once the first response tells the number of pages, up to maxConcurrency subsequent pages are requested
+ * at the same time via {@link AsyncMethodsClient}, whose queue still paces the requests per rate limit tier.
+ * When the consumer takes a page, the next page in the sequence is requested. The default concurrency
+ * is derived from the method's rate limit tier (e.g., 2 for Tier 2 methods).
+ * <p>
+ * search.all returns messages and files in the same pages; use {@link #create(Function, Function, Function, int)}
+ * with the extractors for the result that you need.
+ */
+public class PageNumberPaginator<R extends SlackApiResponse, T> extends AbstractPaginator<R, T> {
+
+    private static final int MAX_DEFAULT_CONCURRENCY = 8;
+
+    private final Function<Integer, CompletableFuture<R>> pageFetcher;
+    private final Function<R, Paging> pagingExtractor;
+    private final int maxConcurrency;
+
+    private PageNumberPaginator(
+            Function<Integer, CompletableFuture<R>> pageFetcher,
+            Function<R, List<T>> itemsExtractor,
+            Function<R, Paging> pagingExtractor,
+            int maxConcurrency) {
+        super(itemsExtractor);
+        this.pageFetcher = pageFetcher;
+        this.pagingExtractor = pagingExtractor;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+    }
+
+    /**
+     * Creates a paginator. pageFetcher receives 1-origin page numbers.
+     */
+    public static <R extends SlackApiResponse, T> PageNumberPaginator<R, T> create(
+            Function<Integer, CompletableFuture<R>> pageFetcher,
+            Function<R, List<T>> itemsExtractor,
+            Function<R, Paging> pagingExtractor,
+            int maxConcurrency) {
+        return new PageNumberPaginator<>(pageFetcher, itemsExtractor, pagingExtractor, maxConcurrency);
+    }
+
+    /**
+     * Returns the number of pages to request at the same time for an API method.
+     */
+    public static int getDefaultConcurrency(String methodName) {
+        MethodsRateLimitTier tier = MethodsRateLimits.lookupRateLimitTier(methodName);
+        Integer allowedRequestsPerMinute = tier != null ? MethodsRateLimitTier.getAllowedRequestsPerMinute(tier) : null;
+        if (allowedRequestsPerMinute == null) {
+            return 1;
+        }
+        return Math.max(1, Math.min(MAX_DEFAULT_CONCURRENCY, allowedRequestsPerMinute / 10));
+    }
+
+    // ----------------------------------------------
+    // The API methods that have page number based pagination
+    // ----------------------------------------------
+
+    public static PageNumberPaginator<FilesListResponse, File> filesList(
+            AsyncMethodsClient client,
+            RequestConfigurator<FilesListRequest.FilesListRequestBuilder> req) {
+        return create(page -> client.filesList(r -> req.configure(r).page(page)),
+                FilesListResponse::getFiles, FilesListResponse::getPaging,
+                getDefaultConcurrency(Methods.FILES_LIST));
+    }
+
+    public static PageNumberPaginator<SearchFilesResponse, MatchedItem> searchFiles(
+            AsyncMethodsClient client,
+            RequestConfigurator<SearchFilesRequest.SearchFilesRequestBuilder> req) {
+        return create(page -> client.searchFiles(r -> req.configure(r).page(page)),
+                r -> getMatches(r.getFiles()), r -> getPaging(r.getFiles()),
+                getDefaultConcurrency(Methods.SEARCH_FILES));
+    }
+
+    public static PageNumberPaginator<SearchMessagesResponse, MatchedItem> searchMessages(
+            AsyncMethodsClient client,
+            RequestConfigurator<SearchMessagesRequest.SearchMessagesRequestBuilder> req) {
+        return create(page -> client.searchMessages(r -> req.configure(r).page(page)),
+                r -> getMatches(r.getMessages()), r -> getPaging(r.getMessages()),
+                getDefaultConcurrency(Methods.SEARCH_MESSAGES));
+    }
+
+    public static PageNumberPaginator<TeamAccessLogsResponse, Login> teamAccessLogs(
+            AsyncMethodsClient client,
+            RequestConfigurator<TeamAccessLogsRequest.TeamAccessLogsRequestBuilder> req) {
+        return create(page -> client.teamAccessLogs(r -> req.configure(r).page(page)),
+                TeamAccessLogsResponse::getLogins, TeamAccessLogsResponse::getPaging,
+                getDefaultConcurrency(Methods.TEAM_ACCESS_LOGS));
+    }
+
+    public static PageNumberPaginator<TeamIntegrationLogsResponse, IntegrationLog> teamIntegrationLogs(
+            AsyncMethodsClient client,
+            RequestConfigurator<TeamIntegrationLogsRequest.TeamIntegrationLogsRequestBuilder> req) {
+        return create(page -> client.teamIntegrationLogs(r -> req.configure(r).page(page)),
+                TeamIntegrationLogsResponse::getLogs, TeamIntegrationLogsResponse::getPaging,
+                getDefaultConcurrency(Methods.TEAM_INTEGRATION_LOGS));
+    }
+
+    private static List<MatchedItem> getMatches(SearchResult result) {
+        return result != null ? result.getMatches() : null;
+    }
+
+    private static Paging getPaging(SearchResult result) {
+        return result != null ? result.getPaging() : null;
+    }
+
+    // ----------------------------------------------
+    // Iteration
+    // ----------------------------------------------
+
+    @Override
+    public PageIterator pages() {
+        return new PageIterator();
+    }
+
+    public class PageIterator implements Pages<R> {
+
+        // The pages requested but not yet returned to the consumer, in page order
+        private final Deque<CompletableFuture<R>> window = new ArrayDeque<>();
+        private int nextPageNumber = 1;
+        private int totalPages = -1; // unknown until the first page arrives
+        private boolean cancelled;
+
+        @Override
+        public boolean hasNext() {
+            if (cancelled) {
+                return false;
+            }
+            return totalPages < 0 || !window.isEmpty() || nextPageNumber <= totalPages;
+        }
+
+        @Override
+        public R next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (window.isEmpty()) {
+                window.add(pageFetcher.apply(nextPageNumber++));
+            }
+            R page;
+            try {
+                page = await(window.poll());
+            } catch (RuntimeException e) {
+                // Continuing would silently skip the failed page
+                cancel();
+                throw e;
+            }
+            if (!page.isOk()) {
+                cancel();
+                throw unsuccessfulResponse(page);
+            }
+            if (totalPages < 0) {
+                Paging paging = pagingExtractor.apply(page);
+                totalPages = paging != null && paging.getPages() != null ? paging.getPages() : 1;
+            }
+            while (window.size() < maxConcurrency && nextPageNumber <= totalPages) {
+                window.add(pageFetcher.apply(nextPageNumber++));
+            }
+            return page;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            for (CompletableFuture<R> page : window) {
+                page.cancel(true);
+            }
+            window.clear();
+        }
+    }
+
+}
@@ -71,6 +71,7 @@ import com.slack.api.methods.request.views.ViewsPublishRequest;
 import com.slack.api.methods.request.views.ViewsPushRequest;
 import com.slack.api.methods.request.views.ViewsUpdateRequest;
 import com.slack.api.model.ConversationType;
+import com.slack.api.util.http.StreamingRequestBody;
 import com.slack.api.util.json.GsonFactory;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.FormBody;
@@ -972,7 +973,21 @@ public class RequestFormBuilder {
             RequestBody file = RequestBody.create(req.getFileData(), MultipartBody.FORM);
             form.addFormDataPart("file", req.getFilename(), file);
         } else if (req.getFile() != null) {
-            RequestBody file = RequestBody.create(req.getFile(), MultipartBody.FORM);
+            RequestBody file = req.getProgressListener() != null
+                    ? StreamingRequestBody.create(MultipartBody.FORM, req.getFile().toPath(), req.getProgressListener())
+                    : RequestBody.create(req.getFile(), MultipartBody.FORM);
+            form.addFormDataPart("file", req.getFilename(), file);
+        } else if (req.getFilePath() != null) {
+            RequestBody file = StreamingRequestBody.create(MultipartBody.FORM, req.getFilePath(), req.getProgressListener());
+            String filename = req.getFilename() != null ? req.getFilename() : req.getFilePath().getFileName().toString();
+            form.addFormDataPart("file", filename, file);
+        } else if (req.getFileStream() != null) {
+            RequestBody file = StreamingRequestBody.create(
+                    MultipartBody.FORM, req.getFileStream(), req.getFileLength(), req.getProgressListener());
+            form.addFormDataPart("file", req.getFilename(), file);
+        } else if (req.getFileSource() != null) {
+            RequestBody file = StreamingRequestBody.create(
+                    MultipartBody.FORM, req.getFileSource(), req.getFileLength(), req.getProgressListener());
             form.addFormDataPart("file", req.getFilename(), file);
         }
 
@@ -987,6 +1002,27 @@ public class RequestFormBuilder {
         return form;
     }
 
+    /**
+     * Returns true if the request has file contents to be sent via `multipart/form-data`.
+     */
+    public static boolean hasFileContents(FilesUploadRequest req) {
+        return req.getFile() != null
+                || req.getFileData() != null
+                || req.getFilePath() != null
+                || req.getFileStream() != null
+                || req.getFileSource() != null;
+    }
+
+    /**
+     * Returns true if the file contents can be read only once, so that the request cannot be sent again.
+     */
+    public static boolean hasOneShotFileContents(FilesUploadRequest req) {
+        if (req.getFileData() != null || req.getFile() != null || req.getFilePath() != null) {
+            return false;
+        }
+        return req.getFileStream() != null || req.getFileSource() != null;
+    }
+
     public static FormBody.Builder toForm(FilesCommentsAddRequest req) {
         FormBody.Builder form = new FormBody.Builder();
         setIfNotNull("file", req.getFile(), form);
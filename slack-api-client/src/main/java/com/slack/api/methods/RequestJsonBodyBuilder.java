@@ -0,0 +1,134 @@
+package com.slack.api.methods;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import com.slack.api.methods.request.chat.ChatPostMessageRequest;
+import com.slack.api.methods.request.chat.ChatUpdateRequest;
+import com.slack.api.methods.request.views.ViewsOpenRequest;
+import com.slack.api.methods.request.views.ViewsPublishRequest;
+import com.slack.api.util.json.GsonFactory;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Builds application/json request bodies for the API methods that accept them.
+ * <p>
+ * Unlike {@link RequestFormBuilder}, blocks, attachments, and views are written into the body in a single pass
+ * without being converted to strings and then URL-encoded. Tokens are never included in the body;
+ * they are sent in the Authorization header.
+ */
+@Slf4j
+public class RequestJsonBodyBuilder {
+
+    private static final MediaType MEDIA_TYPE_APPLICATION_JSON = MediaType.parse("application/json; charset=utf-8");
+
+    private RequestJsonBodyBuilder() {
+    }
+
+    public static RequestBody toJsonBody(ChatPostMessageRequest req) throws IOException {
+        Buffer buffer = new Buffer();
+        JsonWriter writer = newJsonWriter(buffer);
+        writer.beginObject();
+        setIfNotNull("channel", req.getChannel(), writer);
+        setIfNotNull("thread_ts", req.getThreadTs(), writer);
+        setIfNotNull("text", req.getText(), writer);
+        setIfNotNull("parse", req.getParse(), writer);
+        setIfNotNull("link_names", req.isLinkNames(), writer);
+        setIfNotNull("mrkdwn", req.isMrkdwn(), writer);
+        setJsonIfNotNull("blocks", req.getBlocksAsString(), req.getBlocks(), writer);
+        setJsonIfNotNull("attachments", req.getAttachmentsAsString(), req.getAttachments(), writer);
+        setIfNotNull("unfurl_links", req.isUnfurlLinks(), writer);
+        setIfNotNull("unfurl_media", req.isUnfurlMedia(), writer);
+        setIfNotNull("username", req.getUsername(), writer);
+        setIfNotNull("as_user", req.isAsUser(), writer);
+        setIfNotNull("icon_url", req.getIconUrl(), writer);
+        setIfNotNull("icon_emoji", req.getIconEmoji(), writer);
+        setIfNotNull("reply_broadcast", req.isReplyBroadcast(), writer);
+        writer.endObject();
+        return toRequestBody(buffer, writer);
+    }
+
+    public static RequestBody toJsonBody(ChatUpdateRequest req) throws IOException {
+        Buffer buffer = new Buffer();
+        JsonWriter writer = newJsonWriter(buffer);
+        writer.beginObject();
+        setIfNotNull("ts", req.getTs(), writer);
+        setIfNotNull("channel", req.getChannel(), writer);
+        setIfNotNull("text", req.getText(), writer);
+        setIfNotNull("parse", req.getParse(), writer);
+        setIfNotNull("link_names", req.isLinkNames(), writer);
+        setJsonIfNotNull("blocks", req.getBlocksAsString(), req.getBlocks(), writer);
+        setJsonIfNotNull("attachments", req.getAttachmentsAsString(), req.getAttachments(), writer);
+        setIfNotNull("as_user", req.isAsUser(), writer);
+        writer.endObject();
+        return toRequestBody(buffer, writer);
+    }
+
+    public static RequestBody toJsonBody(ViewsOpenRequest req) throws IOException {
+        Buffer buffer = new Buffer();
+        JsonWriter writer = newJsonWriter(buffer);
+        writer.beginObject();
+        setIfNotNull("trigger_id", req.getTriggerId(), writer);
+        setJsonIfNotNull("view", req.getViewAsString(), req.getView(), writer);
+        writer.endObject();
+        return toRequestBody(buffer, writer);
+    }
+
+    public static RequestBody toJsonBody(ViewsPublishRequest req) throws IOException {
+        Buffer buffer = new Buffer();
+        JsonWriter writer = newJsonWriter(buffer);
+        writer.beginObject();
+        setIfNotNull("user_id", req.getUserId(), writer);
+        setJsonIfNotNull("view", req.getViewAsString(), req.getView(), writer);
+        setIfNotNull("hash", req.getHash(), writer);
+        writer.endObject();
+        return toRequestBody(buffer, writer);
+    }
+
+    // ----------------------------------------------------------------
+
+    private static JsonWriter newJsonWriter(Buffer buffer) {
+        return new JsonWriter(new OutputStreamWriter(buffer.outputStream(), StandardCharsets.UTF_8));
+    }
+
+    private static RequestBody toRequestBody(Buffer buffer, JsonWriter writer) throws IOException {
+        writer.flush();
+        return RequestBody.create(buffer.readByteString(), MEDIA_TYPE_APPLICATION_JSON);
+    }
+
+    private static void setIfNotNull(String name, Object value, JsonWriter writer) throws IOException {
+        if (value != null) {
+            writer.name(name);
+            if (value instanceof Boolean) {
+                writer.value((Boolean) value);
+            } else if (value instanceof Number) {
+                writer.value((Number) value);
+            } else {
+                writer.value(String.valueOf(value));
+            }
+        }
+    }
+
+    /**
+     * Writes the given JSON string as-is if it exists. Otherwise, serializes the object into the writer.
+     */
+    private static void setJsonIfNotNull(String name, String jsonString, Object value, JsonWriter writer) throws IOException {
+        if (jsonString != null) {
+            writer.name(name).jsonValue(jsonString);
+            if (value != null) {
+                log.warn("Although you set both {}AsString and {}, only {}AsString was used.", name, name, name);
+            }
+        } else if (value != null) {
+            writer.name(name);
+            Gson gson = GsonFactory.createSnakeCase();
+            gson.toJson(value, value.getClass(), writer);
+        }
+    }
+
+}
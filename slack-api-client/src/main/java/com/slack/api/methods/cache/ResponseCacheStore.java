@@ -0,0 +1,30 @@
+package com.slack.api.methods.cache;
+
+/**
+ * A store for the cached responses of read-only API methods such as users.info.
+ * <p>
+ * An entry is identified by the team ID, the API method name, the resource ID (e.g., the user ID for users.info;
+ * an empty string for the methods that don't take any resource ID), and the variant (a hash of the token and
+ * the other request parameters).
+ * The values are serialized API responses.
+ */
+public interface ResponseCacheStore {
+
+    /**
+     * Returns the cached response or null if there is no entry or it has expired.
+     */
+    String get(String teamId, String methodName, String resourceId, String variant);
+
+    void put(String teamId, String methodName, String resourceId, String variant, String response, long ttlMillis);
+
+    /**
+     * Removes all the variants of the cached responses for a resource.
+     */
+    void invalidate(String teamId, String methodName, String resourceId);
+
+    /**
+     * Removes all the cached responses for a team.
+     */
+    void invalidateAll(String teamId);
+
+}
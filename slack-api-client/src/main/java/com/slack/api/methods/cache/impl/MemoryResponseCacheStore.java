@@ -0,0 +1,134 @@
+package com.slack.api.methods.cache.impl;
+
+import com.slack.api.methods.cache.ResponseCacheStore;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A ResponseCacheStore that keeps the responses in the heap of this process.
+ * <p>
+ * The responses are partitioned per team. When a team has more than maxResourcesPerTeam resources cached,
+ * the least recently used resource is evicted along with all its variants. When more than maxTeams teams
+ * have cached responses, the least recently used team's partition is evicted.
+ */
+public class MemoryResponseCacheStore implements ResponseCacheStore {
+
+    public static final int DEFAULT_MAX_RESOURCES_PER_TEAM = 1000;
+    public static final int DEFAULT_MAX_TEAMS = 1000;
+
+    private static class Entry {
+        private final String response;
+        private final long expirationMillis;
+
+        Entry(String response, long expirationMillis) {
+            this.response = response;
+            this.expirationMillis = expirationMillis;
+        }
+    }
+
+    /**
+     * The resources of a team in access order. A resource is a method name and a resource ID.
+     */
+    private static class TeamPartition extends LinkedHashMap<String, Map<String, Entry>> {
+        private final int maxResources;
+
+        TeamPartition(int maxResources) {
+            super(16, 0.75f, true);
+            this.maxResources = maxResources;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Map<String, Entry>> eldest) {
+            return size() > maxResources;
+        }
+    }
+
+    private final int maxResourcesPerTeam;
+
+    // Team ID -> cached resources in access order (guarded by itself)
+    private final Map<String, TeamPartition> partitions;
+
+    public MemoryResponseCacheStore() {
+        this(DEFAULT_MAX_RESOURCES_PER_TEAM);
+    }
+
+    public MemoryResponseCacheStore(int maxResourcesPerTeam) {
+        this(maxResourcesPerTeam, DEFAULT_MAX_TEAMS);
+    }
+
+    public MemoryResponseCacheStore(int maxResourcesPerTeam, int maxTeams) {
+        this.maxResourcesPerTeam = maxResourcesPerTeam;
+        this.partitions = new LinkedHashMap<String, TeamPartition>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TeamPartition> eldest) {
+                return size() > maxTeams;
+            }
+        };
+    }
+
+    private TeamPartition getPartition(String teamId) {
+        synchronized (partitions) {
+            return partitions.get(teamId);
+        }
+    }
+
+    @Override
+    public String get(String teamId, String methodName, String resourceId, String variant) {
+        TeamPartition partition = getPartition(teamId);
+        if (partition == null) {
+            return null;
+        }
+        String resourceKey = toResourceKey(methodName, resourceId);
+        synchronized (partition) {
+            Map<String, Entry> variants = partition.get(resourceKey);
+            Entry entry = variants != null ? variants.get(variant) : null;
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expirationMillis <= System.currentTimeMillis()) {
+                variants.remove(variant);
+                if (variants.isEmpty()) {
+                    partition.remove(resourceKey);
+                }
+                return null;
+            }
+            return entry.response;
+        }
+    }
+
+    @Override
+    public void put(String teamId, String methodName, String resourceId, String variant, String response, long ttlMillis) {
+        TeamPartition partition;
+        synchronized (partitions) {
+            partition = partitions.computeIfAbsent(teamId, t -> new TeamPartition(maxResourcesPerTeam));
+        }
+        Entry entry = new Entry(response, System.currentTimeMillis() + ttlMillis);
+        synchronized (partition) {
+            partition.computeIfAbsent(toResourceKey(methodName, resourceId), k -> new HashMap<>()).put(variant, entry);
+        }
+    }
+
+    @Override
+    public void invalidate(String teamId, String methodName, String resourceId) {
+        TeamPartition partition = getPartition(teamId);
+        if (partition != null) {
+            synchronized (partition) {
+                partition.remove(toResourceKey(methodName, resourceId));
+            }
+        }
+    }
+
+    @Override
+    public void invalidateAll(String teamId) {
+        synchronized (partitions) {
+            partitions.remove(teamId);
+        }
+    }
+
+    private static String toResourceKey(String methodName, String resourceId) {
+        return methodName + ":" + resourceId;
+    }
+
+}
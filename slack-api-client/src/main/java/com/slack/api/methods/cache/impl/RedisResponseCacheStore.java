@@ -0,0 +1,97 @@
+package com.slack.api.methods.cache.impl;
+
+import com.slack.api.methods.cache.ResponseCacheStore;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+
+import java.util.Set;
+
+/**
+ * A ResponseCacheStore backed by Redis, which can be shared among multiple nodes.
+ * <p>
+ * The variants of a resource are kept in a hash that expires with the latest TTL given to it.
+ * The expiration time of each variant is stored with its value. The hashes of a team are listed in a set
+ * so that they can be removed at once. Unlike {@link MemoryResponseCacheStore}, the number of entries
+ * is not limited by this class; configure maxmemory and an eviction policy for the Redis server instead.
+ */
+public class RedisResponseCacheStore implements ResponseCacheStore {
+
+    private final String appName;
+    private final JedisPool jedisPool;
+
+    public RedisResponseCacheStore(String appName, JedisPool jedisPool) {
+        this.appName = appName;
+        this.jedisPool = jedisPool;
+    }
+
+    public Jedis jedis() {
+        return jedisPool.getResource();
+    }
+
+    @Override
+    public String get(String teamId, String methodName, String resourceId, String variant) {
+        String value;
+        try (Jedis jedis = jedis()) {
+            value = jedis.hget(toResourceKey(teamId, methodName, resourceId), variant);
+        }
+        if (value == null) {
+            return null;
+        }
+        int separator = value.indexOf(':');
+        long expirationMillis = Long.parseLong(value.substring(0, separator));
+        if (expirationMillis <= System.currentTimeMillis()) {
+            return null;
+        }
+        return value.substring(separator + 1);
+    }
+
+    @Override
+    public void put(String teamId, String methodName, String resourceId, String variant, String response, long ttlMillis) {
+        String resourceKey = toResourceKey(teamId, methodName, resourceId);
+        String indexKey = toIndexKey(teamId);
+        String value = (System.currentTimeMillis() + ttlMillis) + ":" + response;
+        try (Jedis jedis = jedis()) {
+            Pipeline pipeline = jedis.pipelined();
+            pipeline.hset(resourceKey, variant, value);
+            pipeline.pexpire(resourceKey, ttlMillis);
+            pipeline.sadd(indexKey, resourceKey);
+            Response<Long> indexTtlMillis = pipeline.pttl(indexKey);
+            pipeline.sync();
+            // The index must live as long as the longest-lived entry in it
+            Long currentTtlMillis = indexTtlMillis.get();
+            if (currentTtlMillis == null || currentTtlMillis < ttlMillis) {
+                jedis.pexpire(indexKey, ttlMillis);
+            }
+        }
+    }
+
+    @Override
+    public void invalidate(String teamId, String methodName, String resourceId) {
+        try (Jedis jedis = jedis()) {
+            jedis.del(toResourceKey(teamId, methodName, resourceId));
+        }
+    }
+
+    @Override
+    public void invalidateAll(String teamId) {
+        String indexKey = toIndexKey(teamId);
+        try (Jedis jedis = jedis()) {
+            Set<String> resourceKeys = jedis.smembers(indexKey);
+            if (resourceKeys != null && !resourceKeys.isEmpty()) {
+                jedis.del(resourceKeys.toArray(new String[0]));
+            }
+            jedis.del(indexKey);
+        }
+    }
+
+    private String toResourceKey(String teamId, String methodName, String resourceId) {
+        return appName + ":ResponseCache:" + teamId + ":" + methodName + ":" + resourceId;
+    }
+
+    private String toIndexKey(String teamId) {
+        return appName + ":ResponseCacheKeys:" + teamId;
+    }
+
+}
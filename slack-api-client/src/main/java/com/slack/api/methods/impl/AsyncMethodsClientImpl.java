@@ -3,8 +3,10 @@ package com.slack.api.methods.impl;
 import com.slack.api.RequestConfigurator;
 import com.slack.api.SlackConfig;
 import com.slack.api.methods.AsyncMethodsClient;
+import com.slack.api.methods.MethodsCallPriority;
 import com.slack.api.methods.MethodsClient;
 import com.slack.api.methods.SlackApiRequest;
+import com.slack.api.methods.SlackApiResponse;
 import com.slack.api.methods.request.admin.apps.*;
 import com.slack.api.methods.request.admin.conversations.AdminConversationsSetTeamsRequest;
 import com.slack.api.methods.request.admin.emoji.*;
@@ -123,12 +125,22 @@ import com.slack.api.methods.response.views.ViewsPublishResponse;
 import com.slack.api.methods.response.views.ViewsPushResponse;
 import com.slack.api.methods.response.views.ViewsUpdateResponse;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.FormBody;
+import okhttp3.RequestBody;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import static com.slack.api.methods.Methods.*;
+import static com.slack.api.methods.RequestFormBuilder.hasFileContents;
+import static com.slack.api.methods.RequestFormBuilder.hasOneShotFileContents;
+import static com.slack.api.methods.RequestFormBuilder.toForm;
+import static com.slack.api.methods.RequestFormBuilder.toMultipartBody;
+import static com.slack.api.methods.RequestJsonBodyBuilder.toJsonBody;
 
 @Slf4j
 public class AsyncMethodsClientImpl implements AsyncMethodsClient {
@@ -136,11 +148,25 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
     private final String token;
     private final MethodsClientImpl methods;
     private final AsyncRateLimitExecutor executor;
+    private final MethodsCallPriority priority;
+    // 0 means the default for the method's rate limit tier
+    private final long timeoutMillis;
 
     public AsyncMethodsClientImpl(String token, MethodsClientImpl clientImpl, SlackConfig config) {
+        this(token, clientImpl, AsyncRateLimitExecutor.getOrCreate(clientImpl, config), MethodsCallPriority.Background, 0L);
+    }
+
+    private AsyncMethodsClientImpl(
+            String token,
+            MethodsClientImpl clientImpl,
+            AsyncRateLimitExecutor executor,
+            MethodsCallPriority priority,
+            long timeoutMillis) {
         this.token = token;
         this.methods = clientImpl;
-        this.executor = AsyncRateLimitExecutor.getOrCreate(clientImpl, config);
+        this.executor = executor;
+        this.priority = priority;
+        this.timeoutMillis = timeoutMillis;
     }
 
     private String token(SlackApiRequest req) {
@@ -157,6 +183,61 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
         return params;
     }
 
+    /**
+     * Runs an API call with a form body. The calls of the methods in
+     * {@link com.slack.api.methods.MethodsConfig#getResponseCacheTtlMillis()} are served from the cache, and
+     * the identical calls of the methods in {@link com.slack.api.methods.MethodsConfig#getCoalescedMethodNames()}
+     * share the call in flight before going into the queue, so that they neither wait for the rate limiter
+     * nor spend its budget.
+     */
+    private <T extends SlackApiResponse> CompletableFuture<T> executeForm(
+            String methodName,
+            SlackApiRequest req,
+            Supplier<FormBody.Builder> formSupplier,
+            Class<T> clazz,
+            AsyncExecutionSupplier<T> methodsSupplier) {
+        if (!methods.isCoalesced(methodName) && !methods.isResponseCacheEnabled(methodName)) {
+            return executor.execute(priority, timeoutMillis, methodName, toMap(req), methodsSupplier,
+                    () -> methods.postFormWithTokenAndParseResponseAsync(formSupplier.get(), methodName, methods.getToken(req), clazz));
+        }
+        FormBody.Builder form = formSupplier.get();
+        String token = methods.getToken(req);
+        return methods.coalesceAsync(form, methodName, token, () -> methods.readThroughResponseCacheAsync(form, methodName, token, clazz,
+                () -> executor.execute(priority, timeoutMillis, methodName, toMap(req),
+                        () -> methods.sendFormWithTokenAndParseResponse(form, methodName, token, clazz),
+                        () -> methods.sendFormWithTokenAndParseResponseAsync(form, methodName, token, clazz))));
+    }
+
+    @FunctionalInterface
+    private interface JsonBodySupplier {
+        RequestBody get() throws IOException;
+    }
+
+    /**
+     * Runs an API call with a JSON body. This is used for the methods that send JSON bodies
+     * when {@link com.slack.api.methods.MethodsConfig#isJsonRequestBodyEnabled()} is true.
+     */
+    private <T extends SlackApiResponse> CompletableFuture<T> executeJson(
+            String methodName,
+            String methodNameWithSuffix,
+            SlackApiRequest req,
+            Map<String, String> params,
+            JsonBodySupplier jsonBodySupplier,
+            Class<T> clazz,
+            AsyncExecutionSupplier<T> methodsSupplier) {
+        return executor.execute(priority, timeoutMillis, methodName, params, methodsSupplier, () -> {
+            RequestBody jsonBody;
+            try {
+                jsonBody = jsonBodySupplier.get();
+            } catch (IOException e) {
+                CompletableFuture<T> failure = new CompletableFuture<>();
+                failure.completeExceptionally(e);
+                return failure;
+            }
+            return methods.postJsonWithTokenAndParseResponseAsync(jsonBody, methodName, methodNameWithSuffix, methods.getToken(req), clazz);
+        });
+    }
+
     // ----------------------------------------------------------------------------------
     // public methods
     // ----------------------------------------------------------------------------------
@@ -166,9 +247,19 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
         return this.methods;
     }
 
+    @Override
+    public AsyncMethodsClient withPriority(MethodsCallPriority priority) {
+        return new AsyncMethodsClientImpl(this.token, this.methods, this.executor, priority, this.timeoutMillis);
+    }
+
+    @Override
+    public AsyncMethodsClient withTimeout(long timeout, TimeUnit unit) {
+        return new AsyncMethodsClientImpl(this.token, this.methods, this.executor, this.priority, unit.toMillis(timeout));
+    }
+
     @Override
     public CompletableFuture<AdminAppsApproveResponse> adminAppsApprove(AdminAppsApproveRequest req) {
-        return executor.execute(ADMIN_APPS_APPROVE, toMap(req), () -> methods.adminAppsApprove(req));
+        return executeForm(ADMIN_APPS_APPROVE, req, () -> toForm(req), AdminAppsApproveResponse.class, () -> methods.adminAppsApprove(req));
     }
 
     @Override
@@ -178,7 +269,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminAppsRestrictResponse> adminAppsRestrict(AdminAppsRestrictRequest req) {
-        return executor.execute(ADMIN_APPS_RESTRICT, toMap(req), () -> methods.adminAppsRestrict(req));
+        return executeForm(ADMIN_APPS_RESTRICT, req, () -> toForm(req), AdminAppsRestrictResponse.class, () -> methods.adminAppsRestrict(req));
     }
 
     @Override
@@ -188,7 +279,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminAppsApprovedListResponse> adminAppsApprovedList(AdminAppsApprovedListRequest req) {
-        return executor.execute(ADMIN_APPS_APPROVED_LIST, toMap(req), () -> methods.adminAppsApprovedList(req));
+        return executeForm(ADMIN_APPS_APPROVED_LIST, req, () -> toForm(req), AdminAppsApprovedListResponse.class, () -> methods.adminAppsApprovedList(req));
     }
 
     @Override
@@ -198,7 +289,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminAppsRestrictedListResponse> adminAppsRestrictedList(AdminAppsRestrictedListRequest req) {
-        return executor.execute(ADMIN_APPS_RESTRICTED_LIST, toMap(req), () -> methods.adminAppsRestrictedList(req));
+        return executeForm(ADMIN_APPS_RESTRICTED_LIST, req, () -> toForm(req), AdminAppsRestrictedListResponse.class, () -> methods.adminAppsRestrictedList(req));
     }
 
     @Override
@@ -208,7 +299,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminAppsRequestsListResponse> adminAppsRequestsList(AdminAppsRequestsListRequest req) {
-        return executor.execute(ADMIN_APPS_REQUESTS_LIST, toMap(req), () -> methods.adminAppsRequestsList(req));
+        return executeForm(ADMIN_APPS_REQUESTS_LIST, req, () -> toForm(req), AdminAppsRequestsListResponse.class, () -> methods.adminAppsRequestsList(req));
     }
 
     @Override
@@ -218,7 +309,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminConversationsSetTeamsResponse> adminConversationsSetTeams(AdminConversationsSetTeamsRequest req) {
-        return executor.execute(ADMIN_CONVERSATIONS_SET_TEAMS, toMap(req), () -> methods.adminConversationsSetTeams(req));
+        return executeForm(ADMIN_CONVERSATIONS_SET_TEAMS, req, () -> toForm(req), AdminConversationsSetTeamsResponse.class, () -> methods.adminConversationsSetTeams(req));
     }
 
     @Override
@@ -228,7 +319,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminEmojiAddResponse> adminEmojiAdd(AdminEmojiAddRequest req) {
-        return executor.execute(ADMIN_EMOJI_ADD, toMap(req), () -> methods.adminEmojiAdd(req));
+        return executeForm(ADMIN_EMOJI_ADD, req, () -> toForm(req), AdminEmojiAddResponse.class, () -> methods.adminEmojiAdd(req));
     }
 
     @Override
@@ -238,7 +329,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminEmojiAddAliasResponse> adminEmojiAddAlias(AdminEmojiAddAliasRequest req) {
-        return executor.execute(ADMIN_EMOJI_ADD_ALIAS, toMap(req), () -> methods.adminEmojiAddAlias(req));
+        return executeForm(ADMIN_EMOJI_ADD_ALIAS, req, () -> toForm(req), AdminEmojiAddAliasResponse.class, () -> methods.adminEmojiAddAlias(req));
     }
 
     @Override
@@ -248,7 +339,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminEmojiListResponse> adminEmojiList(AdminEmojiListRequest req) {
-        return executor.execute(ADMIN_EMOJI_LIST, toMap(req), () -> methods.adminEmojiList(req));
+        return executeForm(ADMIN_EMOJI_LIST, req, () -> toForm(req), AdminEmojiListResponse.class, () -> methods.adminEmojiList(req));
     }
 
     @Override
@@ -258,7 +349,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminEmojiRemoveResponse> adminEmojiRemove(AdminEmojiRemoveRequest req) {
-        return executor.execute(ADMIN_EMOJI_REMOVE, toMap(req), () -> methods.adminEmojiRemove(req));
+        return executeForm(ADMIN_EMOJI_REMOVE, req, () -> toForm(req), AdminEmojiRemoveResponse.class, () -> methods.adminEmojiRemove(req));
     }
 
     @Override
@@ -268,7 +359,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminEmojiRenameResponse> adminEmojiRename(AdminEmojiRenameRequest req) {
-        return executor.execute(ADMIN_EMOJI_RENAME, toMap(req), () -> methods.adminEmojiRename(req));
+        return executeForm(ADMIN_EMOJI_RENAME, req, () -> toForm(req), AdminEmojiRenameResponse.class, () -> methods.adminEmojiRename(req));
     }
 
     @Override
@@ -278,7 +369,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminInviteRequestsApproveResponse> adminInviteRequestsApprove(AdminInviteRequestsApproveRequest req) {
-        return executor.execute(ADMIN_INVITE_REQUESTS_APPROVE, toMap(req), () -> methods.adminInviteRequestsApprove(req));
+        return executeForm(ADMIN_INVITE_REQUESTS_APPROVE, req, () -> toForm(req), AdminInviteRequestsApproveResponse.class, () -> methods.adminInviteRequestsApprove(req));
     }
 
     @Override
@@ -288,7 +379,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminInviteRequestsDenyResponse> adminInviteRequestsDeny(AdminInviteRequestsDenyRequest req) {
-        return executor.execute(ADMIN_INVITE_REQUESTS_DENY, toMap(req), () -> methods.adminInviteRequestsDeny(req));
+        return executeForm(ADMIN_INVITE_REQUESTS_DENY, req, () -> toForm(req), AdminInviteRequestsDenyResponse.class, () -> methods.adminInviteRequestsDeny(req));
     }
 
     @Override
@@ -298,7 +389,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminInviteRequestsListResponse> adminInviteRequestsList(AdminInviteRequestsListRequest req) {
-        return executor.execute(ADMIN_INVITE_REQUESTS_LIST, toMap(req), () -> methods.adminInviteRequestsList(req));
+        return executeForm(ADMIN_INVITE_REQUESTS_LIST, req, () -> toForm(req), AdminInviteRequestsListResponse.class, () -> methods.adminInviteRequestsList(req));
     }
 
     @Override
@@ -308,7 +399,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminInviteRequestsApprovedListResponse> adminInviteRequestsApprovedList(AdminInviteRequestsApprovedListRequest req) {
-        return executor.execute(ADMIN_INVITE_REQUESTS_APPROVED_LIST, toMap(req), () -> methods.adminInviteRequestsApprovedList(req));
+        return executeForm(ADMIN_INVITE_REQUESTS_APPROVED_LIST, req, () -> toForm(req), AdminInviteRequestsApprovedListResponse.class, () -> methods.adminInviteRequestsApprovedList(req));
     }
 
     @Override
@@ -318,7 +409,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminInviteRequestsDeniedListResponse> adminInviteRequestsDeniedList(AdminInviteRequestsDeniedListRequest req) {
-        return executor.execute(ADMIN_INVITE_REQUESTS_DENIED_LIST, toMap(req), () -> methods.adminInviteRequestsDeniedList(req));
+        return executeForm(ADMIN_INVITE_REQUESTS_DENIED_LIST, req, () -> toForm(req), AdminInviteRequestsDeniedListResponse.class, () -> methods.adminInviteRequestsDeniedList(req));
     }
 
     @Override
@@ -328,7 +419,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminTeamsAdminsListResponse> adminTeamsAdminsList(AdminTeamsAdminsListRequest req) {
-        return executor.execute(ADMIN_TEAMS_ADMINS_LIST, toMap(req), () -> methods.adminTeamsAdminsList(req));
+        return executeForm(ADMIN_TEAMS_ADMINS_LIST, req, () -> toForm(req), AdminTeamsAdminsListResponse.class, () -> methods.adminTeamsAdminsList(req));
     }
 
     @Override
@@ -338,7 +429,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminTeamsCreateResponse> adminTeamsCreate(AdminTeamsCreateRequest req) {
-        return executor.execute(ADMIN_TEAMS_CREATE, toMap(req), () -> methods.adminTeamsCreate(req));
+        return executeForm(ADMIN_TEAMS_CREATE, req, () -> toForm(req), AdminTeamsCreateResponse.class, () -> methods.adminTeamsCreate(req));
     }
 
     @Override
@@ -348,7 +439,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminTeamsListResponse> adminTeamsList(AdminTeamsListRequest req) {
-        return executor.execute(ADMIN_TEAMS_LIST, toMap(req), () -> methods.adminTeamsList(req));
+        return executeForm(ADMIN_TEAMS_LIST, req, () -> toForm(req), AdminTeamsListResponse.class, () -> methods.adminTeamsList(req));
     }
 
     @Override
@@ -358,7 +449,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminTeamsOwnersListResponse> adminTeamsOwnersList(AdminTeamsOwnersListRequest req) {
-        return executor.execute(ADMIN_TEAMS_OWNERS_LIST, toMap(req), () -> methods.adminTeamsOwnersList(req));
+        return executeForm(ADMIN_TEAMS_OWNERS_LIST, req, () -> toForm(req), AdminTeamsOwnersListResponse.class, () -> methods.adminTeamsOwnersList(req));
     }
 
     @Override
@@ -368,7 +459,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminTeamsSettingsInfoResponse> adminTeamsSettingsInfo(AdminTeamsSettingsInfoRequest req) {
-        return executor.execute(ADMIN_TEAMS_SETTINGS_INFO, toMap(req), () -> methods.adminTeamsSettingsInfo(req));
+        return executeForm(ADMIN_TEAMS_SETTINGS_INFO, req, () -> toForm(req), AdminTeamsSettingsInfoResponse.class, () -> methods.adminTeamsSettingsInfo(req));
     }
 
     @Override
@@ -378,7 +469,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminTeamsSettingsSetDefaultChannelsResponse> adminTeamsSettingsSetDefaultChannels(AdminTeamsSettingsSetDefaultChannelsRequest req) {
-        return executor.execute(ADMIN_TEAMS_SETTINGS_SET_DEFAULT_CHANNELS, toMap(req), () -> methods.adminTeamsSettingsSetDefaultChannels(req));
+        return executeForm(ADMIN_TEAMS_SETTINGS_SET_DEFAULT_CHANNELS, req, () -> toForm(req), AdminTeamsSettingsSetDefaultChannelsResponse.class, () -> methods.adminTeamsSettingsSetDefaultChannels(req));
     }
 
     @Override
@@ -388,7 +479,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminTeamsSettingsSetDescriptionResponse> adminTeamsSettingsSetDescription(AdminTeamsSettingsSetDescriptionRequest req) {
-        return executor.execute(ADMIN_TEAMS_SETTINGS_SET_DESCRIPTION, toMap(req), () -> methods.adminTeamsSettingsSetDescription(req));
+        return executeForm(ADMIN_TEAMS_SETTINGS_SET_DESCRIPTION, req, () -> toForm(req), AdminTeamsSettingsSetDescriptionResponse.class, () -> methods.adminTeamsSettingsSetDescription(req));
     }
 
     @Override
@@ -398,7 +489,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminTeamsSettingsSetDiscoverabilityResponse> adminTeamsSettingsSetDiscoverability(AdminTeamsSettingsSetDiscoverabilityRequest req) {
-        return executor.execute(ADMIN_TEAMS_SETTINGS_SET_DISCOVERABILITY, toMap(req), () -> methods.adminTeamsSettingsSetDiscoverability(req));
+        return executeForm(ADMIN_TEAMS_SETTINGS_SET_DISCOVERABILITY, req, () -> toForm(req), AdminTeamsSettingsSetDiscoverabilityResponse.class, () -> methods.adminTeamsSettingsSetDiscoverability(req));
     }
 
     @Override
@@ -408,7 +499,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminTeamsSettingsSetIconResponse> adminTeamsSettingsSetIcon(AdminTeamsSettingsSetIconRequest req) {
-        return executor.execute(ADMIN_TEAMS_SETTINGS_SET_ICON, toMap(req), () -> methods.adminTeamsSettingsSetIcon(req));
+        return executeForm(ADMIN_TEAMS_SETTINGS_SET_ICON, req, () -> toForm(req), AdminTeamsSettingsSetIconResponse.class, () -> methods.adminTeamsSettingsSetIcon(req));
     }
 
     @Override
@@ -418,7 +509,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminTeamsSettingsSetNameResponse> adminTeamsSettingsSetName(AdminTeamsSettingsSetNameRequest req) {
-        return executor.execute(ADMIN_TEAMS_SETTINGS_SET_NAME, toMap(req), () -> methods.adminTeamsSettingsSetName(req));
+        return executeForm(ADMIN_TEAMS_SETTINGS_SET_NAME, req, () -> toForm(req), AdminTeamsSettingsSetNameResponse.class, () -> methods.adminTeamsSettingsSetName(req));
     }
 
     @Override
@@ -428,7 +519,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminUsersAssignResponse> adminUsersAssign(AdminUsersAssignRequest req) {
-        return executor.execute(ADMIN_USERS_ASSIGN, toMap(req), () -> methods.adminUsersAssign(req));
+        return executeForm(ADMIN_USERS_ASSIGN, req, () -> toForm(req), AdminUsersAssignResponse.class, () -> methods.adminUsersAssign(req));
     }
 
     @Override
@@ -438,7 +529,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminUsersInviteResponse> adminUsersInvite(AdminUsersInviteRequest req) {
-        return executor.execute(ADMIN_USERS_INVITE, toMap(req), () -> methods.adminUsersInvite(req));
+        return executeForm(ADMIN_USERS_INVITE, req, () -> toForm(req), AdminUsersInviteResponse.class, () -> methods.adminUsersInvite(req));
     }
 
     @Override
@@ -448,7 +539,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminUsersListResponse> adminUsersList(AdminUsersListRequest req) {
-        return executor.execute(ADMIN_USERS_LIST, toMap(req), () -> methods.adminUsersList(req));
+        return executeForm(ADMIN_USERS_LIST, req, () -> toForm(req), AdminUsersListResponse.class, () -> methods.adminUsersList(req));
     }
 
     @Override
@@ -458,7 +549,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminUsersRemoveResponse> adminUsersRemove(AdminUsersRemoveRequest req) {
-        return executor.execute(ADMIN_USERS_REMOVE, toMap(req), () -> methods.adminUsersRemove(req));
+        return executeForm(ADMIN_USERS_REMOVE, req, () -> toForm(req), AdminUsersRemoveResponse.class, () -> methods.adminUsersRemove(req));
     }
 
     @Override
@@ -468,7 +559,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminUsersSetAdminResponse> adminUsersSetAdmin(AdminUsersSetAdminRequest req) {
-        return executor.execute(ADMIN_USERS_SET_ADMIN, toMap(req), () -> methods.adminUsersSetAdmin(req));
+        return executeForm(ADMIN_USERS_SET_ADMIN, req, () -> toForm(req), AdminUsersSetAdminResponse.class, () -> methods.adminUsersSetAdmin(req));
     }
 
     @Override
@@ -478,7 +569,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminUsersSetExpirationResponse> adminUsersSetExpiration(AdminUsersSetExpirationRequest req) {
-        return executor.execute(ADMIN_USERS_SET_EXPIRATION, toMap(req), () -> methods.adminUsersSetExpiration(req));
+        return executeForm(ADMIN_USERS_SET_EXPIRATION, req, () -> toForm(req), AdminUsersSetExpirationResponse.class, () -> methods.adminUsersSetExpiration(req));
     }
 
     @Override
@@ -488,7 +579,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminUsersSetOwnerResponse> adminUsersSetOwner(AdminUsersSetOwnerRequest req) {
-        return executor.execute(ADMIN_USERS_SET_OWNER, toMap(req), () -> methods.adminUsersSetOwner(req));
+        return executeForm(ADMIN_USERS_SET_OWNER, req, () -> toForm(req), AdminUsersSetOwnerResponse.class, () -> methods.adminUsersSetOwner(req));
     }
 
     @Override
@@ -498,7 +589,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminUsersSetRegularResponse> adminUsersSetRegular(AdminUsersSetRegularRequest req) {
-        return executor.execute(ADMIN_USERS_SET_REGULAR, toMap(req), () -> methods.adminUsersSetRegular(req));
+        return executeForm(ADMIN_USERS_SET_REGULAR, req, () -> toForm(req), AdminUsersSetRegularResponse.class, () -> methods.adminUsersSetRegular(req));
     }
 
     @Override
@@ -508,7 +599,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AdminUsersSessionResetResponse> adminUsersSessionReset(AdminUsersSessionResetRequest req) {
-        return executor.execute(ADMIN_USERS_SESSION_RESET, toMap(req), () -> methods.adminUsersSessionReset(req));
+        return executeForm(ADMIN_USERS_SESSION_RESET, req, () -> toForm(req), AdminUsersSessionResetResponse.class, () -> methods.adminUsersSessionReset(req));
     }
 
     @Override
@@ -518,7 +609,8 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ApiTestResponse> apiTest(ApiTestRequest req) {
-        return executor.execute(API_TEST, toMap(req), () -> methods.apiTest(req));
+        return executor.execute(priority, timeoutMillis, API_TEST, toMap(req), () -> methods.apiTest(req),
+                () -> methods.postFormAndParseResponseAsync(toForm(req), API_TEST, ApiTestResponse.class));
     }
 
     @Override
@@ -528,7 +620,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AppsUninstallResponse> appsUninstall(AppsUninstallRequest req) {
-        return executor.execute(APPS_UNINSTALL, toMap(req), () -> methods.appsUninstall(req));
+        return executeForm(APPS_UNINSTALL, req, () -> toForm(req), AppsUninstallResponse.class, () -> methods.appsUninstall(req));
     }
 
     @Override
@@ -538,7 +630,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AuthRevokeResponse> authRevoke(AuthRevokeRequest req) {
-        return executor.execute(AUTH_REVOKE, toMap(req), () -> methods.authRevoke(req));
+        return executeForm(AUTH_REVOKE, req, () -> toForm(req), AuthRevokeResponse.class, () -> methods.authRevoke(req));
     }
 
     @Override
@@ -548,7 +640,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<AuthTestResponse> authTest(AuthTestRequest req) {
-        return executor.execute(AUTH_TEST, toMap(req), () -> methods.authTest(req));
+        return executeForm(AUTH_TEST, req, () -> toForm(req), AuthTestResponse.class, () -> methods.authTest(req));
     }
 
     @Override
@@ -558,7 +650,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<BotsInfoResponse> botsInfo(BotsInfoRequest req) {
-        return executor.execute(BOTS_INFO, toMap(req), () -> methods.botsInfo(req));
+        return executeForm(BOTS_INFO, req, () -> toForm(req), BotsInfoResponse.class, () -> methods.botsInfo(req));
     }
 
     @Override
@@ -568,7 +660,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ChatGetPermalinkResponse> chatGetPermalink(ChatGetPermalinkRequest req) {
-        return executor.execute(CHAT_GET_PERMALINK, toMap(req), () -> methods.chatGetPermalink(req));
+        return executeForm(CHAT_GET_PERMALINK, req, () -> toForm(req), ChatGetPermalinkResponse.class, () -> methods.chatGetPermalink(req));
     }
 
     @Override
@@ -578,7 +670,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ChatDeleteResponse> chatDelete(ChatDeleteRequest req) {
-        return executor.execute(CHAT_DELETE, toMap(req), () -> methods.chatDelete(req));
+        return executeForm(CHAT_DELETE, req, () -> toForm(req), ChatDeleteResponse.class, () -> methods.chatDelete(req));
     }
 
     @Override
@@ -588,7 +680,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ChatDeleteScheduledMessageResponse> chatDeleteScheduledMessage(ChatDeleteScheduledMessageRequest req) {
-        return executor.execute(CHAT_DELETE_SCHEDULED_MESSAGE, toMap(req), () -> methods.chatDeleteScheduledMessage(req));
+        return executeForm(CHAT_DELETE_SCHEDULED_MESSAGE, req, () -> toForm(req), ChatDeleteScheduledMessageResponse.class, () -> methods.chatDeleteScheduledMessage(req));
     }
 
     @Override
@@ -598,7 +690,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ChatMeMessageResponse> chatMeMessage(ChatMeMessageRequest req) {
-        return executor.execute(CHAT_ME_MESSAGE, toMap(req), () -> methods.chatMeMessage(req));
+        return executeForm(CHAT_ME_MESSAGE, req, () -> toForm(req), ChatMeMessageResponse.class, () -> methods.chatMeMessage(req));
     }
 
     @Override
@@ -608,7 +700,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ChatPostEphemeralResponse> chatPostEphemeral(ChatPostEphemeralRequest req) {
-        return executor.execute(CHAT_POST_EPHEMERAL, toMap(req), () -> methods.chatPostEphemeral(req));
+        return executeForm(CHAT_POST_EPHEMERAL, req, () -> toForm(req), ChatPostEphemeralResponse.class, () -> methods.chatPostEphemeral(req));
     }
 
     @Override
@@ -621,7 +713,12 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
         Map<String, String> params = new HashMap<>();
         params.put("token", token(req));
         params.put("channel", req.getChannel()); // for rate limiting
-        return executor.execute(CHAT_POST_MESSAGE, params, () -> methods.chatPostMessage(req));
+        if (methods.isJsonRequestBodyEnabled()) {
+            return executeJson(CHAT_POST_MESSAGE, CHAT_POST_MESSAGE + "_" + req.getChannel(), req, params,
+                    () -> toJsonBody(req), ChatPostMessageResponse.class, () -> methods.chatPostMessage(req));
+        }
+        return executor.execute(priority, timeoutMillis, CHAT_POST_MESSAGE, params, () -> methods.chatPostMessage(req),
+                () -> methods.postFormWithTokenAndParseResponseAsync(toForm(req), CHAT_POST_MESSAGE, methods.getToken(req), ChatPostMessageResponse.class));
     }
 
     @Override
@@ -631,7 +728,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ChatScheduleMessageResponse> chatScheduleMessage(ChatScheduleMessageRequest req) {
-        return executor.execute(CHAT_SCHEDULE_MESSAGE, toMap(req), () -> methods.chatScheduleMessage(req));
+        return executeForm(CHAT_SCHEDULE_MESSAGE, req, () -> toForm(req), ChatScheduleMessageResponse.class, () -> methods.chatScheduleMessage(req));
     }
 
     @Override
@@ -641,7 +738,10 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ChatUpdateResponse> chatUpdate(ChatUpdateRequest req) {
-        return executor.execute(CHAT_UPDATE, toMap(req), () -> methods.chatUpdate(req));
+        if (methods.isJsonRequestBodyEnabled()) {
+            return executeJson(CHAT_UPDATE, CHAT_UPDATE, req, toMap(req), () -> toJsonBody(req), ChatUpdateResponse.class, () -> methods.chatUpdate(req));
+        }
+        return executeForm(CHAT_UPDATE, req, () -> toForm(req), ChatUpdateResponse.class, () -> methods.chatUpdate(req));
     }
 
     @Override
@@ -651,7 +751,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ChatUnfurlResponse> chatUnfurl(ChatUnfurlRequest req) {
-        return executor.execute(CHAT_UNFURL, toMap(req), () -> methods.chatUnfurl(req));
+        return executeForm(CHAT_UNFURL, req, () -> toForm(req), ChatUnfurlResponse.class, () -> methods.chatUnfurl(req));
     }
 
     @Override
@@ -661,7 +761,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ChatScheduledMessagesListResponse> chatScheduledMessagesList(ChatScheduledMessagesListRequest req) {
-        return executor.execute(CHAT_SCHEDULED_MESSAGES_LIST, toMap(req), () -> methods.chatScheduledMessagesList(req));
+        return executeForm(CHAT_SCHEDULED_MESSAGES_LIST, req, () -> toForm(req), ChatScheduledMessagesListResponse.class, () -> methods.chatScheduledMessagesList(req));
     }
 
     @Override
@@ -671,7 +771,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ConversationsArchiveResponse> conversationsArchive(ConversationsArchiveRequest req) {
-        return executor.execute(CONVERSATIONS_ARCHIVE, toMap(req), () -> methods.conversationsArchive(req));
+        return executeForm(CONVERSATIONS_ARCHIVE, req, () -> toForm(req), ConversationsArchiveResponse.class, () -> methods.conversationsArchive(req));
     }
 
     @Override
@@ -681,7 +781,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ConversationsCloseResponse> conversationsClose(ConversationsCloseRequest req) {
-        return executor.execute(CONVERSATIONS_CLOSE, toMap(req), () -> methods.conversationsClose(req));
+        return executeForm(CONVERSATIONS_CLOSE, req, () -> toForm(req), ConversationsCloseResponse.class, () -> methods.conversationsClose(req));
     }
 
     @Override
@@ -691,7 +791,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ConversationsCreateResponse> conversationsCreate(ConversationsCreateRequest req) {
-        return executor.execute(CONVERSATIONS_CREATE, toMap(req), () -> methods.conversationsCreate(req));
+        return executeForm(CONVERSATIONS_CREATE, req, () -> toForm(req), ConversationsCreateResponse.class, () -> methods.conversationsCreate(req));
     }
 
     @Override
@@ -701,7 +801,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ConversationsHistoryResponse> conversationsHistory(ConversationsHistoryRequest req) {
-        return executor.execute(CONVERSATIONS_HISTORY, toMap(req), () -> methods.conversationsHistory(req));
+        return executeForm(CONVERSATIONS_HISTORY, req, () -> toForm(req), ConversationsHistoryResponse.class, () -> methods.conversationsHistory(req));
     }
 
     @Override
@@ -711,7 +811,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ConversationsInfoResponse> conversationsInfo(ConversationsInfoRequest req) {
-        return executor.execute(CONVERSATIONS_INFO, toMap(req), () -> methods.conversationsInfo(req));
+        return executeForm(CONVERSATIONS_INFO, req, () -> toForm(req), ConversationsInfoResponse.class, () -> methods.conversationsInfo(req));
     }
 
     @Override
@@ -721,7 +821,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ConversationsInviteResponse> conversationsInvite(ConversationsInviteRequest req) {
-        return executor.execute(CONVERSATIONS_INVITE, toMap(req), () -> methods.conversationsInvite(req));
+        return executeForm(CONVERSATIONS_INVITE, req, () -> toForm(req), ConversationsInviteResponse.class, () -> methods.conversationsInvite(req));
     }
 
     @Override
@@ -731,7 +831,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ConversationsJoinResponse> conversationsJoin(ConversationsJoinRequest req) {
-        return executor.execute(CONVERSATIONS_JOIN, toMap(req), () -> methods.conversationsJoin(req));
+        return executeForm(CONVERSATIONS_JOIN, req, () -> toForm(req), ConversationsJoinResponse.class, () -> methods.conversationsJoin(req));
     }
 
     @Override
@@ -741,7 +841,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ConversationsKickResponse> conversationsKick(ConversationsKickRequest req) {
-        return executor.execute(CONVERSATIONS_KICK, toMap(req), () -> methods.conversationsKick(req));
+        return executeForm(CONVERSATIONS_KICK, req, () -> toForm(req), ConversationsKickResponse.class, () -> methods.conversationsKick(req));
     }
 
     @Override
@@ -751,7 +851,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ConversationsLeaveResponse> conversationsLeave(ConversationsLeaveRequest req) {
-        return executor.execute(CONVERSATIONS_LEAVE, toMap(req), () -> methods.conversationsLeave(req));
+        return executeForm(CONVERSATIONS_LEAVE, req, () -> toForm(req), ConversationsLeaveResponse.class, () -> methods.conversationsLeave(req));
     }
 
     @Override
@@ -761,7 +861,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ConversationsListResponse> conversationsList(ConversationsListRequest req) {
-        return executor.execute(CONVERSATIONS_LIST, toMap(req), () -> methods.conversationsList(req));
+        return executeForm(CONVERSATIONS_LIST, req, () -> toForm(req), ConversationsListResponse.class, () -> methods.conversationsList(req));
     }
 
     @Override
@@ -771,7 +871,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ConversationsMembersResponse> conversationsMembers(ConversationsMembersRequest req) {
-        return executor.execute(CONVERSATIONS_MEMBERS, toMap(req), () -> methods.conversationsMembers(req));
+        return executeForm(CONVERSATIONS_MEMBERS, req, () -> toForm(req), ConversationsMembersResponse.class, () -> methods.conversationsMembers(req));
     }
 
     @Override
@@ -781,7 +881,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ConversationsOpenResponse> conversationsOpen(ConversationsOpenRequest req) {
-        return executor.execute(CONVERSATIONS_OPEN, toMap(req), () -> methods.conversationsOpen(req));
+        return executeForm(CONVERSATIONS_OPEN, req, () -> toForm(req), ConversationsOpenResponse.class, () -> methods.conversationsOpen(req));
     }
 
     @Override
@@ -791,7 +891,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ConversationsRenameResponse> conversationsRename(ConversationsRenameRequest req) {
-        return executor.execute(CONVERSATIONS_RENAME, toMap(req), () -> methods.conversationsRename(req));
+        return executeForm(CONVERSATIONS_RENAME, req, () -> toForm(req), ConversationsRenameResponse.class, () -> methods.conversationsRename(req));
     }
 
     @Override
@@ -801,7 +901,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ConversationsRepliesResponse> conversationsReplies(ConversationsRepliesRequest req) {
-        return executor.execute(CONVERSATIONS_REPLIES, toMap(req), () -> methods.conversationsReplies(req));
+        return executeForm(CONVERSATIONS_REPLIES, req, () -> toForm(req), ConversationsRepliesResponse.class, () -> methods.conversationsReplies(req));
     }
 
     @Override
@@ -811,7 +911,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ConversationsSetPurposeResponse> conversationsSetPurpose(ConversationsSetPurposeRequest req) {
-        return executor.execute(CONVERSATIONS_SET_PURPOSE, toMap(req), () -> methods.conversationsSetPurpose(req));
+        return executeForm(CONVERSATIONS_SET_PURPOSE, req, () -> toForm(req), ConversationsSetPurposeResponse.class, () -> methods.conversationsSetPurpose(req));
     }
 
     @Override
@@ -821,7 +921,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ConversationsSetTopicResponse> conversationsSetTopic(ConversationsSetTopicRequest req) {
-        return executor.execute(CONVERSATIONS_SET_TOPIC, toMap(req), () -> methods.conversationsSetTopic(req));
+        return executeForm(CONVERSATIONS_SET_TOPIC, req, () -> toForm(req), ConversationsSetTopicResponse.class, () -> methods.conversationsSetTopic(req));
     }
 
     @Override
@@ -831,7 +931,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ConversationsUnarchiveResponse> conversationsUnarchive(ConversationsUnarchiveRequest req) {
-        return executor.execute(CONVERSATIONS_UNARCHIVE, toMap(req), () -> methods.conversationsUnarchive(req));
+        return executeForm(CONVERSATIONS_UNARCHIVE, req, () -> toForm(req), ConversationsUnarchiveResponse.class, () -> methods.conversationsUnarchive(req));
     }
 
     @Override
@@ -841,7 +941,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<DialogOpenResponse> dialogOpen(DialogOpenRequest req) {
-        return executor.execute(DIALOG_OPEN, toMap(req), () -> methods.dialogOpen(req));
+        return executeForm(DIALOG_OPEN, req, () -> toForm(req), DialogOpenResponse.class, () -> methods.dialogOpen(req));
     }
 
     @Override
@@ -851,7 +951,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<DndEndDndResponse> dndEndDnd(DndEndDndRequest req) {
-        return executor.execute(DND_END_DND, toMap(req), () -> methods.dndEndDnd(req));
+        return executeForm(DND_END_DND, req, () -> toForm(req), DndEndDndResponse.class, () -> methods.dndEndDnd(req));
     }
 
     @Override
@@ -861,7 +961,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<DndEndSnoozeResponse> dndEndSnooze(DndEndSnoozeRequest req) {
-        return executor.execute(DND_END_SNOOZE, toMap(req), () -> methods.dndEndSnooze(req));
+        return executeForm(DND_END_SNOOZE, req, () -> toForm(req), DndEndSnoozeResponse.class, () -> methods.dndEndSnooze(req));
     }
 
     @Override
@@ -871,7 +971,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<DndInfoResponse> dndInfo(DndInfoRequest req) {
-        return executor.execute(DND_INFO, toMap(req), () -> methods.dndInfo(req));
+        return executeForm(DND_INFO, req, () -> toForm(req), DndInfoResponse.class, () -> methods.dndInfo(req));
     }
 
     @Override
@@ -881,7 +981,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<DndSetSnoozeResponse> dndSetSnooze(DndSetSnoozeRequest req) {
-        return executor.execute(DND_SET_SNOOZE, toMap(req), () -> methods.dndSetSnooze(req));
+        return executeForm(DND_SET_SNOOZE, req, () -> toForm(req), DndSetSnoozeResponse.class, () -> methods.dndSetSnooze(req));
     }
 
     @Override
@@ -891,7 +991,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<DndTeamInfoResponse> dndTeamInfo(DndTeamInfoRequest req) {
-        return executor.execute(DND_TEAM_INFO, toMap(req), () -> methods.dndTeamInfo(req));
+        return executeForm(DND_TEAM_INFO, req, () -> toForm(req), DndTeamInfoResponse.class, () -> methods.dndTeamInfo(req));
     }
 
     @Override
@@ -901,7 +1001,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<EmojiListResponse> emojiList(EmojiListRequest req) {
-        return executor.execute(EMOJI_LIST, toMap(req), () -> methods.emojiList(req));
+        return executeForm(EMOJI_LIST, req, () -> toForm(req), EmojiListResponse.class, () -> methods.emojiList(req));
     }
 
     @Override
@@ -911,7 +1011,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<FilesDeleteResponse> filesDelete(FilesDeleteRequest req) {
-        return executor.execute(FILES_DELETE, toMap(req), () -> methods.filesDelete(req));
+        return executeForm(FILES_DELETE, req, () -> toForm(req), FilesDeleteResponse.class, () -> methods.filesDelete(req));
     }
 
     @Override
@@ -921,7 +1021,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<FilesInfoResponse> filesInfo(FilesInfoRequest req) {
-        return executor.execute(FILES_INFO, toMap(req), () -> methods.filesInfo(req));
+        return executeForm(FILES_INFO, req, () -> toForm(req), FilesInfoResponse.class, () -> methods.filesInfo(req));
     }
 
     @Override
@@ -931,7 +1031,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<FilesListResponse> filesList(FilesListRequest req) {
-        return executor.execute(FILES_LIST, toMap(req), () -> methods.filesList(req));
+        return executeForm(FILES_LIST, req, () -> toForm(req), FilesListResponse.class, () -> methods.filesList(req));
     }
 
     @Override
@@ -941,7 +1041,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<FilesRevokePublicURLResponse> filesRevokePublicURL(FilesRevokePublicURLRequest req) {
-        return executor.execute(FILES_REVOKE_PUBLIC_URL, toMap(req), () -> methods.filesRevokePublicURL(req));
+        return executeForm(FILES_REVOKE_PUBLIC_URL, req, () -> toForm(req), FilesRevokePublicURLResponse.class, () -> methods.filesRevokePublicURL(req));
     }
 
     @Override
@@ -951,7 +1051,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<FilesSharedPublicURLResponse> filesSharedPublicURL(FilesSharedPublicURLRequest req) {
-        return executor.execute(FILES_SHARED_PUBLIC_URL, toMap(req), () -> methods.filesSharedPublicURL(req));
+        return executeForm(FILES_SHARED_PUBLIC_URL, req, () -> toForm(req), FilesSharedPublicURLResponse.class, () -> methods.filesSharedPublicURL(req));
     }
 
     @Override
@@ -961,7 +1061,11 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<FilesUploadResponse> filesUpload(FilesUploadRequest req) {
-        return executor.execute(FILES_UPLOAD, toMap(req), () -> methods.filesUpload(req));
+        // A rate-limited upload reading an InputStream cannot be retried as the stream has been consumed
+        return executor.execute(priority, timeoutMillis, FILES_UPLOAD, toMap(req), !hasOneShotFileContents(req), () -> methods.filesUpload(req),
+                () -> hasFileContents(req)
+                        ? methods.postMultipartAndParseResponseAsync(toMultipartBody(req), FILES_UPLOAD, methods.getToken(req), FilesUploadResponse.class)
+                        : methods.postFormWithTokenAndParseResponseAsync(toForm(req), FILES_UPLOAD, methods.getToken(req), FilesUploadResponse.class));
     }
 
     @Override
@@ -971,7 +1075,8 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<FilesRemoteAddResponse> filesRemoteAdd(FilesRemoteAddRequest req) {
-        return executor.execute(FILES_REMOTE_ADD, toMap(req), () -> methods.filesRemoteAdd(req));
+        return executor.execute(priority, timeoutMillis, FILES_REMOTE_ADD, toMap(req), () -> methods.filesRemoteAdd(req),
+                () -> methods.postMultipartAndParseResponseAsync(toMultipartBody(req), FILES_REMOTE_ADD, methods.getToken(req), FilesRemoteAddResponse.class));
     }
 
     @Override
@@ -981,7 +1086,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<FilesRemoteInfoResponse> filesRemoteInfo(FilesRemoteInfoRequest req) {
-        return executor.execute(FILES_REMOTE_INFO, toMap(req), () -> methods.filesRemoteInfo(req));
+        return executeForm(FILES_REMOTE_INFO, req, () -> toForm(req), FilesRemoteInfoResponse.class, () -> methods.filesRemoteInfo(req));
     }
 
     @Override
@@ -991,7 +1096,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<FilesRemoteListResponse> filesRemoteList(FilesRemoteListRequest req) {
-        return executor.execute(FILES_REMOTE_LIST, toMap(req), () -> methods.filesRemoteList(req));
+        return executeForm(FILES_REMOTE_LIST, req, () -> toForm(req), FilesRemoteListResponse.class, () -> methods.filesRemoteList(req));
     }
 
     @Override
@@ -1001,7 +1106,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<FilesRemoteRemoveResponse> filesRemoteRemove(FilesRemoteRemoveRequest req) {
-        return executor.execute(FILES_REMOTE_REMOVE, toMap(req), () -> methods.filesRemoteRemove(req));
+        return executeForm(FILES_REMOTE_REMOVE, req, () -> toForm(req), FilesRemoteRemoveResponse.class, () -> methods.filesRemoteRemove(req));
     }
 
     @Override
@@ -1011,7 +1116,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<FilesRemoteShareResponse> filesRemoteShare(FilesRemoteShareRequest req) {
-        return executor.execute(FILES_REMOTE_SHARE, toMap(req), () -> methods.filesRemoteShare(req));
+        return executeForm(FILES_REMOTE_SHARE, req, () -> toForm(req), FilesRemoteShareResponse.class, () -> methods.filesRemoteShare(req));
     }
 
     @Override
@@ -1021,7 +1126,8 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<FilesRemoteUpdateResponse> filesRemoteUpdate(FilesRemoteUpdateRequest req) {
-        return executor.execute(FILES_REMOTE_UPDATE, toMap(req), () -> methods.filesRemoteUpdate(req));
+        return executor.execute(priority, timeoutMillis, FILES_REMOTE_UPDATE, toMap(req), () -> methods.filesRemoteUpdate(req),
+                () -> methods.postMultipartAndParseResponseAsync(toMultipartBody(req), FILES_REMOTE_UPDATE, methods.getToken(req), FilesRemoteUpdateResponse.class));
     }
 
     @Override
@@ -1031,7 +1137,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<MigrationExchangeResponse> migrationExchange(MigrationExchangeRequest req) {
-        return executor.execute(MIGRATION_EXCHANGE, toMap(req), () -> methods.migrationExchange(req));
+        return executeForm(MIGRATION_EXCHANGE, req, () -> toForm(req), MigrationExchangeResponse.class, () -> methods.migrationExchange(req));
     }
 
     @Override
@@ -1061,7 +1167,8 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<OAuthTokenResponse> oauthToken(OAuthTokenRequest req) {
-        return executor.execute(OAUTH_TOKEN, toMap(req), () -> methods.oauthToken(req));
+        return executor.execute(priority, timeoutMillis, OAUTH_TOKEN, toMap(req), () -> methods.oauthToken(req),
+                () -> methods.postFormAndParseResponseAsync(toForm(req), OAUTH_TOKEN, OAuthTokenResponse.class));
     }
 
     @Override
@@ -1071,7 +1178,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<PinsAddResponse> pinsAdd(PinsAddRequest req) {
-        return executor.execute(PINS_ADD, toMap(req), () -> methods.pinsAdd(req));
+        return executeForm(PINS_ADD, req, () -> toForm(req), PinsAddResponse.class, () -> methods.pinsAdd(req));
     }
 
     @Override
@@ -1081,7 +1188,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<PinsListResponse> pinsList(PinsListRequest req) {
-        return executor.execute(PINS_LIST, toMap(req), () -> methods.pinsList(req));
+        return executeForm(PINS_LIST, req, () -> toForm(req), PinsListResponse.class, () -> methods.pinsList(req));
     }
 
     @Override
@@ -1091,7 +1198,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<PinsRemoveResponse> pinsRemove(PinsRemoveRequest req) {
-        return executor.execute(PINS_REMOVE, toMap(req), () -> methods.pinsRemove(req));
+        return executeForm(PINS_REMOVE, req, () -> toForm(req), PinsRemoveResponse.class, () -> methods.pinsRemove(req));
     }
 
     @Override
@@ -1101,7 +1208,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ReactionsAddResponse> reactionsAdd(ReactionsAddRequest req) {
-        return executor.execute(REACTIONS_ADD, toMap(req), () -> methods.reactionsAdd(req));
+        return executeForm(REACTIONS_ADD, req, () -> toForm(req), ReactionsAddResponse.class, () -> methods.reactionsAdd(req));
     }
 
     @Override
@@ -1111,7 +1218,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ReactionsGetResponse> reactionsGet(ReactionsGetRequest req) {
-        return executor.execute(REACTIONS_GET, toMap(req), () -> methods.reactionsGet(req));
+        return executeForm(REACTIONS_GET, req, () -> toForm(req), ReactionsGetResponse.class, () -> methods.reactionsGet(req));
     }
 
     @Override
@@ -1121,7 +1228,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ReactionsListResponse> reactionsList(ReactionsListRequest req) {
-        return executor.execute(REACTIONS_LIST, toMap(req), () -> methods.reactionsList(req));
+        return executeForm(REACTIONS_LIST, req, () -> toForm(req), ReactionsListResponse.class, () -> methods.reactionsList(req));
     }
 
     @Override
@@ -1131,7 +1238,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ReactionsRemoveResponse> reactionsRemove(ReactionsRemoveRequest req) {
-        return executor.execute(REACTIONS_REMOVE, toMap(req), () -> methods.reactionsRemove(req));
+        return executeForm(REACTIONS_REMOVE, req, () -> toForm(req), ReactionsRemoveResponse.class, () -> methods.reactionsRemove(req));
     }
 
     @Override
@@ -1141,7 +1248,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<RemindersAddResponse> remindersAdd(RemindersAddRequest req) {
-        return executor.execute(REMINDERS_ADD, toMap(req), () -> methods.remindersAdd(req));
+        return executeForm(REMINDERS_ADD, req, () -> toForm(req), RemindersAddResponse.class, () -> methods.remindersAdd(req));
     }
 
     @Override
@@ -1151,7 +1258,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<RemindersCompleteResponse> remindersComplete(RemindersCompleteRequest req) {
-        return executor.execute(REMINDERS_COMPLETE, toMap(req), () -> methods.remindersComplete(req));
+        return executeForm(REMINDERS_COMPLETE, req, () -> toForm(req), RemindersCompleteResponse.class, () -> methods.remindersComplete(req));
     }
 
     @Override
@@ -1161,7 +1268,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<RemindersDeleteResponse> remindersDelete(RemindersDeleteRequest req) {
-        return executor.execute(REMINDERS_DELETE, toMap(req), () -> methods.remindersDelete(req));
+        return executeForm(REMINDERS_DELETE, req, () -> toForm(req), RemindersDeleteResponse.class, () -> methods.remindersDelete(req));
     }
 
     @Override
@@ -1171,7 +1278,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<RemindersInfoResponse> remindersInfo(RemindersInfoRequest req) {
-        return executor.execute(REMINDERS_INFO, toMap(req), () -> methods.remindersInfo(req));
+        return executeForm(REMINDERS_INFO, req, () -> toForm(req), RemindersInfoResponse.class, () -> methods.remindersInfo(req));
     }
 
     @Override
@@ -1181,7 +1288,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<RemindersListResponse> remindersList(RemindersListRequest req) {
-        return executor.execute(REMINDERS_LIST, toMap(req), () -> methods.remindersList(req));
+        return executeForm(REMINDERS_LIST, req, () -> toForm(req), RemindersListResponse.class, () -> methods.remindersList(req));
     }
 
     @Override
@@ -1191,7 +1298,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<RTMConnectResponse> rtmConnect(RTMConnectRequest req) {
-        return executor.execute(RTM_CONNECT, toMap(req), () -> methods.rtmConnect(req));
+        return executeForm(RTM_CONNECT, req, () -> toForm(req), RTMConnectResponse.class, () -> methods.rtmConnect(req));
     }
 
     @Override
@@ -1201,7 +1308,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<RTMStartResponse> rtmStart(RTMStartRequest req) {
-        return executor.execute(RTM_START, toMap(req), () -> methods.rtmStart(req));
+        return executeForm(RTM_START, req, () -> toForm(req), RTMStartResponse.class, () -> methods.rtmStart(req));
     }
 
     @Override
@@ -1211,7 +1318,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<SearchAllResponse> searchAll(SearchAllRequest req) {
-        return executor.execute(SEARCH_ALL, toMap(req), () -> methods.searchAll(req));
+        return executeForm(SEARCH_ALL, req, () -> toForm(req), SearchAllResponse.class, () -> methods.searchAll(req));
     }
 
     @Override
@@ -1221,7 +1328,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<SearchMessagesResponse> searchMessages(SearchMessagesRequest req) {
-        return executor.execute(SEARCH_MESSAGES, toMap(req), () -> methods.searchMessages(req));
+        return executeForm(SEARCH_MESSAGES, req, () -> toForm(req), SearchMessagesResponse.class, () -> methods.searchMessages(req));
     }
 
     @Override
@@ -1231,7 +1338,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<SearchFilesResponse> searchFiles(SearchFilesRequest req) {
-        return executor.execute(SEARCH_FILES, toMap(req), () -> methods.searchFiles(req));
+        return executeForm(SEARCH_FILES, req, () -> toForm(req), SearchFilesResponse.class, () -> methods.searchFiles(req));
     }
 
     @Override
@@ -1241,7 +1348,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<StarsAddResponse> starsAdd(StarsAddRequest req) {
-        return executor.execute(STARS_ADD, toMap(req), () -> methods.starsAdd(req));
+        return executeForm(STARS_ADD, req, () -> toForm(req), StarsAddResponse.class, () -> methods.starsAdd(req));
     }
 
     @Override
@@ -1251,7 +1358,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<StarsListResponse> starsList(StarsListRequest req) {
-        return executor.execute(STARS_LIST, toMap(req), () -> methods.starsList(req));
+        return executeForm(STARS_LIST, req, () -> toForm(req), StarsListResponse.class, () -> methods.starsList(req));
     }
 
     @Override
@@ -1261,7 +1368,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<StarsRemoveResponse> starsRemove(StarsRemoveRequest req) {
-        return executor.execute(STARS_REMOVE, toMap(req), () -> methods.starsRemove(req));
+        return executeForm(STARS_REMOVE, req, () -> toForm(req), StarsRemoveResponse.class, () -> methods.starsRemove(req));
     }
 
     @Override
@@ -1271,7 +1378,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<TeamAccessLogsResponse> teamAccessLogs(TeamAccessLogsRequest req) {
-        return executor.execute(TEAM_ACCESS_LOGS, toMap(req), () -> methods.teamAccessLogs(req));
+        return executeForm(TEAM_ACCESS_LOGS, req, () -> toForm(req), TeamAccessLogsResponse.class, () -> methods.teamAccessLogs(req));
     }
 
     @Override
@@ -1281,7 +1388,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<TeamBillableInfoResponse> teamBillableInfo(TeamBillableInfoRequest req) {
-        return executor.execute(TEAM_BILLABLE_INFO, toMap(req), () -> methods.teamBillableInfo(req));
+        return executeForm(TEAM_BILLABLE_INFO, req, () -> toForm(req), TeamBillableInfoResponse.class, () -> methods.teamBillableInfo(req));
     }
 
     @Override
@@ -1291,7 +1398,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<TeamInfoResponse> teamInfo(TeamInfoRequest req) {
-        return executor.execute(TEAM_INFO, toMap(req), () -> methods.teamInfo(req));
+        return executeForm(TEAM_INFO, req, () -> toForm(req), TeamInfoResponse.class, () -> methods.teamInfo(req));
     }
 
     @Override
@@ -1301,7 +1408,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<TeamIntegrationLogsResponse> teamIntegrationLogs(TeamIntegrationLogsRequest req) {
-        return executor.execute(TEAM_INTEGRATION_LOGS, toMap(req), () -> methods.teamIntegrationLogs(req));
+        return executeForm(TEAM_INTEGRATION_LOGS, req, () -> toForm(req), TeamIntegrationLogsResponse.class, () -> methods.teamIntegrationLogs(req));
     }
 
     @Override
@@ -1311,7 +1418,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<TeamProfileGetResponse> teamProfileGet(TeamProfileGetRequest req) {
-        return executor.execute(TEAM_PROFILE_GET, toMap(req), () -> methods.teamProfileGet(req));
+        return executeForm(TEAM_PROFILE_GET, req, () -> toForm(req), TeamProfileGetResponse.class, () -> methods.teamProfileGet(req));
     }
 
     @Override
@@ -1321,7 +1428,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<UsergroupsCreateResponse> usergroupsCreate(UsergroupsCreateRequest req) {
-        return executor.execute(USERGROUPS_CREATE, toMap(req), () -> methods.usergroupsCreate(req));
+        return executeForm(USERGROUPS_CREATE, req, () -> toForm(req), UsergroupsCreateResponse.class, () -> methods.usergroupsCreate(req));
     }
 
     @Override
@@ -1331,7 +1438,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<UsergroupsDisableResponse> usergroupsDisable(UsergroupsDisableRequest req) {
-        return executor.execute(USERGROUPS_DISABLE, toMap(req), () -> methods.usergroupsDisable(req));
+        return executeForm(USERGROUPS_DISABLE, req, () -> toForm(req), UsergroupsDisableResponse.class, () -> methods.usergroupsDisable(req));
     }
 
     @Override
@@ -1341,7 +1448,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<UsergroupsEnableResponse> usergroupsEnable(UsergroupsEnableRequest req) {
-        return executor.execute(USERGROUPS_ENABLE, toMap(req), () -> methods.usergroupsEnable(req));
+        return executeForm(USERGROUPS_ENABLE, req, () -> toForm(req), UsergroupsEnableResponse.class, () -> methods.usergroupsEnable(req));
     }
 
     @Override
@@ -1351,7 +1458,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<UsergroupsListResponse> usergroupsList(UsergroupsListRequest req) {
-        return executor.execute(USERGROUPS_LIST, toMap(req), () -> methods.usergroupsList(req));
+        return executeForm(USERGROUPS_LIST, req, () -> toForm(req), UsergroupsListResponse.class, () -> methods.usergroupsList(req));
     }
 
     @Override
@@ -1361,7 +1468,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<UsergroupsUpdateResponse> usergroupsUpdate(UsergroupsUpdateRequest req) {
-        return executor.execute(USERGROUPS_UPDATE, toMap(req), () -> methods.usergroupsUpdate(req));
+        return executeForm(USERGROUPS_UPDATE, req, () -> toForm(req), UsergroupsUpdateResponse.class, () -> methods.usergroupsUpdate(req));
     }
 
     @Override
@@ -1371,7 +1478,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<UsergroupsUsersListResponse> usergroupsUsersList(UsergroupsUsersListRequest req) {
-        return executor.execute(USERGROUPS_USERS_LIST, toMap(req), () -> methods.usergroupsUsersList(req));
+        return executeForm(USERGROUPS_USERS_LIST, req, () -> toForm(req), UsergroupsUsersListResponse.class, () -> methods.usergroupsUsersList(req));
     }
 
     @Override
@@ -1381,7 +1488,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<UsergroupsUsersUpdateResponse> usergroupsUsersUpdate(UsergroupsUsersUpdateRequest req) {
-        return executor.execute(USERGROUPS_USERS_UPDATE, toMap(req), () -> methods.usergroupsUsersUpdate(req));
+        return executeForm(USERGROUPS_USERS_UPDATE, req, () -> toForm(req), UsergroupsUsersUpdateResponse.class, () -> methods.usergroupsUsersUpdate(req));
     }
 
     @Override
@@ -1391,7 +1498,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<UsersConversationsResponse> usersConversations(UsersConversationsRequest req) {
-        return executor.execute(USERS_CONVERSATIONS, toMap(req), () -> methods.usersConversations(req));
+        return executeForm(USERS_CONVERSATIONS, req, () -> toForm(req), UsersConversationsResponse.class, () -> methods.usersConversations(req));
     }
 
     @Override
@@ -1401,7 +1508,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<UsersDeletePhotoResponse> usersDeletePhoto(UsersDeletePhotoRequest req) {
-        return executor.execute(USERS_DELETE_PHOTO, toMap(req), () -> methods.usersDeletePhoto(req));
+        return executeForm(USERS_DELETE_PHOTO, req, () -> toForm(req), UsersDeletePhotoResponse.class, () -> methods.usersDeletePhoto(req));
     }
 
     @Override
@@ -1411,7 +1518,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<UsersGetPresenceResponse> usersGetPresence(UsersGetPresenceRequest req) {
-        return executor.execute(USERS_GET_PRESENCE, toMap(req), () -> methods.usersGetPresence(req));
+        return executeForm(USERS_GET_PRESENCE, req, () -> toForm(req), UsersGetPresenceResponse.class, () -> methods.usersGetPresence(req));
     }
 
     @Override
@@ -1421,7 +1528,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<UsersIdentityResponse> usersIdentity(UsersIdentityRequest req) {
-        return executor.execute(USERS_IDENTITY, toMap(req), () -> methods.usersIdentity(req));
+        return executeForm(USERS_IDENTITY, req, () -> toForm(req), UsersIdentityResponse.class, () -> methods.usersIdentity(req));
     }
 
     @Override
@@ -1431,7 +1538,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<UsersInfoResponse> usersInfo(UsersInfoRequest req) {
-        return executor.execute(USERS_INFO, toMap(req), () -> methods.usersInfo(req));
+        return executeForm(USERS_INFO, req, () -> toForm(req), UsersInfoResponse.class, () -> methods.usersInfo(req));
     }
 
     @Override
@@ -1441,7 +1548,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<UsersListResponse> usersList(UsersListRequest req) {
-        return executor.execute(USERS_LIST, toMap(req), () -> methods.usersList(req));
+        return executeForm(USERS_LIST, req, () -> toForm(req), UsersListResponse.class, () -> methods.usersList(req));
     }
 
     @Override
@@ -1451,7 +1558,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<UsersLookupByEmailResponse> usersLookupByEmail(UsersLookupByEmailRequest req) {
-        return executor.execute(USERS_LOOKUP_BY_EMAIL, toMap(req), () -> methods.usersLookupByEmail(req));
+        return executeForm(USERS_LOOKUP_BY_EMAIL, req, () -> toForm(req), UsersLookupByEmailResponse.class, () -> methods.usersLookupByEmail(req));
     }
 
     @Override
@@ -1461,7 +1568,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<UsersSetActiveResponse> usersSetActive(UsersSetActiveRequest req) {
-        return executor.execute(USERS_SET_ACTIVE, toMap(req), () -> methods.usersSetActive(req));
+        return executeForm(USERS_SET_ACTIVE, req, () -> toForm(req), UsersSetActiveResponse.class, () -> methods.usersSetActive(req));
     }
 
     @Override
@@ -1471,7 +1578,8 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<UsersSetPhotoResponse> usersSetPhoto(UsersSetPhotoRequest req) {
-        return executor.execute(USERS_SET_PHOTO, toMap(req), () -> methods.usersSetPhoto(req));
+        return executor.execute(priority, timeoutMillis, USERS_SET_PHOTO, toMap(req), () -> methods.usersSetPhoto(req),
+                () -> methods.postMultipartAndParseResponseAsync(toMultipartBody(req), USERS_SET_PHOTO, methods.getToken(req), UsersSetPhotoResponse.class));
     }
 
     @Override
@@ -1481,7 +1589,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<UsersSetPresenceResponse> usersSetPresence(UsersSetPresenceRequest req) {
-        return executor.execute(USERS_SET_PRESENCE, toMap(req), () -> methods.usersSetPresence(req));
+        return executeForm(USERS_SET_PRESENCE, req, () -> toForm(req), UsersSetPresenceResponse.class, () -> methods.usersSetPresence(req));
     }
 
     @Override
@@ -1491,7 +1599,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<UsersProfileGetResponse> usersProfileGet(UsersProfileGetRequest req) {
-        return executor.execute(USERS_PROFILE_GET, toMap(req), () -> methods.usersProfileGet(req));
+        return executeForm(USERS_PROFILE_GET, req, () -> toForm(req), UsersProfileGetResponse.class, () -> methods.usersProfileGet(req));
     }
 
     @Override
@@ -1501,7 +1609,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<UsersProfileSetResponse> usersProfileSet(UsersProfileSetRequest req) {
-        return executor.execute(USERS_PROFILE_SET, toMap(req), () -> methods.usersProfileSet(req));
+        return executeForm(USERS_PROFILE_SET, req, () -> toForm(req), UsersProfileSetResponse.class, () -> methods.usersProfileSet(req));
     }
 
     @Override
@@ -1511,7 +1619,10 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ViewsOpenResponse> viewsOpen(ViewsOpenRequest req) {
-        return executor.execute(VIEWS_OPEN, toMap(req), () -> methods.viewsOpen(req));
+        if (methods.isJsonRequestBodyEnabled()) {
+            return executeJson(VIEWS_OPEN, VIEWS_OPEN, req, toMap(req), () -> toJsonBody(req), ViewsOpenResponse.class, () -> methods.viewsOpen(req));
+        }
+        return executeForm(VIEWS_OPEN, req, () -> toForm(req), ViewsOpenResponse.class, () -> methods.viewsOpen(req));
     }
 
     @Override
@@ -1521,7 +1632,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ViewsPushResponse> viewsPush(ViewsPushRequest req) {
-        return executor.execute(VIEWS_PUSH, toMap(req), () -> methods.viewsPush(req));
+        return executeForm(VIEWS_PUSH, req, () -> toForm(req), ViewsPushResponse.class, () -> methods.viewsPush(req));
     }
 
     @Override
@@ -1531,7 +1642,7 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ViewsUpdateResponse> viewsUpdate(ViewsUpdateRequest req) {
-        return executor.execute(VIEWS_UPDATE, toMap(req), () -> methods.viewsUpdate(req));
+        return executeForm(VIEWS_UPDATE, req, () -> toForm(req), ViewsUpdateResponse.class, () -> methods.viewsUpdate(req));
     }
 
     @Override
@@ -1541,7 +1652,10 @@ public class AsyncMethodsClientImpl implements AsyncMethodsClient {
 
     @Override
     public CompletableFuture<ViewsPublishResponse> viewsPublish(ViewsPublishRequest req) {
-        return executor.execute(VIEWS_PUBLISH, toMap(req), () -> methods.viewsPublish(req));
+        if (methods.isJsonRequestBodyEnabled()) {
+            return executeJson(VIEWS_PUBLISH, VIEWS_PUBLISH, req, toMap(req), () -> toJsonBody(req), ViewsPublishResponse.class, () -> methods.viewsPublish(req));
+        }
+        return executeForm(VIEWS_PUBLISH, req, () -> toForm(req), ViewsPublishResponse.class, () -> methods.viewsPublish(req));
     }
 
     @Override
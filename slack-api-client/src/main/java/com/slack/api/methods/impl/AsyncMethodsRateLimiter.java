@@ -4,8 +4,8 @@ import com.slack.api.methods.Methods;
 import com.slack.api.methods.MethodsConfig;
 import com.slack.api.methods.MethodsRateLimitTier;
 import com.slack.api.methods.MethodsRateLimits;
-import com.slack.api.methods.metrics.LastMinuteRequests;
 import com.slack.api.methods.metrics.MetricsDatastore;
+import com.slack.api.methods.metrics.RateLimitSnapshot;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
@@ -48,6 +48,22 @@ public class AsyncMethodsRateLimiter {
         return calculateWaitTime(teamId, Methods.CHAT_POST_MESSAGE, "_" + channelId);
     }
 
+    /**
+     * Returns the latest wait time for a message that is about to run.
+     * The message has already acquired its wait time when it was enqueued.
+     */
+    public WaitTime reacquireWaitTime(String teamId, String methodName) {
+        return acquireWaitTime(teamId, methodName);
+    }
+
+    /**
+     * Returns the latest wait time for a chat.postMessage call that is about to run.
+     * The message has already acquired its wait time when it was enqueued.
+     */
+    public WaitTime reacquireWaitTimeForChatPostMessage(String teamId, String channelId) {
+        return acquireWaitTimeForChatPostMessage(teamId, channelId);
+    }
+
     private WaitTime calculateWaitTime(String teamId, String methodName) {
         return calculateWaitTime(teamId, methodName, "");
     }
@@ -57,16 +73,16 @@ public class AsyncMethodsRateLimiter {
 
         MethodsRateLimitTier tier = MethodsRateLimits.lookupRateLimitTier(methodName);
         int allowedRequests = getAllowedRequestsPerMinute(tier);
+        // The counts and the retry-after come from a single datastore call
+        RateLimitSnapshot snapshot = metricsDatastore.getRateLimitSnapshot(config.getExecutorName(), teamId, key);
         if (log.isDebugEnabled()) {
-            int currentRequests = getNumberOfLastMinuteRequests(teamId, key);
-            log.debug("current requests: {}, allowed requests: {}", currentRequests, allowedRequests);
+            log.debug("current requests: {}, allowed requests: {}", snapshot.getLastMinuteRequests(), allowedRequests);
         }
 
-        Long retryAfterEpochMillis = metricsDatastore.getRateLimitedMethodRetryEpochMillis(
-                config.getExecutorName(), teamId, methodName);
+        Long retryAfterEpochMillis = snapshot.getRetryAfterEpochMillis();
         if (retryAfterEpochMillis != null) { // rate limited now
             long waitMillis = retryAfterEpochMillis - System.currentTimeMillis();
-            WaitTime currentSituation = calculateWaitTime(teamId, key, allowedRequests);
+            WaitTime currentSituation = calculateWaitTime(snapshot, key, allowedRequests);
             long additionalMillis = currentSituation.getMillisToWait();
             if (currentSituation.getPace() == Pace.Burst) {
                 additionalMillis = additionalMillis * 7;
@@ -75,16 +91,16 @@ public class AsyncMethodsRateLimiter {
             }
             return new WaitTime(waitMillis + additionalMillis, Pace.RateLimited);
         } else {
-            return calculateWaitTime(teamId, key, allowedRequests);
+            return calculateWaitTime(snapshot, key, allowedRequests);
         }
     }
 
-    private WaitTime calculateWaitTime(String teamId, String key, int allowedRequests) {
-        LastMinuteRequests lastMinuteRequests = metricsDatastore.getLastMinuteRequests(config.getExecutorName(), teamId, key);
-        if (isBurst(lastMinuteRequests, allowedRequests)) {
+    private WaitTime calculateWaitTime(RateLimitSnapshot snapshot, String key, int allowedRequests) {
+        int lastMinuteRequests = snapshot.getLastMinuteRequests();
+        if (isBurst(snapshot, allowedRequests)) {
             if (log.isDebugEnabled()) {
                 log.debug("Burst requests detected (method: {}, last minute requests: {}, allowed: {})",
-                        key, lastMinuteRequests.size(), allowedRequests);
+                        key, lastMinuteRequests, allowedRequests);
             }
             Double waitMillis = 180000D / allowedRequests; // change the pace (60 -> 180 seconds)
             return new WaitTime(waitMillis.longValue(), Pace.Burst);
@@ -102,27 +118,21 @@ public class AsyncMethodsRateLimiter {
         }
     }
 
-    private boolean isBurst(LastMinuteRequests lastMinuteRequests, int allowedRequests) {
-        if (lastMinuteRequests.size() > (allowedRequests / 10)) {
-            long threeSecondsAgo = System.currentTimeMillis() - 3000L;
-            long burstRequests = lastMinuteRequests.stream().filter(millis -> millis > threeSecondsAgo).count();
-            return burstRequests >= (allowedRequests / 10);
-        }
-        return false;
+    private static boolean isBurst(RateLimitSnapshot snapshot, int allowedRequests) {
+        return snapshot.getLastMinuteRequests() > (allowedRequests / 10)
+                && snapshot.getLastThreeSecondsRequests() >= (allowedRequests / 10);
     }
 
-    private static boolean isSomewhatBusy(LastMinuteRequests lastMinuteRequests, int allowedRequests) {
-        int currentSize = lastMinuteRequests.size();
-        return currentSize >= allowedRequests * 0.3 && currentSize < allowedRequests * 0.6;
+    private static boolean isSomewhatBusy(int lastMinuteRequests, int allowedRequests) {
+        return lastMinuteRequests >= allowedRequests * 0.3 && lastMinuteRequests < allowedRequests * 0.6;
     }
 
-    private static boolean isOptimalPace(LastMinuteRequests lastMinuteRequests, int allowedRequests) {
-        int currentSize = lastMinuteRequests.size();
-        return currentSize >= allowedRequests * 0.6 && currentSize < allowedRequests * 0.9;
+    private static boolean isOptimalPace(int lastMinuteRequests, int allowedRequests) {
+        return lastMinuteRequests >= allowedRequests * 0.6 && lastMinuteRequests < allowedRequests * 0.9;
     }
 
-    private static boolean isTooFastPaced(LastMinuteRequests lastMinuteRequests, int allowedRequests) {
-        return lastMinuteRequests.size() >= allowedRequests * 0.9;
+    private static boolean isTooFastPaced(int lastMinuteRequests, int allowedRequests) {
+        return lastMinuteRequests >= allowedRequests * 0.9;
     }
 
     private Integer getAllowedRequestsPerMinute(MethodsRateLimitTier tier) {
@@ -130,11 +140,4 @@ public class AsyncMethodsRateLimiter {
         return allowedRequestsForOneNode / metricsDatastore.getNumberOfNodes();
     }
 
-    private Integer getNumberOfLastMinuteRequests(String teamId, String methodNameWithSuffix) {
-        return metricsDatastore.getNumberOfLastMinuteRequests(
-                config.getExecutorName(),
-                teamId,
-                methodNameWithSuffix);
-    }
-
 }
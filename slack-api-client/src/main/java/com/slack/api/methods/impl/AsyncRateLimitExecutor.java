@@ -3,28 +3,44 @@ package com.slack.api.methods.impl;
 import com.slack.api.SlackConfig;
 import com.slack.api.methods.*;
 import com.slack.api.methods.metrics.MetricsDatastore;
+import com.slack.api.util.http.SlackHttpClient;
+import com.slack.api.util.thread.ExecutorServiceFactory;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
 
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Set;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 public class AsyncRateLimitExecutor {
 
     private static final ConcurrentMap<String, AsyncRateLimitExecutor> ALL_EXECUTORS = new ConcurrentHashMap<>();
 
+    private static final long DISPATCH_RETRY_INTERVAL_MILLIS = 1000L;
+
+    private static final AtomicLong MESSAGE_ID_SEQUENCE = new AtomicLong();
+
     private MethodsConfig config;
     private MetricsDatastore metricsDatastore; // intentionally mutable
     private final TeamIdCache teamIdCache;
 
+    // The single thread that decides when the queued messages are ready to run
+    private final ScheduledExecutorService scheduler;
+    // Team ID + method name -> true if a dispatch is either scheduled or running
+    private final ConcurrentMap<String, AtomicBoolean> dispatchScheduled = new ConcurrentHashMap<>();
+
     private AsyncRateLimitExecutor(MethodsClientImpl clientImpl, SlackConfig config) {
         this.config = config.getMethodsConfig();
         this.metricsDatastore = config.getMethodsConfig().getMetricsDatastore();
-        this.teamIdCache = new TeamIdCache(clientImpl);
+        this.teamIdCache = new TeamIdCache(clientImpl, this.config);
+        String threadGroupName = "slack-methods-scheduler-" + this.config.getExecutorName();
+        this.scheduler = ExecutorServiceFactory.createDaemonThreadScheduledExecutor(threadGroupName);
     }
 
     public static AsyncRateLimitExecutor get(String executorName) {
@@ -56,26 +72,156 @@ public class AsyncRateLimitExecutor {
             String methodName,
             Map<String, String> params,
             AsyncExecutionSupplier<T> methodsSupplier) {
+        return execute(methodName, params, methodsSupplier, null);
+    }
+
+    public <T extends SlackApiResponse> CompletableFuture<T> execute(
+            String methodName,
+            Map<String, String> params,
+            AsyncExecutionSupplier<T> methodsSupplier,
+            NonBlockingExecutionSupplier<T> nonBlockingMethodsSupplier) {
+        return execute(MethodsCallPriority.Background, methodName, params, methodsSupplier, nonBlockingMethodsSupplier);
+    }
+
+    public <T extends SlackApiResponse> CompletableFuture<T> execute(
+            MethodsCallPriority priority,
+            String methodName,
+            Map<String, String> params,
+            AsyncExecutionSupplier<T> methodsSupplier,
+            NonBlockingExecutionSupplier<T> nonBlockingMethodsSupplier) {
+        return execute(priority, 0L, methodName, params, methodsSupplier, nonBlockingMethodsSupplier);
+    }
+
+    /**
+     * Executes an API call. If {@link MethodsConfig#isNonBlockingHttpEnabled()} is true and a non-blocking supplier
+     * is given, the HTTP request is sent without occupying any thread until its response arrives.
+     * The queued calls with {@link MethodsCallPriority#Interactive} run prior to the background ones.
+     * <p>
+     * If the call doesn't complete within timeoutMillis (0 means the default for the method's rate limit tier
+     * in {@link MethodsConfig#getDefaultTimeoutMillis()}), the future completes with a {@link MethodsCompletionException}
+     * wrapping a {@link TimeoutException}.
+     * When the future is cancelled or times out, the call is removed from the queue.
+     * If the HTTP request of a queued call has already been sent, the request is cancelled as well.
+     */
+    public <T extends SlackApiResponse> CompletableFuture<T> execute(
+            MethodsCallPriority priority,
+            long timeoutMillis,
+            String methodName,
+            Map<String, String> params,
+            AsyncExecutionSupplier<T> methodsSupplier,
+            NonBlockingExecutionSupplier<T> nonBlockingMethodsSupplier) {
+        return execute(priority, timeoutMillis, methodName, params, true, methodsSupplier, nonBlockingMethodsSupplier);
+    }
+
+    /**
+     * Executes an API call in the same way as above. If retryable is false, a rate-limited call completes
+     * exceptionally with the 429 error instead of being queued again. This is for the requests that can be sent
+     * only once, for instance, a file upload reading an InputStream.
+     */
+    public <T extends SlackApiResponse> CompletableFuture<T> execute(
+            MethodsCallPriority priority,
+            long timeoutMillis,
+            String methodName,
+            Map<String, String> params,
+            boolean retryable,
+            AsyncExecutionSupplier<T> methodsSupplier,
+            NonBlockingExecutionSupplier<T> nonBlockingMethodsSupplier) {
         String token = params.get("token");
-        final String teamId = token != null ? teamIdCache.lookupOrResolve(token) : null;
+        CompletableFuture<String> teamIdLookup = teamIdCache.lookupOrResolveAsync(token);
+        final CompletableFuture<T> future;
+        if (teamIdLookup.isDone()) {
+            future = dispatch(teamIdLookup.join(), priority, methodName, params, retryable, methodsSupplier, nonBlockingMethodsSupplier);
+        } else {
+            // The auth.test API call for this token is in flight.
+            // The caller thread doesn't wait for it; the call is dispatched when the team ID is resolved.
+            future = new CompletableFuture<>();
+            teamIdLookup.thenAccept(teamId -> {
+                if (future.isDone()) {
+                    return; // cancelled or timed out while resolving the team ID
+                }
+                CompletableFuture<T> dispatched = dispatch(teamId, priority, methodName, params, retryable, methodsSupplier, nonBlockingMethodsSupplier);
+                cancelOnAbort(future, dispatched);
+                dispatched.whenComplete((response, error) -> {
+                    if (error == null) {
+                        future.complete(response);
+                    } else {
+                        future.completeExceptionally(error);
+                    }
+                });
+            });
+        }
+        scheduleTimeout(teamIdLookup.getNow(null), methodName, future, timeoutMillis > 0 ? timeoutMillis : getDefaultTimeoutMillis(methodName));
+        return future;
+    }
+
+    private <T extends SlackApiResponse> CompletableFuture<T> dispatch(
+            String teamId,
+            MethodsCallPriority priority,
+            String methodName,
+            Map<String, String> params,
+            boolean retryable,
+            AsyncExecutionSupplier<T> methodsSupplier,
+            NonBlockingExecutionSupplier<T> nonBlockingMethodsSupplier) {
         final ExecutorService executorService = teamId != null ? ThreadPools.getOrCreate(config, teamId) : ThreadPools.getDefault(config);
-        return CompletableFuture.supplyAsync(() -> {
-            if (NO_TOKEN_METHOD_NAMES.contains(methodName) || teamId == null) {
-                return runWithoutQueue(teamId, methodName, methodsSupplier);
+        final NonBlockingExecutionSupplier<T> nonBlockingSupplier = config.isNonBlockingHttpEnabled() ? nonBlockingMethodsSupplier : null;
+        final CompletableFuture<T> future;
+        if (NO_TOKEN_METHOD_NAMES.contains(methodName) || teamId == null) {
+            if (nonBlockingSupplier != null) {
+                future = runWithoutQueue(teamId, methodName, nonBlockingSupplier);
             } else {
-                String messageId = generateMessageId();
-                String methodNameWithSuffix = toMethodNameWithSuffix(methodName, params);
-                addMessageId(teamId, methodNameWithSuffix, messageId);
-                initCurrentQueueSizeStatsIfAbsent(teamId, methodNameWithSuffix);
-                return enqueueThenRun(
-                        messageId,
-                        teamId,
-                        methodName,
-                        params,
-                        methodsSupplier
-                );
+                future = CompletableFuture.supplyAsync(() -> runWithoutQueue(teamId, methodName, methodsSupplier), executorService);
+            }
+        } else if (config.getQueueRejectionPolicy() == MethodsQueueRejectionPolicy.CallerRuns
+                && isQueueFull(teamId, methodName)) {
+            // Checked in the caller's thread so that the overflow slows down the caller, not the team's workers
+            metricsDatastore.incrementRejectedCalls(config.getExecutorName(), teamId, methodName);
+            future = runInCallerThread(teamId, methodName, params, methodsSupplier, nonBlockingSupplier);
+        } else {
+            // The pending call is held as data in the queue.
+            // No thread is occupied until the scheduler hands it to a worker.
+            future = new CompletableFuture<>();
+            long messageId = generateMessageId();
+            future.whenComplete((response, error) -> {
+                if (error != null) {
+                    // cancelled, timed out, or rejected: the message no longer needs to wait in the queue
+                    removeFromQueue(teamId, methodName, params, messageId);
+                }
+            });
+            executorService.execute(() -> enqueue(messageId, teamId, methodName, params, methodsSupplier, nonBlockingSupplier, future, priority, retryable));
+        }
+        return future;
+    }
+
+    private boolean isQueueFull(String teamId, String methodName) {
+        AsyncRateLimitQueue queue = AsyncRateLimitQueue.getOrCreate(config, teamId);
+        return queue.getCurrentActiveQueueSize(methodName) >= config.getMaxQueueSize();
+    }
+
+    private long getDefaultTimeoutMillis(String methodName) {
+        MethodsRateLimitTier tier = MethodsRateLimits.lookupRateLimitTier(methodName);
+        Long timeoutMillis = tier != null ? config.getDefaultTimeoutMillis().get(tier) : null;
+        return timeoutMillis != null ? timeoutMillis : 0L;
+    }
+
+    private void scheduleTimeout(String teamId, String methodName, CompletableFuture<?> future, long timeoutMillis) {
+        if (timeoutMillis <= 0 || future.isDone()) {
+            return;
+        }
+        ScheduledFuture<?> timeout = scheduler.schedule(() -> {
+            TimeoutException e = new TimeoutException(
+                    "Gave up waiting for the " + methodName + " API call after " + timeoutMillis + " milliseconds");
+            if (future.completeExceptionally(new MethodsCompletionException(null, null, e))) {
+                log.warn("Timed out while calling {} API (team: {}, timeout: {} ms)", methodName, teamId, timeoutMillis);
             }
-        }, executorService);
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+        future.whenComplete((response, error) -> timeout.cancel(false));
+    }
+
+    private void removeFromQueue(String teamId, String methodName, Map<String, String> params, long messageId) {
+        AsyncRateLimitQueue queue = AsyncRateLimitQueue.get(config.getExecutorName(), teamId);
+        if (queue != null && queue.remove(methodName, messageId)) {
+            removeMessageId(teamId, toMethodNameWithSuffix(methodName, params), messageId);
+        }
     }
 
     private void initCurrentQueueSizeStatsIfAbsent(String teamId, String methodNameWithSuffix) {
@@ -87,17 +233,17 @@ public class AsyncRateLimitExecutor {
     private void addMessageId(
             String teamId,
             String methodNameWithSuffix,
-            String messageId) {
+            long messageId) {
         metricsDatastore.addToWaitingMessageIds(
-                config.getExecutorName(), teamId, methodNameWithSuffix, messageId);
+                config.getExecutorName(), teamId, methodNameWithSuffix, String.valueOf(messageId));
     }
 
     private void removeMessageId(
             String teamId,
             String methodNameWithSuffix,
-            String messageId) {
+            long messageId) {
         metricsDatastore.deleteFromWaitingMessageIds(
-                config.getExecutorName(), teamId, methodNameWithSuffix, messageId);
+                config.getExecutorName(), teamId, methodNameWithSuffix, String.valueOf(messageId));
     }
 
     private String toMethodNameWithSuffix(String methodName, Map<String, String> params) {
@@ -114,71 +260,312 @@ public class AsyncRateLimitExecutor {
             AsyncExecutionSupplier<T> methodsSupplier) {
         try {
             return methodsSupplier.execute();
+        } catch (RuntimeException | IOException | SlackApiException e) {
+            throw toCompletionException(teamId, methodName, e);
+        }
+    }
+
+    private <T extends SlackApiResponse> CompletableFuture<T> runWithoutQueue(
+            String teamId,
+            String methodName,
+            NonBlockingExecutionSupplier<T> methodsSupplier) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            CompletableFuture<T> inFlight = methodsSupplier.execute();
+            cancelOnAbort(future, inFlight);
+            inFlight.whenComplete((response, error) -> {
+                if (error == null) {
+                    future.complete(response);
+                } else {
+                    future.completeExceptionally(toCompletionException(teamId, methodName, unwrap(error)));
+                }
+            });
         } catch (RuntimeException e) {
-            return handleRuntimeException(teamId, methodName, e);
-        } catch (IOException e) {
-            return handleIOException(teamId, methodName, e);
-        } catch (SlackApiException e) {
-            logSlackApiException(teamId, methodName, e);
-            throw new MethodsCompletionException(null, e, null);
+            future.completeExceptionally(toCompletionException(teamId, methodName, e));
         }
+        return future;
     }
 
-    private <T extends SlackApiResponse> T enqueueThenRun(
-            String messageId,
+    private <T extends SlackApiResponse> void enqueue(
+            long messageId,
             String teamId,
             String methodName,
             Map<String, String> params,
-            AsyncExecutionSupplier<T> methodsSupplier) {
+            AsyncExecutionSupplier<T> methodsSupplier,
+            NonBlockingExecutionSupplier<T> nonBlockingSupplier,
+            CompletableFuture<T> future,
+            MethodsCallPriority priority,
+            boolean retryable) {
+        if (future.isDone()) {
+            return; // cancelled or timed out before being queued
+        }
         try {
+            String methodNameWithSuffix = toMethodNameWithSuffix(methodName, params);
+            addMessageId(teamId, methodNameWithSuffix, messageId);
+            initCurrentQueueSizeStatsIfAbsent(teamId, methodNameWithSuffix);
             AsyncRateLimitQueue activeQueue = AsyncRateLimitQueue.getOrCreate(config, teamId);
-            if (activeQueue == null) {
-                log.warn("Queue for teamId: {} was not found. Going to run the API call immediately.", teamId);
+            MethodsQueueRejectionPolicy rejectionPolicy = config.getQueueRejectionPolicy();
+            // With CallerRuns, the size has been checked in the caller's thread before coming here
+            int maxQueueSize = rejectionPolicy == MethodsQueueRejectionPolicy.CallerRuns
+                    ? Integer.MAX_VALUE : config.getMaxQueueSize();
+            AsyncRateLimitQueue.EnqueueResult result = activeQueue.enqueue(
+                    messageId, teamId, methodName, params, methodsSupplier, nonBlockingSupplier, future,
+                    priority, retryable, maxQueueSize, rejectionPolicy == MethodsQueueRejectionPolicy.DropOldest);
+            if (result.getDropped() != null) {
+                AsyncRateLimitQueue.Message dropped = result.getDropped();
+                removeMessageId(teamId, toMethodNameWithSuffix(methodName, dropped.getParams()), dropped.getId());
+                reject(teamId, methodName, dropped.getFuture());
             }
-            AsyncExecutionSupplier<T> supplier = null;
-            activeQueue.enqueue(messageId, teamId, methodName, params, methodsSupplier);
-            long consumedMillis = 0L;
-            while (supplier == null && consumedMillis < config.getMaxIdleMills()) {
-                Thread.sleep(10);
-                consumedMillis += 10;
-                supplier = activeQueue.dequeueIfReady(messageId, teamId, methodName, params);
-                removeMessageId(teamId, toMethodNameWithSuffix(methodName, params), messageId);
+            if (!result.isAccepted()) {
+                removeMessageId(teamId, methodNameWithSuffix, messageId);
+                reject(teamId, methodName, future);
+                return;
             }
-            if (supplier == null) {
-                activeQueue.remove(methodName, messageId);
-                throw new RejectedExecutionException("Gave up executing the message after " + config.getMaxIdleMills() + " milliseconds.");
+            scheduleDispatchIfIdle(teamId, methodName);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(handleRuntimeException(teamId, methodName, e));
+        }
+    }
+
+    private void reject(String teamId, String methodName, CompletableFuture<?> future) {
+        metricsDatastore.incrementRejectedCalls(config.getExecutorName(), teamId, methodName);
+        RejectedExecutionException e = new RejectedExecutionException(
+                "The queue for " + methodName + " API calls is full (max size: " + config.getMaxQueueSize() + ")");
+        future.completeExceptionally(handleRuntimeException(teamId, methodName, e));
+    }
+
+    /**
+     * Runs a call that doesn't fit in the queue. The current thread waits as long as the rate limiter tells
+     * before running the call.
+     */
+    private <T extends SlackApiResponse> CompletableFuture<T> runInCallerThread(
+            String teamId,
+            String methodName,
+            Map<String, String> params,
+            AsyncExecutionSupplier<T> methodsSupplier,
+            NonBlockingExecutionSupplier<T> nonBlockingSupplier) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            AsyncMethodsRateLimiter rateLimiter = AsyncRateLimitQueue.getOrCreate(config, teamId).getRateLimiter();
+            AsyncMethodsRateLimiter.WaitTime waitTime = methodName.equals(Methods.CHAT_POST_MESSAGE)
+                    ? rateLimiter.acquireWaitTimeForChatPostMessage(teamId, params.get("channel"))
+                    : rateLimiter.acquireWaitTime(teamId, methodName);
+            if (waitTime.getMillisToWait() > 0) {
+                Thread.sleep(waitTime.getMillisToWait());
             }
-            T response = supplier.execute();
-            return response;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(new MethodsCompletionException(null, null, e));
+            return future;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(handleRuntimeException(teamId, methodName, e));
+            return future;
+        }
+        if (nonBlockingSupplier != null) {
+            return runWithoutQueue(teamId, methodName, nonBlockingSupplier);
+        }
+        try {
+            future.complete(runWithoutQueue(teamId, methodName, methodsSupplier));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
 
+    private AtomicBoolean getDispatchScheduled(String teamId, String methodName) {
+        return dispatchScheduled.computeIfAbsent(teamId + ":" + methodName, key -> new AtomicBoolean(false));
+    }
+
+    private void scheduleDispatchIfIdle(String teamId, String methodName) {
+        if (getDispatchScheduled(teamId, methodName).compareAndSet(false, true)) {
+            scheduleDispatch(teamId, methodName, 0L);
+        }
+    }
+
+    private void scheduleDispatch(String teamId, String methodName, long delayMillis) {
+        scheduler.schedule(() -> dispatch(teamId, methodName), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Hands the messages at the head of the queue to the worker threads as long as they are ready.
+     * If the head message is not ready yet, this method schedules the next dispatch at the time to run it.
+     * At most one dispatch per team and method is either scheduled or running at a time.
+     */
+    private void dispatch(String teamId, String methodName) {
+        AtomicBoolean scheduled = getDispatchScheduled(teamId, methodName);
+        try {
+            AsyncRateLimitQueue activeQueue = AsyncRateLimitQueue.getOrCreate(config, teamId);
+            while (true) {
+                AsyncRateLimitQueue.Message message = activeQueue.peek(methodName);
+                if (message == null) {
+                    scheduled.set(false);
+                    // a new message may have been enqueued right before the flag was cleared
+                    if (activeQueue.peek(methodName) != null && scheduled.compareAndSet(false, true)) {
+                        continue;
+                    }
+                    return;
+                }
+                String methodNameWithSuffix = toMethodNameWithSuffix(methodName, message.getParams());
+                if (message.getFuture().isDone()) {
+                    // cancelled or timed out while being enqueued
+                    activeQueue.remove(methodName, message.getId());
+                    removeMessageId(teamId, methodNameWithSuffix, message.getId());
+                    continue;
+                }
+                long giveUpMillis = message.getEnqueuedMillis() + config.getMaxIdleMills();
+                if (giveUpMillis <= System.currentTimeMillis()) {
+                    activeQueue.remove(methodName, message.getId());
+                    removeMessageId(teamId, methodNameWithSuffix, message.getId());
+                    RejectedExecutionException e = new RejectedExecutionException(
+                            "Gave up executing the message after " + config.getMaxIdleMills() + " milliseconds.");
+                    message.getFuture().completeExceptionally(handleRuntimeException(teamId, methodName, e));
+                    continue;
+                }
+                AsyncExecutionSupplier<?> supplier = activeQueue.dequeueIfReady(
+                        message.getId(), teamId, methodName, message.getParams());
+                if (supplier == null) {
+                    if (activeQueue.peek(methodName) != message) {
+                        // an interactive message has come in front of this one
+                        continue;
+                    }
+                    // dequeueIfReady may have postponed the message
+                    long nextMillis = Math.min(message.getMillisToRun(), giveUpMillis);
+                    scheduleDispatch(teamId, methodName, Math.max(nextMillis - System.currentTimeMillis(), 1L));
+                    return;
+                }
+                removeMessageId(teamId, methodNameWithSuffix, message.getId());
+                ThreadPools.getOrCreate(config, teamId).execute(() -> run(teamId, methodName, message));
+            }
         } catch (RuntimeException e) {
-            return handleRuntimeException(teamId, methodName, e);
-        } catch (IOException e) {
-            return handleIOException(teamId, methodName, e);
-        } catch (SlackApiException e) {
-            logSlackApiException(teamId, methodName, e);
-            if (e.getResponse().code() == 429) {
-                return enqueueThenRun(messageId, teamId, methodName, params, methodsSupplier);
+            log.error("Failed to dispatch queued {} API calls (team: {}, error: {})", methodName, teamId, e.getMessage(), e);
+            scheduleDispatch(teamId, methodName, DISPATCH_RETRY_INTERVAL_MILLIS);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends SlackApiResponse> void run(String teamId, String methodName, AsyncRateLimitQueue.Message message) {
+        CompletableFuture<T> future = (CompletableFuture<T>) message.getFuture();
+        if (future.isDone()) {
+            return; // cancelled or timed out after being dequeued
+        }
+        NonBlockingExecutionSupplier<T> nonBlockingSupplier = (NonBlockingExecutionSupplier<T>) message.getNonBlockingSupplier();
+        if (nonBlockingSupplier != null) {
+            try {
+                CompletableFuture<T> inFlight = nonBlockingSupplier.execute();
+                cancelOnAbort(future, inFlight);
+                inFlight.whenComplete((response, error) -> {
+                    if (error == null) {
+                        future.complete(response);
+                    } else {
+                        handleError(teamId, methodName, message, unwrap(error));
+                    }
+                });
+            } catch (RuntimeException e) {
+                handleError(teamId, methodName, message, e);
             }
-            throw new MethodsCompletionException(null, e, null);
-        } catch (InterruptedException e) {
-            log.error("Got an InterruptedException (error: {})", e.getMessage(), e);
-            throw new RuntimeException(e);
+        } else {
+            AsyncExecutionSupplier<T> supplier = (AsyncExecutionSupplier<T>) message.getSupplier();
+            try {
+                future.complete(runCancellable(future, supplier));
+            } catch (RuntimeException | IOException | SlackApiException e) {
+                handleError(teamId, methodName, message, e);
+            }
+        }
+    }
+
+    /**
+     * Runs a blocking supplier on the current thread. When the caller's future is cancelled or times out meanwhile,
+     * the HTTP requests the supplier has started are cancelled from the thread completing the future.
+     */
+    private static <T extends SlackApiResponse> T runCancellable(
+            CompletableFuture<T> future,
+            AsyncExecutionSupplier<T> supplier) throws IOException, SlackApiException {
+        Set<Call> calls = ConcurrentHashMap.newKeySet();
+        future.whenComplete((response, error) -> {
+            if (error != null) {
+                calls.forEach(Call::cancel);
+            }
+        });
+        SlackHttpClient.setCurrentThreadCallListener(call -> {
+            calls.add(call);
+            if (future.isCompletedExceptionally()) {
+                call.cancel();
+            }
+        });
+        try {
+            return supplier.execute();
+        } finally {
+            SlackHttpClient.removeCurrentThreadCallListener();
+        }
+    }
+
+    /**
+     * Cancels the in-flight HTTP request when the caller's future is cancelled or times out.
+     */
+    private static void cancelOnAbort(CompletableFuture<?> future, CompletableFuture<?> inFlight) {
+        future.whenComplete((response, error) -> {
+            if (error != null) {
+                inFlight.cancel(true);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends SlackApiResponse> void handleError(
+            String teamId,
+            String methodName,
+            AsyncRateLimitQueue.Message message,
+            Throwable e) {
+        CompletableFuture<T> future = (CompletableFuture<T>) message.getFuture();
+        if (e instanceof SlackApiException && ((SlackApiException) e).getResponse().code() == 429
+                && message.isRetryable()) {
+            logSlackApiException(teamId, methodName, (SlackApiException) e);
+            enqueue(
+                    message.getId(),
+                    teamId,
+                    methodName,
+                    message.getParams(),
+                    (AsyncExecutionSupplier<T>) message.getSupplier(),
+                    (NonBlockingExecutionSupplier<T>) message.getNonBlockingSupplier(),
+                    future,
+                    message.getPriority(),
+                    true
+            );
+        } else {
+            future.completeExceptionally(toCompletionException(teamId, methodName, e));
+        }
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    private static RuntimeException toCompletionException(String teamId, String methodName, Throwable e) {
+        if (e instanceof SlackApiException) {
+            logSlackApiException(teamId, methodName, (SlackApiException) e);
+            return new MethodsCompletionException(null, (SlackApiException) e, null);
+        } else if (e instanceof IOException) {
+            return handleIOException(teamId, methodName, (IOException) e);
+        } else if (e instanceof RuntimeException) {
+            return handleRuntimeException(teamId, methodName, (RuntimeException) e);
+        } else {
+            log.error("Got an error while calling {} API (team: {}, error: {})", methodName, teamId, e.getMessage(), e);
+            return new CompletionException(e);
         }
     }
 
-    private static String generateMessageId() {
-        return UUID.randomUUID().toString();
+    private static long generateMessageId() {
+        return MESSAGE_ID_SEQUENCE.incrementAndGet();
     }
 
-    private static <T extends SlackApiResponse> T handleRuntimeException(String teamId, String methodName, RuntimeException e) {
+    private static MethodsCompletionException handleRuntimeException(String teamId, String methodName, RuntimeException e) {
         log.error("Got an exception while calling {} API (team: {}, error: {})", methodName, teamId, e.getMessage(), e);
-        throw new MethodsCompletionException(null, null, e);
+        return new MethodsCompletionException(null, null, e);
     }
 
-    private static <T extends SlackApiResponse> T handleIOException(String teamId, String methodName, IOException e) {
+    private static MethodsCompletionException handleIOException(String teamId, String methodName, IOException e) {
         log.error("Failed to connect to {} API (team: {}, error: {})", methodName, teamId, e.getMessage(), e);
-        throw new MethodsCompletionException(e, null, null);
+        return new MethodsCompletionException(e, null, null);
     }
 
     private static void logSlackApiException(String teamId, String methodName, SlackApiException e) {
@@ -1,16 +1,20 @@
 package com.slack.api.methods.impl;
 
 import com.slack.api.methods.Methods;
+import com.slack.api.methods.MethodsCallPriority;
 import com.slack.api.methods.MethodsConfig;
 import com.slack.api.methods.SlackApiResponse;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.LinkedBlockingQueue;
 
 @Slf4j
 public class AsyncRateLimitQueue {
@@ -19,12 +23,8 @@ public class AsyncRateLimitQueue {
     private static final ConcurrentMap<String, ConcurrentMap<String, AsyncRateLimitQueue>> ALL_QUEUES = new ConcurrentHashMap<>();
 
     private static ConcurrentMap<String, AsyncRateLimitQueue> getInstance(String executorName) {
-        ConcurrentMap<String, AsyncRateLimitQueue> teamIdToQueue = ALL_QUEUES.get(executorName);
-        if (teamIdToQueue == null) {
-            teamIdToQueue = new ConcurrentHashMap<>();
-            ALL_QUEUES.put(executorName, teamIdToQueue);
-        }
-        return teamIdToQueue;
+        // The queues are created by the worker threads concurrently; a replaced queue would lose its messages
+        return ALL_QUEUES.computeIfAbsent(executorName, name -> new ConcurrentHashMap<>());
     }
 
     private AsyncMethodsRateLimiter rateLimiter; // intentionally mutable
@@ -37,10 +37,19 @@ public class AsyncRateLimitQueue {
         this.rateLimiter = rateLimiter;
     }
 
-    private final ConcurrentMap<String, LinkedBlockingQueue<Message>> methodNameToActiveQueue = new ConcurrentHashMap<>();
+    // Method name -> Queue
+    private final ConcurrentMap<String, MethodQueue> methodNameToQueue = new ConcurrentHashMap<>();
 
     private AsyncRateLimitQueue(MethodsConfig config) {
-        this.rateLimiter = new AsyncMethodsRateLimiter(config);
+        this.rateLimiter = createRateLimiter(config);
+    }
+
+    private static AsyncMethodsRateLimiter createRateLimiter(MethodsConfig config) {
+        if (config.isTokenBucketRateLimiterEnabled()) {
+            return new TokenBucketAsyncMethodsRateLimiter(config);
+        } else {
+            return new AsyncMethodsRateLimiter(config);
+        }
     }
 
     public static AsyncRateLimitQueue get(String executorName, String teamId) {
@@ -57,43 +66,175 @@ public class AsyncRateLimitQueue {
         }
         ConcurrentMap<String, AsyncRateLimitQueue> teamIdToQueue = getInstance(config.getExecutorName());
         AsyncRateLimitQueue queue = teamIdToQueue.get(teamId);
-        if (queue != null && queue.getRateLimiter().getMetricsDatastore() != config.getMetricsDatastore()) {
-            // As the metrics datastore has been changed, we should replace the executor
-            queue.setRateLimiter(new AsyncMethodsRateLimiter(config));
-        }
         if (queue == null) {
-            queue = new AsyncRateLimitQueue(config);
-            teamIdToQueue.put(teamId, queue);
+            return teamIdToQueue.computeIfAbsent(teamId, t -> new AsyncRateLimitQueue(config));
+        }
+        if (queue.getRateLimiter().getMetricsDatastore() != config.getMetricsDatastore()
+                || (queue.getRateLimiter() instanceof TokenBucketAsyncMethodsRateLimiter) != config.isTokenBucketRateLimiterEnabled()) {
+            // As the metrics datastore or the type of rate limiter has been changed, we should replace the rate limiter
+            queue.setRateLimiter(createRateLimiter(config));
         }
         return queue;
     }
 
     @Data
     @AllArgsConstructor
-    private static class Message {
-        private String id;
+    static class Message {
+        private long id;
         private long millisToRun;
         private AsyncMethodsRateLimiter.WaitTime waitTime;
         private AsyncExecutionSupplier<?> supplier;
+        private NonBlockingExecutionSupplier<?> nonBlockingSupplier;
+        private Map<String, String> params;
+        private long enqueuedMillis;
+        private CompletableFuture<?> future;
+        private MethodsCallPriority priority;
+        // false if the request can be sent only once, e.g., a file upload reading an InputStream
+        private boolean retryable;
+        // true if removed from the queue but still remaining in the lane as a tombstone
+        private boolean removed;
     }
 
-    private LinkedBlockingQueue<Message> getOrCreateActiveQueue(String methodName) {
-        LinkedBlockingQueue<Message> queue = methodNameToActiveQueue.get(methodName);
+    /**
+     * The result of {@link #enqueue}.
+     */
+    @Data
+    @AllArgsConstructor
+    static class EnqueueResult {
+        // false if the queue was full
+        private boolean accepted;
+        // the message dropped to make room for the new one
+        private Message dropped;
+    }
+
+    /**
+     * The messages for a method. All the operations lock only this object, so that the methods of the same team
+     * don't contend with each other. A removed message is looked up by its ID and marked as a tombstone in O(1).
+     * The tombstones are discarded when they reach the head of the lane. When the tombstones outnumber the waiting
+     * messages, for instance when many calls behind a long-waiting head are cancelled, the lanes are compacted.
+     */
+    static class MethodQueue {
+        private static final int MIN_TOMBSTONES_TO_COMPACT = 64;
+
+        private final Deque<Message> interactiveLane = new ArrayDeque<>();
+        private final Deque<Message> backgroundLane = new ArrayDeque<>();
+        // Message ID -> Message (only the ones not removed yet)
+        private final Map<Long, Message> messages = new HashMap<>();
+        private volatile int size = 0;
+
+        int size() {
+            return size;
+        }
+
+        synchronized void add(Message message) {
+            if (message.getPriority() == MethodsCallPriority.Interactive) {
+                interactiveLane.addLast(message);
+            } else {
+                backgroundLane.addLast(message);
+            }
+            messages.put(message.getId(), message);
+            size = messages.size();
+        }
+
+        /**
+         * Returns the message to run next. The interactive lane always goes first.
+         */
+        synchronized Message peek() {
+            Message head = peek(interactiveLane);
+            return head != null ? head : peek(backgroundLane);
+        }
+
+        synchronized Message poll() {
+            Message head = peek();
+            if (head != null) {
+                remove(head.getId());
+            }
+            return head;
+        }
+
+        /**
+         * Removes the oldest message preferring the background lane.
+         */
+        synchronized Message pollOldest() {
+            Message oldest = peek(backgroundLane);
+            if (oldest == null) {
+                oldest = peek(interactiveLane);
+            }
+            if (oldest != null) {
+                remove(oldest.getId());
+            }
+            return oldest;
+        }
+
+        synchronized Message remove(long messageId) {
+            Message message = messages.remove(messageId);
+            if (message != null) {
+                message.setRemoved(true);
+                size = messages.size();
+                if (tombstones() > Math.max(messages.size(), MIN_TOMBSTONES_TO_COMPACT)) {
+                    interactiveLane.removeIf(Message::isRemoved);
+                    backgroundLane.removeIf(Message::isRemoved);
+                }
+            }
+            return message;
+        }
+
+        synchronized int tombstones() {
+            return interactiveLane.size() + backgroundLane.size() - messages.size();
+        }
+
+        private static Message peek(Deque<Message> lane) {
+            Message head = lane.peekFirst();
+            while (head != null && head.isRemoved()) {
+                lane.pollFirst();
+                head = lane.peekFirst();
+            }
+            return head;
+        }
+    }
+
+    private MethodQueue getOrCreateMethodQueue(String methodName) {
+        MethodQueue queue = methodNameToQueue.get(methodName);
         if (queue != null) {
             return queue;
         } else {
-            LinkedBlockingQueue<Message> newQueue = new LinkedBlockingQueue<>();
-            methodNameToActiveQueue.putIfAbsent(methodName, newQueue);
-            return newQueue;
+            MethodQueue newQueue = new MethodQueue();
+            MethodQueue existingQueue = methodNameToQueue.putIfAbsent(methodName, newQueue);
+            return existingQueue != null ? existingQueue : newQueue;
         }
     }
 
     public <T extends SlackApiResponse> void enqueue(
-            String messageId,
+            long messageId,
+            String teamId,
+            String methodName,
+            Map<String, String> params,
+            AsyncExecutionSupplier<T> methodsSupplier,
+            NonBlockingExecutionSupplier<T> nonBlockingSupplier,
+            CompletableFuture<T> future) {
+        enqueue(messageId, teamId, methodName, params, methodsSupplier, nonBlockingSupplier, future,
+                MethodsCallPriority.Background, true, Integer.MAX_VALUE, false);
+    }
+
+    /**
+     * Adds a message to the lane for the given priority.
+     * <p>
+     * When the queue for the method already has maxQueueSize messages, the message is not accepted
+     * unless dropOldest is true. In that case, the oldest background message
+     * (or the oldest interactive one if there is no background message) is removed to make room.
+     */
+    <T extends SlackApiResponse> EnqueueResult enqueue(
+            long messageId,
             String teamId,
             String methodName,
             Map<String, String> params,
-            AsyncExecutionSupplier<T> methodsSupplier) throws InterruptedException {
+            AsyncExecutionSupplier<T> methodsSupplier,
+            NonBlockingExecutionSupplier<T> nonBlockingSupplier,
+            CompletableFuture<T> future,
+            MethodsCallPriority priority,
+            boolean retryable,
+            int maxQueueSize,
+            boolean dropOldest) {
 
         AsyncMethodsRateLimiter.WaitTime waitTime;
         if (methodName.equals(Methods.CHAT_POST_MESSAGE)) {
@@ -102,10 +243,21 @@ public class AsyncRateLimitQueue {
             waitTime = rateLimiter.acquireWaitTime(teamId, methodName);
         }
 
-        LinkedBlockingQueue<Message> activeQueue = getOrCreateActiveQueue(methodName);
-        long epochMillisToRun = System.currentTimeMillis() + waitTime.getMillisToWait();
-        Message message = new Message(messageId, epochMillisToRun, waitTime, methodsSupplier);
-        activeQueue.put(message);
+        MethodQueue queue = getOrCreateMethodQueue(methodName);
+        long currentMillis = System.currentTimeMillis();
+        long epochMillisToRun = currentMillis + waitTime.getMillisToWait();
+        Message message = new Message(
+                messageId, epochMillisToRun, waitTime, methodsSupplier, nonBlockingSupplier, params, currentMillis, future, priority, retryable, false);
+        Message dropped = null;
+        synchronized (queue) {
+            if (queue.size() >= maxQueueSize) {
+                if (!dropOldest) {
+                    return new EnqueueResult(false, null);
+                }
+                dropped = queue.pollOldest();
+            }
+            queue.add(message);
+        }
 
         if (log.isDebugEnabled()) {
             log.debug("A new message has been enqueued (id: {}, pace: {}, wait time: {})",
@@ -114,60 +266,75 @@ public class AsyncRateLimitQueue {
                     message.getWaitTime().getMillisToWait()
             );
         }
+        return new EnqueueResult(true, dropped);
     }
 
-    public synchronized void remove(String methodName, String messageId) {
-        LinkedBlockingQueue<Message> activeQueue = getOrCreateActiveQueue(methodName);
-        Message toRemove = null;
-        for (Message message : activeQueue) {
-            if (message.getId().equals(messageId)) {
-                toRemove = message;
-                break;
-            }
-        }
-        activeQueue.remove(toRemove);
+    /**
+     * Returns the message at the head of the queue for the given method without removing it.
+     */
+    Message peek(String methodName) {
+        MethodQueue queue = methodNameToQueue.get(methodName);
+        return queue != null ? queue.peek() : null;
     }
 
-    public synchronized <T extends SlackApiResponse> AsyncExecutionSupplier<T> dequeueIfReady(
-            String messageId,
+    /**
+     * Removes the message from the queue. Returns true if the message was still waiting in the queue.
+     */
+    public boolean remove(String methodName, long messageId) {
+        MethodQueue queue = methodNameToQueue.get(methodName);
+        return queue != null && queue.remove(messageId) != null;
+    }
+
+    public <T extends SlackApiResponse> AsyncExecutionSupplier<T> dequeueIfReady(
+            long messageId,
             String teamId,
             String methodName,
             Map<String, String> params) {
-        LinkedBlockingQueue<Message> activeQueue = getOrCreateActiveQueue(methodName);
-        Message message = activeQueue.peek();
-        if (message == null) {
-            throw new IllegalStateException("No message is found in the queue");
-        }
-        if (message.getId().equals(messageId)
-                && message.getMillisToRun() <= System.currentTimeMillis()) {
-            // Make sure if the situation is still the same with the timing we determined the wait time
-            AsyncMethodsRateLimiter.WaitTime original = message.getWaitTime();
-            AsyncMethodsRateLimiter.WaitTime latest;
-            if (methodName.equals(Methods.CHAT_POST_MESSAGE)) {
-                latest = rateLimiter.acquireWaitTimeForChatPostMessage(teamId, params.get("channel"));
-            } else {
-                latest = rateLimiter.acquireWaitTime(teamId, methodName);
-            }
-            if (log.isDebugEnabled()) {
-                log.debug("Latest: {} ({} millis), original: {} ({} millis)",
-                        latest.getPace(), latest.getMillisToWait(), original.getPace(), original.getMillisToWait());
+        MethodQueue queue = getOrCreateMethodQueue(methodName);
+        synchronized (queue) {
+            Message message = queue.peek();
+            if (message == null) {
+                throw new IllegalStateException("No message is found in the queue");
             }
-            if (latest.getPace() != original.getPace() && latest.getMillisToWait() > original.getMillisToWait()) {
-                // The latest situation is worse than that timing.
-                long newMillisToRun = System.currentTimeMillis() + latest.getMillisToWait();
-                message.setMillisToRun(newMillisToRun);
-                message.setWaitTime(latest);
-            } else {
-                AsyncExecutionSupplier<T> supplier = (AsyncExecutionSupplier<T>) activeQueue.poll().getSupplier();
-                return supplier;
+            if (message.getId() == messageId
+                    && message.getMillisToRun() <= System.currentTimeMillis()) {
+                // Make sure if the situation is still the same with the timing we determined the wait time
+                AsyncMethodsRateLimiter.WaitTime original = message.getWaitTime();
+                AsyncMethodsRateLimiter.WaitTime latest;
+                if (methodName.equals(Methods.CHAT_POST_MESSAGE)) {
+                    latest = rateLimiter.reacquireWaitTimeForChatPostMessage(teamId, params.get("channel"));
+                } else {
+                    latest = rateLimiter.reacquireWaitTime(teamId, methodName);
+                }
+                if (log.isDebugEnabled()) {
+                    log.debug("Latest: {} ({} millis), original: {} ({} millis)",
+                            latest.getPace(), latest.getMillisToWait(), original.getPace(), original.getMillisToWait());
+                }
+                if (latest.getPace() != original.getPace() && latest.getMillisToWait() > original.getMillisToWait()) {
+                    // The latest situation is worse than that timing.
+                    long newMillisToRun = System.currentTimeMillis() + latest.getMillisToWait();
+                    message.setMillisToRun(newMillisToRun);
+                    message.setWaitTime(latest);
+                } else {
+                    AsyncExecutionSupplier<T> supplier = (AsyncExecutionSupplier<T>) queue.poll().getSupplier();
+                    return supplier;
+                }
             }
+            return null;
         }
-        return null;
+    }
+
+    /**
+     * Returns the number of the removed messages that still remain in the lanes for the method.
+     */
+    public int getNumberOfTombstones(String methodName) {
+        MethodQueue queue = methodNameToQueue.get(methodName);
+        return queue != null ? queue.tombstones() : 0;
     }
 
     public Integer getCurrentActiveQueueSize(String methodNameWithSuffix) {
-        LinkedBlockingQueue<Message> activeQueue = methodNameToActiveQueue.get(methodNameWithSuffix);
-        return activeQueue != null ? activeQueue.size() : 0;
+        MethodQueue queue = methodNameToQueue.get(methodNameWithSuffix);
+        return queue != null ? queue.size() : 0;
     }
 
 }
@@ -0,0 +1,179 @@
+package com.slack.api.methods.impl;
+
+import com.slack.api.SlackConfig;
+import com.slack.api.methods.FilesDownloader;
+import com.slack.api.util.http.SlackHttpClient;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+@Slf4j
+public class FilesDownloaderImpl implements FilesDownloader {
+
+    private final SlackHttpClient slackHttpClient;
+    private final String token;
+    private final ExecutorService executorService;
+    private final int maxResumeAttempts;
+    private final int bufferSize;
+
+    public FilesDownloaderImpl(SlackHttpClient slackHttpClient, String token, ExecutorService executorService) {
+        this.slackHttpClient = slackHttpClient;
+        this.token = token;
+        this.executorService = executorService;
+        SlackConfig config = slackHttpClient.getConfig();
+        this.maxResumeAttempts = config.getFilesDownloaderMaxResumeAttempts();
+        this.bufferSize = config.getFilesDownloaderBufferSize();
+    }
+
+    @Override
+    public long download(String url, Path destination) throws IOException {
+        try (FileChannel channel = FileChannel.open(destination,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            return download(url, channel);
+        }
+    }
+
+    @Override
+    public long download(String url, OutputStream destination) throws IOException {
+        return download(url, new Destination() {
+            @Override
+            public void write(byte[] buffer, int length) throws IOException {
+                destination.write(buffer, 0, length);
+            }
+
+            @Override
+            public boolean restart() {
+                return false;
+            }
+        });
+    }
+
+    @Override
+    public long download(String url, FileChannel destination) throws IOException {
+        final long startPosition = destination.position();
+        return download(url, new Destination() {
+            @Override
+            public void write(byte[] buffer, int length) throws IOException {
+                ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, length);
+                while (byteBuffer.hasRemaining()) {
+                    destination.write(byteBuffer);
+                }
+            }
+
+            @Override
+            public boolean restart() throws IOException {
+                destination.truncate(startPosition);
+                destination.position(startPosition);
+                return true;
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> downloadAsync(String url, Path destination) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return download(url, destination);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, executorService);
+    }
+
+    // ----------------------------------------------------------------
+
+    private interface Destination {
+
+        void write(byte[] buffer, int length) throws IOException;
+
+        /**
+         * Discards the data written so far. Returns false if the destination cannot be rewound.
+         */
+        boolean restart() throws IOException;
+    }
+
+    private long download(String url, Destination destination) throws IOException {
+        byte[] buffer = new byte[bufferSize];
+        long written = 0L;
+        String validator = null;
+        int attempts = 0;
+        while (true) {
+            Request.Builder request = new Request.Builder().url(url);
+            if (token != null) {
+                request.header("Authorization", "Bearer " + token);
+            }
+            if (written > 0L) {
+                request.header("Range", "bytes=" + written + "-");
+                if (validator != null) {
+                    // The server returns the whole file instead of the range if the file has been changed
+                    request.header("If-Range", validator);
+                }
+            }
+            try (Response response = slackHttpClient.get(request)) {
+                if (!response.isSuccessful()) {
+                    throw new DownloadFailureException("Failed to download " + url + " (status: " + response.code() + ")");
+                }
+                if (written == 0L) {
+                    validator = response.header("ETag", response.header("Last-Modified"));
+                } else if (response.code() != 206) {
+                    if (validator != null) {
+                        if (!destination.restart()) {
+                            throw new DownloadFailureException("Failed to resume downloading " + url + " as the file has been changed");
+                        }
+                        written = 0L;
+                        validator = response.header("ETag", response.header("Last-Modified"));
+                    } else {
+                        // The server doesn't support Range requests; skip the bytes already written
+                        response.body().source().skip(written);
+                    }
+                }
+                InputStream input = response.body().byteStream();
+                int read;
+                while ((read = input.read(buffer)) != -1) {
+                    try {
+                        destination.write(buffer, read);
+                    } catch (IOException e) {
+                        throw new DownloadFailureException("Failed to write the downloaded data", e);
+                    }
+                    written += read;
+                }
+                return written;
+
+            } catch (DownloadFailureException e) {
+                throw e.getCause() instanceof IOException ? (IOException) e.getCause() : e;
+            } catch (IOException e) {
+                if (attempts >= maxResumeAttempts) {
+                    throw e;
+                }
+                attempts++;
+                log.debug("Resuming the download of {} from byte {} (attempt: {}, error: {})", url, written, attempts, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * An error that resuming the download doesn't help.
+     */
+    private static class DownloadFailureException extends IOException {
+
+        DownloadFailureException(String message) {
+            super(message);
+        }
+
+        DownloadFailureException(String message, IOException cause) {
+            super(message, cause);
+        }
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.slack.api.methods.impl;
 
+import com.google.gson.Gson;
 import com.slack.api.RequestConfigurator;
 import com.slack.api.methods.*;
 import com.slack.api.methods.metrics.MetricsDatastore;
@@ -145,19 +146,25 @@ import com.slack.api.methods.response.views.ViewsOpenResponse;
 import com.slack.api.methods.response.views.ViewsPublishResponse;
 import com.slack.api.methods.response.views.ViewsPushResponse;
 import com.slack.api.methods.response.views.ViewsUpdateResponse;
+import com.slack.api.util.http.HttpCallTimings;
 import com.slack.api.util.http.SlackHttpClient;
 import com.slack.api.util.json.GsonFactory;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.Credentials;
 import okhttp3.FormBody;
 import okhttp3.MultipartBody;
+import okhttp3.RequestBody;
 import okhttp3.Response;
 
 import java.io.IOException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
+import static com.slack.api.methods.RequestFormBuilder.hasFileContents;
 import static com.slack.api.methods.RequestFormBuilder.toForm;
 import static com.slack.api.methods.RequestFormBuilder.toMultipartBody;
+import static com.slack.api.methods.RequestJsonBodyBuilder.toJsonBody;
 
 @Slf4j
 public class MethodsClientImpl implements MethodsClient {
@@ -166,10 +173,13 @@ public class MethodsClientImpl implements MethodsClient {
 
     private final String executorName;
     private final boolean statsEnabled;
+    private final boolean jsonRequestBodyEnabled;
     private final SlackHttpClient slackHttpClient;
     private final Optional<String> token;
     private final MetricsDatastore metricsDatastore;
     private final TeamIdCache teamIdCache;
+    private final ResponseCache responseCache;
+    private final RequestCoalescer requestCoalescer;
 
     public MethodsClientImpl(SlackHttpClient slackHttpClient) {
         this(slackHttpClient, null);
@@ -178,10 +188,13 @@ public class MethodsClientImpl implements MethodsClient {
     public MethodsClientImpl(SlackHttpClient slackHttpClient, String token) {
         this.executorName = slackHttpClient.getConfig().getMethodsConfig().getExecutorName();
         this.statsEnabled = slackHttpClient.getConfig().getMethodsConfig().isStatsEnabled();
+        this.jsonRequestBodyEnabled = slackHttpClient.getConfig().getMethodsConfig().isJsonRequestBodyEnabled();
         this.slackHttpClient = slackHttpClient;
         this.token = Optional.ofNullable(token);
         this.metricsDatastore = slackHttpClient.getConfig().getMethodsConfig().getMetricsDatastore();
-        this.teamIdCache = new TeamIdCache(this);
+        this.teamIdCache = new TeamIdCache(this, slackHttpClient.getConfig().getMethodsConfig());
+        this.responseCache = new ResponseCache(slackHttpClient.getConfig());
+        this.requestCoalescer = RequestCoalescer.getOrCreate(this.executorName);
     }
 
     @Override
@@ -840,6 +853,9 @@ public class MethodsClientImpl implements MethodsClient {
 
     @Override
     public ChatPostMessageResponse chatPostMessage(ChatPostMessageRequest req) throws IOException, SlackApiException {
+        if (jsonRequestBodyEnabled) {
+            return postJsonWithTokenAndParseResponse(toJsonBody(req), Methods.CHAT_POST_MESSAGE, Methods.CHAT_POST_MESSAGE + "_" + req.getChannel(), getToken(req), ChatPostMessageResponse.class);
+        }
         return postFormWithTokenAndParseResponse(toForm(req), Methods.CHAT_POST_MESSAGE, getToken(req), ChatPostMessageResponse.class);
     }
 
@@ -860,6 +876,9 @@ public class MethodsClientImpl implements MethodsClient {
 
     @Override
     public ChatUpdateResponse chatUpdate(ChatUpdateRequest req) throws IOException, SlackApiException {
+        if (jsonRequestBodyEnabled) {
+            return postJsonWithTokenAndParseResponse(toJsonBody(req), Methods.CHAT_UPDATE, Methods.CHAT_UPDATE, getToken(req), ChatUpdateResponse.class);
+        }
         return postFormWithTokenAndParseResponse(toForm(req), Methods.CHAT_UPDATE, getToken(req), ChatUpdateResponse.class);
     }
 
@@ -1198,7 +1217,7 @@ public class MethodsClientImpl implements MethodsClient {
 
     @Override
     public FilesUploadResponse filesUpload(FilesUploadRequest req) throws IOException, SlackApiException {
-        if (req.getFile() != null || req.getFileData() != null) {
+        if (hasFileContents(req)) {
             return postMultipartAndParseResponse(toMultipartBody(req), Methods.FILES_UPLOAD, getToken(req), FilesUploadResponse.class);
         } else {
             return postFormWithTokenAndParseResponse(toForm(req), Methods.FILES_UPLOAD, getToken(req), FilesUploadResponse.class);
@@ -2061,6 +2080,9 @@ public class MethodsClientImpl implements MethodsClient {
 
     @Override
     public ViewsOpenResponse viewsOpen(ViewsOpenRequest req) throws IOException, SlackApiException {
+        if (jsonRequestBodyEnabled) {
+            return postJsonWithTokenAndParseResponse(toJsonBody(req), Methods.VIEWS_OPEN, Methods.VIEWS_OPEN, getToken(req), ViewsOpenResponse.class);
+        }
         return postFormWithTokenAndParseResponse(toForm(req), Methods.VIEWS_OPEN, getToken(req), ViewsOpenResponse.class);
     }
 
@@ -2091,6 +2113,9 @@ public class MethodsClientImpl implements MethodsClient {
 
     @Override
     public ViewsPublishResponse viewsPublish(ViewsPublishRequest req) throws IOException, SlackApiException {
+        if (jsonRequestBodyEnabled) {
+            return postJsonWithTokenAndParseResponse(toJsonBody(req), Methods.VIEWS_PUBLISH, Methods.VIEWS_PUBLISH, getToken(req), ViewsPublishResponse.class);
+        }
         return postFormWithTokenAndParseResponse(toForm(req), Methods.VIEWS_PUBLISH, getToken(req), ViewsPublishResponse.class);
     }
 
@@ -2113,6 +2138,10 @@ public class MethodsClientImpl implements MethodsClient {
         return slackHttpClient.postFormWithBearerHeader(endpointUrlPrefix + methodName, token, form.build());
     }
 
+    CompletableFuture<Response> runPostFormWithTokenAsync(FormBody.Builder form, String methodName, String token) {
+        return slackHttpClient.postFormWithBearerHeaderAsync(endpointUrlPrefix + methodName, token, form.build());
+    }
+
     @Override
     public Response runPostMultipart(MultipartBody.Builder form, String methodName, String token) throws IOException {
         return slackHttpClient.postMultipart(endpointUrlPrefix + methodName, token, form.build());
@@ -2184,6 +2213,37 @@ public class MethodsClientImpl implements MethodsClient {
             String methodName,
             String token,
             Class<T> clazz) throws IOException, SlackApiException {
+        if (isCoalesced(methodName)) {
+            return requestCoalescer.coalesce(toCoalescingKey(form, methodName, token), methodName,
+                    () -> readThroughResponseCache(form, methodName, token, clazz));
+        }
+        return readThroughResponseCache(form, methodName, token, clazz);
+    }
+
+    private <T extends SlackApiResponse> T readThroughResponseCache(
+            FormBody.Builder form,
+            String methodName,
+            String token,
+            Class<T> clazz) throws IOException, SlackApiException {
+        String cacheTeamId = responseCache.isEnabled(methodName) ? teamIdCache.lookupOrResolve(token) : null;
+        if (cacheTeamId != null) {
+            T cachedResponse = responseCache.get(cacheTeamId, token, methodName, form.build(), clazz);
+            if (cachedResponse != null) {
+                return cachedResponse;
+            }
+        }
+        T apiResponse = sendFormWithTokenAndParseResponse(form, methodName, token, clazz);
+        if (cacheTeamId != null) {
+            responseCache.put(cacheTeamId, token, methodName, form.build(), apiResponse);
+        }
+        return apiResponse;
+    }
+
+    <T extends SlackApiResponse> T sendFormWithTokenAndParseResponse(
+            FormBody.Builder form,
+            String methodName,
+            String token,
+            Class<T> clazz) throws IOException, SlackApiException {
         String teamId = null;
         if (statsEnabled) {
             teamId = teamIdCache.lookupOrResolve(token);
@@ -2195,28 +2255,36 @@ public class MethodsClientImpl implements MethodsClient {
                 metricsDatastore.addToLastMinuteRequests(executorName, teamId, key, System.currentTimeMillis());
             }
             Response response = runPostFormWithToken(form, methodName, token);
-            T apiResponse = parseJsonResponseAndRunListeners(teamId, methodName, response, clazz);
-            return apiResponse;
+            return parseJsonResponseAndRunListeners(teamId, methodName, response, clazz);
 
         } catch (IOException e) {
-            if (teamId != null) {
-                metricsDatastore.incrementFailedCalls(executorName, teamId, methodName);
-            }
+            recordFailedCall(teamId, methodName, buildMethodNameAndSuffix(form, methodName), e);
             throw e;
         } catch (SlackApiException e) {
+            recordFailedCall(teamId, methodName, buildMethodNameAndSuffix(form, methodName), e);
+            throw e;
+        }
+    }
+
+    protected <T extends SlackApiResponse> T postJsonWithTokenAndParseResponse(
+            RequestBody jsonBody,
+            String methodName,
+            String methodNameWithSuffix,
+            String token,
+            Class<T> clazz) throws IOException, SlackApiException {
+        String teamId = null;
+        if (statsEnabled) {
+            teamId = teamIdCache.lookupOrResolve(token);
+        }
+        try {
             if (teamId != null) {
-                metricsDatastore.incrementFailedCalls(executorName, teamId, methodName);
-                if (e.getResponse().code() == 429) {
-                    // rate limited
-                    final String retryAfterSeconds = e.getResponse().header("Retry-After");
-                    if (retryAfterSeconds != null) {
-                        long secondsToWait = Long.valueOf(retryAfterSeconds);
-                        long epochMillisToRetry = System.currentTimeMillis() + (secondsToWait * 1000L);
-                        String key = buildMethodNameAndSuffix(form, methodName);
-                        metricsDatastore.setRateLimitedMethodRetryEpochMillis(executorName, teamId, key, epochMillisToRetry);
-                    }
-                }
+                metricsDatastore.incrementAllCompletedCalls(executorName, teamId, methodName);
+                metricsDatastore.addToLastMinuteRequests(executorName, teamId, methodNameWithSuffix, System.currentTimeMillis());
             }
+            Response response = slackHttpClient.postJsonBodyWithBearerHeader(endpointUrlPrefix + methodName, token, jsonBody);
+            return parseJsonResponseAndRunListeners(teamId, methodName, response, clazz);
+        } catch (IOException | SlackApiException e) {
+            recordFailedCall(teamId, methodName, methodNameWithSuffix, e);
             throw e;
         }
     }
@@ -2241,31 +2309,228 @@ public class MethodsClientImpl implements MethodsClient {
             return apiResponse;
 
         } catch (IOException e) {
-            if (teamId != null) {
-                metricsDatastore.incrementFailedCalls(executorName, teamId, methodName);
-            }
+            recordFailedCall(teamId, methodName, methodName, e);
             throw e;
         } catch (SlackApiException e) {
-            if (teamId != null) {
-                metricsDatastore.incrementFailedCalls(executorName, teamId, methodName);
+            recordFailedCall(teamId, methodName, methodName, e);
+            throw e;
+        }
+    }
+
+    // ----------------------------------------------
+    //  Non-blocking variants of the above methods
+    // ----------------------------------------------
+
+    protected <T extends SlackApiResponse> CompletableFuture<T> postFormAndParseResponseAsync(
+            FormBody.Builder form,
+            String methodName,
+            Class<T> clazz) {
+        CompletableFuture<Response> response = slackHttpClient.postFormAsync(endpointUrlPrefix + methodName, form.build());
+        return parseJsonResponseAndRunListenersAsync(null, methodName, methodName, response, clazz);
+    }
+
+    protected <T extends SlackApiResponse> CompletableFuture<T> postFormWithTokenAndParseResponseAsync(
+            FormBody.Builder form,
+            String methodName,
+            String token,
+            Class<T> clazz) {
+        return coalesceAsync(form, methodName, token, () -> readThroughResponseCacheAsync(form, methodName, token, clazz,
+                () -> sendFormWithTokenAndParseResponseAsync(form, methodName, token, clazz)));
+    }
+
+    /**
+     * Lets the call share an identical one in flight if the method is in {@link MethodsConfig#getCoalescedMethodNames()}.
+     */
+    <T extends SlackApiResponse> CompletableFuture<T> coalesceAsync(
+            FormBody.Builder form,
+            String methodName,
+            String token,
+            NonBlockingExecutionSupplier<T> call) {
+        if (!isCoalesced(methodName)) {
+            return call.execute();
+        }
+        return requestCoalescer.coalesceAsync(toCoalescingKey(form, methodName, token), methodName, call);
+    }
+
+    /**
+     * Serves the cached response if the method is in {@link MethodsConfig#getResponseCacheTtlMillis()}.
+     * Otherwise, runs the call and caches its response.
+     */
+    <T extends SlackApiResponse> CompletableFuture<T> readThroughResponseCacheAsync(
+            FormBody.Builder form,
+            String methodName,
+            String token,
+            Class<T> clazz,
+            NonBlockingExecutionSupplier<T> call) {
+        if (!responseCache.isEnabled(methodName)) {
+            return call.execute();
+        }
+        // The team ID is resolved without blocking the caller's thread
+        return thenComposeCancellable(teamIdCache.lookupOrResolveAsync(token), teamId -> {
+            if (teamId == null) {
+                return call.execute();
             }
-            if (e.getResponse().code() == 429) {
-                // rate limited
-                final String retryAfterSeconds = e.getResponse().header("Retry-After");
-                if (retryAfterSeconds != null) {
-                    long secondsToWait = Long.valueOf(retryAfterSeconds);
-                    long epochMillisToRetry = System.currentTimeMillis() + (secondsToWait * 1000L);
-                    metricsDatastore.setRateLimitedMethodRetryEpochMillis(executorName, teamId, methodName, epochMillisToRetry);
-                }
+            T cachedResponse = responseCache.get(teamId, token, methodName, form.build(), clazz);
+            if (cachedResponse != null) {
+                return CompletableFuture.completedFuture(cachedResponse);
             }
-            throw e;
+            CompletableFuture<T> result = call.execute();
+            // The response is cached before the caller gets it so that its next call can be a hit
+            CompletableFuture<T> cachingResult = result.thenApply(apiResponse -> {
+                responseCache.put(teamId, token, methodName, form.build(), apiResponse);
+                return apiResponse;
+            });
+            cachingResult.whenComplete((apiResponse, e) -> {
+                if (cachingResult.isCancelled()) {
+                    result.cancel(true);
+                }
+            });
+            return cachingResult;
+        });
+    }
+
+    boolean isResponseCacheEnabled(String methodName) {
+        return responseCache.isEnabled(methodName);
+    }
+
+    boolean isJsonRequestBodyEnabled() {
+        return jsonRequestBodyEnabled;
+    }
+
+    <T extends SlackApiResponse> CompletableFuture<T> sendFormWithTokenAndParseResponseAsync(
+            FormBody.Builder form,
+            String methodName,
+            String token,
+            Class<T> clazz) {
+        if (!statsEnabled) {
+            return sendFormWithTokenAndParseResponseAsync(form, methodName, token, null, clazz);
+        }
+        return thenComposeCancellable(teamIdCache.lookupOrResolveAsync(token),
+                teamId -> sendFormWithTokenAndParseResponseAsync(form, methodName, token, teamId, clazz));
+    }
+
+    private <T extends SlackApiResponse> CompletableFuture<T> sendFormWithTokenAndParseResponseAsync(
+            FormBody.Builder form,
+            String methodName,
+            String token,
+            String teamId,
+            Class<T> clazz) {
+        String key = buildMethodNameAndSuffix(form, methodName);
+        if (teamId != null) {
+            metricsDatastore.incrementAllCompletedCalls(executorName, teamId, methodName);
+            metricsDatastore.addToLastMinuteRequests(executorName, teamId, key, System.currentTimeMillis());
+        }
+        CompletableFuture<Response> response = slackHttpClient.postFormWithBearerHeaderAsync(endpointUrlPrefix + methodName, token, form.build());
+        return parseJsonResponseAndRunListenersAsync(teamId, methodName, key, response, clazz);
+    }
+
+    protected <T extends SlackApiResponse> CompletableFuture<T> postJsonWithTokenAndParseResponseAsync(
+            RequestBody jsonBody,
+            String methodName,
+            String methodNameWithSuffix,
+            String token,
+            Class<T> clazz) {
+        if (!statsEnabled) {
+            return postJsonWithTokenAndParseResponseAsync(jsonBody, methodName, methodNameWithSuffix, token, null, clazz);
+        }
+        return thenComposeCancellable(teamIdCache.lookupOrResolveAsync(token),
+                teamId -> postJsonWithTokenAndParseResponseAsync(jsonBody, methodName, methodNameWithSuffix, token, teamId, clazz));
+    }
+
+    private <T extends SlackApiResponse> CompletableFuture<T> postJsonWithTokenAndParseResponseAsync(
+            RequestBody jsonBody,
+            String methodName,
+            String methodNameWithSuffix,
+            String token,
+            String teamId,
+            Class<T> clazz) {
+        if (teamId != null) {
+            metricsDatastore.incrementAllCompletedCalls(executorName, teamId, methodName);
+            metricsDatastore.addToLastMinuteRequests(executorName, teamId, methodNameWithSuffix, System.currentTimeMillis());
+        }
+        CompletableFuture<Response> response = slackHttpClient.postJsonBodyWithBearerHeaderAsync(endpointUrlPrefix + methodName, token, jsonBody);
+        return parseJsonResponseAndRunListenersAsync(teamId, methodName, methodNameWithSuffix, response, clazz);
+    }
+
+    protected <T extends SlackApiResponse> CompletableFuture<T> postMultipartAndParseResponseAsync(
+            MultipartBody.Builder form,
+            String methodName,
+            String token,
+            Class<T> clazz) {
+        form.setType(MultipartBody.FORM);
+        if (!statsEnabled) {
+            return postMultipartAndParseResponseAsync(form, methodName, token, null, clazz);
+        }
+        return thenComposeCancellable(teamIdCache.lookupOrResolveAsync(token),
+                teamId -> postMultipartAndParseResponseAsync(form, methodName, token, teamId, clazz));
+    }
+
+    private <T extends SlackApiResponse> CompletableFuture<T> postMultipartAndParseResponseAsync(
+            MultipartBody.Builder form,
+            String methodName,
+            String token,
+            String teamId,
+            Class<T> clazz) {
+        if (teamId != null) {
+            metricsDatastore.incrementAllCompletedCalls(executorName, teamId, methodName);
+            metricsDatastore.addToLastMinuteRequests(executorName, teamId, methodName, System.currentTimeMillis());
         }
+        CompletableFuture<Response> response = slackHttpClient.postMultipartAsync(endpointUrlPrefix + methodName, token, form.build());
+        return parseJsonResponseAndRunListenersAsync(teamId, methodName, methodName, response, clazz);
     }
 
     // ----------------------------------------------
     // Internal methods
     // ----------------------------------------------
 
+    /**
+     * Works like {@link CompletableFuture#thenCompose} but cancelling the returned future cancels the future
+     * the function has returned as well so that the in-flight HTTP call is cancelled.
+     * The given future is not cancelled as it can be shared with other calls.
+     */
+    private static <U, T> CompletableFuture<T> thenComposeCancellable(
+            CompletableFuture<U> future,
+            Function<U, CompletableFuture<T>> function) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        future.whenComplete((value, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+                return;
+            }
+            if (result.isDone()) {
+                return; // cancelled before starting the HTTP call
+            }
+            CompletableFuture<T> next;
+            try {
+                next = function.apply(value);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            result.whenComplete((response, e) -> {
+                if (result.isCancelled()) {
+                    next.cancel(true);
+                }
+            });
+            next.whenComplete((response, e) -> {
+                if (e == null) {
+                    result.complete(response);
+                } else {
+                    result.completeExceptionally(e);
+                }
+            });
+        });
+        return result;
+    }
+
+    boolean isCoalesced(String methodName) {
+        return slackHttpClient.getConfig().getMethodsConfig().getCoalescedMethodNames().contains(methodName);
+    }
+
+    private static String toCoalescingKey(FormBody.Builder form, String methodName, String token) {
+        return token + ":" + methodName + ":" + ResponseCache.toNormalizedParams(form.build(), null);
+    }
+
     protected String getToken(SlackApiRequest request) {
         if (request.getToken() != null) {
             return request.getToken();
@@ -2286,10 +2551,25 @@ public class MethodsClientImpl implements MethodsClient {
             String methodName,
             Response response,
             Class<T> clazz) throws IOException, SlackApiException {
-        String body = response.body().string();
         if (response.isSuccessful()) {
+            // Large responses such as users.list are deserialized while being read
+            // unless a response listener needs the whole body
+            String body = null;
             try {
-                T apiResponse = GsonFactory.createSnakeCase(slackHttpClient.getConfig()).fromJson(body, clazz);
+                Gson gson = GsonFactory.createSnakeCase(slackHttpClient.getConfig());
+                T apiResponse;
+                HttpCallTimings timings = response.request().tag(HttpCallTimings.class);
+                if (slackHttpClient.isResponseBodyRequiredByListeners()) {
+                    body = response.body().string();
+                    long parseStartNanos = System.nanoTime();
+                    apiResponse = gson.fromJson(body, clazz);
+                    if (timings != null) {
+                        timings.setParseNanos(System.nanoTime() - parseStartNanos);
+                    }
+                } else {
+                    apiResponse = SlackHttpClient.parseJsonResponseBody(gson, response, clazz, timings);
+                }
+                recordCallTimings(teamId, methodName, timings);
                 if (teamId != null) {
                     if (apiResponse.isOk()) {
                         metricsDatastore.incrementSuccessfulCalls(executorName, teamId, methodName);
@@ -2302,10 +2582,68 @@ public class MethodsClientImpl implements MethodsClient {
                 slackHttpClient.runHttpResponseListeners(response, body);
             }
         } else {
+            String body = response.body().string();
             throw new SlackApiException(slackHttpClient.getConfig(), response, body);
         }
     }
 
+    private void recordCallTimings(String teamId, String methodName, HttpCallTimings timings) {
+        if (timings == null) {
+            return;
+        }
+        if (teamId != null) {
+            metricsDatastore.recordCallTimings(executorName, teamId, methodName, timings);
+        }
+        slackHttpClient.runHttpCallTimingsListeners(teamId, methodName, timings);
+    }
+
+    /**
+     * Parses the response on the OkHttp thread that received it and completes the returned future.
+     */
+    private <T extends SlackApiResponse> CompletableFuture<T> parseJsonResponseAndRunListenersAsync(
+            String teamId,
+            String methodName,
+            String methodNameWithSuffix,
+            CompletableFuture<Response> response,
+            Class<T> clazz) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        response.whenComplete((httpResponse, error) -> {
+            if (error != null) {
+                recordFailedCall(teamId, methodName, methodNameWithSuffix, error);
+                result.completeExceptionally(error);
+                return;
+            }
+            try {
+                result.complete(parseJsonResponseAndRunListeners(teamId, methodName, httpResponse, clazz));
+            } catch (IOException | SlackApiException | RuntimeException e) {
+                recordFailedCall(teamId, methodName, methodNameWithSuffix, e);
+                result.completeExceptionally(e);
+            }
+        });
+        result.whenComplete((parsedResponse, error) -> {
+            if (result.isCancelled()) {
+                response.cancel(true); // cancels the underlying HTTP call
+            }
+        });
+        return result;
+    }
+
+    private void recordFailedCall(String teamId, String methodName, String methodNameWithSuffix, Throwable e) {
+        if (teamId == null || e instanceof RuntimeException) {
+            return;
+        }
+        metricsDatastore.incrementFailedCalls(executorName, teamId, methodName);
+        if (e instanceof SlackApiException && ((SlackApiException) e).getResponse().code() == 429) {
+            // rate limited
+            final String retryAfterSeconds = ((SlackApiException) e).getResponse().header("Retry-After");
+            if (retryAfterSeconds != null) {
+                long secondsToWait = Long.valueOf(retryAfterSeconds);
+                long epochMillisToRetry = System.currentTimeMillis() + (secondsToWait * 1000L);
+                metricsDatastore.setRateLimitedMethodRetryEpochMillis(executorName, teamId, methodNameWithSuffix, epochMillisToRetry);
+            }
+        }
+    }
+
     private String buildMethodNameAndSuffix(FormBody.Builder form, String methodName) {
         String key = methodName;
         if (methodName.equals(Methods.CHAT_POST_MESSAGE)) {
@@ -0,0 +1,15 @@
+package com.slack.api.methods.impl;
+
+import com.slack.api.methods.SlackApiResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A Supplier that starts an API Method execution without blocking the current thread.
+ */
+@FunctionalInterface
+public interface NonBlockingExecutionSupplier<T extends SlackApiResponse> {
+
+    CompletableFuture<T> execute();
+
+}
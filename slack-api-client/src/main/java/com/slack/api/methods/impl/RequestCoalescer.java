@@ -0,0 +1,161 @@
+package com.slack.api.methods.impl;
+
+import com.slack.api.methods.MethodsConfig;
+import com.slack.api.methods.SlackApiException;
+import com.slack.api.methods.SlackApiResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lets concurrent identical calls of the API methods in {@link MethodsConfig#getCoalescedMethodNames()}
+ * share a single HTTP request. Calls are identical when they have the same token, method name, and parameters.
+ * All the callers receive the same response object, so they should not modify it.
+ * <p>
+ * Calls that start after the shared request completes send a new request.
+ */
+public class RequestCoalescer {
+
+    private static final ConcurrentMap<String, RequestCoalescer> ALL_COALESCERS = new ConcurrentHashMap<>();
+
+    @FunctionalInterface
+    public interface Call<T extends SlackApiResponse> {
+        T execute() throws IOException, SlackApiException;
+    }
+
+    // token + method name + parameters -> the request in flight
+    private final ConcurrentMap<String, CompletableFuture<SlackApiResponse>> inFlight = new ConcurrentHashMap<>();
+
+    // Method name -> # of calls that shared a request in flight
+    private final ConcurrentMap<String, LongAdder> hits = new ConcurrentHashMap<>();
+    // Method name -> # of calls that sent a request
+    private final ConcurrentMap<String, LongAdder> misses = new ConcurrentHashMap<>();
+
+    public static RequestCoalescer getOrCreate(String executorName) {
+        return ALL_COALESCERS.computeIfAbsent(executorName, name -> new RequestCoalescer());
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends SlackApiResponse> T coalesce(
+            String key,
+            String methodName,
+            Call<T> call) throws IOException, SlackApiException {
+        CompletableFuture<SlackApiResponse> request = new CompletableFuture<>();
+        CompletableFuture<SlackApiResponse> sharedRequest = inFlight.putIfAbsent(key, request);
+        if (sharedRequest != null) {
+            increment(hits, methodName);
+            return (T) waitFor(sharedRequest);
+        }
+        increment(misses, methodName);
+        try {
+            T response = call.execute();
+            request.complete(response);
+            return response;
+        } catch (IOException | SlackApiException | RuntimeException | Error e) {
+            request.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, request);
+            if (!request.isDone()) {
+                // never leave the other callers waiting for the shared request
+                request.completeExceptionally(new IllegalStateException("The shared request did not complete"));
+            }
+        }
+    }
+
+    /**
+     * The asynchronous version of {@link #coalesce(String, String, Call)}. Cancelling the returned future
+     * doesn't cancel the shared request as other calls may be waiting for it.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends SlackApiResponse> CompletableFuture<T> coalesceAsync(
+            String key,
+            String methodName,
+            NonBlockingExecutionSupplier<T> call) {
+        CompletableFuture<SlackApiResponse> request = new CompletableFuture<>();
+        CompletableFuture<SlackApiResponse> sharedRequest = inFlight.putIfAbsent(key, request);
+        if (sharedRequest != null) {
+            increment(hits, methodName);
+            return sharedRequest.thenApply(response -> (T) response);
+        }
+        increment(misses, methodName);
+        try {
+            call.execute().whenComplete((response, error) -> {
+                inFlight.remove(key, request);
+                if (error == null) {
+                    request.complete(response);
+                } else {
+                    request.completeExceptionally(error);
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, request);
+            request.completeExceptionally(e);
+            if (e instanceof Error) {
+                throw (Error) e;
+            }
+        }
+        return request.thenApply(response -> (T) response);
+    }
+
+    /**
+     * Method name -> # of calls that received the response of another call's request
+     */
+    public Map<String, Long> getHitCounts() {
+        return toCounts(hits);
+    }
+
+    /**
+     * Method name -> # of calls that sent their own requests
+     */
+    public Map<String, Long> getMissCounts() {
+        return toCounts(misses);
+    }
+
+    public void clearCounts() {
+        hits.clear();
+        misses.clear();
+    }
+
+    private static SlackApiResponse waitFor(CompletableFuture<SlackApiResponse> request) throws IOException, SlackApiException {
+        try {
+            return request.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the response of an identical call");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof SlackApiException) {
+                throw (SlackApiException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else {
+                throw new IllegalStateException(cause);
+            }
+        }
+    }
+
+    private static void increment(ConcurrentMap<String, LongAdder> counts, String methodName) {
+        counts.computeIfAbsent(methodName, name -> new LongAdder()).increment();
+    }
+
+    private static Map<String, Long> toCounts(ConcurrentMap<String, LongAdder> counts) {
+        Map<String, Long> result = new HashMap<>();
+        for (Map.Entry<String, LongAdder> count : counts.entrySet()) {
+            result.put(count.getKey(), count.getValue().sum());
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.slack.api.methods.impl;
+
+import com.google.gson.Gson;
+import com.slack.api.SlackConfig;
+import com.slack.api.methods.Methods;
+import com.slack.api.methods.MethodsConfig;
+import com.slack.api.methods.SlackApiResponse;
+import com.slack.api.methods.cache.ResponseCacheStore;
+import com.slack.api.util.json.GsonFactory;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.FormBody;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Read-through cache for the API methods enabled by {@link MethodsConfig#getResponseCacheTtlMillis()}.
+ * <p>
+ * Only successful responses are cached. As what a response contains depends on the token's user and scopes,
+ * the responses are cached per token within the team; the store keeps only a hash of the token.
+ * A failure in the store never fails API calls; the call is sent to Slack as usual.
+ */
+@Slf4j
+public class ResponseCache {
+
+    // method name -> the request parameter that identifies the resource
+    private static final Map<String, String> RESOURCE_ID_PARAMS = new HashMap<>();
+
+    static {
+        RESOURCE_ID_PARAMS.put(Methods.BOTS_INFO, "bot");
+        RESOURCE_ID_PARAMS.put(Methods.CONVERSATIONS_INFO, "channel");
+        RESOURCE_ID_PARAMS.put(Methods.TEAM_INFO, "team");
+        RESOURCE_ID_PARAMS.put(Methods.USERS_INFO, "user");
+        RESOURCE_ID_PARAMS.put(Methods.USERS_PROFILE_GET, "user");
+    }
+
+    private final MethodsConfig config;
+    private final Gson gson;
+
+    public ResponseCache(SlackConfig config) {
+        this.config = config.getMethodsConfig();
+        this.gson = GsonFactory.createSnakeCase(config);
+    }
+
+    public boolean isEnabled(String methodName) {
+        Long ttlMillis = config.getResponseCacheTtlMillis().get(methodName);
+        return ttlMillis != null && ttlMillis > 0;
+    }
+
+    public <T extends SlackApiResponse> T get(String teamId, String token, String methodName, FormBody form, Class<T> clazz) {
+        try {
+            ResponseCacheStore store = config.getResponseCacheStore();
+            String response = store.get(teamId, methodName, toResourceId(methodName, form), toVariant(token, methodName, form));
+            return response != null ? gson.fromJson(response, clazz) : null;
+        } catch (RuntimeException e) {
+            log.warn("Failed to read a cached {} API response (team: {}, error: {})", methodName, teamId, e.getMessage(), e);
+            return null;
+        }
+    }
+
+    public void put(String teamId, String token, String methodName, FormBody form, SlackApiResponse response) {
+        if (!response.isOk()) {
+            return;
+        }
+        try {
+            long ttlMillis = config.getResponseCacheTtlMillis().get(methodName);
+            ResponseCacheStore store = config.getResponseCacheStore();
+            store.put(teamId, methodName, toResourceId(methodName, form), toVariant(token, methodName, form), gson.toJson(response), ttlMillis);
+        } catch (RuntimeException e) {
+            log.warn("Failed to cache a {} API response (team: {}, error: {})", methodName, teamId, e.getMessage(), e);
+        }
+    }
+
+    private static String toResourceId(String methodName, FormBody form) {
+        String param = RESOURCE_ID_PARAMS.get(methodName);
+        if (param != null) {
+            for (int i = 0; i < form.size(); i++) {
+                if (form.name(i).equals(param)) {
+                    return form.value(i);
+                }
+            }
+        }
+        return "";
+    }
+
+    // The token hash and the request parameters except the token and the resource ID in a stable order
+    private static String toVariant(String token, String methodName, FormBody form) {
+        return toTokenHash(token) + ":" + toNormalizedParams(form, RESOURCE_ID_PARAMS.get(methodName));
+    }
+
+    private static String toTokenHash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 16; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String toNormalizedParams(FormBody form, String excludedName) {
+        Map<String, String> params = new TreeMap<>();
+        for (int i = 0; i < form.size(); i++) {
+            String name = form.name(i);
+            if (!name.equals("token") && !name.equals(excludedName)) {
+                params.put(name, form.value(i));
+            }
+        }
+        StringBuilder normalized = new StringBuilder();
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            if (normalized.length() > 0) {
+                normalized.append('&');
+            }
+            normalized.append(param.getKey()).append('=').append(param.getValue());
+        }
+        return normalized.toString();
+    }
+
+}
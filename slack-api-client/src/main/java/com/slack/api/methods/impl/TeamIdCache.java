@@ -1,6 +1,7 @@
 package com.slack.api.methods.impl;
 
 import com.slack.api.methods.Methods;
+import com.slack.api.methods.MethodsConfig;
 import com.slack.api.methods.SlackApiException;
 import com.slack.api.methods.request.auth.AuthTestRequest;
 import com.slack.api.methods.response.auth.AuthTestResponse;
@@ -9,50 +10,285 @@ import okhttp3.FormBody;
 import okhttp3.Response;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.function.Function;
 
 import static com.slack.api.methods.RequestFormBuilder.toForm;
 
+/**
+ * Token -> team_id cache used for the per-team metrics and the per-team queues of asynchronous API calls.
+ * <p>
+ * The entries are shared by all the clients in the JVM. A token unknown to this cache is resolved by a single
+ * auth.test API call even when many threads ask for it at the same time. Tokens rejected by auth.test
+ * (e.g., token_revoked) are cached as well for a short period so that a revoked token doesn't trigger
+ * an auth.test call for every API call. Transient failures such as I/O errors, rate limiting, and server errors
+ * are never cached.
+ * When the number of entries exceeds {@link MethodsConfig#getTeamIdCacheMaxSize()},
+ * the least recently used ones are evicted.
+ * <p>
+ * Apps that already know the team ID for a token (e.g., from their installation data) can call
+ * {@link #put(String, String)} to avoid auth.test API calls at all.
+ */
 @Slf4j
 public class TeamIdCache {
 
-    private static final ConcurrentMap<String, String> TOKEN_TO_TEAM_ID = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Entry> TOKEN_TO_TEAM_ID = new ConcurrentHashMap<>();
+
+    // token -> auth.test API call in flight
+    private static final ConcurrentMap<String, CompletableFuture<String>> RESOLUTIONS = new ConcurrentHashMap<>();
+
+    private static final Object EVICTION_LOCK = new Object();
+
+    // The auth.test errors that the token will keep getting
+    private static final Set<String> TOKEN_ERRORS = new HashSet<>(Arrays.asList(
+            "invalid_auth", "not_authed", "token_revoked", "account_inactive"));
+
+    private static class Entry {
+        private final String teamId; // null if the lookup failed
+        private final long expirationMillis;
+        private volatile long lastAccessMillis;
+
+        Entry(String teamId, long expirationMillis, long now) {
+            this.teamId = teamId;
+            this.expirationMillis = expirationMillis;
+            this.lastAccessMillis = now;
+        }
+    }
+
+    private static class EvictionCandidate {
+        private final String token;
+        private final Entry entry;
+        // copied as the entry's value can be updated while sorting
+        private final long lastAccessMillis;
+
+        EvictionCandidate(String token, Entry entry) {
+            this.token = token;
+            this.entry = entry;
+            this.lastAccessMillis = entry.lastAccessMillis;
+        }
+    }
 
     private final MethodsClientImpl methodsImpl;
+    private final MethodsConfig config;
 
     public TeamIdCache(MethodsClientImpl methodsImpl) {
+        this(methodsImpl, MethodsConfig.DEFAULT_SINGLETON);
+    }
+
+    public TeamIdCache(MethodsClientImpl methodsImpl, MethodsConfig config) {
         this.methodsImpl = methodsImpl;
+        this.config = config;
+    }
+
+    /**
+     * Stores the team ID for a token so that no auth.test API call is needed to resolve it.
+     */
+    public static void put(String token, String teamId) {
+        if (token != null && teamId != null) {
+            store(MethodsConfig.DEFAULT_SINGLETON, token, teamId);
+        }
+    }
+
+    /**
+     * Removes the cached result for a token (e.g., when the token has been revoked).
+     */
+    public static void invalidate(String token) {
+        if (token != null) {
+            TOKEN_TO_TEAM_ID.remove(token);
+        }
+    }
+
+    public static void invalidateAll() {
+        TOKEN_TO_TEAM_ID.clear();
     }
 
+    /**
+     * Returns the team ID for a token. If the token is not cached yet, this method blocks until its auth.test
+     * API call completes. Returns null if the team ID cannot be resolved.
+     */
     public String lookupOrResolve(String token) {
-        return lookupOrResolve(token, (newToken) -> {
-            try {
-                FormBody.Builder form = toForm(AuthTestRequest.builder().token(newToken).build());
-                Response response = methodsImpl.runPostFormWithToken(form, Methods.AUTH_TEST, token);
-                AuthTestResponse authTest = methodsImpl.parseJsonResponseAndRunListeners(null, null, response, AuthTestResponse.class);
-                if (authTest.isOk()) {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Created cache for an auth.test API call (token: {}, team_id: {})",
-                                token.substring(0, 16) + "...", authTest.getTeamId());
+        if (token == null) {
+            return null;
+        }
+        Entry cached = lookup(token);
+        if (cached != null) {
+            return cached.teamId;
+        }
+        CompletableFuture<String> resolution = new CompletableFuture<>();
+        CompletableFuture<String> inFlight = RESOLUTIONS.putIfAbsent(token, resolution);
+        if (inFlight != null) {
+            // another thread is calling auth.test for the same token
+            return inFlight.join();
+        }
+        String teamId = null;
+        boolean cacheable = false;
+        try {
+            cached = lookup(token);
+            if (cached != null) {
+                teamId = cached.teamId;
+            } else {
+                AuthTestResponse authTest = resolve(token);
+                teamId = toTeamId(token, authTest);
+                cacheable = isCacheable(authTest);
+            }
+        } finally {
+            complete(token, teamId, resolution, cacheable);
+        }
+        return teamId;
+    }
+
+    /**
+     * Returns the team ID for a token without blocking the current thread.
+     * The returned future never completes exceptionally; its value is null if the team ID cannot be resolved.
+     */
+    public CompletableFuture<String> lookupOrResolveAsync(String token) {
+        if (token == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Entry cached = lookup(token);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached.teamId);
+        }
+        CompletableFuture<String> resolution = new CompletableFuture<>();
+        CompletableFuture<String> inFlight = RESOLUTIONS.putIfAbsent(token, resolution);
+        if (inFlight != null) {
+            // a copy so that the caller cannot complete the shared future
+            return inFlight.thenApply(teamId -> teamId);
+        }
+        try {
+            CompletableFuture<Response> response = methodsImpl.runPostFormWithTokenAsync(buildForm(token), Methods.AUTH_TEST, token);
+            response.whenComplete((httpResponse, error) -> {
+                String teamId = null;
+                boolean cacheable = false;
+                try {
+                    if (error != null) {
+                        log.error("Failed to call auth.test API (error: {})", error.getMessage(), error);
+                    } else {
+                        AuthTestResponse authTest = parse(httpResponse);
+                        teamId = toTeamId(token, authTest);
+                        cacheable = isCacheable(authTest);
                     }
-                    return authTest.getTeamId();
-                } else {
-                    log.error("Got an unsuccessful response from auth.test API (error: {})", authTest.getError());
+                } catch (IOException | SlackApiException | RuntimeException e) {
+                    log.error("Failed to call auth.test API (error: {})", e.getMessage(), e);
+                } finally {
+                    complete(token, teamId, resolution, cacheable);
                 }
-            } catch (IOException | SlackApiException e) {
-                log.error("Failed to call auth.test API (error: {})", e.getMessage(), e);
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to call auth.test API (error: {})", e.getMessage(), e);
+            complete(token, null, resolution, false);
+        }
+        return resolution.thenApply(teamId -> teamId);
+    }
+
+    // Returns null if the API call failed
+    private AuthTestResponse resolve(String token) {
+        try {
+            Response response = methodsImpl.runPostFormWithToken(buildForm(token), Methods.AUTH_TEST, token);
+            return parse(response);
+        } catch (IOException | SlackApiException e) {
+            log.error("Failed to call auth.test API (error: {})", e.getMessage(), e);
+        }
+        return null;
+    }
+
+    private static FormBody.Builder buildForm(String token) {
+        return toForm(AuthTestRequest.builder().token(token).build());
+    }
+
+    private AuthTestResponse parse(Response response) throws IOException, SlackApiException {
+        return methodsImpl.parseJsonResponseAndRunListeners(null, null, response, AuthTestResponse.class);
+    }
+
+    private static String toTeamId(String token, AuthTestResponse authTest) {
+        if (authTest == null) {
+            return null;
+        }
+        if (authTest.isOk()) {
+            if (log.isDebugEnabled()) {
+                log.debug("Created cache for an auth.test API call (token: {}, team_id: {})",
+                        token.substring(0, Math.min(16, token.length())) + "...", authTest.getTeamId());
             }
+            return authTest.getTeamId();
+        } else {
+            log.error("Got an unsuccessful response from auth.test API (error: {})", authTest.getError());
             return null;
-        });
+        }
     }
 
-    private static String lookupOrResolve(String token, Function<String, String> compute) {
-        if (token == null) {
+    // A failure is cached only when calling auth.test again with the token would fail in the same way
+    private static boolean isCacheable(AuthTestResponse authTest) {
+        return authTest != null && (authTest.isOk() || TOKEN_ERRORS.contains(authTest.getError()));
+    }
+
+    private void complete(String token, String teamId, CompletableFuture<String> resolution, boolean cacheable) {
+        try {
+            if (cacheable) {
+                store(config, token, teamId);
+            }
+        } finally {
+            RESOLUTIONS.remove(token, resolution);
+            resolution.complete(teamId);
+        }
+    }
+
+    private static Entry lookup(String token) {
+        Entry entry = TOKEN_TO_TEAM_ID.get(token);
+        if (entry == null) {
             return null;
-        } else {
-            return TOKEN_TO_TEAM_ID.computeIfAbsent(token, compute);
+        }
+        long now = System.currentTimeMillis();
+        if (entry.expirationMillis <= now) {
+            TOKEN_TO_TEAM_ID.remove(token, entry);
+            return null;
+        }
+        entry.lastAccessMillis = now;
+        return entry;
+    }
+
+    private static void store(MethodsConfig config, String token, String teamId) {
+        long ttlMillis = teamId != null ? config.getTeamIdCacheTtlMillis() : config.getTeamIdCacheNegativeTtlMillis();
+        if (ttlMillis <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        TOKEN_TO_TEAM_ID.put(token, new Entry(teamId, now + ttlMillis, now));
+        if (TOKEN_TO_TEAM_ID.size() > config.getTeamIdCacheMaxSize()) {
+            evict(config.getTeamIdCacheMaxSize());
+        }
+    }
+
+    private static void evict(int maxSize) {
+        synchronized (EVICTION_LOCK) {
+            if (TOKEN_TO_TEAM_ID.size() <= maxSize) {
+                return; // another thread has just evicted
+            }
+            long now = System.currentTimeMillis();
+            List<EvictionCandidate> candidates = new ArrayList<>();
+            for (Map.Entry<String, Entry> entry : TOKEN_TO_TEAM_ID.entrySet()) {
+                if (entry.getValue().expirationMillis <= now) {
+                    TOKEN_TO_TEAM_ID.remove(entry.getKey(), entry.getValue());
+                } else {
+                    candidates.add(new EvictionCandidate(entry.getKey(), entry.getValue()));
+                }
+            }
+            // Evicting 10% more than needed so that the next stores don't have to scan the entries again
+            int toEvict = TOKEN_TO_TEAM_ID.size() - (maxSize - maxSize / 10);
+            if (toEvict <= 0) {
+                return;
+            }
+            candidates.sort(Comparator.comparingLong(c -> c.lastAccessMillis));
+            for (int i = 0; i < toEvict && i < candidates.size(); i++) {
+                TOKEN_TO_TEAM_ID.remove(candidates.get(i).token, candidates.get(i).entry);
+            }
         }
     }
 
@@ -11,6 +11,8 @@ public class ThreadPools {
 
     // Executor Name -> Executor
     private static final ConcurrentMap<String, ExecutorService> ALL_DEFAULT = new ConcurrentHashMap<>();
+    // Executor Name -> Fair scheduler in front of the default executor
+    private static final ConcurrentMap<String, WeightedFairExecutor> ALL_DEFAULT_FAIR = new ConcurrentHashMap<>();
     // Executor Name -> Team ID -> Executor
     private static final ConcurrentMap<String, ConcurrentMap<String, ExecutorService>> TEAM_CUSTOM = new ConcurrentHashMap<>();
 
@@ -18,12 +20,32 @@ public class ThreadPools {
     }
 
     public static ExecutorService getDefault(MethodsConfig config) {
-        return getOrCreate(config, null);
+        ExecutorService defaultExecutor = ALL_DEFAULT.get(config.getExecutorName());
+        if (defaultExecutor == null) {
+            String threadGroupName = "slack-methods-" + config.getExecutorName();
+            int poolSize = config.getDefaultThreadPoolSize();
+            defaultExecutor = ExecutorServiceFactory.createDaemonThreadPoolExecutor(threadGroupName, poolSize);
+            ExecutorService existing = ALL_DEFAULT.putIfAbsent(config.getExecutorName(), defaultExecutor);
+            if (existing != null) {
+                defaultExecutor.shutdown();
+                defaultExecutor = existing;
+            }
+        }
+        return defaultExecutor;
     }
 
+    /**
+     * Returns the executor for the team. Unless the team has its own thread pool
+     * in {@link MethodsConfig#getCustomThreadPoolSizes()}, the returned executor shares the default pool
+     * with the other teams in a weighted round-robin manner. As the pool is shared, the returned executor
+     * cannot be shut down.
+     */
     public static ExecutorService getOrCreate(MethodsConfig config, String teamId) {
+        if (teamId == null) {
+            return getDefault(config);
+        }
         String executorName = config.getExecutorName();
-        Integer customPoolSize = teamId != null ? config.getCustomThreadPoolSizes().get(teamId) : null;
+        Integer customPoolSize = config.getCustomThreadPoolSizes().get(teamId);
         if (customPoolSize != null) {
             ConcurrentMap<String, ExecutorService> allTeams = TEAM_CUSTOM.get(executorName);
             if (allTeams == null) {
@@ -39,14 +61,13 @@ public class ThreadPools {
             return teamExecutor;
 
         } else {
-            ExecutorService defaultExecutor = ALL_DEFAULT.get(executorName);
-            if (defaultExecutor == null) {
-                String threadGroupName = "slack-methods-" + config.getExecutorName();
-                int poolSize = config.getDefaultThreadPoolSize();
-                defaultExecutor = ExecutorServiceFactory.createDaemonThreadPoolExecutor(threadGroupName, poolSize);
-                ALL_DEFAULT.put(config.getExecutorName(), defaultExecutor);
+            WeightedFairExecutor fairExecutor = ALL_DEFAULT_FAIR.get(executorName);
+            if (fairExecutor == null) {
+                fairExecutor = ALL_DEFAULT_FAIR.computeIfAbsent(executorName,
+                        name -> new WeightedFairExecutor(getDefault(config)));
             }
-            return defaultExecutor;
+            fairExecutor.setWeights(config.getDefaultThreadPoolTeamWeights());
+            return fairExecutor.getTeamExecutor(teamId);
         }
     }
 
@@ -0,0 +1,257 @@
+package com.slack.api.methods.impl;
+
+import com.slack.api.methods.Methods;
+import com.slack.api.methods.MethodsConfig;
+import com.slack.api.methods.MethodsRateLimitTier;
+import com.slack.api.methods.MethodsRateLimits;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A rate limiter that paces API calls with a token bucket per method (per channel for chat.postMessage).
+ * <p>
+ * Each bucket refills at the rate {@link MethodsRateLimitTier#getAllowedRequestsPerMinute(MethodsRateLimitTier)}
+ * allows and holds up to 10% of the requests per minute for bursts. Acquiring a wait time reserves a token,
+ * so the consecutive messages are spread over the time the tokens become available.
+ * <p>
+ * When a rate-limited response has been recorded by
+ * {@link com.slack.api.methods.metrics.MetricsDatastore#setRateLimitedMethodRetryEpochMillis(String, String, String, Long)},
+ * the bucket stops refilling until the Retry-After time and then halves its refill rate.
+ * The rate recovers by 10% of the ceiling every minute.
+ * <p>
+ * A bucket that has been full at the ceiling rate is indistinguishable from a new one, so such idle buckets
+ * are removed once a minute. This keeps the per-channel buckets for chat.postMessage from piling up.
+ */
+@Slf4j
+public class TokenBucketAsyncMethodsRateLimiter extends AsyncMethodsRateLimiter {
+
+    private static final long IDLE_BUCKET_REMOVAL_INTERVAL_MILLIS = 60_000L;
+
+    private final MethodsConfig config;
+
+    // Method name (+ suffix) -> Bucket
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastIdleBucketRemovalMillis = new AtomicLong(System.currentTimeMillis());
+
+    public TokenBucketAsyncMethodsRateLimiter(MethodsConfig config) {
+        super(config);
+        this.config = config;
+    }
+
+    @Override
+    public WaitTime acquireWaitTime(String teamId, String methodName) {
+        return reserve(teamId, methodName, "");
+    }
+
+    @Override
+    public WaitTime acquireWaitTimeForChatPostMessage(String teamId, String channelId) {
+        return reserve(teamId, Methods.CHAT_POST_MESSAGE, "_" + channelId);
+    }
+
+    @Override
+    public WaitTime reacquireWaitTime(String teamId, String methodName) {
+        return checkRateLimited(teamId, methodName, "");
+    }
+
+    @Override
+    public WaitTime reacquireWaitTimeForChatPostMessage(String teamId, String channelId) {
+        return checkRateLimited(teamId, Methods.CHAT_POST_MESSAGE, "_" + channelId);
+    }
+
+    public int getNumberOfBuckets() {
+        return buckets.size();
+    }
+
+    /**
+     * Removes the buckets that are full at the ceiling rate at the given time.
+     */
+    public void removeIdleBuckets(long currentMillis) {
+        for (Map.Entry<String, TokenBucket> entry : buckets.entrySet()) {
+            if (entry.getValue().expireIfIdle(currentMillis)) {
+                buckets.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private void removeIdleBucketsIfDue(long currentMillis) {
+        long lastMillis = lastIdleBucketRemovalMillis.get();
+        if (currentMillis - lastMillis >= IDLE_BUCKET_REMOVAL_INTERVAL_MILLIS
+                && lastIdleBucketRemovalMillis.compareAndSet(lastMillis, currentMillis)) {
+            removeIdleBuckets(currentMillis);
+        }
+    }
+
+    private WaitTime reserve(String teamId, String methodName, String suffix) {
+        String key = methodName + suffix;
+        long currentMillis = System.currentTimeMillis();
+        removeIdleBucketsIfDue(currentMillis);
+        Long retryAfterEpochMillis = getRetryAfterEpochMillis(teamId, key);
+        long waitMillis;
+        do {
+            TokenBucket bucket = getOrCreateBucket(methodName, key);
+            if (retryAfterEpochMillis != null) {
+                bucket.penalize(retryAfterEpochMillis, currentMillis);
+            }
+            waitMillis = bucket.reserve(currentMillis);
+        } while (waitMillis == TokenBucket.EXPIRED); // removed right before the reservation
+        if (log.isDebugEnabled()) {
+            log.debug("Reserved a token (method: {}, wait time: {} millis)", key, waitMillis);
+        }
+        if (retryAfterEpochMillis != null && retryAfterEpochMillis > currentMillis) {
+            return new WaitTime(waitMillis, Pace.RateLimited);
+        }
+        return new WaitTime(waitMillis, waitMillis > 0 ? Pace.Optimal : Pace.Safe);
+    }
+
+    /**
+     * As the message has already reserved its token, this method doesn't consume any.
+     * It only postpones the message when a rate-limited response has been received after the reservation.
+     */
+    private WaitTime checkRateLimited(String teamId, String methodName, String suffix) {
+        String key = methodName + suffix;
+        long currentMillis = System.currentTimeMillis();
+        Long retryAfterEpochMillis = getRetryAfterEpochMillis(teamId, key);
+        if (retryAfterEpochMillis != null && retryAfterEpochMillis > currentMillis) {
+            getOrCreateBucket(methodName, key).penalize(retryAfterEpochMillis, currentMillis);
+            return new WaitTime(retryAfterEpochMillis - currentMillis, Pace.RateLimited);
+        }
+        return new WaitTime(0, Pace.Safe);
+    }
+
+    private Long getRetryAfterEpochMillis(String teamId, String methodNameWithSuffix) {
+        return getMetricsDatastore().getRateLimitedMethodRetryEpochMillis(
+                config.getExecutorName(), teamId, methodNameWithSuffix);
+    }
+
+    private TokenBucket getOrCreateBucket(String methodName, String methodNameWithSuffix) {
+        return buckets.computeIfAbsent(methodNameWithSuffix, key -> {
+            MethodsRateLimitTier tier = MethodsRateLimits.lookupRateLimitTier(methodName);
+            Integer allowedRequests = tier != null ? MethodsRateLimitTier.getAllowedRequestsPerMinute(tier) : null;
+            if (allowedRequests == null) {
+                return TokenBucket.UNLIMITED;
+            }
+            int numberOfNodes = Math.max(getMetricsDatastore().getNumberOfNodes(), 1);
+            return new TokenBucket((double) allowedRequests / numberOfNodes, System.currentTimeMillis());
+        });
+    }
+
+    /**
+     * A token bucket for a method. The current time is given by the caller.
+     */
+    public static class TokenBucket {
+
+        // The bucket for the methods that have no known tier. Only Retry-After is respected.
+        static final TokenBucket UNLIMITED = new TokenBucket(0, 0L) {
+            @Override
+            public synchronized long reserve(long currentMillis) {
+                return 0L;
+            }
+
+            @Override
+            public synchronized void penalize(long retryAfterEpochMillis, long currentMillis) {
+            }
+
+            @Override
+            public synchronized boolean expireIfIdle(long currentMillis) {
+                return false; // shared by all the methods, so it never gets expired
+            }
+        };
+
+        /**
+         * Returned by {@link #reserve(long)} when the bucket has been removed as idle.
+         */
+        public static final long EXPIRED = -1L;
+
+        private static final double MIN_RATE_RATIO = 0.1D;
+        private static final double RECOVERY_RATIO_PER_MINUTE = 0.1D;
+
+        private final double ceilingRatePerMillis;
+        private final double capacity;
+
+        private double tokens;
+        private long lastRefillMillis;
+
+        private double reducedRatePerMillis;
+        private long reducedAtMillis;
+        private long lastRetryAfterEpochMillis;
+        private boolean expired;
+
+        public TokenBucket(double requestsPerMinute, long currentMillis) {
+            this.ceilingRatePerMillis = requestsPerMinute / 60_000D;
+            this.capacity = Math.max(requestsPerMinute / 10D, 1D);
+            this.tokens = this.capacity;
+            this.lastRefillMillis = currentMillis;
+            this.reducedRatePerMillis = this.ceilingRatePerMillis;
+        }
+
+        /**
+         * Takes a token and returns the milliseconds to wait until the token becomes available.
+         * Returns {@link #EXPIRED} without taking any token if the bucket has been removed as idle.
+         */
+        public synchronized long reserve(long currentMillis) {
+            if (expired) {
+                return EXPIRED;
+            }
+            refill(currentMillis);
+            tokens -= 1D;
+            // the bucket doesn't refill until the Retry-After time
+            long waitMillis = Math.max(lastRefillMillis - currentMillis, 0L);
+            if (tokens < 0) {
+                waitMillis += (long) Math.ceil(-tokens / currentRatePerMillis(currentMillis));
+            }
+            return waitMillis;
+        }
+
+        /**
+         * Stops refilling until the Retry-After time and halves the refill rate.
+         * The same Retry-After is applied only once.
+         */
+        public synchronized void penalize(long retryAfterEpochMillis, long currentMillis) {
+            if (retryAfterEpochMillis == lastRetryAfterEpochMillis) {
+                return;
+            }
+            lastRetryAfterEpochMillis = retryAfterEpochMillis;
+            refill(currentMillis);
+            reducedRatePerMillis = Math.max(
+                    currentRatePerMillis(currentMillis) / 2D,
+                    ceilingRatePerMillis * MIN_RATE_RATIO);
+            reducedAtMillis = retryAfterEpochMillis;
+            tokens = Math.min(tokens, 0D);
+            lastRefillMillis = Math.max(lastRefillMillis, retryAfterEpochMillis);
+        }
+
+        /**
+         * Marks the bucket as expired if it's full at the ceiling rate. Returns true if the bucket has expired.
+         */
+        public synchronized boolean expireIfIdle(long currentMillis) {
+            if (!expired) {
+                refill(currentMillis);
+                expired = currentMillis >= lastRefillMillis
+                        && tokens >= capacity
+                        && currentRatePerMillis(currentMillis) >= ceilingRatePerMillis;
+            }
+            return expired;
+        }
+
+        private void refill(long currentMillis) {
+            if (currentMillis > lastRefillMillis) {
+                tokens = Math.min(capacity, tokens + (currentMillis - lastRefillMillis) * currentRatePerMillis(currentMillis));
+                lastRefillMillis = currentMillis;
+            }
+        }
+
+        private double currentRatePerMillis(long currentMillis) {
+            if (reducedRatePerMillis >= ceilingRatePerMillis) {
+                return ceilingRatePerMillis;
+            }
+            double elapsedMinutes = Math.max(currentMillis - reducedAtMillis, 0L) / 60_000D;
+            double recovered = reducedRatePerMillis + ceilingRatePerMillis * RECOVERY_RATIO_PER_MINUTE * elapsedMinutes;
+            return Math.min(recovered, ceilingRatePerMillis);
+        }
+    }
+
+}
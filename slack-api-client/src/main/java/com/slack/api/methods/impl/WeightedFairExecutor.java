@@ -0,0 +1,153 @@
+package com.slack.api.methods.impl;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shares a thread pool among teams in a weighted round-robin manner.
+ * <p>
+ * Every submitted task is held in its team's queue and only a placeholder is handed to the underlying pool.
+ * When a worker thread picks up a placeholder, it runs the next task of the team whose turn it is.
+ * A team can run as many tasks in a row as its weight (default: 1) before passing the turn to the next team.
+ * Thus, a team that has submitted lots of tasks doesn't delay the other teams' tasks.
+ */
+@Slf4j
+class WeightedFairExecutor {
+
+    private final ExecutorService pool;
+    private volatile Map<String, Integer> weights = Collections.emptyMap();
+
+    private final Object lock = new Object();
+    // Team ID -> The team's waiting tasks (guarded by lock)
+    private final Map<String, TeamTasks> allTeamTasks = new HashMap<>();
+    // The teams that have waiting tasks in the order of their turns (guarded by lock)
+    private final Deque<TeamTasks> activeTeams = new ArrayDeque<>();
+
+    WeightedFairExecutor(ExecutorService pool) {
+        this.pool = pool;
+    }
+
+    void setWeights(Map<String, Integer> weights) {
+        this.weights = weights != null ? weights : Collections.emptyMap();
+    }
+
+    /**
+     * Returns a view of the shared pool for the team. The view holds no state, so it's not cached;
+     * a team's queue exists only while the team has waiting tasks.
+     */
+    ExecutorService getTeamExecutor(String teamId) {
+        return new TeamExecutorService(teamId);
+    }
+
+    private static class TeamTasks {
+        private final String teamId;
+        private final Deque<Runnable> tasks = new ArrayDeque<>();
+        private int remainingTurns;
+
+        TeamTasks(String teamId) {
+            this.teamId = teamId;
+        }
+    }
+
+    private int getWeight(String teamId) {
+        Integer weight = weights.get(teamId);
+        return weight != null && weight > 0 ? weight : 1;
+    }
+
+    private void enqueue(String teamId, Runnable task) {
+        TeamTasks teamTasks;
+        synchronized (lock) {
+            teamTasks = allTeamTasks.computeIfAbsent(teamId, TeamTasks::new);
+            if (teamTasks.tasks.isEmpty()) {
+                teamTasks.remainingTurns = getWeight(teamId);
+                activeTeams.addLast(teamTasks);
+            }
+            teamTasks.tasks.addLast(task);
+        }
+        try {
+            pool.execute(this::runNext);
+        } catch (RejectedExecutionException e) {
+            // No placeholder will run the task, so it must not stay in the queue
+            synchronized (lock) {
+                if (teamTasks.tasks.removeLastOccurrence(task) && teamTasks.tasks.isEmpty()) {
+                    activeTeams.remove(teamTasks);
+                    allTeamTasks.remove(teamId, teamTasks);
+                }
+            }
+            throw e;
+        }
+    }
+
+    private void runNext() {
+        Runnable task;
+        synchronized (lock) {
+            TeamTasks teamTasks = activeTeams.peekFirst();
+            if (teamTasks == null) {
+                return; // never happens as each task has its own placeholder
+            }
+            task = teamTasks.tasks.pollFirst();
+            teamTasks.remainingTurns--;
+            if (teamTasks.tasks.isEmpty()) {
+                activeTeams.pollFirst();
+                allTeamTasks.remove(teamTasks.teamId);
+            } else if (teamTasks.remainingTurns <= 0) {
+                // pass the turn to the next team
+                activeTeams.pollFirst();
+                teamTasks.remainingTurns = getWeight(teamTasks.teamId);
+                activeTeams.addLast(teamTasks);
+            }
+        }
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            log.error("Got an exception while running a task (error: {})", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * The ExecutorService for a team. As the thread pool is shared, it cannot be shut down via this object.
+     */
+    private class TeamExecutorService extends AbstractExecutorService {
+        private final String teamId;
+
+        TeamExecutorService(String teamId) {
+            this.teamId = teamId;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            enqueue(teamId, command);
+        }
+
+        @Override
+        public void shutdown() {
+            throw new UnsupportedOperationException("The thread pool is shared among teams");
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            throw new UnsupportedOperationException("The thread pool is shared among teams");
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return pool.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return pool.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return pool.awaitTermination(timeout, unit);
+        }
+    }
+
+}
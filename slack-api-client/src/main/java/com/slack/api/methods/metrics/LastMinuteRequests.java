@@ -1,6 +1,15 @@
 package com.slack.api.methods.metrics;
 
+import java.util.Collection;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 public class LastMinuteRequests extends CopyOnWriteArrayList<Long> {
+
+    public LastMinuteRequests() {
+        super();
+    }
+
+    public LastMinuteRequests(Collection<Long> requests) {
+        super(requests);
+    }
 }
@@ -0,0 +1,71 @@
+package com.slack.api.methods.metrics;
+
+import com.slack.api.methods.MethodsCallTimings;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free latency histogram with power-of-two buckets in microseconds.
+ * <p>
+ * Recording a duration is a few atomic increments. The bucket i holds the durations
+ * in [2^(i-1), 2^i) microseconds (the bucket 0 holds the ones shorter than 1 microsecond).
+ */
+public class LatencyHistogram {
+
+    static final int BUCKETS = 40;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long nanos) {
+        long micros = Math.max(nanos / 1000L, 0L);
+        int bucket = Math.min(64 - Long.numberOfLeadingZeros(micros), BUCKETS - 1);
+        buckets.incrementAndGet(bucket);
+        count.increment();
+        totalNanos.add(nanos);
+        long max = maxNanos.get();
+        while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+            max = maxNanos.get();
+        }
+    }
+
+    public MethodsCallTimings.Latency toLatency() {
+        MethodsCallTimings.Latency latency = new MethodsCallTimings.Latency();
+        long[] snapshot = new long[BUCKETS];
+        long total = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        latency.setCount(total);
+        if (total == 0L) {
+            return latency;
+        }
+        latency.setMeanMillis(totalNanos.sum() / 1_000_000.0d / count.sum());
+        latency.setP50Millis(percentileMillis(snapshot, total, 0.50d));
+        latency.setP90Millis(percentileMillis(snapshot, total, 0.90d));
+        latency.setP99Millis(percentileMillis(snapshot, total, 0.99d));
+        latency.setMaxMillis(maxNanos.get() / 1_000_000.0d);
+        return latency;
+    }
+
+    /**
+     * Returns the upper bound of the bucket that contains the percentile.
+     */
+    private static double percentileMillis(long[] snapshot, long total, double percentile) {
+        long threshold = (long) Math.ceil(total * percentile);
+        long accumulated = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            accumulated += snapshot[i];
+            if (accumulated >= threshold) {
+                return (1L << i) / 1000.0d;
+            }
+        }
+        return (1L << (BUCKETS - 1)) / 1000.0d;
+    }
+
+}
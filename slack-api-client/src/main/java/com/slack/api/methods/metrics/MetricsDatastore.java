@@ -2,6 +2,7 @@ package com.slack.api.methods.metrics;
 
 import com.slack.api.methods.MethodsConfig;
 import com.slack.api.methods.MethodsStats;
+import com.slack.api.util.http.HttpCallTimings;
 
 import java.util.Map;
 
@@ -27,6 +28,18 @@ public interface MetricsDatastore {
 
     void incrementFailedCalls(String executorName, String teamId, String methodName);
 
+    /**
+     * Increments the number of the calls rejected as the queue was full.
+     */
+    default void incrementRejectedCalls(String executorName, String teamId, String methodName) {
+    }
+
+    /**
+     * Records the network timings of a Web API call. The default implementation discards them.
+     */
+    default void recordCallTimings(String executorName, String teamId, String methodName, HttpCallTimings timings) {
+    }
+
     void updateCurrentQueueSize(String executorName, String teamId, String methodName);
 
     void setCurrentQueueSize(String executorName, String teamId, String methodName, Integer value);
@@ -45,6 +58,26 @@ public interface MetricsDatastore {
 
     LastMinuteRequests getLastMinuteRequests(String executorName, String teamId, String methodName);
 
+    /**
+     * Returns the number of the requests in the last 3 seconds. This value is used for detecting burst traffic.
+     */
+    default Integer getNumberOfLastThreeSecondsRequests(String executorName, String teamId, String methodName) {
+        long threeSecondsAgo = System.currentTimeMillis() - 3000L;
+        LastMinuteRequests requests = getLastMinuteRequests(executorName, teamId, methodName);
+        return (int) requests.stream().filter(millis -> millis > threeSecondsAgo).count();
+    }
+
+    /**
+     * Returns the numbers of the requests in the last minute and the last 3 seconds, and the retry-after
+     * of the method at once. A datastore over the network should override this to serve them in a single round trip.
+     */
+    default RateLimitSnapshot getRateLimitSnapshot(String executorName, String teamId, String methodName) {
+        return new RateLimitSnapshot(
+                getNumberOfLastMinuteRequests(executorName, teamId, methodName),
+                getNumberOfLastThreeSecondsRequests(executorName, teamId, methodName),
+                getRateLimitedMethodRetryEpochMillis(executorName, teamId, methodName));
+    }
+
     void addToWaitingMessageIds(String executorName, String teamId, String methodName, String messageId);
 
     void deleteFromWaitingMessageIds(String executorName, String teamId, String methodName, String messageId);
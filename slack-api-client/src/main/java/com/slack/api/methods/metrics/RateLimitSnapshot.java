@@ -0,0 +1,33 @@
+package com.slack.api.methods.metrics;
+
+/**
+ * The numbers a rate limiter needs to decide the wait time for a method, taken at the same time.
+ */
+public class RateLimitSnapshot {
+
+    private final int lastMinuteRequests;
+    private final int lastThreeSecondsRequests;
+    private final Long retryAfterEpochMillis;
+
+    public RateLimitSnapshot(int lastMinuteRequests, int lastThreeSecondsRequests, Long retryAfterEpochMillis) {
+        this.lastMinuteRequests = lastMinuteRequests;
+        this.lastThreeSecondsRequests = lastThreeSecondsRequests;
+        this.retryAfterEpochMillis = retryAfterEpochMillis;
+    }
+
+    public int getLastMinuteRequests() {
+        return lastMinuteRequests;
+    }
+
+    public int getLastThreeSecondsRequests() {
+        return lastThreeSecondsRequests;
+    }
+
+    /**
+     * Returns the epoch millis when the method can be called again, or null if the method is not rate limited now.
+     */
+    public Long getRetryAfterEpochMillis() {
+        return retryAfterEpochMillis;
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.slack.api.methods.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A counter of the requests in the last minute and the last 3 seconds.
+ * <p>
+ * The timestamps are aggregated into fixed-size buckets held in a ring of primitive long arrays.
+ * Both recording a request and counting the requests in the windows are O(1) (amortized).
+ */
+public class SlidingWindowRequestCounter {
+
+    static final long BUCKET_MILLIS = 500L;
+    static final int MINUTE_BUCKETS = (int) (60_000L / BUCKET_MILLIS);
+    static final int BURST_BUCKETS = (int) (3_000L / BUCKET_MILLIS);
+
+    // slot -> bucket ID (= epoch millis / BUCKET_MILLIS)
+    private final long[] bucketIds = new long[MINUTE_BUCKETS];
+    // slot -> the number of requests in the bucket
+    private final long[] counts = new long[MINUTE_BUCKETS];
+
+    private long latestBucketId = 0L;
+    private long lastMinuteTotal = 0L;
+    private long lastThreeSecondsTotal = 0L;
+
+    public synchronized void record(long epochMillis) {
+        long bucketId = epochMillis / BUCKET_MILLIS;
+        advance(bucketId);
+        int slot = slot(bucketId);
+        if (bucketId > latestBucketId - MINUTE_BUCKETS && bucketIds[slot] == bucketId) {
+            counts[slot]++;
+            lastMinuteTotal++;
+            if (bucketId > latestBucketId - BURST_BUCKETS) {
+                lastThreeSecondsTotal++;
+            }
+        }
+    }
+
+    public synchronized int countLastMinute(long currentMillis) {
+        advance(currentMillis / BUCKET_MILLIS);
+        return (int) lastMinuteTotal;
+    }
+
+    public synchronized int countLastThreeSeconds(long currentMillis) {
+        advance(currentMillis / BUCKET_MILLIS);
+        return (int) lastThreeSecondsTotal;
+    }
+
+    /**
+     * Restores the approximate timestamps of the requests in the last minute.
+     * The start time of each bucket is used as the timestamp of the requests in it.
+     */
+    public synchronized LastMinuteRequests toLastMinuteRequests(long currentMillis) {
+        advance(currentMillis / BUCKET_MILLIS);
+        // Adding the elements to a CopyOnWriteArrayList one by one copies the whole array every time
+        List<Long> requests = new ArrayList<>();
+        for (long bucketId = latestBucketId - MINUTE_BUCKETS + 1; bucketId <= latestBucketId; bucketId++) {
+            int slot = slot(bucketId);
+            if (bucketIds[slot] == bucketId) {
+                for (long i = 0; i < counts[slot]; i++) {
+                    requests.add(bucketId * BUCKET_MILLIS);
+                }
+            }
+        }
+        return new LastMinuteRequests(requests);
+    }
+
+    private void advance(long bucketId) {
+        if (bucketId <= latestBucketId) {
+            return;
+        }
+        if (bucketId - latestBucketId >= MINUTE_BUCKETS) {
+            // No request in the window is still valid
+            Arrays.fill(counts, 0L);
+            lastMinuteTotal = 0L;
+            lastThreeSecondsTotal = 0L;
+            // Claims all the slots in the new window so that a late request for an earlier bucket is still counted
+            for (long id = bucketId - MINUTE_BUCKETS + 1; id <= bucketId; id++) {
+                bucketIds[slot(id)] = id;
+            }
+            latestBucketId = bucketId;
+            return;
+        }
+        for (long id = latestBucketId + 1; id <= bucketId; id++) {
+            // the bucket that goes out of the minute window shares the same slot
+            int slot = slot(id);
+            if (bucketIds[slot] == id - MINUTE_BUCKETS) {
+                lastMinuteTotal -= counts[slot];
+            }
+            bucketIds[slot] = id;
+            counts[slot] = 0L;
+
+            long burstExpiredId = id - BURST_BUCKETS;
+            int burstExpiredSlot = slot(burstExpiredId);
+            if (bucketIds[burstExpiredSlot] == burstExpiredId) {
+                lastThreeSecondsTotal -= counts[burstExpiredSlot];
+            }
+        }
+        latestBucketId = bucketId;
+    }
+
+    private static int slot(long bucketId) {
+        return (int) Math.floorMod(bucketId, (long) MINUTE_BUCKETS);
+    }
+
+}
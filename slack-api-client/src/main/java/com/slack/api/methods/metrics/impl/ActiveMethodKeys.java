@@ -0,0 +1,49 @@
+package com.slack.api.methods.metrics.impl;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The (executor, team, method) keys the maintenance job has to visit.
+ * <p>
+ * A key is added when its metrics change. The job drains the keys on every run. The in-memory datastore
+ * adds back the ones that still have something to expire (requests in the last minute, waiting messages,
+ * or a rate-limited period) while the Redis datastore leaves them to the lazy cleanup on read.
+ * Thus, the cost of a run is proportional to the recent activity rather than the total number of teams.
+ */
+class ActiveMethodKeys {
+
+    @Data
+    static class Key {
+        private final String executorName;
+        private final String teamId;
+        private final String methodName;
+    }
+
+    private final Set<Key> keys = ConcurrentHashMap.newKeySet();
+
+    void add(String executorName, String teamId, String methodName) {
+        if (teamId != null) {
+            keys.add(new Key(executorName, teamId, methodName));
+        }
+    }
+
+    List<Key> drain() {
+        List<Key> drained = new ArrayList<>();
+        Iterator<Key> iterator = keys.iterator();
+        while (iterator.hasNext()) {
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+        return drained;
+    }
+
+    int size() {
+        return keys.size();
+    }
+}
@@ -1,26 +1,30 @@
 package com.slack.api.methods.metrics.impl;
 
 import com.google.gson.Gson;
+import com.slack.api.methods.MethodsCallTimings;
 import com.slack.api.methods.MethodsStats;
 import com.slack.api.methods.impl.AsyncRateLimitQueue;
 import com.slack.api.methods.metrics.LastMinuteRequests;
+import com.slack.api.methods.metrics.LatencyHistogram;
 import com.slack.api.methods.metrics.MetricsDatastore;
+import com.slack.api.methods.metrics.SlidingWindowRequestCounter;
 import com.slack.api.methods.metrics.WaitingMessageIds;
+import com.slack.api.util.http.HttpCallTimings;
 import com.slack.api.util.json.GsonFactory;
 import com.slack.api.util.thread.ExecutorServiceFactory;
 import lombok.Data;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 public class MemoryMetricsDatastore implements MetricsDatastore {
 
     private final ScheduledExecutorService cleanerExecutor;
     private final int numberOfNodes;
+    private final ActiveMethodKeys activeKeys = new ActiveMethodKeys();
 
     public MemoryMetricsDatastore(int numberOfNodes) {
         this.numberOfNodes = numberOfNodes;
@@ -54,6 +58,7 @@ public class MemoryMetricsDatastore implements MetricsDatastore {
             Map<String, MethodsStats> allTeams = new HashMap<>();
             for (Map.Entry<String, LiveMethodsStats> team : executor.getValue().entrySet()) {
                 MethodsStats stats = GSON.fromJson(GSON.toJson(team.getValue()), MethodsStats.class);
+                copyCallTimings(team.getValue(), stats);
                 allTeams.put(team.getKey(), stats);
             }
             result.put(executor.getKey(), allTeams);
@@ -65,9 +70,16 @@ public class MemoryMetricsDatastore implements MetricsDatastore {
     public MethodsStats getStats(String executorName, String teamId) {
         LiveMethodsStats internal = getOrCreateTeamLiveStats(executorName, teamId);
         MethodsStats stats = GSON.fromJson(GSON.toJson(internal), MethodsStats.class);
+        copyCallTimings(internal, stats);
         return stats;
     }
 
+    private static void copyCallTimings(LiveMethodsStats internal, MethodsStats stats) {
+        for (Map.Entry<String, LiveCallTimings> timings : internal.getCallTimings().entrySet()) {
+            stats.getCallTimings().put(timings.getKey(), timings.getValue().toMethodsCallTimings());
+        }
+    }
+
     // -----------------------------------------------------------
 
     @Override
@@ -107,43 +119,62 @@ public class MemoryMetricsDatastore implements MetricsDatastore {
     }
 
     @Override
-    public void updateCurrentQueueSize(String executorName, String teamId, String methodName) {
-        CopyOnWriteArrayList<String> messageIds = getOrCreateMessageIds(executorName, teamId, methodName);
-        Integer totalSize = messageIds.size();
-        AsyncRateLimitQueue queue = AsyncRateLimitQueue.get(executorName, teamId);
-        if (queue != null) {
-            totalSize += queue.getCurrentActiveQueueSize(methodName);
+    public void incrementRejectedCalls(String executorName, String teamId, String methodName) {
+        LiveMethodsStats stats = getOrCreateTeamLiveStats(executorName, teamId);
+        if (stats.getRejectedCalls().get(methodName) == null) {
+            stats.getRejectedCalls().putIfAbsent(methodName, new AtomicLong(0));
         }
-        setCurrentQueueSize(executorName, teamId, methodName, totalSize);
+        stats.getRejectedCalls().get(methodName).incrementAndGet();
     }
 
     @Override
-    public void setCurrentQueueSize(String executorName, String teamId, String methodName, Integer size) {
+    public void recordCallTimings(String executorName, String teamId, String methodName, HttpCallTimings timings) {
+        ConcurrentMap<String, LiveCallTimings> callTimings = getOrCreateTeamLiveStats(executorName, teamId).getCallTimings();
+        LiveCallTimings live = callTimings.get(methodName);
+        if (live == null) {
+            callTimings.putIfAbsent(methodName, new LiveCallTimings());
+            live = callTimings.get(methodName);
+        }
+        live.record(timings);
+    }
+
+    @Override
+    public void updateCurrentQueueSize(String executorName, String teamId, String methodName) {
+        refreshCurrentQueueSize(executorName, teamId, methodName);
+    }
+
+    private int refreshCurrentQueueSize(String executorName, String teamId, String methodName) {
         CopyOnWriteArrayList<String> messageIds = getOrCreateMessageIds(executorName, teamId, methodName);
-        Integer totalSize = messageIds.size();
+        int totalSize = messageIds.size();
         AsyncRateLimitQueue queue = AsyncRateLimitQueue.get(executorName, teamId);
         if (queue != null) {
             totalSize += queue.getCurrentActiveQueueSize(methodName);
         }
         getOrCreateTeamLiveStats(executorName, teamId).getCurrentQueueSize().put(methodName, totalSize);
+        return totalSize;
+    }
+
+    @Override
+    public void setCurrentQueueSize(String executorName, String teamId, String methodName, Integer size) {
         getOrCreateTeamLiveStats(executorName, teamId).getCurrentQueueSize().put(methodName, size);
+        if (size != null && size > 0) {
+            activeKeys.add(executorName, teamId, methodName);
+        }
     }
 
     @Override
     public Integer getNumberOfLastMinuteRequests(String executorName, String teamId, String methodName) {
-        return getOrCreateLastMinuteRequests(executorName, teamId, methodName).size();
+        return getOrCreateRequestCounter(executorName, teamId, methodName).countLastMinute(System.currentTimeMillis());
+    }
+
+    @Override
+    public Integer getNumberOfLastThreeSecondsRequests(String executorName, String teamId, String methodName) {
+        return getOrCreateRequestCounter(executorName, teamId, methodName).countLastThreeSeconds(System.currentTimeMillis());
     }
 
     @Override
     public void updateNumberOfLastMinuteRequests(String executorName, String teamId, String methodName) {
-        LastMinuteRequests requests = getOrCreateLastMinuteRequests(executorName, teamId, methodName);
-        long oneMinuteAgo = System.currentTimeMillis() - 60000L;
-        for (Long millis : requests) {
-            if (millis < oneMinuteAgo) {
-                requests.remove(millis);
-            }
-        }
-        setNumberOfLastMinuteRequests(executorName, teamId, methodName, requests.size());
+        setNumberOfLastMinuteRequests(executorName, teamId, methodName, getNumberOfLastMinuteRequests(executorName, teamId, methodName));
     }
 
     @Override
@@ -154,7 +185,14 @@ public class MemoryMetricsDatastore implements MetricsDatastore {
 
     @Override
     public Long getRateLimitedMethodRetryEpochMillis(String executorName, String teamId, String methodName) {
-        return getOrCreateTeamLiveStats(executorName, teamId).getRateLimitedMethods().get(methodName);
+        ConcurrentMap<String, Long> rateLimitedMethods = getOrCreateTeamLiveStats(executorName, teamId).getRateLimitedMethods();
+        Long millisToRetry = rateLimitedMethods.get(methodName);
+        if (millisToRetry != null && millisToRetry < System.currentTimeMillis()) {
+            // already recovered
+            rateLimitedMethods.remove(methodName, millisToRetry);
+            return null;
+        }
+        return millisToRetry;
     }
     // -----------------------------------------------------------
 
@@ -163,19 +201,21 @@ public class MemoryMetricsDatastore implements MetricsDatastore {
         getOrCreateTeamLiveStats(executorName, teamId)
                 .getRateLimitedMethods()
                 .put(methodName, epochTimeMillis);
+        activeKeys.add(executorName, teamId, methodName);
     }
 
     // -----------------------------------------------------------
 
     @Override
     public void addToLastMinuteRequests(String executorName, String teamId, String methodName, Long currentMillis) {
-        getOrCreateLastMinuteRequests(executorName, teamId, methodName).add(currentMillis);
+        getOrCreateRequestCounter(executorName, teamId, methodName).record(currentMillis);
         updateNumberOfLastMinuteRequests(executorName, teamId, methodName);
+        activeKeys.add(executorName, teamId, methodName);
     }
 
     @Override
     public LastMinuteRequests getLastMinuteRequests(String executorName, String teamId, String methodName) {
-        return getOrCreateLastMinuteRequests(executorName, teamId, methodName);
+        return getOrCreateRequestCounter(executorName, teamId, methodName).toLastMinuteRequests(System.currentTimeMillis());
     }
 
     // -----------------------------------------------------------
@@ -187,6 +227,7 @@ public class MemoryMetricsDatastore implements MetricsDatastore {
         }
         WaitingMessageIds messageIds = getOrCreateMessageIds(executorName, teamId, methodName);
         messageIds.add(messageId);
+        activeKeys.add(executorName, teamId, methodName);
     }
 
     @Override
@@ -196,6 +237,17 @@ public class MemoryMetricsDatastore implements MetricsDatastore {
         }
         WaitingMessageIds messageIds = getOrCreateMessageIds(executorName, teamId, methodName);
         messageIds.remove(messageId);
+        // The maintenance job has to visit this key only while messages are still waiting
+        if (refreshCurrentQueueSize(executorName, teamId, methodName) > 0) {
+            activeKeys.add(executorName, teamId, methodName);
+        }
+    }
+
+    /**
+     * Returns the number of the (executor, team, method) keys the maintenance job visits on its next run.
+     */
+    public int getNumberOfActiveMethodKeys() {
+        return activeKeys.size();
     }
 
     // -----------------------------------------------------------
@@ -213,6 +265,55 @@ public class MemoryMetricsDatastore implements MetricsDatastore {
         private final ConcurrentMap<String, Integer> currentQueueSize = new ConcurrentHashMap<>();
         private final ConcurrentMap<String, Integer> lastMinuteRequests = new ConcurrentHashMap<>();
         private final ConcurrentMap<String, Long> rateLimitedMethods = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, AtomicLong> rejectedCalls = new ConcurrentHashMap<>();
+        // excluded from the JSON serialization as the histograms are summarized separately
+        private final transient ConcurrentMap<String, LiveCallTimings> callTimings = new ConcurrentHashMap<>();
+    }
+
+    public static class LiveCallTimings {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder reusedConnections = new LongAdder();
+        private final LatencyHistogram dns = new LatencyHistogram();
+        private final LatencyHistogram connect = new LatencyHistogram();
+        private final LatencyHistogram tls = new LatencyHistogram();
+        private final LatencyHistogram requestWrite = new LatencyHistogram();
+        private final LatencyHistogram timeToFirstByte = new LatencyHistogram();
+        private final LatencyHistogram bodyRead = new LatencyHistogram();
+        private final LatencyHistogram parse = new LatencyHistogram();
+
+        private static void record(LatencyHistogram histogram, Long nanos) {
+            if (nanos != null) {
+                histogram.record(nanos);
+            }
+        }
+
+        void record(HttpCallTimings timings) {
+            calls.increment();
+            if (timings.isConnectionReused()) {
+                reusedConnections.increment();
+            }
+            record(dns, timings.getDnsNanos());
+            record(connect, timings.getConnectNanos());
+            record(tls, timings.getTlsNanos());
+            record(requestWrite, timings.getRequestWriteNanos());
+            record(timeToFirstByte, timings.getTimeToFirstByteNanos());
+            record(bodyRead, timings.getBodyReadNanos());
+            record(parse, timings.getParseNanos());
+        }
+
+        MethodsCallTimings toMethodsCallTimings() {
+            MethodsCallTimings result = new MethodsCallTimings();
+            result.setCalls(calls.sum());
+            result.setReusedConnections(reusedConnections.sum());
+            result.setDns(dns.toLatency());
+            result.setConnect(connect.toLatency());
+            result.setTls(tls.toLatency());
+            result.setRequestWrite(requestWrite.toLatency());
+            result.setTimeToFirstByte(timeToFirstByte.toLatency());
+            result.setBodyRead(bodyRead.toLatency());
+            result.setParse(parse.toLatency());
+            return result;
+        }
     }
 
     private ConcurrentMap<String, LiveMethodsStats> getOrCreateExecutorLiveStats(String executorName) {
@@ -252,61 +353,55 @@ public class MemoryMetricsDatastore implements MetricsDatastore {
     // -----------------------------------------------------------
 
     // Executor name -> Team ID -> Method name -> Requests
-    private static final ConcurrentMap<String, ConcurrentMap<String, ConcurrentMap<String, LastMinuteRequests>>>
-            ALL_LAST_MINUTE_REQUESTS = new ConcurrentHashMap<>();
-
-
-    private LastMinuteRequests getOrCreateLastMinuteRequests(String executorName, String teamId, String methodName) {
-        if (ALL_LAST_MINUTE_REQUESTS.get(executorName) == null) {
-            ALL_LAST_MINUTE_REQUESTS.putIfAbsent(executorName, new ConcurrentHashMap<>());
-        }
-        if (ALL_LAST_MINUTE_REQUESTS.get(executorName).get(teamId) == null) {
-            ALL_LAST_MINUTE_REQUESTS.get(executorName).putIfAbsent(teamId, new ConcurrentHashMap<>());
-        }
-        if (ALL_LAST_MINUTE_REQUESTS.get(executorName).get(teamId).get(methodName) == null) {
-            ALL_LAST_MINUTE_REQUESTS.get(executorName).get(teamId).putIfAbsent(methodName, new LastMinuteRequests());
-        }
-        return ALL_LAST_MINUTE_REQUESTS.get(executorName).get(teamId).get(methodName);
+    private static final ConcurrentMap<String, ConcurrentMap<String, ConcurrentMap<String, SlidingWindowRequestCounter>>>
+            ALL_REQUEST_COUNTERS = new ConcurrentHashMap<>();
+
+    private SlidingWindowRequestCounter getOrCreateRequestCounter(String executorName, String teamId, String methodName) {
+        return ALL_REQUEST_COUNTERS
+                .computeIfAbsent(executorName, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(teamId, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(methodName, key -> new SlidingWindowRequestCounter());
     }
 
     // -----------------------------------------------------------
 
-    private static class MaintenanceJob implements Runnable {
+    public static class MaintenanceJob implements Runnable {
         private final MemoryMetricsDatastore store;
 
-        MaintenanceJob(MemoryMetricsDatastore store) {
+        public MaintenanceJob(MemoryMetricsDatastore store) {
             this.store = store;
         }
 
         @Override
         public void run() {
-            for (ConcurrentMap.Entry<String, ConcurrentMap<String, LiveMethodsStats>> executor : ALL_LIVE_STATS.entrySet()) {
-                String executorName = executor.getKey();
-                for (ConcurrentMap.Entry<String, LiveMethodsStats> team : executor.getValue().entrySet()) {
-                    String teamId = team.getKey();
-                    LiveMethodsStats stats = team.getValue();
-                    // Last Minute Requests
-                    for (String methodName : stats.getLastMinuteRequests().keySet()) {
-                        store.updateNumberOfLastMinuteRequests(executorName, teamId, methodName);
-                    }
-                    // Current Queue Size
-                    for (String methodName : stats.getCurrentQueueSize().keySet()) {
-                        store.updateCurrentQueueSize(executorName, teamId, methodName);
-                    }
-                    // Remove rate limited methods if already recovered
-                    List<String> methodNamesToRemove = new ArrayList<>();
-                    for (Map.Entry<String, Long> each : stats.getRateLimitedMethods().entrySet()) {
-                        String methodName = each.getKey();
-                        Long millisToRetry = each.getValue();
-                        long nowMillis = System.currentTimeMillis();
-                        if (millisToRetry < nowMillis) {
-                            methodNamesToRemove.add(methodName);
-                        }
-                    }
-                    for (String methodName : methodNamesToRemove) {
-                        stats.getRateLimitedMethods().remove(methodName);
+            long nowMillis = System.currentTimeMillis();
+            for (ActiveMethodKeys.Key key : store.activeKeys.drain()) {
+                String executorName = key.getExecutorName();
+                String teamId = key.getTeamId();
+                String methodName = key.getMethodName();
+                LiveMethodsStats stats = store.getOrCreateTeamLiveStats(executorName, teamId);
+                boolean stillActive = false;
+                // Last Minute Requests
+                if (stats.getLastMinuteRequests().containsKey(methodName)) {
+                    store.updateNumberOfLastMinuteRequests(executorName, teamId, methodName);
+                    stillActive |= stats.getLastMinuteRequests().get(methodName) > 0;
+                }
+                // Current Queue Size
+                if (stats.getCurrentQueueSize().containsKey(methodName)) {
+                    stillActive |= store.refreshCurrentQueueSize(executorName, teamId, methodName) > 0;
+                }
+                // Remove the rate limited method if already recovered
+                Long millisToRetry = stats.getRateLimitedMethods().get(methodName);
+                if (millisToRetry != null) {
+                    if (millisToRetry < nowMillis) {
+                        stats.getRateLimitedMethods().remove(methodName, millisToRetry);
+                    } else {
+                        stillActive = true;
                     }
                 }
+                if (stillActive) {
+                    store.activeKeys.add(executorName, teamId, methodName);
+                }
             }
         }
     }
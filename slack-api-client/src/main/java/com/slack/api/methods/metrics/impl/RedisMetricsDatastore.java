@@ -4,23 +4,84 @@ import com.slack.api.methods.MethodsStats;
 import com.slack.api.methods.impl.AsyncRateLimitQueue;
 import com.slack.api.methods.metrics.LastMinuteRequests;
 import com.slack.api.methods.metrics.MetricsDatastore;
+import com.slack.api.methods.metrics.RateLimitSnapshot;
 import com.slack.api.util.thread.ExecutorServiceFactory;
+import lombok.extern.slf4j.Slf4j;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.Tuple;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.exceptions.JedisNoScriptException;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import static java.util.stream.Collectors.toList;
 
+/**
+ * A MetricsDatastore backed by Redis, which can be shared among multiple nodes.
+ * <p>
+ * The requests in the last minute are kept in a sorted set (score: epoch millis) per method.
+ * Adding a request, removing the expired ones, counting them, and looking up the retry-after of the method
+ * are done by a single Lua script. The other stats are kept in a hash per team.
+ * <p>
+ * The keys a script touches share a hash tag ({executor@team}) so that the script works with Redis Cluster.
+ */
+@Slf4j
 public class RedisMetricsDatastore implements MetricsDatastore {
 
+    private static final String STATS_KEYS = "StatsHashKeys";
+    private static final String MESSAGE_IDS_KEYS = "MessageIdsKeys";
+
+    private static final long ONE_MINUTE_MILLIS = 60_000L;
+    private static final long THREE_SECONDS_MILLIS = 3_000L;
+
+    // KEYS[1]: the sorted set for the last minute requests
+    // KEYS[2]: the hash for the team's stats
+    // ARGV[1]: current epoch millis
+    // ARGV[2]: the member to add (an empty string means count only)
+    // ARGV[3]: the field for the number of last minute requests in the stats hash
+    // ARGV[4]: the field for the retry-after in the stats hash (an empty string means no lookup)
+    static final String SLIDING_WINDOW_SCRIPT = "" +
+            "local now = tonumber(ARGV[1])\n" +
+            "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - " + ONE_MINUTE_MILLIS + ")\n" +
+            "if ARGV[2] ~= '' then\n" +
+            "  redis.call('ZADD', KEYS[1], now, ARGV[2])\n" +
+            "  redis.call('PEXPIRE', KEYS[1], " + ONE_MINUTE_MILLIS + ")\n" +
+            "end\n" +
+            "local lastMinute = redis.call('ZCARD', KEYS[1])\n" +
+            "local lastThreeSeconds = redis.call('ZCOUNT', KEYS[1], '(' .. (now - " + THREE_SECONDS_MILLIS + "), '+inf')\n" +
+            "redis.call('HSET', KEYS[2], ARGV[3], lastMinute)\n" +
+            "local retryAfter = 0\n" +
+            "if ARGV[4] ~= '' then\n" +
+            "  local value = tonumber(redis.call('HGET', KEYS[2], ARGV[4]))\n" +
+            "  if value then\n" +
+            "    retryAfter = value\n" +
+            "    if retryAfter < now then\n" +
+            "      redis.call('HDEL', KEYS[2], ARGV[4])\n" +
+            "      retryAfter = 0\n" +
+            "    end\n" +
+            "  end\n" +
+            "end\n" +
+            "return {lastMinute, lastThreeSeconds, retryAfter}\n";
+
     private final ScheduledExecutorService cleanerExecutor;
 
     private final String appName;
     private final JedisPool jedisPool;
 
+    // The keys already added to the index sets by this instance
+    private final Set<String> indexedKeys = ConcurrentHashMap.newKeySet();
+    // The keys this instance has changed and the maintenance job has to visit
+    private final ActiveMethodKeys activeKeys = new ActiveMethodKeys();
+
+    private volatile String slidingWindowScriptSha;
+    private volatile boolean scriptingSupported = true;
+
     public RedisMetricsDatastore(String appName, JedisPool jedisPool) {
         this.appName = appName;
         this.jedisPool = jedisPool;
@@ -43,16 +104,10 @@ public class RedisMetricsDatastore implements MetricsDatastore {
         return "slack-methods-metrics-redis:" + this.appName;
     }
 
-    private void addToStatsKeyIndices(Jedis jedis, String statsKey) {
-        jedis.sadd("StatsKeys", statsKey);
-    }
-
-    private void addToLastMinuteRequestsKeyIndices(Jedis jedis, String statsKey) {
-        jedis.sadd("LastMinuteRequestsKeys", statsKey);
-    }
-
-    private void addToMessageIdsKeyIndices(Jedis jedis, String statsKey) {
-        jedis.sadd("MessageIdsKeys", statsKey);
+    private void addToIndices(Jedis jedis, String indexKey, String key) {
+        if (indexedKeys.add(indexKey + ":" + key)) {
+            jedis.sadd(indexKey, key);
+        }
     }
 
     @Override
@@ -62,19 +117,24 @@ public class RedisMetricsDatastore implements MetricsDatastore {
             if (jedis == null) {
                 return result;
             }
-            Set<String> statsKeys = jedis.smembers("StatsKeys");
-            if (statsKeys == null) {
+            Set<String> statsKeys = jedis.smembers(STATS_KEYS);
+            if (statsKeys == null || statsKeys.isEmpty()) {
                 return result;
             }
+            Map<String, Response<Map<String, String>>> responses = new HashMap<>();
+            Pipeline pipeline = jedis.pipelined();
             for (String statsKey : statsKeys) {
-                String[] elements = statsKey.split("@");
-                if (elements.length < 6) {
+                responses.put(statsKey, pipeline.hgetAll(statsKey));
+            }
+            pipeline.sync();
+
+            for (Map.Entry<String, Response<Map<String, String>>> each : responses.entrySet()) {
+                String[] elements = each.getKey().split("@");
+                if (elements.length < 4) {
                     continue;
                 }
-                String executorName = elements[2];
-                String teamId = elements[3];
-                String methodName = elements[4];
-                String operation = elements[5];
+                String executorName = removeHashTagBraces(elements[2]);
+                String teamId = removeHashTagBraces(elements[3]);
                 if (!result.containsKey(executorName)) {
                     result.put(executorName, new HashMap<>());
                 }
@@ -82,168 +142,372 @@ public class RedisMetricsDatastore implements MetricsDatastore {
                     result.get(executorName).put(teamId, new MethodsStats());
                 }
                 MethodsStats stats = result.get(executorName).get(teamId);
-                String value = jedis.get(statsKey);
-                if (value != null && !value.trim().isEmpty()) {
-                    if (operation.equals("AllCompletedCalls")) {
-                        stats.getAllCompletedCalls().put(methodName, Long.valueOf(value));
-                    } else if (operation.equals("SuccessfulCalls")) {
-                        stats.getSuccessfulCalls().put(methodName, Long.valueOf(value));
-                    } else if (operation.equals("UnsuccessfulCalls")) {
-                        stats.getUnsuccessfulCalls().put(methodName, Long.valueOf(value));
-                    } else if (operation.equals("FailedCalls")) {
-                        stats.getFailedCalls().put(methodName, Long.valueOf(value));
-                    } else if (operation.equals("CurrentQueueSize")) {
-                        stats.getCurrentQueueSize().put(methodName, Integer.valueOf(value));
-                    } else if (operation.equals("LastMinuteRequests")) {
-                        stats.getLastMinuteRequests().put(methodName, Integer.valueOf(value));
-                    } else if (operation.equals("RateLimitedMethods")) {
-                        stats.getRateLimitedMethods().put(methodName, Long.valueOf(value));
-                    }
+                Map<String, String> fields = each.getValue().get();
+                if (fields != null) {
+                    putAll(stats, fields);
                 }
             }
         }
         return result;
     }
 
+    private static void putAll(MethodsStats stats, Map<String, String> fields) {
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            String[] operationAndMethod = field.getKey().split("@", 2);
+            if (operationAndMethod.length < 2) {
+                continue;
+            }
+            String operation = operationAndMethod[0];
+            String methodName = operationAndMethod[1];
+            String value = field.getValue();
+            if (value != null && !value.trim().isEmpty()) {
+                if (operation.equals("AllCompletedCalls")) {
+                    stats.getAllCompletedCalls().put(methodName, Long.valueOf(value));
+                } else if (operation.equals("SuccessfulCalls")) {
+                    stats.getSuccessfulCalls().put(methodName, Long.valueOf(value));
+                } else if (operation.equals("UnsuccessfulCalls")) {
+                    stats.getUnsuccessfulCalls().put(methodName, Long.valueOf(value));
+                } else if (operation.equals("FailedCalls")) {
+                    stats.getFailedCalls().put(methodName, Long.valueOf(value));
+                } else if (operation.equals("CurrentQueueSize")) {
+                    stats.getCurrentQueueSize().put(methodName, Integer.valueOf(value));
+                } else if (operation.equals("LastMinuteRequests")) {
+                    stats.getLastMinuteRequests().put(methodName, Integer.valueOf(value));
+                } else if (operation.equals("RateLimitedMethods")) {
+                    stats.getRateLimitedMethods().put(methodName, Long.valueOf(value));
+                } else if (operation.equals("RejectedCalls")) {
+                    stats.getRejectedCalls().put(methodName, Long.valueOf(value));
+                }
+            }
+        }
+    }
+
     @Override
     public MethodsStats getStats(String executorName, String teamId) {
-        Map<String, MethodsStats> executor = getAllStats().get(executorName);
-        return executor != null ? executor.get(teamId) : null;
+        try (Jedis jedis = jedis()) {
+            Map<String, String> fields = jedis.hgetAll(toStatsKey(executorName, teamId));
+            if (fields == null || fields.isEmpty()) {
+                return null;
+            }
+            MethodsStats stats = new MethodsStats();
+            putAll(stats, fields);
+            return stats;
+        }
     }
 
     private String escapeDelimiter(String executorName) {
         return executorName.replaceAll("@", "_");
     }
 
-    private String toStatsKey(Jedis jedis, String operation, String executorName, String teamId, String methodName) {
-        String key = escapeDelimiter(appName) + "@Stats@" + escapeDelimiter(executorName) + "@" + teamId + "@" + methodName + "@" + operation;
-        addToStatsKeyIndices(jedis, key);
-        return key;
+    private static String removeHashTagBraces(String element) {
+        return element.replace("{", "").replace("}", "");
+    }
+
+    /**
+     * Returns the hash tag shared by the keys of a team so that a Lua script can touch them in Redis Cluster.
+     */
+    private String toHashTag(String executorName, String teamId) {
+        return "{" + escapeDelimiter(executorName) + "@" + teamId + "}";
+    }
+
+    private String toStatsKey(String executorName, String teamId) {
+        return escapeDelimiter(appName) + "@Stats@" + toHashTag(executorName, teamId);
     }
 
-    private String toLastMinuteRequestsKey(Jedis jedis, String executorName, String teamId, String methodName) {
-        String key = escapeDelimiter(appName) + "@LastMinuteRequests@" + escapeDelimiter(executorName) + "@" + teamId + "@" + methodName;
-        addToLastMinuteRequestsKeyIndices(jedis, key);
+    private String toStatsKey(Jedis jedis, String executorName, String teamId) {
+        String key = toStatsKey(executorName, teamId);
+        addToIndices(jedis, STATS_KEYS, key);
         return key;
     }
 
+    private static String toStatsField(String operation, String methodName) {
+        return operation + "@" + methodName;
+    }
+
+    private String toLastMinuteRequestsKey(String executorName, String teamId, String methodName) {
+        // no index for this key as the key expires when no request comes in for a minute
+        return escapeDelimiter(appName) + "@LastMinuteRequests@" + toHashTag(executorName, teamId) + "@" + methodName;
+    }
+
     private String toWaitingMessageIdsKey(Jedis jedis, String executorName, String teamId, String methodName) {
         String key = escapeDelimiter(appName) + "@WaitingMessageIds@" + escapeDelimiter(executorName) + "@" + teamId + "@" + methodName;
-        addToMessageIdsKeyIndices(jedis, key);
+        addToIndices(jedis, MESSAGE_IDS_KEYS, key);
         return key;
     }
 
-    @Override
-    public void incrementAllCompletedCalls(String executorName, String teamId, String methodName) {
+    private void incrementStats(String operation, String executorName, String teamId, String methodName) {
         try (Jedis jedis = jedis()) {
-            jedis.incr(toStatsKey(jedis, "AllCompletedCalls", executorName, teamId, methodName));
+            jedis.hincrBy(toStatsKey(jedis, executorName, teamId), toStatsField(operation, methodName), 1L);
         }
     }
 
+    @Override
+    public void incrementAllCompletedCalls(String executorName, String teamId, String methodName) {
+        incrementStats("AllCompletedCalls", executorName, teamId, methodName);
+    }
+
     @Override
     public void incrementSuccessfulCalls(String executorName, String teamId, String methodName) {
-        try (Jedis jedis = jedis()) {
-            jedis.incr(toStatsKey(jedis, "SuccessfulCalls", executorName, teamId, methodName));
-        }
+        incrementStats("SuccessfulCalls", executorName, teamId, methodName);
     }
 
     @Override
     public void incrementUnsuccessfulCalls(String executorName, String teamId, String methodName) {
-        try (Jedis jedis = jedis()) {
-            jedis.incr(toStatsKey(jedis, "UnsuccessfulCalls", executorName, teamId, methodName));
-        }
+        incrementStats("UnsuccessfulCalls", executorName, teamId, methodName);
     }
 
     @Override
     public void incrementFailedCalls(String executorName, String teamId, String methodName) {
-        try (Jedis jedis = jedis()) {
-            jedis.incr(toStatsKey(jedis, "FailedCalls", executorName, teamId, methodName));
-        }
+        incrementStats("FailedCalls", executorName, teamId, methodName);
+    }
+
+    @Override
+    public void incrementRejectedCalls(String executorName, String teamId, String methodName) {
+        incrementStats("RejectedCalls", executorName, teamId, methodName);
     }
 
     @Override
     public void updateCurrentQueueSize(String executorName, String teamId, String methodName) {
+        refreshCurrentQueueSize(executorName, teamId, methodName);
+    }
+
+    private int refreshCurrentQueueSize(String executorName, String teamId, String methodName) {
         try (Jedis jedis = jedis()) {
-            String key = toWaitingMessageIdsKey(jedis, executorName, teamId, methodName);
-            Integer totalSize = jedis.llen(key).intValue();
-            AsyncRateLimitQueue queue = AsyncRateLimitQueue.get(executorName, teamId);
-            if (queue != null) {
-                totalSize += queue.getCurrentActiveQueueSize(methodName);
-            }
-            setCurrentQueueSize(executorName, teamId, methodName, totalSize);
+            return refreshCurrentQueueSize(jedis, executorName, teamId, methodName);
+        }
+    }
+
+    private int refreshCurrentQueueSize(Jedis jedis, String executorName, String teamId, String methodName) {
+        String key = toWaitingMessageIdsKey(jedis, executorName, teamId, methodName);
+        int totalSize = jedis.llen(key).intValue();
+        AsyncRateLimitQueue queue = AsyncRateLimitQueue.get(executorName, teamId);
+        if (queue != null) {
+            totalSize += queue.getCurrentActiveQueueSize(methodName);
         }
+        jedis.hset(toStatsKey(jedis, executorName, teamId),
+                toStatsField("CurrentQueueSize", methodName), String.valueOf(totalSize));
+        return totalSize;
     }
 
     @Override
     public void setCurrentQueueSize(String executorName, String teamId, String methodName, Integer value) {
         try (Jedis jedis = jedis()) {
-            jedis.set(toStatsKey(jedis, "CurrentQueueSize", executorName, teamId, methodName), "" + value);
+            jedis.hset(toStatsKey(jedis, executorName, teamId),
+                    toStatsField("CurrentQueueSize", methodName), String.valueOf(value));
+        }
+        if (value != null && value > 0) {
+            activeKeys.add(executorName, teamId, methodName);
         }
     }
 
-    @Override
-    public void updateNumberOfLastMinuteRequests(String executorName, String teamId, String methodName) {
+    private long[] slide(String executorName, String teamId, String methodName, long currentMillis, String member) {
+        return slide(executorName, teamId, methodName, currentMillis, member, false);
+    }
+
+    /**
+     * Removes the expired requests, adds a new one if {@code member} is not null,
+     * and then returns the number of the requests in the last minute and the last 3 seconds,
+     * and the retry-after epoch millis (0 if not rate limited or {@code withRetryAfter} is false).
+     */
+    private long[] slide(
+            String executorName,
+            String teamId,
+            String methodName,
+            long currentMillis,
+            String member,
+            boolean withRetryAfter) {
         try (Jedis jedis = jedis()) {
-            String key = toLastMinuteRequestsKey(jedis, executorName, teamId, methodName);
-            long oneMinuteAgo = System.currentTimeMillis() - 60000L;
-            for (String str : jedis.lrange(key, 0, jedis.llen(key))) {
-                long millis = Long.valueOf(str);
-                if (millis < oneMinuteAgo) {
-                    jedis.lrem(key, 1, str);
+            String windowKey = toLastMinuteRequestsKey(executorName, teamId, methodName);
+            String statsKey = toStatsKey(jedis, executorName, teamId);
+            String statsField = toStatsField("LastMinuteRequests", methodName);
+            String retryAfterField = withRetryAfter ? toStatsField("RateLimitedMethods", methodName) : null;
+            if (scriptingSupported) {
+                List<String> keys = Arrays.asList(windowKey, statsKey);
+                List<String> args = Arrays.asList(
+                        String.valueOf(currentMillis),
+                        member != null ? member : "",
+                        statsField,
+                        retryAfterField != null ? retryAfterField : "");
+                try {
+                    return toCounts(evalSlidingWindowScript(jedis, keys, args));
+                } catch (JedisDataException e) {
+                    if (!isScriptingUnavailable(e)) {
+                        // e.g., WRONGTYPE, BUSY, OOM - these errors don't mean the server cannot run scripts
+                        throw e;
+                    }
+                    log.warn("Failed to run the Lua script for the last minute requests - falling back to pipelined commands (error: {})", e.getMessage());
+                    scriptingSupported = false;
                 }
             }
-            setNumberOfLastMinuteRequests(executorName, teamId, methodName, jedis.llen(key).intValue());
+            return slideWithPipeline(jedis, windowKey, statsKey, statsField, retryAfterField, currentMillis, member);
+        }
+    }
+
+    /**
+     * Returns true if the error means that the server doesn't support (or has disabled) the scripting commands.
+     */
+    private static boolean isScriptingUnavailable(JedisDataException e) {
+        String message = e.getMessage() != null ? e.getMessage().toLowerCase(Locale.ENGLISH) : "";
+        return message.startsWith("err unknown command")
+                || message.contains("unsupported operation") // jedis-mock
+                || message.contains("command is disabled")
+                || message.startsWith("noperm");
+    }
+
+    /**
+     * Returns false once the Lua script has turned out to be unavailable on the server.
+     * After that, the pipelined commands, which read the whole window, are used instead.
+     */
+    public boolean isScriptingEnabled() {
+        return scriptingSupported;
+    }
+
+    private Object evalSlidingWindowScript(Jedis jedis, List<String> keys, List<String> args) {
+        String sha = slidingWindowScriptSha;
+        if (sha != null) {
+            try {
+                return jedis.evalsha(sha, keys, args);
+            } catch (JedisNoScriptException e) {
+                // the script cache has been flushed
+            }
+        }
+        slidingWindowScriptSha = jedis.scriptLoad(SLIDING_WINDOW_SCRIPT);
+        return jedis.evalsha(slidingWindowScriptSha, keys, args);
+    }
+
+    private static long[] toCounts(Object scriptResult) {
+        List<?> values = (List<?>) scriptResult;
+        return new long[]{
+                ((Number) values.get(0)).longValue(),
+                ((Number) values.get(1)).longValue(),
+                ((Number) values.get(2)).longValue()
+        };
+    }
+
+    private static long[] slideWithPipeline(
+            Jedis jedis,
+            String windowKey,
+            String statsKey,
+            String statsField,
+            String retryAfterField,
+            long currentMillis,
+            String member) {
+        // Only the commands the servers without scripting (e.g., jedis-mock) commonly support are used here.
+        // The sorted set is small enough to be counted on this side as it holds the requests in a minute.
+        Pipeline pipeline = jedis.pipelined();
+        if (member != null) {
+            pipeline.zadd(windowKey, currentMillis, member);
+            pipeline.pexpire(windowKey, ONE_MINUTE_MILLIS);
+        }
+        Response<Set<Tuple>> requests = pipeline.zrangeWithScores(windowKey, 0, -1);
+        Response<String> retryAfter = retryAfterField != null ? pipeline.hget(statsKey, retryAfterField) : null;
+        pipeline.sync();
+
+        long oneMinuteAgo = currentMillis - ONE_MINUTE_MILLIS;
+        long threeSecondsAgo = currentMillis - THREE_SECONDS_MILLIS;
+        long lastMinute = 0L;
+        long lastThreeSeconds = 0L;
+        List<String> expiredMembers = new ArrayList<>();
+        for (Tuple request : requests.get()) {
+            long millis = (long) request.getScore();
+            if (millis <= oneMinuteAgo) {
+                expiredMembers.add(request.getElement());
+            } else {
+                lastMinute++;
+                if (millis > threeSecondsAgo) {
+                    lastThreeSeconds++;
+                }
+            }
+        }
+        if (!expiredMembers.isEmpty()) {
+            jedis.zrem(windowKey, expiredMembers.toArray(new String[0]));
+        }
+        jedis.hset(statsKey, statsField, String.valueOf(lastMinute));
+        long retryAfterEpochMillis = 0L;
+        if (retryAfter != null && retryAfter.get() != null) {
+            retryAfterEpochMillis = Long.parseLong(retryAfter.get());
+            if (retryAfterEpochMillis < currentMillis) {
+                // already recovered
+                jedis.hdel(statsKey, retryAfterField);
+                retryAfterEpochMillis = 0L;
+            }
         }
+        return new long[]{lastMinute, lastThreeSeconds, retryAfterEpochMillis};
+    }
+
+    @Override
+    public void updateNumberOfLastMinuteRequests(String executorName, String teamId, String methodName) {
+        slide(executorName, teamId, methodName, System.currentTimeMillis(), null);
     }
 
     @Override
     public Integer getNumberOfLastMinuteRequests(String executorName, String teamId, String methodName) {
-        try (Jedis jedis = jedis()) {
-            String key = toLastMinuteRequestsKey(jedis, executorName, teamId, methodName);
-            return jedis.llen(key).intValue();
-        }
+        return (int) slide(executorName, teamId, methodName, System.currentTimeMillis(), null)[0];
+    }
+
+    @Override
+    public Integer getNumberOfLastThreeSecondsRequests(String executorName, String teamId, String methodName) {
+        return (int) slide(executorName, teamId, methodName, System.currentTimeMillis(), null)[1];
+    }
+
+    @Override
+    public RateLimitSnapshot getRateLimitSnapshot(String executorName, String teamId, String methodName) {
+        long[] values = slide(executorName, teamId, methodName, System.currentTimeMillis(), null, true);
+        return new RateLimitSnapshot((int) values[0], (int) values[1], values[2] > 0 ? values[2] : null);
     }
 
     @Override
     public void setNumberOfLastMinuteRequests(String executorName, String teamId, String methodName, Integer value) {
         try (Jedis jedis = jedis()) {
-            jedis.set(toStatsKey(jedis, "LastMinuteRequests", executorName, teamId, methodName), "" + value);
+            jedis.hset(toStatsKey(jedis, executorName, teamId),
+                    toStatsField("LastMinuteRequests", methodName), String.valueOf(value));
         }
     }
 
     @Override
     public Long getRateLimitedMethodRetryEpochMillis(String executorName, String teamId, String methodName) {
         try (Jedis jedis = jedis()) {
-            String key = toStatsKey(jedis, "RateLimitedMethods", executorName, teamId, methodName);
-            String value = jedis.get(key);
-            return value != null ? Long.valueOf(value) : null;
+            String statsKey = toStatsKey(jedis, executorName, teamId);
+            String field = toStatsField("RateLimitedMethods", methodName);
+            String value = jedis.hget(statsKey, field);
+            if (value == null) {
+                return null;
+            }
+            Long millisToRetry = Long.valueOf(value);
+            if (millisToRetry < System.currentTimeMillis()) {
+                // already recovered
+                jedis.hdel(statsKey, field);
+                return null;
+            }
+            return millisToRetry;
         }
     }
 
     @Override
     public void setRateLimitedMethodRetryEpochMillis(String executorName, String teamId, String methodName, Long epochTimeMillis) {
         try (Jedis jedis = jedis()) {
-            String key = toStatsKey(jedis, "RateLimitedMethods", executorName, teamId, methodName);
-            jedis.set(key, String.valueOf(epochTimeMillis));
+            jedis.hset(toStatsKey(jedis, executorName, teamId),
+                    toStatsField("RateLimitedMethods", methodName), String.valueOf(epochTimeMillis));
         }
+        activeKeys.add(executorName, teamId, methodName);
     }
 
     @Override
     public void addToLastMinuteRequests(String executorName, String teamId, String methodName, Long currentMillis) {
-        try (Jedis jedis = jedis()) {
-            String key = toLastMinuteRequestsKey(jedis, executorName, teamId, methodName);
-            jedis.rpush(key, String.valueOf(currentMillis));
-            setNumberOfLastMinuteRequests(executorName, teamId, methodName, jedis.llen(key).intValue());
-        }
+        // The member has to be unique as requests from different nodes can be made in the same millisecond
+        String member = currentMillis + ":" + UUID.randomUUID().toString();
+        slide(executorName, teamId, methodName, currentMillis, member);
+        activeKeys.add(executorName, teamId, methodName);
     }
 
     @Override
     public LastMinuteRequests getLastMinuteRequests(String executorName, String teamId, String methodName) {
         try (Jedis jedis = jedis()) {
-            String key = toLastMinuteRequestsKey(jedis, executorName, teamId, methodName);
-            List<String> values = jedis.lrange(key, 0, jedis.llen(key) - 1);
+            String key = toLastMinuteRequestsKey(executorName, teamId, methodName);
+            long oneMinuteAgo = System.currentTimeMillis() - ONE_MINUTE_MILLIS;
+            Set<Tuple> values = jedis.zrangeWithScores(key, 0, -1);
             LastMinuteRequests requests = new LastMinuteRequests();
-            requests.addAll(values.stream().map(Long::valueOf).collect(toList()));
+            requests.addAll(values.stream().map(v -> (long) v.getScore()).filter(millis -> millis > oneMinuteAgo).collect(toList()));
             return requests;
         }
     }
@@ -254,6 +518,7 @@ public class RedisMetricsDatastore implements MetricsDatastore {
             String key = toWaitingMessageIdsKey(jedis, executorName, teamId, methodName);
             jedis.rpush(key, messageId);
         }
+        activeKeys.add(executorName, teamId, methodName);
     }
 
     @Override
@@ -261,9 +526,18 @@ public class RedisMetricsDatastore implements MetricsDatastore {
         try (Jedis jedis = jedis()) {
             String key = toWaitingMessageIdsKey(jedis, executorName, teamId, methodName);
             jedis.lrem(key, 1, messageId);
+            // already up-to-date - no need for the maintenance job to visit this key
+            refreshCurrentQueueSize(jedis, executorName, teamId, methodName);
         }
     }
 
+    /**
+     * Returns the number of the (executor, team, method) keys changed since the last run of the maintenance job.
+     */
+    public int getNumberOfActiveMethodKeys() {
+        return activeKeys.size();
+    }
+
     public static class MaintenanceJob implements Runnable {
         private final RedisMetricsDatastore store;
 
@@ -271,37 +545,20 @@ public class RedisMetricsDatastore implements MetricsDatastore {
             this.store = store;
         }
 
-        // Determine the worker
-
         @Override
         public void run() {
-            for (Map.Entry<String, Map<String, MethodsStats>> executor : store.getAllStats().entrySet()) {
-                String executorName = executor.getKey();
-                for (Map.Entry<String, MethodsStats> team : executor.getValue().entrySet()) {
-                    String teamId = team.getKey();
-                    MethodsStats stats = team.getValue();
-                    // Last Minute Requests
-                    for (String methodName : stats.getLastMinuteRequests().keySet()) {
-                        store.updateNumberOfLastMinuteRequests(executorName, teamId, methodName);
-                    }
-                    // Current Queue Size
-                    for (String methodName : stats.getCurrentQueueSize().keySet()) {
-                        store.updateCurrentQueueSize(executorName, teamId, methodName);
-                    }
-                    // Remove rate limited methods if already recovered
-                    List<String> methodNamesToRemove = new ArrayList<>();
-                    for (Map.Entry<String, Long> each : stats.getRateLimitedMethods().entrySet()) {
-                        String methodName = each.getKey();
-                        Long millisToRetry = each.getValue();
-                        long nowMillis = System.currentTimeMillis();
-                        if (millisToRetry < nowMillis) {
-                            methodNamesToRemove.add(methodName);
-                        }
-                    }
-                    for (String methodName : methodNamesToRemove) {
-                        stats.getRateLimitedMethods().remove(methodName);
-                    }
-                }
+            // Visits only the keys changed since the last run. Unlike the in-memory datastore,
+            // the keys are not added back while they have requests in the last minute,
+            // as every visit costs round trips to Redis. The expired requests and rate-limited periods
+            // are removed when they are read next time (see #getRateLimitSnapshot).
+            for (ActiveMethodKeys.Key key : store.activeKeys.drain()) {
+                String executorName = key.getExecutorName();
+                String teamId = key.getTeamId();
+                String methodName = key.getMethodName();
+                // Last Minute Requests, and removes the rate limited method if already recovered
+                store.getRateLimitSnapshot(executorName, teamId, methodName);
+                // Current Queue Size
+                store.refreshCurrentQueueSize(executorName, teamId, methodName);
             }
         }
     }
@@ -1,10 +1,14 @@
 package com.slack.api.methods.request.files;
 
 import com.slack.api.methods.SlackApiRequest;
+import com.slack.api.util.http.UploadProgressListener;
 import lombok.Builder;
 import lombok.Data;
+import okio.Source;
 
 import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.List;
 
 @Data
@@ -22,6 +26,25 @@ public class FilesUploadRequest implements SlackApiRequest {
     private File file;
     private byte[] fileData;
 
+    /**
+     * File contents streamed via `multipart/form-data` without being loaded onto the heap.
+     * A stream or a source is read only once and closed after the upload.
+     */
+    private Path filePath;
+    private InputStream fileStream;
+    private Source fileSource;
+
+    /**
+     * The length of `fileStream` or `fileSource` in bytes if known.
+     * When it's absent, the request body is sent with chunked transfer encoding.
+     */
+    private Long fileLength;
+
+    /**
+     * Receives the progress of streaming the file contents.
+     */
+    private UploadProgressListener progressListener;
+
     /**
      * File contents via a POST variable. If omitting this parameter, you must provide a `file`.
      */
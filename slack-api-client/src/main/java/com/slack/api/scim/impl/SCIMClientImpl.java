@@ -249,6 +249,10 @@ public class SCIMClientImpl implements SCIMClient {
     }
 
     private <T> T parseCamelCaseJsonResponseAndRunListeners(Response response, Class<T> clazz) throws IOException, SCIMApiException {
+        if (response.isSuccessful() && !slackHttpClient.isResponseBodyRequiredByListeners()) {
+            slackHttpClient.runHttpResponseListeners(response, null);
+            return SlackHttpClient.parseJsonResponseBody(GsonFactory.createCamelCase(slackHttpClient.getConfig()), response, clazz);
+        }
         String body = response.body().string();
         slackHttpClient.runHttpResponseListeners(response, body);
         if (response.isSuccessful()) {
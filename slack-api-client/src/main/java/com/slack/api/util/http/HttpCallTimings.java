@@ -0,0 +1,33 @@
+package com.slack.api.util.http;
+
+import lombok.Data;
+
+/**
+ * The network timings of an HTTP call recorded by {@link HttpCallTimingsEventListener}.
+ * The durations are in nanoseconds. A duration is null if the phase didn't happen in the call.
+ * For instance, DNS lookup, connecting, and TLS handshake are skipped when a pooled connection is reused.
+ */
+@Data
+public class HttpCallTimings {
+
+    private Long dnsNanos;
+    private Long connectNanos;
+    private Long tlsNanos;
+    private Long requestWriteNanos;
+    /**
+     * The time from the end of sending the request to the start of receiving the response headers.
+     */
+    private Long timeToFirstByteNanos;
+    /**
+     * The time to read the response body. When the API client deserializes the body while reading it
+     * (the default unless an HTTP response listener needs the whole body), this is the time spent
+     * in reading the body stream, and the rest is counted in {@link #getParseNanos()}.
+     */
+    private Long bodyReadNanos;
+    /**
+     * The time to deserialize the response body, excluding the time to read it.
+     */
+    private Long parseNanos;
+    private boolean connectionReused;
+
+}
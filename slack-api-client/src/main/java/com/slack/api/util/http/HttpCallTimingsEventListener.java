@@ -0,0 +1,200 @@
+package com.slack.api.util.http;
+
+import okhttp3.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+/**
+ * An OkHttp EventListener that records the timings of a call into the {@link HttpCallTimings} tagged to its request.
+ * The calls without the tag are not instrumented at all.
+ */
+public class HttpCallTimingsEventListener extends EventListener {
+
+    public static final EventListener.Factory FACTORY = call -> {
+        HttpCallTimings timings = call.request().tag(HttpCallTimings.class);
+        return timings != null ? new HttpCallTimingsEventListener(timings, EventListener.NONE) : EventListener.NONE;
+    };
+
+    /**
+     * Returns a factory that records the timings in addition to the events the given factory's listeners receive.
+     * This is used for the OkHttpClient instances given by apps.
+     */
+    public static EventListener.Factory wrap(EventListener.Factory factory) {
+        if (factory == FACTORY) {
+            return FACTORY;
+        }
+        return call -> {
+            EventListener delegate = factory.create(call);
+            HttpCallTimings timings = call.request().tag(HttpCallTimings.class);
+            return timings != null ? new HttpCallTimingsEventListener(timings, delegate) : delegate;
+        };
+    }
+
+    private final HttpCallTimings timings;
+    private final EventListener delegate;
+
+    private long dnsStartNanos;
+    private long connectStartNanos;
+    private long secureConnectStartNanos;
+    private boolean connected;
+    private long requestStartNanos;
+    private long requestEndNanos;
+    private long responseBodyStartNanos;
+
+    HttpCallTimingsEventListener(HttpCallTimings timings, EventListener delegate) {
+        this.timings = timings;
+        this.delegate = delegate;
+    }
+
+    private static Long add(Long total, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        return total != null ? total + elapsed : elapsed;
+    }
+
+    @Override
+    public void callStart(Call call) {
+        delegate.callStart(call);
+    }
+
+    @Override
+    public void proxySelectStart(Call call, HttpUrl url) {
+        delegate.proxySelectStart(call, url);
+    }
+
+    @Override
+    public void proxySelectEnd(Call call, HttpUrl url, List<Proxy> proxies) {
+        delegate.proxySelectEnd(call, url, proxies);
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStartNanos = System.nanoTime();
+        delegate.dnsStart(call, domainName);
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        timings.setDnsNanos(add(timings.getDnsNanos(), dnsStartNanos));
+        delegate.dnsEnd(call, domainName, inetAddressList);
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connectStartNanos = System.nanoTime();
+        connected = true;
+        delegate.connectStart(call, inetSocketAddress, proxy);
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        timings.setConnectNanos(add(timings.getConnectNanos(), connectStartNanos));
+        delegate.connectEnd(call, inetSocketAddress, proxy, protocol);
+    }
+
+    @Override
+    public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol, IOException ioe) {
+        timings.setConnectNanos(add(timings.getConnectNanos(), connectStartNanos));
+        delegate.connectFailed(call, inetSocketAddress, proxy, protocol, ioe);
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        secureConnectStartNanos = System.nanoTime();
+        delegate.secureConnectStart(call);
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        timings.setTlsNanos(add(timings.getTlsNanos(), secureConnectStartNanos));
+        delegate.secureConnectEnd(call, handshake);
+    }
+
+    @Override
+    public void connectionAcquired(Call call, Connection connection) {
+        timings.setConnectionReused(!connected);
+        delegate.connectionAcquired(call, connection);
+    }
+
+    @Override
+    public void connectionReleased(Call call, Connection connection) {
+        delegate.connectionReleased(call, connection);
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        requestStartNanos = System.nanoTime();
+        delegate.requestHeadersStart(call);
+    }
+
+    @Override
+    public void requestHeadersEnd(Call call, Request request) {
+        requestEndNanos = System.nanoTime();
+        timings.setRequestWriteNanos(requestEndNanos - requestStartNanos);
+        delegate.requestHeadersEnd(call, request);
+    }
+
+    @Override
+    public void requestBodyStart(Call call) {
+        delegate.requestBodyStart(call);
+    }
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount) {
+        requestEndNanos = System.nanoTime();
+        timings.setRequestWriteNanos(requestEndNanos - requestStartNanos);
+        delegate.requestBodyEnd(call, byteCount);
+    }
+
+    @Override
+    public void requestFailed(Call call, IOException ioe) {
+        delegate.requestFailed(call, ioe);
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        timings.setTimeToFirstByteNanos(System.nanoTime() - requestEndNanos);
+        delegate.responseHeadersStart(call);
+    }
+
+    @Override
+    public void responseHeadersEnd(Call call, Response response) {
+        delegate.responseHeadersEnd(call, response);
+    }
+
+    @Override
+    public void responseBodyStart(Call call) {
+        responseBodyStartNanos = System.nanoTime();
+        delegate.responseBodyStart(call);
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        timings.setBodyReadNanos(System.nanoTime() - responseBodyStartNanos);
+        delegate.responseBodyEnd(call, byteCount);
+    }
+
+    @Override
+    public void responseFailed(Call call, IOException ioe) {
+        delegate.responseFailed(call, ioe);
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        delegate.callEnd(call);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        delegate.callFailed(call, ioe);
+    }
+
+    @Override
+    public void canceled(Call call) {
+        delegate.canceled(call);
+    }
+
+}
@@ -2,14 +2,22 @@ package com.slack.api.util.http;
 
 import com.google.gson.Gson;
 import com.slack.api.SlackConfig;
+import com.slack.api.methods.MethodsRateLimitTier;
+import com.slack.api.methods.MethodsRateLimits;
+import com.slack.api.util.http.listener.HttpCallTimingsListener;
 import com.slack.api.util.http.listener.HttpResponseListener;
 import com.slack.api.util.json.GsonFactory;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.*;
 
+import java.io.FilterReader;
 import java.io.IOException;
+import java.io.Reader;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * The Slack API HTTP Client.
@@ -19,6 +27,9 @@ public class SlackHttpClient implements AutoCloseable {
 
     private static final MediaType MEDIA_TYPE_APPLICATION_JSON = MediaType.parse("application/json; charset=utf-8");
 
+    // Receives the calls started on the current thread
+    private static final ThreadLocal<Consumer<Call>> CURRENT_THREAD_CALL_LISTENER = new ThreadLocal<>();
+
     private final OkHttpClient okHttpClient;
 
     private SlackConfig config = SlackConfig.DEFAULT;
@@ -26,6 +37,7 @@ public class SlackHttpClient implements AutoCloseable {
     public SlackHttpClient(Map<String, String> userAgentCustomInfo) {
         this.okHttpClient = new OkHttpClient.Builder()
                 .addInterceptor(new UserAgentInterceptor(userAgentCustomInfo))
+                .eventListenerFactory(HttpCallTimingsEventListener.FACTORY)
                 .build();
     }
 
@@ -33,8 +45,17 @@ public class SlackHttpClient implements AutoCloseable {
         this(Collections.emptyMap());
     }
 
+    /**
+     * The given client shares its connection pool and dispatcher with the one this instance uses.
+     * Its EventListener receives the events as before while the call timings are recorded as well.
+     */
     public SlackHttpClient(OkHttpClient okHttpClient) {
-        this.okHttpClient = okHttpClient;
+        EventListener.Factory eventListenerFactory = HttpCallTimingsEventListener.wrap(okHttpClient.eventListenerFactory());
+        if (eventListenerFactory == okHttpClient.eventListenerFactory()) {
+            this.okHttpClient = okHttpClient;
+        } else {
+            this.okHttpClient = okHttpClient.newBuilder().eventListenerFactory(eventListenerFactory).build();
+        }
     }
 
     @Override
@@ -46,6 +67,33 @@ public class SlackHttpClient implements AutoCloseable {
         }
     }
 
+    /**
+     * Returns the number of asynchronous calls waiting in OkHttp's dispatcher for a connection slot.
+     */
+    public int getQueuedCallsCount() {
+        return okHttpClient.dispatcher().queuedCallsCount();
+    }
+
+    /**
+     * Returns the number of calls being executed by OkHttp.
+     */
+    public int getRunningCallsCount() {
+        return okHttpClient.dispatcher().runningCallsCount();
+    }
+
+    /**
+     * Passes the HTTP calls started on the current thread to the given listener until
+     * {@link #removeCurrentThreadCallListener()} is called. As {@link Call#cancel()} works from any thread,
+     * this enables a caller to cancel the blocking calls running on a worker thread.
+     */
+    public static void setCurrentThreadCallListener(Consumer<Call> listener) {
+        CURRENT_THREAD_CALL_LISTENER.set(listener);
+    }
+
+    public static void removeCurrentThreadCallListener() {
+        CURRENT_THREAD_CALL_LISTENER.remove();
+    }
+
     public SlackConfig getConfig() {
         return config;
     }
@@ -69,18 +117,19 @@ public class SlackHttpClient implements AutoCloseable {
         } else {
             request = new Request.Builder().url(url).get().build();
         }
-        return okHttpClient.newCall(request).execute();
+        return newCall(request).execute();
     }
 
     public Response postMultipart(String url, String token, MultipartBody multipartBody) throws IOException {
         String bearerHeaderValue = "Bearer " + token;
-        Request request = new Request.Builder().url(url).header("Authorization", bearerHeaderValue).post(multipartBody).build();
-        return okHttpClient.newCall(request).execute();
+        Request request = new Request.Builder().url(url).header("Authorization", bearerHeaderValue)
+                .post(StreamingRequestBody.toRequestBody(multipartBody)).build();
+        return newCall(request).execute();
     }
 
     public Response postForm(String url, FormBody formBody) throws IOException {
         Request request = new Request.Builder().url(url).post(formBody).build();
-        return okHttpClient.newCall(request).execute();
+        return newCall(request).execute();
     }
 
     public Response postFormWithBearerHeader(String url, String token, FormBody formBody) throws IOException {
@@ -90,38 +139,133 @@ public class SlackHttpClient implements AutoCloseable {
 
     public Response postFormWithAuthorizationHeader(String url, String authorizationHeader, FormBody formBody) throws IOException {
         Request request = new Request.Builder().url(url).header("Authorization", authorizationHeader).post(formBody).build();
-        return okHttpClient.newCall(request).execute();
+        return newCall(request).execute();
+    }
+
+    public Response postJsonBodyWithBearerHeader(String url, String token, RequestBody jsonBody) throws IOException {
+        String bearerHeaderValue = "Bearer " + token;
+        Request request = new Request.Builder().url(url).header("Authorization", bearerHeaderValue).post(jsonBody).build();
+        return newCall(request).execute();
+    }
+
+    public CompletableFuture<Response> postJsonBodyWithBearerHeaderAsync(String url, String token, RequestBody jsonBody) {
+        String bearerHeaderValue = "Bearer " + token;
+        Request request = new Request.Builder().url(url).header("Authorization", bearerHeaderValue).post(jsonBody).build();
+        return enqueue(request);
+    }
+
+    public CompletableFuture<Response> postMultipartAsync(String url, String token, MultipartBody multipartBody) {
+        String bearerHeaderValue = "Bearer " + token;
+        Request request = new Request.Builder().url(url).header("Authorization", bearerHeaderValue)
+                .post(StreamingRequestBody.toRequestBody(multipartBody)).build();
+        return enqueue(request);
+    }
+
+    public CompletableFuture<Response> postFormAsync(String url, FormBody formBody) {
+        Request request = new Request.Builder().url(url).post(formBody).build();
+        return enqueue(request);
+    }
+
+    public CompletableFuture<Response> postFormWithBearerHeaderAsync(String url, String token, FormBody formBody) {
+        String bearerHeaderValue = "Bearer " + token;
+        Request request = new Request.Builder().url(url).header("Authorization", bearerHeaderValue).post(formBody).build();
+        return enqueue(request);
+    }
+
+    /**
+     * Sends the request using OkHttp's asynchronous call. The returned future is completed
+     * on an OkHttp dispatcher thread, so the caller's thread is never blocked on network I/O.
+     */
+    private CompletableFuture<Response> enqueue(Request request) {
+        CompletableFuture<Response> future = new CompletableFuture<>();
+        Call call = newCall(request);
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                if (!future.complete(response)) {
+                    response.close(); // the future has been cancelled
+                }
+            }
+        });
+        future.whenComplete((response, error) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        return future;
     }
 
     public Response postJsonBody(String url, Object obj) throws IOException {
         RequestBody body = RequestBody.create(toSnakeCaseJsonString(obj), MEDIA_TYPE_APPLICATION_JSON);
         Request request = new Request.Builder().url(url).post(body).build();
-        return okHttpClient.newCall(request).execute();
+        return newCall(request).execute();
     }
 
     public Response postCamelCaseJsonBodyWithBearerHeader(String url, String token, Object obj) throws IOException {
         String bearerHeaderValue = "Bearer " + token;
         RequestBody body = RequestBody.create(toCamelCaseJsonString(obj), MEDIA_TYPE_APPLICATION_JSON);
         Request request = new Request.Builder().url(url).header("Authorization", bearerHeaderValue).post(body).build();
-        return okHttpClient.newCall(request).execute();
+        return newCall(request).execute();
     }
 
     public Response patchCamelCaseJsonBodyWithBearerHeader(String url, String token, Object obj) throws IOException {
         String bearerHeaderValue = "Bearer " + token;
         RequestBody body = RequestBody.create(toCamelCaseJsonString(obj), MEDIA_TYPE_APPLICATION_JSON);
         Request request = new Request.Builder().url(url).header("Authorization", bearerHeaderValue).patch(body).build();
-        return okHttpClient.newCall(request).execute();
+        return newCall(request).execute();
     }
 
     public Response putCamelCaseJsonBodyWithBearerHeader(String url, String token, Object obj) throws IOException {
         String bearerHeaderValue = "Bearer " + token;
         RequestBody body = RequestBody.create(toCamelCaseJsonString(obj), MEDIA_TYPE_APPLICATION_JSON);
         Request request = new Request.Builder().url(url).header("Authorization", bearerHeaderValue).put(body).build();
-        return okHttpClient.newCall(request).execute();
+        return newCall(request).execute();
+    }
+
+    public Response get(Request.Builder requestBuilder) throws IOException {
+        return newCall(requestBuilder.get().build()).execute();
     }
 
     public Response delete(Request.Builder requestBuilder) throws IOException {
-        return okHttpClient.newCall(requestBuilder.method("DELETE", null).build()).execute();
+        return newCall(requestBuilder.method("DELETE", null).build()).execute();
+    }
+
+    private Call newCall(Request request) {
+        if (config.isHttpClientCallTimingsEnabled()) {
+            request = request.newBuilder().tag(HttpCallTimings.class, new HttpCallTimings()).build();
+        }
+        Call call = okHttpClient.newCall(request);
+        Long callTimeoutMillis = lookupCallTimeoutMillis(request.url());
+        if (callTimeoutMillis != null) {
+            call.timeout().timeout(callTimeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        Consumer<Call> callListener = CURRENT_THREAD_CALL_LISTENER.get();
+        if (callListener != null) {
+            callListener.accept(call);
+        }
+        return call;
+    }
+
+    /**
+     * Returns the call timeout for the Web API method's rate limit tier if it's configured.
+     */
+    private Long lookupCallTimeoutMillis(HttpUrl url) {
+        if (config.getHttpClientCallTimeoutMillisPerTier().isEmpty()) {
+            return null;
+        }
+        String urlString = url.toString();
+        String methodsEndpointUrlPrefix = config.getMethodsEndpointUrlPrefix();
+        if (!urlString.startsWith(methodsEndpointUrlPrefix)) {
+            return null;
+        }
+        String methodName = url.pathSegments().get(url.pathSize() - 1);
+        MethodsRateLimitTier tier = MethodsRateLimits.lookupRateLimitTier(methodName);
+        return tier != null ? config.getHttpClientCallTimeoutMillisPerTier().get(tier) : null;
     }
 
     private String toSnakeCaseJsonString(Object obj) {
@@ -142,6 +286,91 @@ public class SlackHttpClient implements AutoCloseable {
         }
     }
 
+    /**
+     * Returns true if any of the registered response listeners needs the whole response body as a string.
+     */
+    public boolean isResponseBodyRequiredByListeners() {
+        for (HttpResponseListener responseListener : config.getHttpClientResponseHandlers()) {
+            if (responseListener.isResponseBodyRequired(config)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Deserializes the JSON response body while reading it from the connection
+     * without materializing the whole body as a string.
+     */
+    public static <T> T parseJsonResponseBody(Gson gson, Response response, Class<T> clazz) throws IOException {
+        try (Reader reader = response.body().charStream()) {
+            return gson.fromJson(reader, clazz);
+        }
+    }
+
+    /**
+     * Parses the response body while reading it, and sets the time spent in reading the body and the rest of
+     * the time spent in parsing it to the timings separately. The timings are nullable.
+     */
+    public static <T> T parseJsonResponseBody(
+            Gson gson,
+            Response response,
+            Class<T> clazz,
+            HttpCallTimings timings) throws IOException {
+        if (timings == null) {
+            return parseJsonResponseBody(gson, response, clazz);
+        }
+        T result;
+        long parseNanos;
+        long readNanos;
+        try (TimedReader reader = new TimedReader(response.body().charStream())) {
+            long startNanos = System.nanoTime();
+            result = gson.fromJson(reader, clazz);
+            readNanos = reader.readNanos;
+            parseNanos = System.nanoTime() - startNanos - readNanos;
+        }
+        // set after closing the body as the event listener sets the body read time when the body ends
+        timings.setBodyReadNanos(readNanos);
+        timings.setParseNanos(parseNanos);
+        return result;
+    }
+
+    // Accumulates the time spent in reading the underlying stream
+    private static class TimedReader extends FilterReader {
+        private long readNanos;
+
+        TimedReader(Reader in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            long startNanos = System.nanoTime();
+            try {
+                return super.read();
+            } finally {
+                readNanos += System.nanoTime() - startNanos;
+            }
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            long startNanos = System.nanoTime();
+            try {
+                return super.read(cbuf, off, len);
+            } finally {
+                readNanos += System.nanoTime() - startNanos;
+            }
+        }
+    }
+
+    public void runHttpCallTimingsListeners(String teamId, String methodName, HttpCallTimings timings) {
+        HttpCallTimingsListener.State state = new HttpCallTimingsListener.State(config, teamId, methodName, timings);
+        for (HttpCallTimingsListener listener : config.getHttpClientCallTimingsListeners()) {
+            listener.accept(state);
+        }
+    }
+
     public void runHttpResponseListeners(Response response, String body) {
         HttpResponseListener.State state = new HttpResponseListener.State(config, response, body);
         for (HttpResponseListener responseListener : config.getHttpClientResponseHandlers()) {
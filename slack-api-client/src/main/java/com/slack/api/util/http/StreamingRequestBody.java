@@ -0,0 +1,166 @@
+package com.slack.api.util.http;
+
+import okhttp3.MediaType;
+import okhttp3.MultipartBody;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Source;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A request body that streams its content from a source while being sent.
+ * <p>
+ * The data is read into the sink's own buffer segment by segment and emitted to the connection right away,
+ * so the heap usage stays constant regardless of the content size.
+ * The bodies created from an {@link InputStream} or a {@link Source} can be written only once,
+ * and the underlying stream is closed after being written.
+ */
+public class StreamingRequestBody extends RequestBody {
+
+    private static final long SEGMENT_SIZE = 8192L;
+
+    @FunctionalInterface
+    private interface SourceOpener {
+        Source open() throws IOException;
+    }
+
+    private final MediaType contentType;
+    private final Path path;
+    private final long contentLength;
+    private final SourceOpener opener;
+    private final UploadProgressListener progressListener;
+
+    private StreamingRequestBody(
+            MediaType contentType,
+            Path path,
+            long contentLength,
+            SourceOpener opener,
+            UploadProgressListener progressListener) {
+        this.contentType = contentType;
+        this.path = path;
+        this.contentLength = contentLength;
+        this.opener = opener;
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * @param contentLength the length of the stream if known, otherwise null
+     */
+    public static StreamingRequestBody create(
+            MediaType contentType,
+            InputStream stream,
+            Long contentLength,
+            UploadProgressListener progressListener) {
+        return create(contentType, Okio.source(stream), contentLength, progressListener);
+    }
+
+    /**
+     * @param contentLength the length of the source if known, otherwise null
+     */
+    public static StreamingRequestBody create(
+            MediaType contentType,
+            Source source,
+            Long contentLength,
+            UploadProgressListener progressListener) {
+        return new StreamingRequestBody(
+                contentType,
+                null,
+                contentLength != null ? contentLength : -1L,
+                () -> source,
+                progressListener);
+    }
+
+    /**
+     * Creates a body that opens the file every time it is written, so that the request can be retried.
+     */
+    public static StreamingRequestBody create(
+            MediaType contentType,
+            Path path,
+            UploadProgressListener progressListener) {
+        return new StreamingRequestBody(
+                contentType,
+                path,
+                -1L,
+                () -> Okio.source(path),
+                progressListener);
+    }
+
+    /**
+     * Returns a body that is one-shot if any of the parts is. OkHttp checks only the request body itself,
+     * so without this, a multipart body containing a one-shot part could be retried with the part already consumed.
+     */
+    public static RequestBody toRequestBody(MultipartBody multipartBody) {
+        for (MultipartBody.Part part : multipartBody.parts()) {
+            if (part.body().isOneShot()) {
+                return new OneShotMultipartBody(multipartBody);
+            }
+        }
+        return multipartBody;
+    }
+
+    private static class OneShotMultipartBody extends RequestBody {
+        private final MultipartBody multipartBody;
+
+        OneShotMultipartBody(MultipartBody multipartBody) {
+            this.multipartBody = multipartBody;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return multipartBody.contentType();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return multipartBody.contentLength();
+        }
+
+        @Override
+        public boolean isOneShot() {
+            return true;
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            multipartBody.writeTo(sink);
+        }
+    }
+
+    @Override
+    public MediaType contentType() {
+        return contentType;
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+        return path != null ? Files.size(path) : contentLength;
+    }
+
+    @Override
+    public boolean isOneShot() {
+        return path == null;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        long startNanos = System.nanoTime();
+        long totalBytes = contentLength();
+        long bytesWritten = 0L;
+        try (Source source = opener.open()) {
+            long read;
+            while ((read = source.read(sink.getBuffer(), SEGMENT_SIZE)) != -1L) {
+                sink.emitCompleteSegments();
+                bytesWritten += read;
+                if (progressListener != null) {
+                    progressListener.onProgress(bytesWritten, totalBytes, System.nanoTime() - startNanos);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.slack.api.util.http;
+
+/**
+ * Receives the progress of a {@link StreamingRequestBody} while it is being sent.
+ * This listener is invoked on the thread that writes the request body, so it should return quickly.
+ */
+@FunctionalInterface
+public interface UploadProgressListener {
+
+    /**
+     * @param bytesWritten  the number of bytes written so far
+     * @param contentLength the total number of bytes if known, otherwise -1
+     * @param elapsedNanos  the elapsed time since the body started being written
+     */
+    void onProgress(long bytesWritten, long contentLength, long elapsedNanos);
+
+}
@@ -1,6 +1,9 @@
 package com.slack.api.util.http.listener;
 
+import com.slack.api.SlackConfig;
 import lombok.extern.slf4j.Slf4j;
+import com.slack.api.util.http.StreamingRequestBody;
+import okhttp3.MultipartBody;
 import okhttp3.RequestBody;
 import okhttp3.Response;
 import okio.Buffer;
@@ -13,6 +16,11 @@ import java.io.IOException;
 @Slf4j
 public class DetailedLoggingListener extends HttpResponseListener {
 
+    @Override
+    public boolean isResponseBodyRequired(SlackConfig config) {
+        return log.isDebugEnabled();
+    }
+
     @Override
     public void accept(State state) {
         if (log.isDebugEnabled()) {
@@ -22,7 +30,7 @@ public class DetailedLoggingListener extends HttpResponseListener {
             Buffer requestBody = new Buffer();
             RequestBody requestBodyObj = response.request().body();
             try {
-                if (requestBodyObj != null) {
+                if (requestBodyObj != null && !isStreamingBody(requestBodyObj)) {
                     requestBodyObj.writeTo(requestBody);
                 }
             } catch (IOException e) {
@@ -64,4 +72,21 @@ public class DetailedLoggingListener extends HttpResponseListener {
                     body);
         }
     }
+
+    /**
+     * Streaming bodies are not written again for logging; they may be one-shot or too large to hold in memory.
+     */
+    private static boolean isStreamingBody(RequestBody body) {
+        if (body instanceof StreamingRequestBody || body.isOneShot()) {
+            return true;
+        }
+        if (body instanceof MultipartBody) {
+            for (MultipartBody.Part part : ((MultipartBody) body).parts()) {
+                if (part.body() instanceof StreamingRequestBody) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
 }
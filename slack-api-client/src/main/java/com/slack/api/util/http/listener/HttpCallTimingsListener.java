@@ -0,0 +1,27 @@
+package com.slack.api.util.http.listener;
+
+import com.slack.api.SlackConfig;
+import com.slack.api.util.http.HttpCallTimings;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.function.Consumer;
+
+/**
+ * A listener that receives the network timings of each Web API call.
+ * The timings are recorded only when {@link SlackConfig#isHttpClientCallTimingsEnabled()} is true.
+ */
+public abstract class HttpCallTimingsListener implements Consumer<HttpCallTimingsListener.State> {
+
+    public abstract void accept(State state);
+
+    @AllArgsConstructor
+    @Data
+    public static class State {
+        private SlackConfig config;
+        private String teamId;
+        private String methodName;
+        private HttpCallTimings timings;
+    }
+
+}
@@ -15,6 +15,15 @@ public abstract class HttpResponseListener implements Consumer<HttpResponseListe
 
     public abstract void accept(State state);
 
+    /**
+     * Returns true if this listener needs the whole response body as a string.
+     * When none of the listeners need it, API clients deserialize responses directly from the response stream
+     * and {@link State#getParsedResponseBody()} is null.
+     */
+    public boolean isResponseBodyRequired(SlackConfig config) {
+        return true;
+    }
+
     @AllArgsConstructor
     @Data
     public static class State {
@@ -14,6 +14,11 @@ public class ResponsePrettyPrintingListener extends HttpResponseListener {
 
     private static final Logger JSON_RESPONSE_LOGGER = LoggerFactory.getLogger(ResponsePrettyPrintingListener.class);
 
+    @Override
+    public boolean isResponseBodyRequired(SlackConfig config) {
+        return config.isPrettyResponseLoggingEnabled() && JSON_RESPONSE_LOGGER.isDebugEnabled();
+    }
+
     @Override
     public void accept(State state) {
         SlackConfig config = state.getConfig();
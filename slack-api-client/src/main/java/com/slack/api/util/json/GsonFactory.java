@@ -4,67 +4,107 @@ import com.google.gson.FieldNamingPolicy;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.slack.api.SlackConfig;
-import com.slack.api.model.block.ContextBlockElement;
-import com.slack.api.model.block.LayoutBlock;
-import com.slack.api.model.block.composition.TextObject;
-import com.slack.api.model.block.element.BlockElement;
-import com.slack.api.model.block.element.RichTextElement;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Gson Factory for the entire SDK. This factory enables some Slack-specific settings.
+ * <p>
+ * As Gson instances are immutable and thread-safe, this factory builds one instance per combination of
+ * the relevant {@link SlackConfig} flags and shares it. Sharing instances lets Gson reuse its type adapters
+ * across API calls. Changing the flags of a mutable SlackConfig simply results in looking up another instance.
  */
 public class GsonFactory {
     private GsonFactory() {
     }
 
+    private static final int CAMEL_CASE = 1;
+    private static final int FAIL_ON_UNKNOWN_PROPERTIES = 1 << 1;
+    private static final int LIBRARY_MAINTAINER_MODE = 1 << 2;
+    private static final int PRETTY_PRINTING = 1 << 3;
+    private static final int RECORD_UNKNOWN_PROPERTIES = 1 << 4;
+    private static final int MODEL_TYPE_ADAPTER_FACTORY = 1 << 5;
+
+    // The packages of the data classes that ModelTypeAdapterFactory handles
+    private static final String[] MODEL_PACKAGES = new String[]{"com.slack.api.model", "com.slack.api.methods.response"};
+    // The Block Kit classes are always handled by ModelTypeAdapterFactory
+    // so that PolymorphicTypeAdapter can stream them without buffering each block as a JsonObject
+    private static final String[] BLOCK_PACKAGES = new String[]{"com.slack.api.model.block"};
+
+    // The combination of the above flags -> the shared Gson instance
+    private static final ConcurrentMap<Integer, Gson> ALL_GSON_INSTANCES = new ConcurrentHashMap<>();
+
     /**
      * Most of the Slack APIs' key naming is snake-cased.
      */
     public static Gson createSnakeCase() {
-        return new GsonBuilder()
-                .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
-                .registerTypeAdapter(LayoutBlock.class, new GsonLayoutBlockFactory())
-                .registerTypeAdapter(TextObject.class, new GsonTextObjectFactory())
-                .registerTypeAdapter(ContextBlockElement.class, new GsonContextBlockElementFactory())
-                .registerTypeAdapter(BlockElement.class, new GsonBlockElementFactory())
-                .registerTypeAdapter(RichTextElement.class, new GsonRichTextElementFactory())
-                .create();
+        return ALL_GSON_INSTANCES.computeIfAbsent(0, GsonFactory::build);
     }
 
     /**
      * Most of the Slack APIs' key naming is snake-cased.
      */
     public static Gson createSnakeCase(SlackConfig config) {
-        GsonBuilder gsonBuilder = new GsonBuilder()
-                .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
-                .registerTypeAdapter(LayoutBlock.class, new GsonLayoutBlockFactory(config.isFailOnUnknownProperties()))
-                .registerTypeAdapter(TextObject.class, new GsonTextObjectFactory(config.isFailOnUnknownProperties()))
-                .registerTypeAdapter(ContextBlockElement.class, new GsonContextBlockElementFactory(config.isFailOnUnknownProperties()))
-                .registerTypeAdapter(BlockElement.class, new GsonBlockElementFactory(config.isFailOnUnknownProperties()))
-                .registerTypeAdapter(RichTextElement.class, new GsonRichTextElementFactory(config.isFailOnUnknownProperties()));
-        if (config.isFailOnUnknownProperties() || config.isLibraryMaintainerMode()) {
-            gsonBuilder = gsonBuilder.registerTypeAdapterFactory(new UnknownPropertyDetectionAdapterFactory());
-        }
-        if (config.isPrettyResponseLoggingEnabled()) {
-            gsonBuilder = gsonBuilder.setPrettyPrinting();
-        }
-        return gsonBuilder.create();
+        return ALL_GSON_INSTANCES.computeIfAbsent(toFlags(config), GsonFactory::build);
     }
 
     /**
      * Mainly used for SCIM APIs.
      */
     public static Gson createCamelCase(SlackConfig config) {
-        GsonBuilder gsonBuilder = new GsonBuilder()
-                .registerTypeAdapter(LayoutBlock.class, new GsonLayoutBlockFactory(config.isFailOnUnknownProperties()))
-                .registerTypeAdapter(TextObject.class, new GsonTextObjectFactory(config.isFailOnUnknownProperties()))
-                .registerTypeAdapter(ContextBlockElement.class, new GsonContextBlockElementFactory(config.isFailOnUnknownProperties()))
-                .registerTypeAdapter(BlockElement.class, new GsonBlockElementFactory(config.isFailOnUnknownProperties()))
-                .registerTypeAdapter(RichTextElement.class, new GsonRichTextElementFactory(config.isFailOnUnknownProperties()));
-        if (config.isFailOnUnknownProperties() || config.isLibraryMaintainerMode()) {
-            gsonBuilder = gsonBuilder.registerTypeAdapterFactory(new UnknownPropertyDetectionAdapterFactory());
+        return ALL_GSON_INSTANCES.computeIfAbsent(CAMEL_CASE | toFlags(config), GsonFactory::build);
+    }
+
+    private static int toFlags(SlackConfig config) {
+        int flags = 0;
+        if (config.isFailOnUnknownProperties()) {
+            flags |= FAIL_ON_UNKNOWN_PROPERTIES;
+        }
+        if (config.isLibraryMaintainerMode()) {
+            flags |= LIBRARY_MAINTAINER_MODE;
         }
         if (config.isPrettyResponseLoggingEnabled()) {
+            flags |= PRETTY_PRINTING;
+        }
+        if (config.isUnknownPropertyRecordingEnabled()) {
+            flags |= RECORD_UNKNOWN_PROPERTIES;
+        }
+        if (config.isModelTypeAdapterFactoryEnabled()) {
+            flags |= MODEL_TYPE_ADAPTER_FACTORY;
+        }
+        return flags;
+    }
+
+    private static Gson build(int flags) {
+        boolean failOnUnknownProperties = (flags & FAIL_ON_UNKNOWN_PROPERTIES) != 0;
+        GsonBuilder gsonBuilder = new GsonBuilder();
+        if ((flags & CAMEL_CASE) == 0) {
+            gsonBuilder = gsonBuilder.setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES);
+        }
+        gsonBuilder = gsonBuilder
+                .registerTypeAdapterFactory(new GsonLayoutBlockFactory(failOnUnknownProperties))
+                .registerTypeAdapterFactory(new GsonTextObjectFactory(failOnUnknownProperties))
+                .registerTypeAdapterFactory(new GsonContextBlockElementFactory(failOnUnknownProperties))
+                .registerTypeAdapterFactory(new GsonBlockElementFactory(failOnUnknownProperties))
+                .registerTypeAdapterFactory(new GsonRichTextElementFactory(failOnUnknownProperties));
+        boolean modelTypeAdapterFactoryEnabled = (flags & MODEL_TYPE_ADAPTER_FACTORY) != 0;
+        if (failOnUnknownProperties || (flags & LIBRARY_MAINTAINER_MODE) != 0) {
+            // The detection is done by ModelTypeAdapterFactory at the cost of a map lookup per property.
+            // UnknownPropertyDetectionAdapterFactory covers the classes that ModelTypeAdapterFactory doesn't handle.
+            gsonBuilder = gsonBuilder
+                    .registerTypeAdapterFactory(new UnknownPropertyDetectionAdapterFactory())
+                    .registerTypeAdapterFactory(new ModelTypeAdapterFactory(UnknownPropertyHandler.FAIL, MODEL_PACKAGES));
+        } else if ((flags & RECORD_UNKNOWN_PROPERTIES) != 0) {
+            // The recording is done only by ModelTypeAdapterFactory
+            gsonBuilder = gsonBuilder.registerTypeAdapterFactory(
+                    new ModelTypeAdapterFactory(UnknownPropertyRecorder.getInstance(), MODEL_PACKAGES));
+        } else if (modelTypeAdapterFactoryEnabled) {
+            gsonBuilder = gsonBuilder.registerTypeAdapterFactory(new ModelTypeAdapterFactory(MODEL_PACKAGES));
+        } else {
+            gsonBuilder = gsonBuilder.registerTypeAdapterFactory(new ModelTypeAdapterFactory(BLOCK_PACKAGES));
+        }
+        if ((flags & PRETTY_PRINTING) != 0) {
             gsonBuilder = gsonBuilder.setPrettyPrinting();
         }
         return gsonBuilder.create();
@@ -81,6 +81,86 @@ public class SlackConfigTest {
             fail();
         } catch (UnsupportedOperationException ignored) {
         }
+        try {
+            SlackConfig.DEFAULT.setHttpClientMaxIdleConnections(10);
+            fail();
+        } catch (UnsupportedOperationException ignored) {
+        }
+        try {
+            SlackConfig.DEFAULT.setHttpClientKeepAliveDurationMillis(1000L);
+            fail();
+        } catch (UnsupportedOperationException ignored) {
+        }
+        try {
+            SlackConfig.DEFAULT.setHttpClientMaxRequests(10);
+            fail();
+        } catch (UnsupportedOperationException ignored) {
+        }
+        try {
+            SlackConfig.DEFAULT.setHttpClientMaxRequestsPerHost(10);
+            fail();
+        } catch (UnsupportedOperationException ignored) {
+        }
+        try {
+            SlackConfig.DEFAULT.setHttpClientConnectTimeoutMillis(1000L);
+            fail();
+        } catch (UnsupportedOperationException ignored) {
+        }
+        try {
+            SlackConfig.DEFAULT.setHttpClientReadTimeoutMillis(1000L);
+            fail();
+        } catch (UnsupportedOperationException ignored) {
+        }
+        try {
+            SlackConfig.DEFAULT.setHttpClientWriteTimeoutMillis(1000L);
+            fail();
+        } catch (UnsupportedOperationException ignored) {
+        }
+        try {
+            SlackConfig.DEFAULT.setHttpClientCallTimeoutMillis(1000L);
+            fail();
+        } catch (UnsupportedOperationException ignored) {
+        }
+        try {
+            SlackConfig.DEFAULT.setHttpClientCallTimeoutMillisPerTier(Collections.emptyMap());
+            fail();
+        } catch (UnsupportedOperationException ignored) {
+        }
+        try {
+            SlackConfig.DEFAULT.setHttp2Enabled(false);
+            fail();
+        } catch (UnsupportedOperationException ignored) {
+        }
+        try {
+            SlackConfig.DEFAULT.setHttpClientCallTimingsEnabled(true);
+            fail();
+        } catch (UnsupportedOperationException ignored) {
+        }
+        try {
+            SlackConfig.DEFAULT.setHttpClientCallTimingsListeners(Collections.emptyList());
+            fail();
+        } catch (UnsupportedOperationException ignored) {
+        }
+        try {
+            SlackConfig.DEFAULT.setFilesDownloaderMaxConcurrency(1);
+            fail();
+        } catch (UnsupportedOperationException ignored) {
+        }
+        try {
+            SlackConfig.DEFAULT.setFilesDownloaderMaxResumeAttempts(1);
+            fail();
+        } catch (UnsupportedOperationException ignored) {
+        }
+        try {
+            SlackConfig.DEFAULT.setFilesDownloaderBufferSize(1024);
+            fail();
+        } catch (UnsupportedOperationException ignored) {
+        }
+        try {
+            SlackConfig.DEFAULT.setUnknownPropertyRecordingEnabled(true);
+            fail();
+        } catch (UnsupportedOperationException ignored) {
+        }
     }
 
 }
@@ -3,6 +3,7 @@ package test_locally;
 import com.slack.api.Slack;
 import com.slack.api.SlackConfig;
 import com.slack.api.audit.AuditClient;
+import com.slack.api.methods.MethodsRateLimitTier;
 import com.slack.api.methods.MethodsStats;
 import com.slack.api.methods.SlackApiException;
 import com.slack.api.methods.response.api.ApiTestResponse;
@@ -16,6 +17,7 @@ import util.MockSlackApiServer;
 import util.MockWebhookServer;
 
 import java.io.IOException;
+import java.util.Collections;
 
 import static com.slack.api.webhook.WebhookPayloads.payload;
 import static org.junit.Assert.*;
@@ -51,6 +53,30 @@ public class SlackTest {
         assertNull(response.getError());
     }
 
+    @Test
+    public void httpClientSettings() throws Exception {
+        MockSlackApiServer server = new MockSlackApiServer();
+        server.start();
+        try {
+            SlackConfig config = new SlackConfig();
+            config.setMethodsEndpointUrlPrefix(server.getMethodsEndpointPrefix());
+            config.setHttpClientMaxIdleConnections(10);
+            config.setHttpClientMaxRequests(100);
+            config.setHttpClientMaxRequestsPerHost(20);
+            config.setHttpClientCallTimeoutMillis(30000L);
+            config.setHttpClientCallTimeoutMillisPerTier(Collections.singletonMap(MethodsRateLimitTier.Tier2, 5000L));
+            config.setHttp2Enabled(false);
+            Slack slack = Slack.getInstance(config);
+
+            assertTrue(slack.methods(MockSlackApi.ValidToken).usersList(r -> r).isOk());
+            MethodsStats stats = slack.methodsStats("T1234567");
+            assertEquals(0, stats.getHttpClientQueuedCalls());
+            assertEquals(0, stats.getHttpClientRunningCalls());
+        } finally {
+            server.stop();
+        }
+    }
+
     @Test
     public void incomingWebhooks_text() throws Exception {
         MockWebhookServer webhookServer = new MockWebhookServer();
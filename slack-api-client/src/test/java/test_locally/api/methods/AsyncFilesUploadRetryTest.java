@@ -0,0 +1,113 @@
+package test_locally.api.methods;
+
+import com.slack.api.Slack;
+import com.slack.api.SlackConfig;
+import com.slack.api.methods.AsyncMethodsClient;
+import com.slack.api.methods.MethodsCompletionException;
+import com.slack.api.methods.MethodsConfig;
+import com.slack.api.methods.response.files.FilesUploadResponse;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.servlet.ServletHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import util.PortProvider;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+public class AsyncFilesUploadRetryTest {
+
+    static final AtomicInteger FILES_UPLOAD_CALLS = new AtomicInteger();
+
+    /**
+     * Rate-limits the first files.upload API call.
+     */
+    public static class RateLimitedUploadServlet extends HttpServlet {
+
+        @Override
+        protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            if (req.getRequestURI().endsWith("files.upload") && FILES_UPLOAD_CALLS.incrementAndGet() == 1) {
+                resp.setStatus(429);
+                resp.setHeader("Retry-After", "1");
+                return;
+            }
+            resp.setStatus(200);
+            resp.setContentType("application/json");
+            resp.getWriter().write("{\"ok\":true,\"team_id\":\"T1234567\",\"user_id\":\"U1234567\"}");
+        }
+    }
+
+    int port = PortProvider.getPort(AsyncFilesUploadRetryTest.class.getName());
+    Server server = new Server(port);
+    SlackConfig config = new SlackConfig();
+    Slack slack = Slack.getInstance(config);
+
+    @Before
+    public void setup() throws Exception {
+        ServletHandler handler = new ServletHandler();
+        handler.addServletWithMapping(RateLimitedUploadServlet.class, "/*");
+        server.setHandler(handler);
+        server.start();
+        config.setMethodsEndpointUrlPrefix("http://localhost:" + port + "/api/");
+        FILES_UPLOAD_CALLS.set(0);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop();
+    }
+
+    private AsyncMethodsClient client(String executorName, boolean nonBlockingHttpEnabled) {
+        MethodsConfig methodsConfig = new MethodsConfig();
+        methodsConfig.setExecutorName(executorName);
+        methodsConfig.setNonBlockingHttpEnabled(nonBlockingHttpEnabled);
+        config.setMethodsConfig(methodsConfig);
+        return slack.methodsAsync("xoxb-valid");
+    }
+
+    @Test
+    public void retried() throws Exception {
+        AsyncMethodsClient client = client("AsyncFilesUploadRetryTest_retried", false);
+        FilesUploadResponse response = client.filesUpload(r -> r.fileData("test".getBytes()).filename("test.txt"))
+                .get(10, TimeUnit.SECONDS);
+        assertThat(response.isOk(), is(true));
+        assertThat(FILES_UPLOAD_CALLS.get(), is(2));
+    }
+
+    private void notRetried(AsyncMethodsClient client) throws Exception {
+        try {
+            client.filesUpload(r -> r
+                    .fileStream(new ByteArrayInputStream("test".getBytes()))
+                    .fileLength(4L)
+                    .filename("test.txt")
+            ).get(10, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            MethodsCompletionException cause = (MethodsCompletionException) e.getCause();
+            assertThat(cause.getSlackApiException().getResponse().code(), is(429));
+        }
+        assertThat(FILES_UPLOAD_CALLS.get(), is(1));
+    }
+
+    @Test
+    public void fileStream() throws Exception {
+        notRetried(client("AsyncFilesUploadRetryTest_fileStream", false));
+    }
+
+    @Test
+    public void fileStream_nonBlocking() throws Exception {
+        notRetried(client("AsyncFilesUploadRetryTest_fileStream_nonBlocking", true));
+    }
+
+}
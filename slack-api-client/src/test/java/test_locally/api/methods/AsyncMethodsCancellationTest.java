@@ -0,0 +1,187 @@
+package test_locally.api.methods;
+
+import com.slack.api.Slack;
+import com.slack.api.SlackConfig;
+import com.slack.api.methods.*;
+import com.slack.api.methods.impl.AsyncRateLimitExecutor;
+import com.slack.api.methods.impl.AsyncRateLimitQueue;
+import com.slack.api.methods.impl.MethodsClientImpl;
+import com.slack.api.methods.response.apps.AppsUninstallResponse;
+import com.slack.api.methods.response.users.UsersInfoResponse;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.servlet.ServletHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import util.MockSlackApiServer;
+import util.PortProvider;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+import static util.MockSlackApi.ValidToken;
+
+public class AsyncMethodsCancellationTest {
+
+    // Responds to the calls except auth.test after the test finishes
+    public static class SlowMockApi extends HttpServlet {
+        static volatile CountDownLatch released = new CountDownLatch(1);
+
+        @Override
+        protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            resp.setContentType("application/json");
+            if (!req.getRequestURI().endsWith("auth.test")) {
+                try {
+                    released.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            resp.getWriter().write("{\"ok\":true,\"team_id\":\"T1234567\",\"user_id\":\"U1234567\"}");
+        }
+    }
+
+    MockSlackApiServer server = new MockSlackApiServer();
+    int slowServerPort = PortProvider.getPort(SlowMockApi.class.getName());
+    Server slowServer = new Server(slowServerPort);
+    SlackConfig config = new SlackConfig();
+    Slack slack = Slack.getInstance(config);
+
+    {
+        ServletHandler handler = new ServletHandler();
+        slowServer.setHandler(handler);
+        handler.addServletWithMapping(SlowMockApi.class, "/*");
+    }
+
+    @Before
+    public void setup() throws Exception {
+        SlowMockApi.released = new CountDownLatch(1);
+        server.start();
+        slowServer.start();
+        config.setMethodsEndpointUrlPrefix(server.getMethodsEndpointPrefix());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        SlowMockApi.released.countDown();
+        server.stop();
+        slowServer.stop();
+    }
+
+    private AsyncRateLimitExecutor createExecutor(String executorName, Map<MethodsRateLimitTier, Long> defaultTimeoutMillis) {
+        MethodsConfig methodsConfig = new MethodsConfig();
+        methodsConfig.setExecutorName(executorName);
+        // apps.uninstall is a Tier 1 method: the second call has to wait for a minute
+        methodsConfig.setTokenBucketRateLimiterEnabled(true);
+        methodsConfig.setDefaultTimeoutMillis(defaultTimeoutMillis);
+        config.setMethodsConfig(methodsConfig);
+        return AsyncRateLimitExecutor.getOrCreate((MethodsClientImpl) slack.methods(ValidToken), config);
+    }
+
+    private static CompletableFuture<AppsUninstallResponse> appsUninstall(AsyncRateLimitExecutor executor) {
+        Map<String, String> params = new HashMap<>();
+        params.put("token", ValidToken);
+        return executor.execute(Methods.APPS_UNINSTALL, params, () -> {
+            AppsUninstallResponse response = new AppsUninstallResponse();
+            response.setOk(true);
+            return response;
+        });
+    }
+
+    private static int queueSize(String executorName) {
+        return AsyncRateLimitQueue.get(executorName, "T1234567").getCurrentActiveQueueSize(Methods.APPS_UNINSTALL);
+    }
+
+    @Test
+    public void cancel() throws Exception {
+        String executorName = "AsyncMethodsCancellationTest_cancel";
+        AsyncRateLimitExecutor executor = createExecutor(executorName, Collections.emptyMap());
+        assertThat(appsUninstall(executor).get(5, TimeUnit.SECONDS).isOk(), is(true));
+        CompletableFuture<AppsUninstallResponse> queued = appsUninstall(executor);
+        Thread.sleep(300L);
+        assertThat(queueSize(executorName), is(1));
+
+        assertThat(queued.cancel(true), is(true));
+        assertThat(queueSize(executorName), is(0));
+    }
+
+    @Test
+    public void defaultTimeout() throws Exception {
+        String executorName = "AsyncMethodsCancellationTest_defaultTimeout";
+        AsyncRateLimitExecutor executor = createExecutor(executorName,
+                Collections.singletonMap(MethodsRateLimitTier.Tier1, 500L));
+        assertThat(appsUninstall(executor).get(5, TimeUnit.SECONDS).isOk(), is(true));
+        CompletableFuture<AppsUninstallResponse> queued = appsUninstall(executor);
+        try {
+            queued.get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            MethodsCompletionException cause = (MethodsCompletionException) e.getCause();
+            assertThat(cause.getOtherException(), is(instanceOf(TimeoutException.class)));
+        }
+        assertThat(queueSize(executorName), is(0));
+    }
+
+    @Test
+    public void clientTimeout() throws Exception {
+        createExecutor("AsyncMethodsCancellationTest_clientTimeout", Collections.emptyMap());
+        AsyncMethodsClient client = slack.methodsAsync(ValidToken).withTimeout(500L, TimeUnit.MILLISECONDS);
+        assertThat(client.appsUninstall(r -> r.clientId("x").clientSecret("y")).get(5, TimeUnit.SECONDS).isOk(), is(true));
+        try {
+            client.appsUninstall(r -> r.clientId("x").clientSecret("y")).get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            MethodsCompletionException cause = (MethodsCompletionException) e.getCause();
+            assertThat(cause.getOtherException(), is(instanceOf(TimeoutException.class)));
+        }
+    }
+
+    private void cancelInFlight(String executorName, boolean nonBlockingHttpEnabled) throws Exception {
+        config.setMethodsEndpointUrlPrefix("http://localhost:" + slowServerPort + "/api/");
+        MethodsConfig methodsConfig = new MethodsConfig();
+        methodsConfig.setExecutorName(executorName);
+        methodsConfig.setNonBlockingHttpEnabled(nonBlockingHttpEnabled);
+        config.setMethodsConfig(methodsConfig);
+        AsyncMethodsClient client = slack.methodsAsync(ValidToken);
+        assertThat(client.authTest(r -> r).get(5, TimeUnit.SECONDS).isOk(), is(true));
+
+        CompletableFuture<UsersInfoResponse> inFlight = client.usersInfo(r -> r.user("U123"));
+        waitForRunningCalls(1);
+        assertThat(inFlight.cancel(true), is(true));
+        // the HTTP call is cancelled before the server responds
+        waitForRunningCalls(0);
+    }
+
+    private void waitForRunningCalls(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 3000L;
+        while (slack.getHttpClient().getRunningCallsCount() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        assertThat(slack.getHttpClient().getRunningCallsCount(), is(expected));
+    }
+
+    @Test
+    public void cancelInFlight_nonBlocking() throws Exception {
+        cancelInFlight("AsyncMethodsCancellationTest_cancelInFlight_nonBlocking", true);
+    }
+
+    @Test
+    public void cancelInFlight_blocking() throws Exception {
+        cancelInFlight("AsyncMethodsCancellationTest_cancelInFlight_blocking", false);
+    }
+
+}
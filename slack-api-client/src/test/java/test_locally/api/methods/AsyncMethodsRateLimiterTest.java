@@ -0,0 +1,59 @@
+package test_locally.api.methods;
+
+import com.slack.api.methods.MethodsConfig;
+import com.slack.api.methods.impl.AsyncMethodsRateLimiter;
+import com.slack.api.methods.metrics.RateLimitSnapshot;
+import com.slack.api.methods.metrics.impl.MemoryMetricsDatastore;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class AsyncMethodsRateLimiterTest {
+
+    static class SnapshotOnlyDatastore extends MemoryMetricsDatastore {
+        final AtomicInteger snapshotCalls = new AtomicInteger();
+
+        SnapshotOnlyDatastore() {
+            super(1);
+        }
+
+        @Override
+        public RateLimitSnapshot getRateLimitSnapshot(String executorName, String teamId, String methodName) {
+            snapshotCalls.incrementAndGet();
+            return new RateLimitSnapshot(50, 10, System.currentTimeMillis() + 10_000L);
+        }
+
+        @Override
+        public Integer getNumberOfLastMinuteRequests(String executorName, String teamId, String methodName) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Integer getNumberOfLastThreeSecondsRequests(String executorName, String teamId, String methodName) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Long getRateLimitedMethodRetryEpochMillis(String executorName, String teamId, String methodName) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    @Test
+    public void singleDatastoreCallPerWaitTime() {
+        SnapshotOnlyDatastore datastore = new SnapshotOnlyDatastore();
+        MethodsConfig config = new MethodsConfig();
+        config.setExecutorName("AsyncMethodsRateLimiterTest");
+        config.setMetricsDatastore(datastore);
+        AsyncMethodsRateLimiter rateLimiter = new AsyncMethodsRateLimiter(config);
+
+        rateLimiter.acquireWaitTime("T123", "users.info");
+        assertThat(datastore.snapshotCalls.get(), is(1));
+        rateLimiter.acquireWaitTimeForChatPostMessage("T123", "C123");
+        assertThat(datastore.snapshotCalls.get(), is(2));
+    }
+
+}
@@ -0,0 +1,119 @@
+package test_locally.api.methods;
+
+import com.slack.api.Slack;
+import com.slack.api.SlackConfig;
+import com.slack.api.methods.Methods;
+import com.slack.api.methods.MethodsConfig;
+import com.slack.api.methods.impl.AsyncRateLimitExecutor;
+import com.slack.api.methods.impl.MethodsClientImpl;
+import com.slack.api.methods.impl.ThreadPools;
+import com.slack.api.methods.response.apps.AppsUninstallResponse;
+import com.slack.api.methods.response.chat.ChatPostMessageResponse;
+import com.slack.api.methods.response.users.UsersInfoResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import util.MockSlackApiServer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static util.MockSlackApi.ValidToken;
+
+public class AsyncRateLimitExecutorTest {
+
+    MockSlackApiServer server = new MockSlackApiServer();
+    SlackConfig config = new SlackConfig();
+    Slack slack = Slack.getInstance(config);
+
+    @Before
+    public void setup() throws Exception {
+        server.start();
+        config.setMethodsEndpointUrlPrefix(server.getMethodsEndpointPrefix());
+        MethodsConfig methodsConfig = new MethodsConfig();
+        methodsConfig.setExecutorName("AsyncRateLimitExecutorTest");
+        methodsConfig.setDefaultThreadPoolSize(3);
+        config.setMethodsConfig(methodsConfig);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    public void chatPostMessage_10000_queued_calls_with_small_pool() throws Exception {
+        AsyncRateLimitExecutor executor = AsyncRateLimitExecutor.getOrCreate((MethodsClientImpl) slack.methods(ValidToken), config);
+        Set<String> workerThreadNames = ConcurrentHashMap.newKeySet();
+        List<CompletableFuture<ChatPostMessageResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            Map<String, String> params = new HashMap<>();
+            params.put("token", ValidToken);
+            params.put("channel", "C" + i);
+            futures.add(executor.execute(Methods.CHAT_POST_MESSAGE, params, () -> {
+                workerThreadNames.add(Thread.currentThread().getName());
+                ChatPostMessageResponse response = new ChatPostMessageResponse();
+                response.setOk(true);
+                return response;
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+        for (CompletableFuture<ChatPostMessageResponse> future : futures) {
+            assertThat(future.get().isOk(), is(true));
+        }
+        assertThat(workerThreadNames.size() <= 3, is(true));
+    }
+
+    @Test
+    public void deepQueue_doesNotOccupyWorkers() throws Exception {
+        MethodsConfig methodsConfig = new MethodsConfig();
+        methodsConfig.setExecutorName("AsyncRateLimitExecutorTest_deepQueue");
+        methodsConfig.setDefaultThreadPoolSize(2);
+        // apps.uninstall is a Tier 1 method: only the first call can run within a minute
+        methodsConfig.setTokenBucketRateLimiterEnabled(true);
+        config.setMethodsConfig(methodsConfig);
+        AsyncRateLimitExecutor executor = AsyncRateLimitExecutor.getOrCreate((MethodsClientImpl) slack.methods(ValidToken), config);
+        Map<String, String> params = new HashMap<>();
+        params.put("token", ValidToken);
+
+        List<CompletableFuture<AppsUninstallResponse>> queued = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            queued.add(executor.execute(Methods.APPS_UNINSTALL, params, () -> {
+                AppsUninstallResponse response = new AppsUninstallResponse();
+                response.setOk(true);
+                return response;
+            }));
+        }
+        try {
+            // The waiting calls are held as data, so the two workers are free for the other methods
+            UsersInfoResponse unrelated = executor.execute(Methods.USERS_INFO, params, () -> {
+                UsersInfoResponse response = new UsersInfoResponse();
+                response.setOk(true);
+                return response;
+            }).get(5, TimeUnit.SECONDS);
+            assertThat(unrelated.isOk(), is(true));
+
+            ThreadPoolExecutor pool = (ThreadPoolExecutor) ThreadPools.getDefault(methodsConfig);
+            long deadline = System.currentTimeMillis() + 5000L;
+            while (pool.getActiveCount() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10L);
+            }
+            assertThat(pool.getActiveCount(), is(0));
+            assertThat(queued.stream().filter(CompletableFuture::isDone).count() <= 1L, is(true));
+        } finally {
+            for (CompletableFuture<AppsUninstallResponse> future : queued) {
+                future.cancel(true);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+package test_locally.api.methods;
+
+import com.slack.api.Slack;
+import com.slack.api.SlackConfig;
+import com.slack.api.methods.*;
+import com.slack.api.methods.impl.AsyncRateLimitExecutor;
+import com.slack.api.methods.impl.MethodsClientImpl;
+import com.slack.api.methods.response.apps.AppsUninstallResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import util.MockSlackApiServer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+import static util.MockSlackApi.ValidToken;
+
+public class AsyncRateLimitQueueCapacityTest {
+
+    MockSlackApiServer server = new MockSlackApiServer();
+    SlackConfig config = new SlackConfig();
+    Slack slack = Slack.getInstance(config);
+
+    @Before
+    public void setup() throws Exception {
+        server.start();
+        config.setMethodsEndpointUrlPrefix(server.getMethodsEndpointPrefix());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop();
+    }
+
+    private AsyncRateLimitExecutor createExecutor(String executorName, MethodsQueueRejectionPolicy policy) {
+        MethodsConfig methodsConfig = new MethodsConfig();
+        methodsConfig.setExecutorName(executorName);
+        // apps.uninstall is a Tier 1 method: the second call has to wait for a minute
+        methodsConfig.setTokenBucketRateLimiterEnabled(true);
+        methodsConfig.setMaxQueueSize(1);
+        methodsConfig.setQueueRejectionPolicy(policy);
+        config.setMethodsConfig(methodsConfig);
+        return AsyncRateLimitExecutor.getOrCreate((MethodsClientImpl) slack.methods(ValidToken), config);
+    }
+
+    private static CompletableFuture<AppsUninstallResponse> appsUninstall(AsyncRateLimitExecutor executor) {
+        Map<String, String> params = new HashMap<>();
+        params.put("token", ValidToken);
+        return executor.execute(Methods.APPS_UNINSTALL, params, () -> {
+            AppsUninstallResponse response = new AppsUninstallResponse();
+            response.setOk(true);
+            return response;
+        });
+    }
+
+    private static void assertRejected(CompletableFuture<?> future) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            MethodsCompletionException cause = (MethodsCompletionException) e.getCause();
+            assertThat(cause.getOtherException(), is(instanceOf(RejectedExecutionException.class)));
+        }
+    }
+
+    @Test
+    public void failFast() throws Exception {
+        AsyncRateLimitExecutor executor = createExecutor("AsyncRateLimitQueueCapacityTest_failFast", MethodsQueueRejectionPolicy.FailFast);
+        assertThat(appsUninstall(executor).get(5, TimeUnit.SECONDS).isOk(), is(true));
+        CompletableFuture<AppsUninstallResponse> queued = appsUninstall(executor);
+        Thread.sleep(300L);
+        assertRejected(appsUninstall(executor));
+        assertThat(queued.isDone(), is(false));
+    }
+
+    @Test
+    public void dropOldest() throws Exception {
+        AsyncRateLimitExecutor executor = createExecutor("AsyncRateLimitQueueCapacityTest_dropOldest", MethodsQueueRejectionPolicy.DropOldest);
+        assertThat(appsUninstall(executor).get(5, TimeUnit.SECONDS).isOk(), is(true));
+        CompletableFuture<AppsUninstallResponse> dropped = appsUninstall(executor);
+        Thread.sleep(300L);
+        CompletableFuture<AppsUninstallResponse> queued = appsUninstall(executor);
+        assertRejected(dropped);
+        assertThat(queued.isDone(), is(false));
+    }
+
+    @Test
+    public void callerRuns() throws Exception {
+        AsyncRateLimitExecutor executor = createExecutor("AsyncRateLimitQueueCapacityTest_callerRuns", MethodsQueueRejectionPolicy.CallerRuns);
+        assertThat(appsUninstall(executor).get(5, TimeUnit.SECONDS).isOk(), is(true));
+        CompletableFuture<AppsUninstallResponse> queued = appsUninstall(executor);
+        Thread.sleep(300L);
+
+        // The overflowing call waits for the rate limiter in the caller's thread
+        AtomicReference<CompletableFuture<AppsUninstallResponse>> overflow = new AtomicReference<>();
+        Thread caller = new Thread(() -> overflow.set(appsUninstall(executor)));
+        caller.start();
+        caller.join(500L);
+        assertThat(caller.isAlive(), is(true));
+        assertThat(queued.isDone(), is(false));
+
+        MethodsStats stats = config.getMethodsConfig().getMetricsDatastore()
+                .getAllStats().get("AsyncRateLimitQueueCapacityTest_callerRuns").values().iterator().next();
+        assertThat(stats.getRejectedCalls().get(Methods.APPS_UNINSTALL), is(1L));
+
+        caller.interrupt();
+        caller.join(5000L);
+        try {
+            overflow.get().get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            MethodsCompletionException cause = (MethodsCompletionException) e.getCause();
+            assertThat(cause.getOtherException(), is(instanceOf(InterruptedException.class)));
+        }
+    }
+
+}
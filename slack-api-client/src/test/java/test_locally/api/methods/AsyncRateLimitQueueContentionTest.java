@@ -0,0 +1,117 @@
+package test_locally.api.methods;
+
+import com.slack.api.Slack;
+import com.slack.api.SlackConfig;
+import com.slack.api.methods.Methods;
+import com.slack.api.methods.MethodsConfig;
+import com.slack.api.methods.SlackApiResponse;
+import com.slack.api.methods.impl.AsyncRateLimitExecutor;
+import com.slack.api.methods.impl.AsyncRateLimitQueue;
+import com.slack.api.methods.impl.MethodsClientImpl;
+import com.slack.api.methods.response.api.ApiTestResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import util.MockSlackApiServer;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static util.MockSlackApi.ValidToken;
+
+@Slf4j
+public class AsyncRateLimitQueueContentionTest {
+
+    static final int PRODUCERS = 64;
+    static final int CALLS_PER_PRODUCER = 200;
+    static final List<String> METHOD_NAMES = Arrays.asList(
+            Methods.USERS_INFO,
+            Methods.CONVERSATIONS_INFO,
+            Methods.CONVERSATIONS_HISTORY,
+            Methods.REACTIONS_ADD,
+            Methods.CHAT_POST_MESSAGE
+    );
+
+    MockSlackApiServer server = new MockSlackApiServer();
+    SlackConfig config = new SlackConfig();
+    Slack slack = Slack.getInstance(config);
+
+    @Before
+    public void setup() throws Exception {
+        server.start();
+        config.setMethodsEndpointUrlPrefix(server.getMethodsEndpointPrefix());
+        MethodsConfig methodsConfig = new MethodsConfig();
+        methodsConfig.setExecutorName("AsyncRateLimitQueueContentionTest");
+        methodsConfig.setDefaultThreadPoolSize(8);
+        config.setMethodsConfig(methodsConfig);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    public void producers_64() throws Exception {
+        AsyncRateLimitExecutor executor = AsyncRateLimitExecutor.getOrCreate((MethodsClientImpl) slack.methods(ValidToken), config);
+        ExecutorService producers = Executors.newFixedThreadPool(PRODUCERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<CompletableFuture<SlackApiResponse>>>> producerResults = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            final int producer = p;
+            producerResults.add(producers.submit(() -> {
+                start.await();
+                List<CompletableFuture<SlackApiResponse>> futures = new ArrayList<>();
+                for (int i = 0; i < CALLS_PER_PRODUCER; i++) {
+                    Map<String, String> params = new HashMap<>();
+                    params.put("token", ValidToken);
+                    params.put("channel", "C" + producer);
+                    String methodName = METHOD_NAMES.get(i % METHOD_NAMES.size());
+                    futures.add(executor.execute(methodName, params, () -> {
+                        ApiTestResponse response = new ApiTestResponse();
+                        response.setOk(true);
+                        return response;
+                    }));
+                }
+                return futures;
+            }));
+        }
+        long startNanos = System.nanoTime();
+        start.countDown();
+        List<CompletableFuture<SlackApiResponse>> allFutures = new ArrayList<>();
+        for (Future<List<CompletableFuture<SlackApiResponse>>> result : producerResults) {
+            allFutures.addAll(result.get(60, TimeUnit.SECONDS));
+        }
+        CompletableFuture.allOf(allFutures.toArray(new CompletableFuture[0])).get(120, TimeUnit.SECONDS);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        producers.shutdown();
+
+        for (CompletableFuture<SlackApiResponse> future : allFutures) {
+            assertThat(future.get().isOk(), is(true));
+        }
+        assertThat(allFutures.size(), is(PRODUCERS * CALLS_PER_PRODUCER));
+        log.info("{} producers completed {} calls in {} ms", PRODUCERS, allFutures.size(), elapsedMillis);
+    }
+
+    @Test
+    public void heavyCancellation_compactsTombstones() {
+        AsyncRateLimitQueue queue = AsyncRateLimitQueue.getOrCreate(config.getMethodsConfig(), "T_CANCELLATION");
+        Map<String, String> params = new HashMap<>();
+        params.put("token", ValidToken);
+        for (long id = 1; id <= 10000; id++) {
+            queue.enqueue(id, "T_CANCELLATION", Methods.USERS_INFO, params, () -> null, null, new CompletableFuture<>());
+        }
+        // The head keeps waiting while most of the calls behind it are cancelled
+        for (long id = 2; id <= 10000; id++) {
+            if (id % 10 != 0) {
+                assertThat(queue.remove(Methods.USERS_INFO, id), is(true));
+            }
+        }
+        assertThat(queue.getCurrentActiveQueueSize(Methods.USERS_INFO), is(1001));
+        assertThat(queue.getNumberOfTombstones(Methods.USERS_INFO) <= 1001, is(true));
+    }
+
+}
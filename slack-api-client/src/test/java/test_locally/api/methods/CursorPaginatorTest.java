@@ -0,0 +1,168 @@
+package test_locally.api.methods;
+
+import com.slack.api.Slack;
+import com.slack.api.SlackConfig;
+import com.slack.api.methods.CursorPaginator;
+import com.slack.api.methods.MethodsCompletionException;
+import com.slack.api.methods.MethodsConfig;
+import com.slack.api.methods.response.conversations.ConversationsListResponse;
+import com.slack.api.model.Conversation;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.servlet.ServletHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import util.PortProvider;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+import static util.MockSlackApi.ValidToken;
+
+public class CursorPaginatorTest {
+
+    static final AtomicInteger PAGE_CALLS = new AtomicInteger();
+    static final AtomicInteger EXECUTORS = new AtomicInteger();
+
+    /**
+     * Serves conversations.list in three pages: [C1, C2], [C3], and [C4].
+     */
+    public static class PagesServlet extends HttpServlet {
+
+        @Override
+        protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            resp.setContentType("application/json");
+            if (req.getRequestURI().endsWith("auth.test")) {
+                resp.getWriter().write("{\"ok\":true,\"team_id\":\"T1234567\",\"user_id\":\"U1234567\"}");
+                return;
+            }
+            PAGE_CALLS.incrementAndGet();
+            String cursor = req.getParameter("cursor");
+            if (cursor == null || cursor.isEmpty()) {
+                resp.getWriter().write(page("{\"id\":\"C1\"},{\"id\":\"C2\"}", "c2"));
+            } else if (cursor.equals("c2")) {
+                resp.getWriter().write(page("{\"id\":\"C3\"}", "c3"));
+            } else if (cursor.equals("c3")) {
+                resp.getWriter().write(page("{\"id\":\"C4\"}", ""));
+            } else {
+                resp.getWriter().write("{\"ok\":false,\"error\":\"invalid_cursor\"}");
+            }
+        }
+
+        private static String page(String channels, String nextCursor) {
+            return "{\"ok\":true,\"channels\":[" + channels + "],\"response_metadata\":{\"next_cursor\":\"" + nextCursor + "\"}}";
+        }
+    }
+
+    int port = PortProvider.getPort(CursorPaginatorTest.class.getName());
+    Server server = new Server(port);
+    SlackConfig config = new SlackConfig();
+    Slack slack = Slack.getInstance(config);
+
+    @Before
+    public void setup() throws Exception {
+        ServletHandler handler = new ServletHandler();
+        handler.addServletWithMapping(PagesServlet.class, "/*");
+        server.setHandler(handler);
+        server.start();
+        config.setMethodsEndpointUrlPrefix("http://localhost:" + port + "/api/");
+        // The rate limiter's stats are kept per executor; the calls in the other tests must not slow down prefetching
+        String executorName = CursorPaginatorTest.class.getName() + "_" + EXECUTORS.incrementAndGet();
+        config.setMethodsConfig(MethodsConfig.builder().executorName(executorName).build());
+        PAGE_CALLS.set(0);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    public void stream() {
+        List<String> ids = CursorPaginator.conversationsList(slack.methods(ValidToken), r -> r.limit(2)).stream()
+                .map(Conversation::getId)
+                .collect(toList());
+        assertThat(ids, is(asList("C1", "C2", "C3", "C4")));
+        assertThat(PAGE_CALLS.get(), is(3));
+
+        List<String> asyncIds = CursorPaginator.conversationsList(slack.methodsAsync(ValidToken), r -> r.limit(2)).stream()
+                .map(Conversation::getId)
+                .collect(toList());
+        assertThat(asyncIds, is(asList("C1", "C2", "C3", "C4")));
+    }
+
+    @Test
+    public void noPrefetchWithBlockingClient() throws Exception {
+        Iterator<Conversation> items = CursorPaginator.conversationsList(slack.methods(ValidToken), r -> r).iterator();
+        assertThat(items.next().getId(), is("C1"));
+        Thread.sleep(300L);
+        assertThat(PAGE_CALLS.get(), is(1));
+    }
+
+    @Test
+    public void prefetchOnlyOnePage() throws Exception {
+        CursorPaginator<ConversationsListResponse, Conversation>.PageIterator pages =
+                CursorPaginator.conversationsList(slack.methodsAsync(ValidToken), r -> r).pages();
+        assertThat(pages.next().getChannels().size(), is(2));
+        long deadline = System.currentTimeMillis() + 3000L;
+        while (PAGE_CALLS.get() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        assertThat(PAGE_CALLS.get(), is(2));
+        // The consumer has not requested the second page yet
+        Thread.sleep(300L);
+        assertThat(PAGE_CALLS.get(), is(2));
+
+        assertThat(pages.next().getChannels().get(0).getId(), is("C3"));
+        assertThat(pages.next().getChannels().get(0).getId(), is("C4"));
+        assertThat(pages.hasNext(), is(false));
+        assertThat(PAGE_CALLS.get(), is(3));
+    }
+
+    @Test
+    public void unsuccessfulResponse() {
+        Iterator<Conversation> items = CursorPaginator.createBlocking(
+                cursor -> slack.methods(ValidToken).conversationsList(r -> r.cursor(cursor == null ? "c2" : "unknown")),
+                ConversationsListResponse::getChannels,
+                ConversationsListResponse::getResponseMetadata).iterator();
+        assertThat(items.next().getId(), is("C3"));
+        try {
+            items.next();
+            fail();
+        } catch (MethodsCompletionException e) {
+            assertThat(e.getOtherException().getMessage(), is("Got an unsuccessful response (error: invalid_cursor)"));
+        }
+    }
+
+    @Test
+    public void failedPage() {
+        CursorPaginator<ConversationsListResponse, Conversation>.PageIterator pages = CursorPaginator.create(
+                cursor -> {
+                    CompletableFuture<ConversationsListResponse> page = new CompletableFuture<>();
+                    page.completeExceptionally(new IOException("Connection reset"));
+                    return page;
+                },
+                ConversationsListResponse::getChannels,
+                ConversationsListResponse::getResponseMetadata).pages();
+        try {
+            pages.next();
+            fail();
+        } catch (MethodsCompletionException e) {
+            assertThat(e.getIoException().getMessage(), is("Connection reset"));
+        }
+        // The iteration ends instead of throwing the same error again
+        assertThat(pages.hasNext(), is(false));
+    }
+
+}
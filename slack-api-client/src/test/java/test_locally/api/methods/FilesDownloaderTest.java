@@ -0,0 +1,146 @@
+package test_locally.api.methods;
+
+import com.slack.api.Slack;
+import com.slack.api.SlackConfig;
+import com.slack.api.methods.FilesDownloader;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.servlet.ServletHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import util.PortProvider;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.fail;
+import static util.MockSlackApi.ValidToken;
+
+public class FilesDownloaderTest {
+
+    static final byte[] CONTENT = new byte[200 * 1024];
+
+    static {
+        for (int i = 0; i < CONTENT.length; i++) {
+            CONTENT[i] = (byte) i;
+        }
+    }
+
+    static final List<String> RANGES = new CopyOnWriteArrayList<>();
+
+    /**
+     * Serves CONTENT. The first request without a Range header is interrupted in the middle of the body.
+     */
+    public static class FileServlet extends HttpServlet {
+
+        @Override
+        protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            if (!("Bearer " + ValidToken).equals(req.getHeader("Authorization"))) {
+                resp.setStatus(403);
+                return;
+            }
+            resp.setHeader("ETag", "\"v1\"");
+            String range = req.getHeader("Range");
+            RANGES.add(range != null ? range : "");
+            if (range != null) {
+                int start = Integer.parseInt(range.substring("bytes=".length(), range.length() - 1));
+                resp.setStatus(206);
+                resp.setContentLength(CONTENT.length - start);
+                resp.getOutputStream().write(CONTENT, start, CONTENT.length - start);
+            } else if (req.getPathInfo().endsWith("interrupted") && RANGES.size() == 1) {
+                resp.setStatus(200);
+                resp.setContentLength(CONTENT.length);
+                resp.getOutputStream().write(CONTENT, 0, CONTENT.length / 2);
+                resp.flushBuffer();
+                throw new IOException("interrupted");
+            } else {
+                resp.setStatus(200);
+                resp.setContentLength(CONTENT.length);
+                resp.getOutputStream().write(CONTENT);
+            }
+        }
+    }
+
+    int port = PortProvider.getPort(FilesDownloaderTest.class.getName());
+    Server server = new Server(port);
+    String baseUrl = "http://localhost:" + port + "/files-pri/T1234567-F123/";
+    SlackConfig config = new SlackConfig();
+    Slack slack = Slack.getInstance(config);
+
+    @Before
+    public void setup() throws Exception {
+        ServletHandler handler = new ServletHandler();
+        handler.addServletWithMapping(FileServlet.class, "/*");
+        server.setHandler(handler);
+        server.start();
+        RANGES.clear();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop();
+        slack.close();
+    }
+
+    @Test
+    public void download_outputStream() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long bytes = slack.filesDownloader(ValidToken).download(baseUrl + "sample.bin", out);
+        assertThat(bytes, is((long) CONTENT.length));
+        assertArrayEquals(CONTENT, out.toByteArray());
+    }
+
+    @Test
+    public void download_resume() throws Exception {
+        Path path = Files.createTempFile("slack-files-downloader", ".bin");
+        try {
+            long bytes = slack.filesDownloader(ValidToken).download(baseUrl + "interrupted", path);
+            assertThat(bytes, is((long) CONTENT.length));
+            assertArrayEquals(CONTENT, Files.readAllBytes(path));
+            assertThat(RANGES.size(), is(2));
+            assertThat(RANGES.get(1).startsWith("bytes="), is(true));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void downloadAsync() throws Exception {
+        FilesDownloader downloader = slack.filesDownloader(ValidToken);
+        Path path1 = Files.createTempFile("slack-files-downloader", ".bin");
+        Path path2 = Files.createTempFile("slack-files-downloader", ".bin");
+        try {
+            CompletableFuture<Long> f1 = downloader.downloadAsync(baseUrl + "1.bin", path1);
+            CompletableFuture<Long> f2 = downloader.downloadAsync(baseUrl + "2.bin", path2);
+            assertThat(f1.get(), is((long) CONTENT.length));
+            assertThat(f2.get(), is((long) CONTENT.length));
+            assertArrayEquals(CONTENT, Files.readAllBytes(path2));
+        } finally {
+            Files.deleteIfExists(path1);
+            Files.deleteIfExists(path2);
+        }
+    }
+
+    @Test
+    public void download_forbidden() throws Exception {
+        try {
+            slack.filesDownloader("xoxb-invalid").download(baseUrl + "sample.bin", new ByteArrayOutputStream());
+            fail();
+        } catch (IOException e) {
+            assertThat(e.getMessage().contains("403"), is(true));
+        }
+        assertThat(RANGES.size(), is(0));
+    }
+
+}
@@ -7,14 +7,21 @@ import com.slack.api.methods.request.files.comments.FilesCommentsAddRequest;
 import com.slack.api.methods.request.files.comments.FilesCommentsDeleteRequest;
 import com.slack.api.methods.request.files.comments.FilesCommentsEditRequest;
 import com.slack.api.methods.response.files.FilesUploadResponse;
+import com.slack.api.util.http.StreamingRequestBody;
+import okhttp3.MultipartBody;
+import okio.Okio;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import util.MockSlackApiServer;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -94,6 +101,54 @@ public class FilesTest {
         assertThat(response.isOk(), is(true));
     }
 
+    @Test
+    public void fileUpload_path() throws Exception {
+        Path path = Paths.get("src/test/resources/sample.txt");
+        AtomicLong progress = new AtomicLong();
+        FilesUploadResponse response = slack.methods(ValidToken).filesUpload(r ->
+                r.filePath(path).title("sample.txt").filetype("plain/text")
+                        .progressListener((written, total, elapsed) -> progress.set(written)));
+        assertThat(response.isOk(), is(true));
+        assertThat(progress.get(), is(path.toFile().length()));
+
+        response = slack.methodsAsync(ValidToken).filesUpload(r ->
+                r.filePath(path).title("sample.txt").filetype("plain/text")).get();
+        assertThat(response.isOk(), is(true));
+    }
+
+    @Test
+    public void fileUpload_stream() throws Exception {
+        byte[] fileData = "This is a text data".getBytes();
+        AtomicLong progress = new AtomicLong();
+        FilesUploadResponse response = slack.methods(ValidToken).filesUpload(r ->
+                r.fileStream(new ByteArrayInputStream(fileData)).filename("sample.txt").title("sample.txt").filetype("plain/text")
+                        .progressListener((written, total, elapsed) -> progress.set(written)));
+        assertThat(response.isOk(), is(true));
+        assertThat(progress.get(), is((long) fileData.length));
+
+        response = slack.methodsAsync(ValidToken).filesUpload(r ->
+                r.fileSource(Okio.source(new ByteArrayInputStream(fileData))).fileLength((long) fileData.length)
+                        .filename("sample.txt").title("sample.txt").filetype("plain/text")).get();
+        assertThat(response.isOk(), is(true));
+    }
+
+    @Test
+    public void multipartBody_oneShot() {
+        byte[] fileData = "This is a text data".getBytes();
+        MultipartBody streamed = new MultipartBody.Builder().setType(MultipartBody.FORM)
+                .addFormDataPart("channels", "C123")
+                .addFormDataPart("file", "sample.txt",
+                        StreamingRequestBody.create(MultipartBody.FORM, new ByteArrayInputStream(fileData), null, null))
+                .build();
+        assertThat(StreamingRequestBody.toRequestBody(streamed).isOneShot(), is(true));
+
+        MultipartBody fromPath = new MultipartBody.Builder().setType(MultipartBody.FORM)
+                .addFormDataPart("file", "sample.txt",
+                        StreamingRequestBody.create(MultipartBody.FORM, Paths.get("src/test/resources/sample.txt"), null))
+                .build();
+        assertThat(StreamingRequestBody.toRequestBody(fromPath).isOneShot(), is(false));
+    }
+
     @Test
     public void fileComments() throws IOException, SlackApiException {
         assertTrue(slack.methods(ValidToken)
@@ -1,6 +1,8 @@
 package test_locally.api.methods;
 
 import com.slack.api.methods.MethodsConfig;
+import com.slack.api.methods.MethodsQueueRejectionPolicy;
+import com.slack.api.methods.cache.impl.MemoryResponseCacheStore;
 import org.junit.Test;
 
 import java.util.Collections;
@@ -37,4 +39,69 @@ public class MethodsConfigTest {
         MethodsConfig.DEFAULT_SINGLETON.setDefaultThreadPoolSize(123);
     }
 
+    @Test(expected = UnsupportedOperationException.class)
+    public void immutable_singleton_setNonBlockingHttpEnabled() {
+        MethodsConfig.DEFAULT_SINGLETON.setNonBlockingHttpEnabled(true);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void immutable_singleton_setTokenBucketRateLimiterEnabled() {
+        MethodsConfig.DEFAULT_SINGLETON.setTokenBucketRateLimiterEnabled(true);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void immutable_singleton_setMaxQueueSize() {
+        MethodsConfig.DEFAULT_SINGLETON.setMaxQueueSize(10);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void immutable_singleton_setQueueRejectionPolicy() {
+        MethodsConfig.DEFAULT_SINGLETON.setQueueRejectionPolicy(MethodsQueueRejectionPolicy.DropOldest);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void immutable_singleton_setDefaultThreadPoolTeamWeights() {
+        MethodsConfig.DEFAULT_SINGLETON.setDefaultThreadPoolTeamWeights(Collections.emptyMap());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void immutable_singleton_setDefaultTimeoutMillis() {
+        MethodsConfig.DEFAULT_SINGLETON.setDefaultTimeoutMillis(Collections.emptyMap());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void immutable_singleton_setJsonRequestBodyEnabled() {
+        MethodsConfig.DEFAULT_SINGLETON.setJsonRequestBodyEnabled(true);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void immutable_singleton_setTeamIdCacheMaxSize() {
+        MethodsConfig.DEFAULT_SINGLETON.setTeamIdCacheMaxSize(10);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void immutable_singleton_setTeamIdCacheTtlMillis() {
+        MethodsConfig.DEFAULT_SINGLETON.setTeamIdCacheTtlMillis(10L);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void immutable_singleton_setTeamIdCacheNegativeTtlMillis() {
+        MethodsConfig.DEFAULT_SINGLETON.setTeamIdCacheNegativeTtlMillis(10L);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void immutable_singleton_setResponseCacheTtlMillis() {
+        MethodsConfig.DEFAULT_SINGLETON.setResponseCacheTtlMillis(Collections.emptyMap());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void immutable_singleton_setResponseCacheStore() {
+        MethodsConfig.DEFAULT_SINGLETON.setResponseCacheStore(new MemoryResponseCacheStore());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void immutable_singleton_setCoalescedMethodNames() {
+        MethodsConfig.DEFAULT_SINGLETON.setCoalescedMethodNames(Collections.emptySet());
+    }
+
 }
@@ -0,0 +1,157 @@
+package test_locally.api.methods;
+
+import com.slack.api.Slack;
+import com.slack.api.SlackConfig;
+import com.slack.api.methods.MethodsCompletionException;
+import com.slack.api.methods.MethodsConfig;
+import com.slack.api.methods.PageNumberPaginator;
+import com.slack.api.methods.response.files.FilesListResponse;
+import com.slack.api.model.File;
+import com.slack.api.model.Paging;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.servlet.ServletHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import util.PortProvider;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.fail;
+import static util.MockSlackApi.ValidToken;
+
+public class PageNumberPaginatorTest {
+
+    static final AtomicInteger PAGE_CALLS = new AtomicInteger();
+    static final AtomicInteger CONCURRENT_CALLS = new AtomicInteger();
+    static final AtomicInteger MAX_CONCURRENT_CALLS = new AtomicInteger();
+
+    /**
+     * Serves files.list in five pages. Each page has one file whose ID is "F" + the page number.
+     * The later pages respond faster so that they complete before the earlier ones.
+     */
+    public static class FilesServlet extends HttpServlet {
+
+        @Override
+        protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            resp.setContentType("application/json");
+            if (req.getRequestURI().endsWith("auth.test")) {
+                resp.getWriter().write("{\"ok\":true,\"team_id\":\"T1234567\",\"user_id\":\"U1234567\"}");
+                return;
+            }
+            PAGE_CALLS.incrementAndGet();
+            MAX_CONCURRENT_CALLS.accumulateAndGet(CONCURRENT_CALLS.incrementAndGet(), Math::max);
+            try {
+                int page = Integer.parseInt(req.getParameter("page"));
+                Thread.sleep(60L * (6 - page));
+                resp.getWriter().write("{\"ok\":true,\"files\":[{\"id\":\"F" + page + "\"}]," +
+                        "\"paging\":{\"count\":1,\"total\":5,\"page\":" + page + ",\"pages\":5}}");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                CONCURRENT_CALLS.decrementAndGet();
+            }
+        }
+    }
+
+    int port = PortProvider.getPort(PageNumberPaginatorTest.class.getName());
+    Server server = new Server(port);
+    SlackConfig config = new SlackConfig();
+    Slack slack = Slack.getInstance(config);
+
+    @Before
+    public void setup() throws Exception {
+        ServletHandler handler = new ServletHandler();
+        handler.addServletWithMapping(FilesServlet.class, "/*");
+        server.setHandler(handler);
+        server.start();
+        config.setMethodsEndpointUrlPrefix("http://localhost:" + port + "/api/");
+        config.setMethodsConfig(MethodsConfig.builder().executorName(PageNumberPaginatorTest.class.getName()).build());
+        PAGE_CALLS.set(0);
+        MAX_CONCURRENT_CALLS.set(0);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    public void inOrder() {
+        PageNumberPaginator<FilesListResponse, File> paginator = PageNumberPaginator.create(
+                page -> slack.methodsAsync(ValidToken).filesList(r -> r.count(1).page(page)),
+                FilesListResponse::getFiles,
+                FilesListResponse::getPaging,
+                3);
+        List<String> ids = paginator.stream().map(File::getId).collect(toList());
+        assertThat(ids, is(asList("F1", "F2", "F3", "F4", "F5")));
+        assertThat(PAGE_CALLS.get(), is(5));
+        assertThat(MAX_CONCURRENT_CALLS.get(), is(lessThanOrEqualTo(3)));
+    }
+
+    @Test
+    public void pages() {
+        PageNumberPaginator<FilesListResponse, File>.PageIterator pages =
+                PageNumberPaginator.filesList(slack.methodsAsync(ValidToken), r -> r.count(1)).pages();
+        int expectedPage = 1;
+        while (pages.hasNext()) {
+            assertThat(pages.next().getPaging().getPage(), is(expectedPage++));
+        }
+        assertThat(expectedPage, is(6));
+    }
+
+    @Test
+    public void failedPage() {
+        List<CompletableFuture<FilesListResponse>> requested = new ArrayList<>();
+        PageNumberPaginator<FilesListResponse, File>.PageIterator pages = PageNumberPaginator.<FilesListResponse, File>create(
+                page -> {
+                    CompletableFuture<FilesListResponse> response = new CompletableFuture<>();
+                    if (page == 1) {
+                        FilesListResponse first = new FilesListResponse();
+                        first.setOk(true);
+                        Paging paging = new Paging();
+                        paging.setPages(3);
+                        first.setPaging(paging);
+                        response.complete(first);
+                    } else if (page == 2) {
+                        response.completeExceptionally(new IOException("Connection reset"));
+                    }
+                    requested.add(response);
+                    return response;
+                },
+                FilesListResponse::getFiles,
+                FilesListResponse::getPaging,
+                2).pages();
+        pages.next();
+        try {
+            pages.next();
+            fail();
+        } catch (MethodsCompletionException e) {
+            assertThat(e.getIoException().getMessage(), is("Connection reset"));
+        }
+        // The iteration ends instead of skipping the failed page
+        assertThat(pages.hasNext(), is(false));
+        assertThat(requested.size(), is(3));
+        assertThat(requested.get(2).isCancelled(), is(true));
+    }
+
+    @Test
+    public void defaultConcurrency() {
+        assertThat(PageNumberPaginator.getDefaultConcurrency("search.messages"), is(2));
+        assertThat(PageNumberPaginator.getDefaultConcurrency("files.list"), is(5));
+        assertThat(PageNumberPaginator.getDefaultConcurrency("unknown.method"), is(1));
+    }
+
+}
@@ -0,0 +1,209 @@
+package test_locally.api.methods;
+
+import com.slack.api.Slack;
+import com.slack.api.SlackConfig;
+import com.slack.api.methods.AsyncMethodsClient;
+import com.slack.api.methods.MethodsClient;
+import com.slack.api.methods.MethodsConfig;
+import com.slack.api.methods.impl.RequestCoalescer;
+import com.slack.api.methods.response.users.UsersInfoResponse;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.servlet.ServletHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import util.PortProvider;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static util.MockSlackApi.ValidToken;
+
+public class RequestCoalescerTest {
+
+    static final AtomicInteger USERS_INFO_CALLS = new AtomicInteger();
+
+    /**
+     * Responds to users.info API calls slowly.
+     */
+    public static class SlowUsersServlet extends HttpServlet {
+
+        @Override
+        protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            resp.setContentType("application/json");
+            if (req.getRequestURI().endsWith("auth.test")) {
+                resp.getWriter().write("{\"ok\":true,\"team_id\":\"T1234567\",\"user_id\":\"U1234567\"}");
+                return;
+            }
+            USERS_INFO_CALLS.incrementAndGet();
+            try {
+                Thread.sleep(300L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            String user = req.getParameter("user");
+            resp.getWriter().write("{\"ok\":true,\"user\":{\"id\":\"" + user + "\",\"name\":\"user-" + user + "\"}}");
+        }
+    }
+
+    static final String EXECUTOR_NAME = RequestCoalescerTest.class.getName();
+
+    int port = PortProvider.getPort(RequestCoalescerTest.class.getName());
+    Server server = new Server(port);
+    SlackConfig config = new SlackConfig();
+    Slack slack = Slack.getInstance(config);
+    RequestCoalescer coalescer = RequestCoalescer.getOrCreate(EXECUTOR_NAME);
+
+    @Before
+    public void setup() throws Exception {
+        ServletHandler handler = new ServletHandler();
+        handler.addServletWithMapping(SlowUsersServlet.class, "/*");
+        server.setHandler(handler);
+        server.start();
+        config.setMethodsEndpointUrlPrefix("http://localhost:" + port + "/api/");
+        config.setMethodsConfig(MethodsConfig.builder()
+                .executorName(EXECUTOR_NAME)
+                .statsEnabled(false)
+                .coalescedMethodNames(Collections.singleton("users.info"))
+                .build());
+        USERS_INFO_CALLS.set(0);
+        coalescer.clearCounts();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    public void concurrentIdenticalCalls() throws Exception {
+        MethodsClient client = slack.methods(ValidToken);
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        try {
+            List<Future<UsersInfoResponse>> responses = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                responses.add(executor.submit(() -> client.usersInfo(r -> r.user("U111"))));
+            }
+            for (Future<UsersInfoResponse> response : responses) {
+                assertThat(response.get().getUser().getName(), is("user-U111"));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(USERS_INFO_CALLS.get(), is(1));
+        assertThat(coalescer.getMissCounts().get("users.info"), is(1L));
+        assertThat(coalescer.getHitCounts().get("users.info"), is(9L));
+    }
+
+    private void concurrentIdenticalAsyncCalls(String executorName, boolean nonBlockingHttpEnabled) throws Exception {
+        config.setMethodsConfig(MethodsConfig.builder()
+                .executorName(executorName)
+                .statsEnabled(false)
+                .tokenBucketRateLimiterEnabled(true)
+                .nonBlockingHttpEnabled(nonBlockingHttpEnabled)
+                .coalescedMethodNames(Collections.singleton("users.info"))
+                .build());
+        AsyncMethodsClient client = slack.methodsAsync(ValidToken);
+        List<CompletableFuture<UsersInfoResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            responses.add(client.usersInfo(r -> r.user("U111")));
+        }
+        // If each call went into the queue, the calls would spend 50 tokens of users.info (Tier 4)
+        // and most of them would wait for tens of seconds
+        for (CompletableFuture<UsersInfoResponse> response : responses) {
+            assertThat(response.get(5, TimeUnit.SECONDS).getUser().getName(), is("user-U111"));
+        }
+        assertThat(USERS_INFO_CALLS.get(), is(1));
+        RequestCoalescer asyncCoalescer = RequestCoalescer.getOrCreate(executorName);
+        assertThat(asyncCoalescer.getMissCounts().get("users.info"), is(1L));
+        assertThat(asyncCoalescer.getHitCounts().get("users.info"), is(49L));
+    }
+
+    @Test
+    public void concurrentIdenticalAsyncCalls() throws Exception {
+        concurrentIdenticalAsyncCalls(EXECUTOR_NAME + "_async", false);
+    }
+
+    @Test
+    public void concurrentIdenticalAsyncCalls_nonBlocking() throws Exception {
+        concurrentIdenticalAsyncCalls(EXECUTOR_NAME + "_async_nonBlocking", true);
+    }
+
+    @Test
+    public void errorInSharedRequest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch waiterJoined = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<UsersInfoResponse> owner = executor.submit(() -> coalescer.<UsersInfoResponse>coalesce("error-key", "users.info", () -> {
+                started.countDown();
+                try {
+                    waiterJoined.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new AssertionError("Failed!");
+            }));
+            started.await();
+            Future<UsersInfoResponse> waiter = executor.submit(() -> {
+                waiterJoined.countDown();
+                return coalescer.<UsersInfoResponse>coalesce("error-key", "users.info", UsersInfoResponse::new);
+            });
+            assertThat(causeOf(owner) instanceof AssertionError, is(true));
+            // The waiter either shared the failed request or sent its own after the failure
+            try {
+                waiter.get(5, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                assertThat(e.getCause() instanceof AssertionError, is(true));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static Throwable causeOf(Future<?> future) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+    }
+
+    @Test
+    public void differentParameters() throws Exception {
+        MethodsClient client = slack.methods(ValidToken);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<UsersInfoResponse> u1 = executor.submit(() -> client.usersInfo(r -> r.user("U111")));
+            Future<UsersInfoResponse> u2 = executor.submit(() -> client.usersInfo(r -> r.user("U222")));
+            Future<UsersInfoResponse> u1WithLocale = executor.submit(() -> client.usersInfo(r -> r.user("U111").includeLocale(true)));
+            Future<UsersInfoResponse> u2OtherToken = executor.submit(() -> slack.methods("xoxb-another").usersInfo(r -> r.user("U222")));
+            assertThat(u1.get().getUser().getName(), is("user-U111"));
+            assertThat(u2.get().getUser().getName(), is("user-U222"));
+            assertThat(u1WithLocale.get().getUser().getName(), is("user-U111"));
+            assertThat(u2OtherToken.get().getUser().getName(), is("user-U222"));
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(USERS_INFO_CALLS.get(), is(4));
+        assertThat(coalescer.getHitCounts().get("users.info"), is(nullValue()));
+    }
+
+}
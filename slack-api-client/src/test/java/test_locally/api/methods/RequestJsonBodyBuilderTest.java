@@ -0,0 +1,115 @@
+package test_locally.api.methods;
+
+import com.slack.api.Slack;
+import com.slack.api.SlackConfig;
+import com.slack.api.methods.AsyncMethodsClient;
+import com.slack.api.methods.MethodsConfig;
+import com.slack.api.methods.request.chat.ChatPostMessageRequest;
+import com.slack.api.methods.request.views.ViewsOpenRequest;
+import com.slack.api.model.block.SectionBlock;
+import com.slack.api.model.block.composition.MarkdownTextObject;
+import com.slack.api.model.view.View;
+import com.slack.api.util.http.SlackHttpClient;
+import okhttp3.OkHttpClient;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import util.MockSlackApiServer;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.slack.api.methods.RequestJsonBodyBuilder.toJsonBody;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static util.MockSlackApi.ValidToken;
+
+public class RequestJsonBodyBuilderTest {
+
+    MockSlackApiServer server = new MockSlackApiServer();
+    SlackConfig config = new SlackConfig();
+    Slack slack = Slack.getInstance(config);
+
+    @Before
+    public void setup() throws Exception {
+        server.start();
+        config.setMethodsEndpointUrlPrefix(server.getMethodsEndpointPrefix());
+        MethodsConfig methodsConfig = new MethodsConfig();
+        methodsConfig.setExecutorName("RequestJsonBodyBuilderTest");
+        methodsConfig.setJsonRequestBodyEnabled(true);
+        config.setMethodsConfig(methodsConfig);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop();
+    }
+
+    private static String readUtf8(RequestBody body) throws Exception {
+        Buffer buffer = new Buffer();
+        body.writeTo(buffer);
+        return buffer.readUtf8();
+    }
+
+    @Test
+    public void chatPostMessage() throws Exception {
+        ChatPostMessageRequest req = ChatPostMessageRequest.builder()
+                .token(ValidToken)
+                .channel("C123")
+                .text("Hi!")
+                .blocks(Collections.singletonList(SectionBlock.builder()
+                        .text(MarkdownTextObject.builder().text("*Hi!*").build())
+                        .build()))
+                .build();
+        RequestBody body = toJsonBody(req);
+        assertThat(body.contentType().toString(), startsWith("application/json"));
+        assertThat(readUtf8(body), is("{\"channel\":\"C123\",\"text\":\"Hi!\",\"link_names\":false,\"mrkdwn\":true," +
+                "\"blocks\":[{\"type\":\"section\",\"text\":{\"type\":\"mrkdwn\",\"text\":\"*Hi!*\"}}]," +
+                "\"unfurl_links\":false,\"unfurl_media\":false,\"reply_broadcast\":false}"));
+    }
+
+    @Test
+    public void viewsOpen_viewAsString() throws Exception {
+        ViewsOpenRequest req = ViewsOpenRequest.builder()
+                .triggerId("123.456")
+                .viewAsString("{\"type\":\"modal\"}")
+                .build();
+        assertThat(readUtf8(toJsonBody(req)), is("{\"trigger_id\":\"123.456\",\"view\":{\"type\":\"modal\"}}"));
+    }
+
+    @Test
+    public void jsonRequestBodyEnabled() throws Exception {
+        assertThat(slack.methods(ValidToken).chatPostMessage(r -> r.channel("C123").text("Hi!")).isOk(), is(true));
+        assertThat(slack.methods(ValidToken).chatUpdate(r -> r.channel("C123").ts("123.123").text("Hi!")).isOk(), is(true));
+        assertThat(slack.methods(ValidToken).viewsOpen(r -> r.triggerId("123.456").view(View.builder().type("modal").build())).isOk(), is(true));
+        assertThat(slack.methods(ValidToken).viewsPublish(r -> r.userId("U123").view(View.builder().type("home").build())).isOk(), is(true));
+    }
+
+    @Test
+    public void jsonRequestBodyEnabled_nonBlocking() throws Exception {
+        config.getMethodsConfig().setExecutorName("RequestJsonBodyBuilderTest_nonBlocking");
+        config.getMethodsConfig().setNonBlockingHttpEnabled(true);
+        List<String> contentTypes = new CopyOnWriteArrayList<>();
+        OkHttpClient okHttpClient = new OkHttpClient.Builder().addInterceptor(chain -> {
+            if (!chain.request().url().encodedPath().endsWith("auth.test")) {
+                contentTypes.add(chain.request().body().contentType().toString());
+            }
+            return chain.proceed(chain.request());
+        }).build();
+        AsyncMethodsClient client = Slack.getInstance(config, new SlackHttpClient(okHttpClient)).methodsAsync(ValidToken);
+
+        assertThat(client.chatPostMessage(r -> r.channel("C123").text("Hi!")).get().isOk(), is(true));
+        assertThat(client.chatUpdate(r -> r.channel("C123").ts("123.123").text("Hi!")).get().isOk(), is(true));
+        assertThat(client.viewsOpen(r -> r.triggerId("123.456").view(View.builder().type("modal").build())).get().isOk(), is(true));
+        assertThat(client.viewsPublish(r -> r.userId("U123").view(View.builder().type("home").build())).get().isOk(), is(true));
+        assertThat(contentTypes.size(), is(4));
+        for (String contentType : contentTypes) {
+            assertThat(contentType, startsWith("application/json"));
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+package test_locally.api.methods;
+
+import com.slack.api.methods.MethodsConfig;
+import com.slack.api.methods.impl.ThreadPools;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ThreadPoolsTest {
+
+    private static List<String> runTasks(MethodsConfig config) throws InterruptedException {
+        ExecutorService noisyTeam = ThreadPools.getOrCreate(config, "T_NOISY");
+        ExecutorService quietTeam = ThreadPools.getOrCreate(config, "T_QUIET");
+        List<String> executedTasks = new CopyOnWriteArrayList<>();
+        CountDownLatch blockerStarted = new CountDownLatch(1);
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch allDone = new CountDownLatch(51);
+        // occupy the only thread until all the tasks are submitted
+        noisyTeam.execute(() -> {
+            blockerStarted.countDown();
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        // the blocker must not take the turns of the tasks below
+        assertThat(blockerStarted.await(10, TimeUnit.SECONDS), is(true));
+        for (int i = 0; i < 50; i++) {
+            noisyTeam.execute(() -> {
+                executedTasks.add("T_NOISY");
+                allDone.countDown();
+            });
+        }
+        quietTeam.execute(() -> {
+            executedTasks.add("T_QUIET");
+            allDone.countDown();
+        });
+        blocker.countDown();
+        assertThat(allDone.await(10, TimeUnit.SECONDS), is(true));
+        return executedTasks;
+    }
+
+    @Test
+    public void roundRobin() throws Exception {
+        MethodsConfig config = new MethodsConfig();
+        config.setExecutorName("ThreadPoolsTest_roundRobin");
+        config.setDefaultThreadPoolSize(1);
+        List<String> executedTasks = runTasks(config);
+        assertThat(executedTasks.indexOf("T_QUIET"), is(1));
+    }
+
+    @Test
+    public void weights() throws Exception {
+        MethodsConfig config = new MethodsConfig();
+        config.setExecutorName("ThreadPoolsTest_weights");
+        config.setDefaultThreadPoolSize(1);
+        config.setDefaultThreadPoolTeamWeights(Collections.singletonMap("T_NOISY", 3));
+        List<String> executedTasks = runTasks(config);
+        assertThat(executedTasks.indexOf("T_QUIET"), is(3));
+    }
+
+    @Test
+    public void defaultIsThePool() {
+        MethodsConfig config = new MethodsConfig();
+        config.setExecutorName("ThreadPoolsTest_defaultIsThePool");
+        ExecutorService pool = ThreadPools.getDefault(config);
+        assertThat(pool instanceof ThreadPoolExecutor, is(true));
+        assertThat(ThreadPools.getOrCreate(config, null) == pool, is(true));
+        assertThat(ThreadPools.getOrCreate(config, "T123") == pool, is(false));
+    }
+
+}
@@ -0,0 +1,139 @@
+package test_locally.api.methods;
+
+import com.slack.api.Slack;
+import com.slack.api.SlackConfig;
+import com.slack.api.methods.AsyncMethodsClient;
+import com.slack.api.methods.MethodsConfig;
+import com.slack.api.methods.impl.TokenBucketAsyncMethodsRateLimiter;
+import com.slack.api.methods.impl.TokenBucketAsyncMethodsRateLimiter.TokenBucket;
+import com.slack.api.methods.response.auth.AuthTestResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import util.MockSlackApiServer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static util.MockSlackApi.ValidToken;
+
+public class TokenBucketRateLimiterTest {
+
+    MockSlackApiServer server = new MockSlackApiServer();
+    SlackConfig config = new SlackConfig();
+    Slack slack = Slack.getInstance(config);
+
+    @Before
+    public void setup() throws Exception {
+        server.start();
+        config.setMethodsEndpointUrlPrefix(server.getMethodsEndpointPrefix());
+        MethodsConfig methodsConfig = new MethodsConfig();
+        methodsConfig.setExecutorName("TokenBucketRateLimiterTest");
+        methodsConfig.setTokenBucketRateLimiterEnabled(true);
+        config.setMethodsConfig(methodsConfig);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    public void burstAndThenPaced() throws Exception {
+        AsyncMethodsClient client = slack.methodsAsync(ValidToken);
+        long startMillis = System.currentTimeMillis();
+        // auth.test: 600 requests per minute -> 60 tokens for bursts + 1 token per 100 millis
+        List<CompletableFuture<AuthTestResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 80; i++) {
+            futures.add(client.authTest(r -> r));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+        long elapsedMillis = System.currentTimeMillis() - startMillis;
+        for (CompletableFuture<AuthTestResponse> future : futures) {
+            assertThat(future.get().isOk(), is(true));
+        }
+        assertThat(elapsedMillis >= 1500L, is(true));
+    }
+
+    // 60 requests per minute -> 6 tokens for bursts + 1 token per second
+    private static long reserveAll(TokenBucket bucket, int count, long currentMillis) {
+        long waitMillis = 0L;
+        for (int i = 0; i < count; i++) {
+            waitMillis = bucket.reserve(currentMillis);
+        }
+        return waitMillis;
+    }
+
+    @Test
+    public void retryAfterPenalty() {
+        long now = 1_000_000L;
+        TokenBucket bucket = new TokenBucket(60, now);
+        assertThat(reserveAll(bucket, 6, now), is(0L));
+        assertThat(bucket.reserve(now), is(1000L));
+
+        // No refill until the Retry-After time, and then half the rate
+        bucket.penalize(now + 5000L, now);
+        assertThat(bucket.reserve(now), is(5000L + 4000L));
+        // The same Retry-After is applied only once
+        bucket.penalize(now + 5000L, now);
+        assertThat(bucket.reserve(now), is(5000L + 6000L));
+    }
+
+    @Test
+    public void recoveryAfterPenalty() {
+        long now = 1_000_000L;
+        TokenBucket bucket = new TokenBucket(60, now);
+        bucket.penalize(now, now);
+        assertThat(bucket.reserve(now), is(2000L));
+
+        // 10% of the ceiling rate recovers every minute
+        long oneMinuteLater = now + 60_000L;
+        assertThat(reserveAll(bucket, 6, oneMinuteLater), is(0L));
+        assertThat(bucket.reserve(oneMinuteLater), is(1667L));
+        assertThat(bucket.expireIfIdle(oneMinuteLater + 60_000L), is(false));
+
+        long tenMinutesLater = now + 600_000L;
+        assertThat(reserveAll(bucket, 6, tenMinutesLater), is(0L));
+        assertThat(bucket.reserve(tenMinutesLater), is(1000L));
+    }
+
+    @Test
+    public void idleBucketRemoval() {
+        TokenBucketAsyncMethodsRateLimiter rateLimiter = new TokenBucketAsyncMethodsRateLimiter(config.getMethodsConfig());
+        for (int i = 0; i < 100; i++) {
+            rateLimiter.acquireWaitTimeForChatPostMessage("T123", "C" + i);
+        }
+        assertThat(rateLimiter.getNumberOfBuckets(), is(100));
+        // still refilling
+        rateLimiter.removeIdleBuckets(System.currentTimeMillis());
+        assertThat(rateLimiter.getNumberOfBuckets(), is(100));
+
+        rateLimiter.removeIdleBuckets(System.currentTimeMillis() + 60_000L);
+        assertThat(rateLimiter.getNumberOfBuckets(), is(0));
+        rateLimiter.acquireWaitTimeForChatPostMessage("T123", "C0");
+        assertThat(rateLimiter.getNumberOfBuckets(), is(1));
+    }
+
+    @Test
+    public void unlimitedBucketKept() {
+        TokenBucketAsyncMethodsRateLimiter rateLimiter = new TokenBucketAsyncMethodsRateLimiter(config.getMethodsConfig());
+        // a method without any known tier shares the unlimited bucket
+        rateLimiter.acquireWaitTime("T123", "unknown.method");
+        assertThat(rateLimiter.getNumberOfBuckets(), is(1));
+        rateLimiter.removeIdleBuckets(System.currentTimeMillis() + 60_000L);
+        assertThat(rateLimiter.getNumberOfBuckets(), is(1));
+    }
+
+    @Test
+    public void expiredBucket() {
+        long now = 1_000_000L;
+        TokenBucket bucket = new TokenBucket(60, now);
+        assertThat(bucket.expireIfIdle(now), is(true));
+        assertThat(bucket.reserve(now), is(TokenBucket.EXPIRED));
+    }
+
+}
@@ -0,0 +1,38 @@
+package test_locally.api.methods.metrics;
+
+import com.slack.api.methods.MethodsCallTimings;
+import com.slack.api.methods.metrics.LatencyHistogram;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void empty() {
+        MethodsCallTimings.Latency latency = new LatencyHistogram().toLatency();
+        assertEquals(0L, latency.getCount());
+        assertEquals(0.0d, latency.getP99Millis(), 0.0d);
+    }
+
+    @Test
+    public void percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+        }
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(500));
+        MethodsCallTimings.Latency latency = histogram.toLatency();
+
+        assertEquals(100L, latency.getCount());
+        // 3 ms is in the bucket [2.048 ms, 4.096 ms)
+        assertEquals(4.096d, latency.getP50Millis(), 0.0001d);
+        assertEquals(4.096d, latency.getP99Millis(), 0.0001d);
+        assertEquals(500.0d, latency.getMaxMillis(), 0.0001d);
+        assertTrue(latency.getMeanMillis() > 7.9d && latency.getMeanMillis() < 8.0d);
+    }
+
+}
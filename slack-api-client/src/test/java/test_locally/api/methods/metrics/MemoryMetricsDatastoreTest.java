@@ -51,6 +51,57 @@ public class MemoryMetricsDatastoreTest {
                 DEFAULT_SINGLETON_EXECUTOR_NAME, null, "chat.postMessage", "id");
     }
 
+    @Test
+    public void rateLimitedMethods() {
+        MemoryMetricsDatastore datastore = new MemoryMetricsDatastore(1);
+        String executor = DEFAULT_SINGLETON_EXECUTOR_NAME;
+        long retryAfter = System.currentTimeMillis() + 60_000L;
+        datastore.setRateLimitedMethodRetryEpochMillis(executor, "T123", "users.info", retryAfter);
+        datastore.setRateLimitedMethodRetryEpochMillis(executor, "T123", "users.list", 123L);
+        assertEquals(Long.valueOf(retryAfter), datastore.getRateLimitedMethodRetryEpochMillis(executor, "T123", "users.info"));
+        // already recovered
+        assertNull(datastore.getRateLimitedMethodRetryEpochMillis(executor, "T123", "users.list"));
+        assertNull(datastore.getStats(executor, "T123").getRateLimitedMethods().get("users.list"));
+    }
+
+    @Test
+    public void lastMinuteRequests() {
+        MemoryMetricsDatastore datastore = new MemoryMetricsDatastore(1);
+        String executor = DEFAULT_SINGLETON_EXECUTOR_NAME;
+        long now = System.currentTimeMillis();
+        datastore.addToLastMinuteRequests(executor, "T234", "users.info", now - 70_000L);
+        datastore.addToLastMinuteRequests(executor, "T234", "users.info", now - 10_000L);
+        datastore.addToLastMinuteRequests(executor, "T234", "users.info", now);
+        assertEquals(2, datastore.getNumberOfLastMinuteRequests(executor, "T234", "users.info").intValue());
+        assertEquals(1, datastore.getNumberOfLastThreeSecondsRequests(executor, "T234", "users.info").intValue());
+        assertEquals(2, datastore.getStats(executor, "T234").getLastMinuteRequests().get("users.info").intValue());
+    }
+
+    @Test
+    public void job_idleKeysLeaveActiveKeys() {
+        MemoryMetricsDatastore datastore = new MemoryMetricsDatastore(1);
+        String executor = MemoryMetricsDatastoreTest.class.getName();
+        datastore.setCurrentQueueSize(executor, "T345", "users.info", 0);
+        assertEquals(0, datastore.getNumberOfActiveMethodKeys());
+
+        datastore.addToWaitingMessageIds(executor, "T345", "users.info", "1");
+        datastore.addToWaitingMessageIds(executor, "T345", "users.info", "2");
+        datastore.deleteFromWaitingMessageIds(executor, "T345", "users.info", "1");
+        assertEquals(1, datastore.getNumberOfActiveMethodKeys());
+
+        MemoryMetricsDatastore.MaintenanceJob job = new MemoryMetricsDatastore.MaintenanceJob(datastore);
+        job.run();
+        // still has a waiting message
+        assertEquals(1, datastore.getNumberOfActiveMethodKeys());
+
+        datastore.deleteFromWaitingMessageIds(executor, "T345", "users.info", "2");
+        job.run();
+        assertEquals(0, datastore.getNumberOfActiveMethodKeys());
+        assertEquals(0, datastore.getStats(executor, "T345").getCurrentQueueSize().get("users.info").intValue());
+        job.run();
+        assertEquals(0, datastore.getNumberOfActiveMethodKeys());
+    }
+
     @Test
     public void threadGroupName() {
         MemoryMetricsDatastore datastore1 = new MemoryMetricsDatastore(1);
@@ -6,15 +6,20 @@ import com.slack.api.SlackConfig;
 import com.slack.api.methods.AsyncMethodsClient;
 import com.slack.api.methods.MethodsConfig;
 import com.slack.api.methods.MethodsStats;
+import com.slack.api.methods.metrics.RateLimitSnapshot;
 import com.slack.api.methods.metrics.impl.MemoryMetricsDatastore;
 import com.slack.api.methods.metrics.impl.RedisMetricsDatastore;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.util.JedisClusterCRC16;
 import util.MockSlackApiServer;
 
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 
 import static org.junit.Assert.*;
@@ -76,6 +81,11 @@ public class RedisMetricsDatastoreTest {
         assertNotNull(datastore.getStats("DEFAULT_SINGLETON_EXECUTOR", teamId));
     }
 
+    @Test
+    public void methodsStats_unknownTeam() {
+        assertNull(slack.methodsStats("unknown-executor", "T999"));
+    }
+
     @Test
     public void job() throws ExecutionException, InterruptedException {
         AsyncMethodsClient client = slack.methodsAsync(ValidToken);
@@ -88,6 +98,41 @@ public class RedisMetricsDatastoreTest {
         job.run();
     }
 
+    @Test
+    public void job_idleKeysLeaveActiveKeys() {
+        String executor = RedisMetricsDatastoreTest.class.getName();
+        datastore.setCurrentQueueSize(executor, "T123", "users.info", 0);
+        assertEquals(0, datastore.getNumberOfActiveMethodKeys());
+
+        datastore.addToWaitingMessageIds(executor, "T123", "users.info", "1");
+        assertEquals(1, datastore.getNumberOfActiveMethodKeys());
+        RedisMetricsDatastore.MaintenanceJob job = new RedisMetricsDatastore.MaintenanceJob(datastore);
+        job.run();
+        // visited only once even though a message is still waiting
+        assertEquals(0, datastore.getNumberOfActiveMethodKeys());
+        assertEquals(1, datastore.getStats(executor, "T123").getCurrentQueueSize().get("users.info").intValue());
+
+        datastore.deleteFromWaitingMessageIds(executor, "T123", "users.info", "1");
+        assertEquals(0, datastore.getNumberOfActiveMethodKeys());
+        assertEquals(0, datastore.getStats(executor, "T123").getCurrentQueueSize().get("users.info").intValue());
+    }
+
+    @Test
+    public void job_onlyChangedKeys() throws InterruptedException {
+        String executor = MethodsConfig.DEFAULT_SINGLETON_EXECUTOR_NAME;
+        datastore.addToLastMinuteRequests(executor, "T123", "users.info", System.currentTimeMillis() - 59_700L);
+        assertEquals(1, datastore.getNumberOfActiveMethodKeys());
+        RedisMetricsDatastore.MaintenanceJob job = new RedisMetricsDatastore.MaintenanceJob(datastore);
+        job.run();
+        // the requests in the last minute don't keep the key in the job
+        assertEquals(0, datastore.getNumberOfActiveMethodKeys());
+
+        Thread.sleep(500L);
+        // the expired request is removed when read
+        assertEquals(0, datastore.getRateLimitSnapshot(executor, "T123", "users.info").getLastMinuteRequests());
+        assertEquals(0, datastore.getNumberOfActiveMethodKeys());
+    }
+
     @Test
     public void increment() {
         String executor = MethodsConfig.DEFAULT_SINGLETON_EXECUTOR_NAME;
@@ -99,6 +144,102 @@ public class RedisMetricsDatastoreTest {
         datastore.setRateLimitedMethodRetryEpochMillis(executor, "T123", "auth.test", 123456L);
     }
 
+    @Test
+    public void lastMinuteRequests() {
+        String executor = MethodsConfig.DEFAULT_SINGLETON_EXECUTOR_NAME;
+        long now = System.currentTimeMillis();
+        datastore.addToLastMinuteRequests(executor, "T123", "chat.postMessage", now - 70_000L);
+        datastore.addToLastMinuteRequests(executor, "T123", "chat.postMessage", now - 10_000L);
+        datastore.addToLastMinuteRequests(executor, "T123", "chat.postMessage", now);
+        datastore.addToLastMinuteRequests(executor, "T123", "chat.postMessage", now);
+
+        assertEquals(3, datastore.getNumberOfLastMinuteRequests(executor, "T123", "chat.postMessage").intValue());
+        assertEquals(2, datastore.getNumberOfLastThreeSecondsRequests(executor, "T123", "chat.postMessage").intValue());
+        assertEquals(3, datastore.getLastMinuteRequests(executor, "T123", "chat.postMessage").size());
+
+        MethodsStats stats = datastore.getStats(executor, "T123");
+        assertEquals(3, stats.getLastMinuteRequests().get("chat.postMessage").intValue());
+    }
+
+    @Test
+    public void rateLimitSnapshot() {
+        String executor = MethodsConfig.DEFAULT_SINGLETON_EXECUTOR_NAME;
+        long now = System.currentTimeMillis();
+        datastore.addToLastMinuteRequests(executor, "T123", "users.info", now - 10_000L);
+        datastore.addToLastMinuteRequests(executor, "T123", "users.info", now);
+
+        RateLimitSnapshot snapshot = datastore.getRateLimitSnapshot(executor, "T123", "users.info");
+        assertEquals(2, snapshot.getLastMinuteRequests());
+        assertEquals(1, snapshot.getLastThreeSecondsRequests());
+        assertNull(snapshot.getRetryAfterEpochMillis());
+
+        datastore.setRateLimitedMethodRetryEpochMillis(executor, "T123", "users.info", now + 30_000L);
+        snapshot = datastore.getRateLimitSnapshot(executor, "T123", "users.info");
+        assertEquals(now + 30_000L, snapshot.getRetryAfterEpochMillis().longValue());
+
+        // already recovered
+        datastore.setRateLimitedMethodRetryEpochMillis(executor, "T123", "users.info", now - 1L);
+        assertNull(datastore.getRateLimitSnapshot(executor, "T123", "users.info").getRetryAfterEpochMillis());
+        assertNull(datastore.getStats(executor, "T123").getRateLimitedMethods().get("users.info"));
+    }
+
+    @Test
+    public void rateLimitSnapshot_script() {
+        String executor = MethodsConfig.DEFAULT_SINGLETON_EXECUTOR_NAME;
+        long now = System.currentTimeMillis();
+        datastore.addToLastMinuteRequests(executor, "T123", "users.info", now - 70_000L);
+        datastore.addToLastMinuteRequests(executor, "T123", "users.info", now);
+        assertEquals(1, datastore.getRateLimitSnapshot(executor, "T123", "users.info").getLastMinuteRequests());
+        assertTrue(datastore.isScriptingEnabled());
+
+        // the script is loaded again after the server has lost it
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.scriptFlush();
+        }
+        assertEquals(1, datastore.getRateLimitSnapshot(executor, "T123", "users.info").getLastMinuteRequests());
+        assertTrue(datastore.isScriptingEnabled());
+    }
+
+    @Test
+    public void rateLimitSnapshot_dataErrorKeepsScripting() {
+        String executor = MethodsConfig.DEFAULT_SINGLETON_EXECUTOR_NAME;
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.set("name@LastMinuteRequests@{" + executor + "@T123}@users.info", "not a sorted set");
+        }
+        try {
+            datastore.getRateLimitSnapshot(executor, "T123", "users.info");
+            fail();
+        } catch (JedisDataException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("WRONGTYPE"));
+        }
+        assertTrue(datastore.isScriptingEnabled());
+    }
+
+    @Test
+    public void scriptKeysShareHashSlot() {
+        String executor = "scriptKeysShareHashSlot";
+        datastore.addToLastMinuteRequests(executor, "T123", "users.info", System.currentTimeMillis());
+        try (Jedis jedis = jedisPool.getResource()) {
+            Set<String> keys = jedis.keys("*");
+            String windowKey = keys.stream().filter(k -> k.contains("@LastMinuteRequests@")).findFirst().get();
+            String statsKey = keys.stream().filter(k -> k.contains("@Stats@")).findFirst().get();
+            assertEquals(JedisClusterCRC16.getSlot(windowKey), JedisClusterCRC16.getSlot(statsKey));
+        }
+        // The hash tag doesn't change the executor name and the team ID in the stats
+        assertEquals(1, datastore.getStats(executor, "T123").getLastMinuteRequests().get("users.info").intValue());
+    }
+
+    @Test
+    public void job_rateLimitedMethods() {
+        String executor = MethodsConfig.DEFAULT_SINGLETON_EXECUTOR_NAME;
+        datastore.setRateLimitedMethodRetryEpochMillis(executor, "T123", "auth.test", 123456L);
+        datastore.setRateLimitedMethodRetryEpochMillis(executor, "T123", "users.info", System.currentTimeMillis() + 60_000L);
+        new RedisMetricsDatastore.MaintenanceJob(datastore).run();
+
+        assertNull(datastore.getRateLimitedMethodRetryEpochMillis(executor, "T123", "auth.test"));
+        assertNotNull(datastore.getRateLimitedMethodRetryEpochMillis(executor, "T123", "users.info"));
+    }
+
     @Test
     public void threadGroupName() {
         RedisMetricsDatastore datastore1 = new RedisMetricsDatastore("app1", jedisPool);
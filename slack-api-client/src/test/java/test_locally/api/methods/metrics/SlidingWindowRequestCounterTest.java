@@ -0,0 +1,82 @@
+package test_locally.api.methods.metrics;
+
+import com.slack.api.methods.metrics.LastMinuteRequests;
+import com.slack.api.methods.metrics.SlidingWindowRequestCounter;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class SlidingWindowRequestCounterTest {
+
+    static final long START = 1_600_000_000_000L;
+
+    @Test
+    public void record() {
+        SlidingWindowRequestCounter counter = new SlidingWindowRequestCounter();
+        for (int i = 0; i < 10; i++) {
+            counter.record(START + i * 100L);
+        }
+        assertEquals(10, counter.countLastMinute(START + 1_000L));
+        assertEquals(10, counter.countLastThreeSeconds(START + 1_000L));
+    }
+
+    @Test
+    public void burstWindowExpiration() {
+        SlidingWindowRequestCounter counter = new SlidingWindowRequestCounter();
+        counter.record(START);
+        counter.record(START + 2_000L);
+        assertEquals(2, counter.countLastThreeSeconds(START + 2_000L));
+        assertEquals(1, counter.countLastThreeSeconds(START + 4_000L));
+        assertEquals(0, counter.countLastThreeSeconds(START + 6_000L));
+        assertEquals(2, counter.countLastMinute(START + 6_000L));
+    }
+
+    @Test
+    public void minuteWindowExpiration() {
+        SlidingWindowRequestCounter counter = new SlidingWindowRequestCounter();
+        counter.record(START);
+        counter.record(START + 30_000L);
+        assertEquals(2, counter.countLastMinute(START + 59_000L));
+        assertEquals(1, counter.countLastMinute(START + 61_000L));
+        assertEquals(0, counter.countLastMinute(START + 91_000L));
+    }
+
+    @Test
+    public void longIdleTime() {
+        SlidingWindowRequestCounter counter = new SlidingWindowRequestCounter();
+        for (int i = 0; i < 100; i++) {
+            counter.record(START + i * 10L);
+        }
+        assertEquals(0, counter.countLastMinute(START + 3_600_000L));
+        assertEquals(0, counter.countLastThreeSeconds(START + 3_600_000L));
+        counter.record(START + 3_600_000L);
+        assertEquals(1, counter.countLastMinute(START + 3_600_000L));
+        assertEquals(1, counter.countLastThreeSeconds(START + 3_600_000L));
+    }
+
+    @Test
+    public void lateRecordAfterLongIdleTime() {
+        SlidingWindowRequestCounter counter = new SlidingWindowRequestCounter();
+        counter.record(START);
+        long now = START + 3_600_000L;
+        assertEquals(0, counter.countLastMinute(now));
+        // recorded slightly after the counter has moved on to the current bucket
+        counter.record(now - 10_000L);
+        counter.record(now - 1_000L);
+        assertEquals(2, counter.countLastMinute(now));
+        assertEquals(1, counter.countLastThreeSeconds(now));
+        assertEquals(2, counter.toLastMinuteRequests(now).size());
+        assertEquals(1, counter.countLastMinute(now + 55_000L));
+    }
+
+    @Test
+    public void toLastMinuteRequests() {
+        SlidingWindowRequestCounter counter = new SlidingWindowRequestCounter();
+        counter.record(START);
+        counter.record(START + 10_000L);
+        counter.record(START + 10_100L);
+        LastMinuteRequests requests = counter.toLastMinuteRequests(START + 20_000L);
+        assertEquals(3, requests.size());
+        assertEquals(1L, requests.stream().filter(t -> t == START).count());
+    }
+}
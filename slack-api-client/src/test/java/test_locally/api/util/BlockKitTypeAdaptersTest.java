@@ -0,0 +1,82 @@
+package test_locally.api.util;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.slack.api.SlackConfig;
+import com.slack.api.model.block.LayoutBlock;
+import com.slack.api.model.block.SectionBlock;
+import com.slack.api.model.block.UnknownBlock;
+import com.slack.api.model.block.composition.MarkdownTextObject;
+import com.slack.api.model.block.element.ButtonElement;
+import com.slack.api.util.json.GsonFactory;
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+public class BlockKitTypeAdaptersTest {
+
+    static final Type BLOCKS = new TypeToken<List<LayoutBlock>>() {
+    }.getType();
+
+    Gson gson = GsonFactory.createSnakeCase();
+
+    @Test
+    public void typeAsFirstProperty() {
+        String json = "[{\"type\":\"section\",\"block_id\":\"b1\"," +
+                "\"text\":{\"type\":\"mrkdwn\",\"text\":\"*Hi*\",\"verbatim\":false}," +
+                "\"accessory\":{\"type\":\"button\",\"action_id\":\"a1\",\"text\":{\"type\":\"plain_text\",\"text\":\"Click\"}}}]";
+        List<LayoutBlock> blocks = gson.fromJson(json, BLOCKS);
+        SectionBlock section = (SectionBlock) blocks.get(0);
+        assertThat(section.getBlockId(), is("b1"));
+        assertThat(((MarkdownTextObject) section.getText()).getText(), is("*Hi*"));
+        assertThat(((ButtonElement) section.getAccessory()).getActionId(), is("a1"));
+    }
+
+    @Test
+    public void streamingByDefault() {
+        // PolymorphicTypeAdapter can pass a block to this adapter without buffering it as a JsonObject
+        assertThat(gson.getAdapter(SectionBlock.class).getClass().getName(),
+                is("com.slack.api.util.json.ModelTypeAdapterFactory$Adapter"));
+        assertThat(gson.getAdapter(ButtonElement.class).getClass().getName(),
+                is("com.slack.api.util.json.ModelTypeAdapterFactory$Adapter"));
+    }
+
+    @Test
+    public void typeAsLastProperty() {
+        String typeFirst = "[{\"type\":\"section\",\"block_id\":\"b1\",\"text\":{\"type\":\"mrkdwn\",\"text\":\"*Hi*\"}}]";
+        String typeLast = "[{\"block_id\":\"b1\",\"text\":{\"text\":\"*Hi*\",\"type\":\"mrkdwn\"},\"type\":\"section\"}]";
+        List<LayoutBlock> expected = gson.fromJson(typeFirst, BLOCKS);
+        List<LayoutBlock> actual = gson.fromJson(typeLast, BLOCKS);
+        // TextObject doesn't implement equals, so the blocks are compared by their properties and JSON
+        SectionBlock section = (SectionBlock) actual.get(0);
+        assertThat(section.getBlockId(), is("b1"));
+        assertThat(((MarkdownTextObject) section.getText()).getText(), is("*Hi*"));
+        assertThat(gson.toJson(actual), is(gson.toJson(expected)));
+    }
+
+    @Test
+    public void unknownBlocks() {
+        String json = "[{\"type\":\"something_new\",\"block_id\":\"b1\"},{\"block_id\":\"b2\",\"type\":\"something_new\"}]";
+        List<LayoutBlock> blocks = gson.fromJson(json, BLOCKS);
+        assertThat(blocks.get(0), is(instanceOf(UnknownBlock.class)));
+        assertThat(((UnknownBlock) blocks.get(0)).getType(), is("something_new"));
+        assertThat(((UnknownBlock) blocks.get(1)).getBlockId(), is("b2"));
+
+        SlackConfig config = new SlackConfig();
+        config.setFailOnUnknownProperties(true);
+        try {
+            GsonFactory.createSnakeCase(config).fromJson(json, BLOCKS);
+            fail();
+        } catch (JsonParseException e) {
+            assertThat(e.getMessage(), is("Unsupported layout block type: something_new"));
+        }
+    }
+
+}
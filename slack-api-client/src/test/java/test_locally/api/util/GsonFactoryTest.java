@@ -0,0 +1,35 @@
+package test_locally.api.util;
+
+import com.google.gson.Gson;
+import com.slack.api.SlackConfig;
+import com.slack.api.util.json.GsonFactory;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class GsonFactoryTest {
+
+    @Test
+    public void sharedInstances() {
+        SlackConfig config = new SlackConfig();
+        assertThat(GsonFactory.createSnakeCase(config), is(sameInstance(GsonFactory.createSnakeCase(config))));
+        assertThat(GsonFactory.createSnakeCase(config), is(sameInstance(GsonFactory.createSnakeCase())));
+        assertThat(GsonFactory.createCamelCase(config), is(sameInstance(GsonFactory.createCamelCase(config))));
+        assertThat(GsonFactory.createCamelCase(config), is(not(sameInstance(GsonFactory.createSnakeCase(config)))));
+    }
+
+    @Test
+    public void configChanges() {
+        SlackConfig config = new SlackConfig();
+        Gson gson = GsonFactory.createSnakeCase(config);
+        config.setPrettyResponseLoggingEnabled(true);
+        Gson prettyPrinting = GsonFactory.createSnakeCase(config);
+        assertThat(prettyPrinting, is(not(sameInstance(gson))));
+        assertThat(prettyPrinting.toJson(new int[]{1}).contains("\n"), is(true));
+
+        config.setPrettyResponseLoggingEnabled(false);
+        assertThat(GsonFactory.createSnakeCase(config), is(sameInstance(gson)));
+    }
+
+}
@@ -0,0 +1,241 @@
+package test_locally.api.util;
+
+import com.google.gson.*;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.internal.bind.ReflectiveTypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.slack.api.SlackConfig;
+import com.slack.api.methods.SlackApiResponse;
+import com.slack.api.methods.response.chat.ChatPostMessageResponse;
+import com.slack.api.methods.response.conversations.ConversationsHistoryResponse;
+import com.slack.api.methods.response.conversations.ConversationsInfoResponse;
+import com.slack.api.methods.response.files.FilesInfoResponse;
+import com.slack.api.methods.response.users.UsersInfoResponse;
+import com.slack.api.methods.response.users.UsersListResponse;
+import com.slack.api.model.Message;
+import com.slack.api.model.block.ContextBlockElement;
+import com.slack.api.model.block.LayoutBlock;
+import com.slack.api.model.block.composition.TextObject;
+import com.slack.api.model.block.element.BlockElement;
+import com.slack.api.model.block.element.RichTextElement;
+import com.slack.api.util.json.*;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ModelTypeAdapterFactoryTest {
+
+    // The same settings as GsonFactory#createSnakeCase() except ModelTypeAdapterFactory
+    Gson reflective = new GsonBuilder()
+            .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+            .registerTypeAdapter(LayoutBlock.class, new GsonLayoutBlockFactory())
+            .registerTypeAdapter(TextObject.class, new GsonTextObjectFactory())
+            .registerTypeAdapter(ContextBlockElement.class, new GsonContextBlockElementFactory())
+            .registerTypeAdapter(BlockElement.class, new GsonBlockElementFactory())
+            .registerTypeAdapter(RichTextElement.class, new GsonRichTextElementFactory())
+            .create();
+    Gson gson = GsonFactory.createSnakeCase(modelTypeAdapterFactoryEnabled());
+
+    private static SlackConfig modelTypeAdapterFactoryEnabled() {
+        SlackConfig config = new SlackConfig();
+        config.setModelTypeAdapterFactoryEnabled(true);
+        return config;
+    }
+
+    @Test
+    public void adapters() {
+        assertThat(gson.getAdapter(Message.class), is(not(instanceOf(ReflectiveTypeAdapterFactory.Adapter.class))));
+        assertThat(reflective.getAdapter(Message.class), is(instanceOf(ReflectiveTypeAdapterFactory.Adapter.class)));
+    }
+
+    @Test
+    public void disabledByDefault() {
+        assertThat(GsonFactory.createSnakeCase().getAdapter(Message.class),
+                is(instanceOf(ReflectiveTypeAdapterFactory.Adapter.class)));
+        assertThat(GsonFactory.createSnakeCase(new SlackConfig()).getAdapter(Message.class),
+                is(instanceOf(ReflectiveTypeAdapterFactory.Adapter.class)));
+    }
+
+    @Test
+    public void sameResultsAsReflectiveAdapters() throws Exception {
+        verify("chat.postMessage", ChatPostMessageResponse.class);
+        verify("conversations.history", ConversationsHistoryResponse.class);
+        verify("conversations.info", ConversationsInfoResponse.class);
+        verify("files.info", FilesInfoResponse.class);
+        verify("users.info", UsersInfoResponse.class);
+        verify("users.list", UsersListResponse.class);
+    }
+
+    @Test
+    public void primitivesAndNulls() {
+        String json = "{\"ok\":\"true\",\"warning\":null,\"unknown_property\":{\"foo\":[1,2]}}";
+        ChatPostMessageResponse expected = reflective.fromJson(json, ChatPostMessageResponse.class);
+        ChatPostMessageResponse actual = gson.fromJson(json, ChatPostMessageResponse.class);
+        assertThat(actual, is(expected));
+        assertThat(actual.isOk(), is(true));
+        assertThat(gson.toJson(actual), is(reflective.toJson(expected)));
+    }
+
+    // ----------------------------------------------------------------
+    // Compared with Gson's reflective adapter
+    // ----------------------------------------------------------------
+
+    public static class UpperCaseAdapter extends TypeAdapter<String> {
+        @Override
+        public void write(JsonWriter out, String value) throws IOException {
+            out.value(value.toUpperCase());
+        }
+
+        @Override
+        public String read(JsonReader in) throws IOException {
+            return in.nextString().toLowerCase();
+        }
+    }
+
+    public static class QuotedLongSerializer implements JsonSerializer<Long>, JsonDeserializer<Long> {
+        @Override
+        public JsonElement serialize(Long src, Type typeOfSrc, JsonSerializationContext context) {
+            return new JsonPrimitive(String.valueOf(src));
+        }
+
+        @Override
+        public Long deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) {
+            return Long.valueOf(json.getAsString());
+        }
+    }
+
+    public static class QuotedIntFactory implements TypeAdapterFactory {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            return (TypeAdapter<T>) new TypeAdapter<Integer>() {
+                @Override
+                public void write(JsonWriter out, Integer value) throws IOException {
+                    out.value(String.valueOf(value));
+                }
+
+                @Override
+                public Integer read(JsonReader in) throws IOException {
+                    return Integer.valueOf(in.nextString());
+                }
+            };
+        }
+    }
+
+    public static class WrapperAdapter extends TypeAdapter<Wrapper> {
+        @Override
+        public void write(JsonWriter out, Wrapper value) throws IOException {
+            out.value(value.value);
+        }
+
+        @Override
+        public Wrapper read(JsonReader in) throws IOException {
+            Wrapper wrapper = new Wrapper();
+            wrapper.value = in.nextString();
+            return wrapper;
+        }
+    }
+
+    @JsonAdapter(WrapperAdapter.class)
+    public static class Wrapper {
+        private String value;
+    }
+
+    public static class Sample {
+        private double score;
+        @JsonAdapter(UpperCaseAdapter.class)
+        private String name;
+        @JsonAdapter(QuotedLongSerializer.class)
+        private Long createdAt;
+        @JsonAdapter(QuotedIntFactory.class)
+        private int count;
+        private Wrapper wrapper;
+    }
+
+    private static Gson createSampleGson(boolean modelTypeAdapterFactoryEnabled, boolean serializeSpecialFloatingPointValues) {
+        GsonBuilder builder = new GsonBuilder().setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES);
+        if (modelTypeAdapterFactoryEnabled) {
+            builder.registerTypeAdapterFactory(new ModelTypeAdapterFactory("test_locally.api.util"));
+        }
+        if (serializeSpecialFloatingPointValues) {
+            builder.serializeSpecialFloatingPointValues();
+        }
+        return builder.create();
+    }
+
+    private static String toJsonOrError(Gson gson, Object value) {
+        try {
+            return gson.toJson(value);
+        } catch (IllegalArgumentException e) {
+            return e.getClass().getName() + ": " + e.getMessage();
+        }
+    }
+
+    @Test
+    public void specialFloatingPointValues() {
+        for (double score : new double[]{Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 0.5D}) {
+            Sample sample = new Sample();
+            sample.score = score;
+            for (boolean serializeSpecialFloatingPointValues : new boolean[]{false, true}) {
+                String expected = toJsonOrError(createSampleGson(false, serializeSpecialFloatingPointValues), sample);
+                String actual = toJsonOrError(createSampleGson(true, serializeSpecialFloatingPointValues), sample);
+                assertThat(score + ", " + serializeSpecialFloatingPointValues, actual, is(expected));
+            }
+        }
+        Sample nan = new Sample();
+        nan.score = Double.NaN;
+        assertThat(toJsonOrError(createSampleGson(true, false), nan).startsWith(IllegalArgumentException.class.getName()), is(true));
+        assertThat(toJsonOrError(createSampleGson(true, true), nan), is("{\"score\":NaN,\"count\":\"0\"}"));
+    }
+
+    @Test
+    public void jsonAdapterAnnotations() {
+        Gson expectedGson = createSampleGson(false, false);
+        Gson actualGson = createSampleGson(true, false);
+        assertThat(actualGson.getAdapter(Sample.class), is(not(instanceOf(ReflectiveTypeAdapterFactory.Adapter.class))));
+
+        Sample sample = new Sample();
+        sample.name = "foo";
+        sample.createdAt = 1234567890L;
+        sample.count = 3;
+        sample.wrapper = new Wrapper();
+        sample.wrapper.value = "bar";
+        String expected = expectedGson.toJson(sample);
+        assertThat(actualGson.toJson(sample), is(expected));
+        assertThat(expected, is("{\"score\":0.0,\"name\":\"FOO\",\"created_at\":\"1234567890\",\"count\":\"3\",\"wrapper\":\"bar\"}"));
+
+        Sample parsed = actualGson.fromJson(expected, Sample.class);
+        assertThat(parsed.name, is("foo"));
+        assertThat(parsed.createdAt, is(1234567890L));
+        assertThat(parsed.count, is(3));
+        assertThat(parsed.wrapper.value, is("bar"));
+        assertThat(actualGson.toJson(parsed), is(expectedGson.toJson(expectedGson.fromJson(expected, Sample.class))));
+
+        // nulls
+        Sample empty = new Sample();
+        assertThat(actualGson.toJson(empty), is(expectedGson.toJson(empty)));
+        String nulls = "{\"name\":null,\"created_at\":null,\"wrapper\":null}";
+        assertThat(actualGson.toJson(actualGson.fromJson(nulls, Sample.class)),
+                is(expectedGson.toJson(expectedGson.fromJson(nulls, Sample.class))));
+    }
+
+    private <T extends SlackApiResponse> void verify(String methodName, Class<T> clazz) throws Exception {
+        String json = new String(Files.readAllBytes(Paths.get("../json-logs/samples/api/" + methodName + ".json")), StandardCharsets.UTF_8);
+        T expected = reflective.fromJson(json, clazz);
+        T actual = gson.fromJson(json, clazz);
+        assertThat(methodName, actual, is(expected));
+        assertThat(methodName, gson.toJson(actual), is(reflective.toJson(expected)));
+    }
+
+}
@@ -0,0 +1,91 @@
+package test_locally.api.util;
+
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.slack.api.SlackConfig;
+import com.slack.api.methods.response.chat.ChatPostMessageResponse;
+import com.slack.api.model.Message;
+import com.slack.api.util.json.GsonFactory;
+import com.slack.api.util.json.UnknownPropertyDetectionAdapterFactory;
+import com.slack.api.util.json.UnknownPropertyRecorder;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+public class UnknownPropertyDetectionTest {
+
+    static final String JSON = "{\"ok\":true,\"channel\":\"C123\",\"new_property\":1," +
+            "\"message\":{\"type\":\"message\",\"text\":\"Hi\",\"another_property\":{\"a\":[1]}}}";
+
+    @After
+    public void tearDown() {
+        UnknownPropertyRecorder.getInstance().clear();
+    }
+
+    @Test
+    public void failOnUnknownProperties() {
+        SlackConfig config = new SlackConfig();
+        config.setFailOnUnknownProperties(true);
+        // detected by ModelTypeAdapterFactory without modelTypeAdapterFactoryEnabled
+        assertThat(GsonFactory.createSnakeCase(config).getAdapter(ChatPostMessageResponse.class).getClass().getName(),
+                is("com.slack.api.util.json.ModelTypeAdapterFactory$Adapter"));
+        try {
+            GsonFactory.createSnakeCase(config).fromJson(JSON, ChatPostMessageResponse.class);
+            fail();
+        } catch (JsonParseException e) {
+            assertThat(e.getMessage(), is(getLegacyErrorMessage()));
+            assertThat(e.getMessage().startsWith("Unknown property detected: new_property in ok, warning, error, "), is(true));
+        }
+    }
+
+    // The message of UnknownPropertyDetectionAdapterFactory with Gson's reflective adapters
+    private static String getLegacyErrorMessage() {
+        Gson gson = new GsonBuilder()
+                .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+                .registerTypeAdapterFactory(new UnknownPropertyDetectionAdapterFactory())
+                .create();
+        try {
+            gson.fromJson(JSON, ChatPostMessageResponse.class);
+            throw new AssertionError("No error detected");
+        } catch (JsonParseException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Test
+    public void recording() throws Exception {
+        List<String> detected = new CopyOnWriteArrayList<>();
+        UnknownPropertyRecorder.Listener listener = (type, name) -> detected.add(type.getSimpleName() + "#" + name);
+        UnknownPropertyRecorder.getInstance().addListener(listener);
+        try {
+            SlackConfig config = new SlackConfig();
+            config.setUnknownPropertyRecordingEnabled(true);
+            for (int i = 0; i < 3; i++) {
+                ChatPostMessageResponse response = GsonFactory.createSnakeCase(config).fromJson(JSON, ChatPostMessageResponse.class);
+                assertThat(response.getMessage().getText(), is("Hi"));
+            }
+            Map<String, Map<String, Long>> counts = UnknownPropertyRecorder.getInstance().getCounts();
+            assertThat(counts.get(ChatPostMessageResponse.class.getName()).get("new_property"), is(3L));
+            assertThat(counts.get(Message.class.getName()).get("another_property"), is(3L));
+
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(3);
+            while (detected.size() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10L);
+            }
+            assertThat(detected.size(), is(2));
+        } finally {
+            UnknownPropertyRecorder.getInstance().removeListener(listener);
+        }
+    }
+
+}
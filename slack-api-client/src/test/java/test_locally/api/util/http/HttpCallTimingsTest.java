@@ -0,0 +1,98 @@
+package test_locally.api.util.http;
+
+import com.slack.api.Slack;
+import com.slack.api.SlackConfig;
+import com.slack.api.methods.Methods;
+import com.slack.api.methods.MethodsCallTimings;
+import com.slack.api.methods.MethodsConfig;
+import com.slack.api.util.http.SlackHttpClient;
+import com.slack.api.util.http.listener.HttpCallTimingsListener;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import util.MockSlackApiServer;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static util.MockSlackApi.ValidToken;
+
+public class HttpCallTimingsTest {
+
+    MockSlackApiServer server = new MockSlackApiServer();
+    SlackConfig config = new SlackConfig();
+    List<HttpCallTimingsListener.State> states = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setup() throws Exception {
+        server.start();
+        config.setMethodsEndpointUrlPrefix(server.getMethodsEndpointPrefix());
+        MethodsConfig methodsConfig = new MethodsConfig();
+        methodsConfig.setExecutorName("HttpCallTimingsTest");
+        config.setMethodsConfig(methodsConfig);
+        config.setHttpClientCallTimingsEnabled(true);
+        config.getHttpClientCallTimingsListeners().add(new HttpCallTimingsListener() {
+            @Override
+            public void accept(State state) {
+                states.add(state);
+            }
+        });
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    public void timings() throws Exception {
+        // the default listener logging responses needs the whole body in debug mode
+        config.getHttpClientResponseHandlers().clear();
+        Slack slack = Slack.getInstance(config);
+        assertThat(slack.methods(ValidToken).usersList(r -> r).isOk(), is(true));
+        assertThat(slack.methods(ValidToken).usersList(r -> r).isOk(), is(true));
+
+        HttpCallTimingsListener.State last = states.get(states.size() - 1);
+        assertThat(last.getMethodName(), is(Methods.USERS_LIST));
+        assertThat(last.getTeamId(), is("T1234567"));
+        assertThat(last.getTimings().getTimeToFirstByteNanos(), is(notNullValue()));
+        // the body is parsed while being read, and the parse time is recorded separately
+        assertThat(slack.getHttpClient().isResponseBodyRequiredByListeners(), is(false));
+        assertThat(last.getTimings().getBodyReadNanos(), is(notNullValue()));
+        assertThat(last.getTimings().getParseNanos(), is(notNullValue()));
+        assertThat(last.getTimings().isConnectionReused(), is(true));
+
+        MethodsCallTimings timings = slack.methodsStats("HttpCallTimingsTest", "T1234567")
+                .getCallTimings().get(Methods.USERS_LIST);
+        assertThat(timings.getCalls(), is(2L));
+        assertThat(timings.getParse().getCount(), is(2L));
+        assertThat(timings.getConnectionReuseRatio() > 0.0d, is(true));
+    }
+
+    @Test
+    public void customOkHttpClient() throws Exception {
+        AtomicInteger callEnds = new AtomicInteger();
+        OkHttpClient okHttpClient = new OkHttpClient.Builder().eventListener(new EventListener() {
+            @Override
+            public void callEnd(Call call) {
+                callEnds.incrementAndGet();
+            }
+        }).build();
+        config.getMethodsConfig().setExecutorName("HttpCallTimingsTest_customOkHttpClient");
+        Slack slack = Slack.getInstance(config, new SlackHttpClient(okHttpClient));
+        assertThat(slack.methods(ValidToken).usersList(r -> r).isOk(), is(true));
+
+        assertThat(callEnds.get(), is(greaterThan(0)));
+        HttpCallTimingsListener.State last = states.get(states.size() - 1);
+        assertThat(last.getMethodName(), is(Methods.USERS_LIST));
+        assertThat(last.getTimings().getTimeToFirstByteNanos(), is(notNullValue()));
+    }
+
+}
@@ -0,0 +1,81 @@
+package test_locally.api.util.http;
+
+import com.slack.api.Slack;
+import com.slack.api.SlackConfig;
+import com.slack.api.methods.response.users.UsersListResponse;
+import com.slack.api.util.http.listener.HttpResponseListener;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import util.MockSlackApiServer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static util.MockSlackApi.ValidToken;
+
+public class StreamingResponseParsingTest {
+
+    static class RecordingListener extends HttpResponseListener {
+        private final boolean responseBodyRequired;
+        private final List<String> bodies = new ArrayList<>();
+
+        RecordingListener(boolean responseBodyRequired) {
+            this.responseBodyRequired = responseBodyRequired;
+        }
+
+        @Override
+        public boolean isResponseBodyRequired(SlackConfig config) {
+            return responseBodyRequired;
+        }
+
+        @Override
+        public void accept(State state) {
+            bodies.add(state.getParsedResponseBody());
+        }
+    }
+
+    MockSlackApiServer server = new MockSlackApiServer();
+    SlackConfig config = new SlackConfig();
+    Slack slack = Slack.getInstance(config);
+
+    @Before
+    public void setup() throws Exception {
+        server.start();
+        config.setMethodsEndpointUrlPrefix(server.getMethodsEndpointPrefix());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    public void streaming() throws Exception {
+        RecordingListener listener = new RecordingListener(false);
+        config.getHttpClientResponseHandlers().clear();
+        config.getHttpClientResponseHandlers().add(listener);
+
+        UsersListResponse response = slack.methods(ValidToken).usersList(r -> r);
+        assertThat(response.isOk(), is(true));
+        assertThat(listener.bodies.size(), is(1));
+        assertThat(listener.bodies.get(0), is(nullValue()));
+    }
+
+    @Test
+    public void materialized() throws Exception {
+        RecordingListener streamingListener = new RecordingListener(false);
+        RecordingListener listener = new RecordingListener(true);
+        config.getHttpClientResponseHandlers().clear();
+        config.getHttpClientResponseHandlers().add(streamingListener);
+        config.getHttpClientResponseHandlers().add(listener);
+
+        UsersListResponse response = slack.methods(ValidToken).usersList(r -> r);
+        assertThat(response.isOk(), is(true));
+        assertThat(listener.bodies.get(0), is(notNullValue()));
+        assertThat(streamingListener.bodies.get(0), is(listener.bodies.get(0)));
+    }
+
+}
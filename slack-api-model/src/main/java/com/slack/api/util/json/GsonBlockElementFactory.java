@@ -1,6 +1,7 @@
 package com.slack.api.util.json;
 
 import com.google.gson.*;
+import com.google.gson.reflect.TypeToken;
 import com.slack.api.model.block.UnknownBlockElement;
 import com.slack.api.model.block.element.*;
 
@@ -13,7 +14,7 @@ import java.lang.reflect.Type;
  *
  * @see <a href="https://api.slack.com/reference/messaging/block-elements">Block Elements</a>
  */
-public class GsonBlockElementFactory implements JsonDeserializer<BlockElement>, JsonSerializer<BlockElement> {
+public class GsonBlockElementFactory implements JsonDeserializer<BlockElement>, JsonSerializer<BlockElement>, TypeAdapterFactory {
 
     private boolean failOnUnknownProperties;
 
@@ -40,6 +41,15 @@ public class GsonBlockElementFactory implements JsonDeserializer<BlockElement>,
         return context.serialize(src);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() != BlockElement.class) {
+            return null;
+        }
+        return (TypeAdapter<T>) new PolymorphicTypeAdapter<BlockElement>(gson, this::getContextBlockElementClassInstance);
+    }
+
     private Class<? extends BlockElement> getContextBlockElementClassInstance(String typeName) {
         switch (typeName) {
             case ButtonElement.TYPE:
@@ -1,6 +1,7 @@
 package com.slack.api.util.json;
 
 import com.google.gson.*;
+import com.google.gson.reflect.TypeToken;
 import com.slack.api.model.block.ContextBlockElement;
 import com.slack.api.model.block.UnknownContextBlockElement;
 import com.slack.api.model.block.composition.MarkdownTextObject;
@@ -15,7 +16,7 @@ import java.lang.reflect.Type;
  *
  * @see <a href="https://api.slack.com/reference/messaging/blocks#context">Context Blocks</a>
  */
-public class GsonContextBlockElementFactory implements JsonDeserializer<ContextBlockElement>, JsonSerializer<ContextBlockElement> {
+public class GsonContextBlockElementFactory implements JsonDeserializer<ContextBlockElement>, JsonSerializer<ContextBlockElement>, TypeAdapterFactory {
 
     private boolean failOnUnknownProperties;
 
@@ -42,6 +43,15 @@ public class GsonContextBlockElementFactory implements JsonDeserializer<ContextB
         return context.serialize(src);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() != ContextBlockElement.class) {
+            return null;
+        }
+        return (TypeAdapter<T>) new PolymorphicTypeAdapter<ContextBlockElement>(gson, this::getContextBlockElementClassInstance);
+    }
+
     private Class<? extends ContextBlockElement> getContextBlockElementClassInstance(String typeName) {
         switch (typeName) {
             case ImageElement.TYPE:
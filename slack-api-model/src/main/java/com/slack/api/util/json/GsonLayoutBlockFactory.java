@@ -1,6 +1,7 @@
 package com.slack.api.util.json;
 
 import com.google.gson.*;
+import com.google.gson.reflect.TypeToken;
 import com.slack.api.model.block.*;
 
 import java.lang.reflect.Type;
@@ -9,7 +10,7 @@ import java.lang.reflect.Type;
  * Factory for deserializing BlockKit elements from a
  * {@link com.slack.api.model.Message chat message response}.
  */
-public class GsonLayoutBlockFactory implements JsonDeserializer<LayoutBlock>, JsonSerializer<LayoutBlock> {
+public class GsonLayoutBlockFactory implements JsonDeserializer<LayoutBlock>, JsonSerializer<LayoutBlock>, TypeAdapterFactory {
 
     private final boolean failOnUnknownProperties;
 
@@ -62,4 +63,13 @@ public class GsonLayoutBlockFactory implements JsonDeserializer<LayoutBlock>, Js
     public JsonElement serialize(LayoutBlock src, Type typeOfSrc, JsonSerializationContext context) {
         return context.serialize(src);
     }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() != LayoutBlock.class) {
+            return null;
+        }
+        return (TypeAdapter<T>) new PolymorphicTypeAdapter<LayoutBlock>(gson, this::getLayoutClassInstance);
+    }
 }
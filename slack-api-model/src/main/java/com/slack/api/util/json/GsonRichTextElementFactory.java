@@ -1,6 +1,7 @@
 package com.slack.api.util.json;
 
 import com.google.gson.*;
+import com.google.gson.reflect.TypeToken;
 import com.slack.api.model.block.element.RichTextElement;
 import com.slack.api.model.block.element.RichTextSectionElement;
 import com.slack.api.model.block.element.RichTextUnknownElement;
@@ -12,7 +13,8 @@ import java.lang.reflect.Type;
  */
 public class GsonRichTextElementFactory implements
         JsonDeserializer<RichTextElement>,
-        JsonSerializer<RichTextElement> {
+        JsonSerializer<RichTextElement>,
+        TypeAdapterFactory {
 
     private final boolean failOnUnknownProperties;
 
@@ -39,6 +41,15 @@ public class GsonRichTextElementFactory implements
         return context.serialize(src);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() != RichTextElement.class) {
+            return null;
+        }
+        return (TypeAdapter<T>) new PolymorphicTypeAdapter<RichTextElement>(gson, this::detectElementClassFromType);
+    }
+
     // to be compatible with version 3.3.0 or older versions
     private static final GsonRichTextElementFactory LEGACY_SINGLETON = new GsonRichTextElementFactory(true);
 
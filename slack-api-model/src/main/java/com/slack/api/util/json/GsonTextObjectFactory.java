@@ -1,6 +1,7 @@
 package com.slack.api.util.json;
 
 import com.google.gson.*;
+import com.google.gson.reflect.TypeToken;
 import com.slack.api.model.block.composition.MarkdownTextObject;
 import com.slack.api.model.block.composition.PlainTextObject;
 import com.slack.api.model.block.composition.TextObject;
@@ -14,7 +15,7 @@ import java.lang.reflect.Type;
  *
  * @see <a href="https://api.slack.com/reference/messaging/composition-objects#text">Text Composition Objects</a>
  */
-public class GsonTextObjectFactory implements JsonDeserializer<TextObject>, JsonSerializer<TextObject> {
+public class GsonTextObjectFactory implements JsonDeserializer<TextObject>, JsonSerializer<TextObject>, TypeAdapterFactory {
 
     private boolean failOnUnknownProperties;
 
@@ -41,6 +42,15 @@ public class GsonTextObjectFactory implements JsonDeserializer<TextObject>, Json
         return context.serialize(src);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() != TextObject.class) {
+            return null;
+        }
+        return (TypeAdapter<T>) new PolymorphicTypeAdapter<TextObject>(gson, this::getTextObjectClassInstance);
+    }
+
     private Class<? extends TextObject> getTextObjectClassInstance(String typeName) {
         switch (typeName) {
             case PlainTextObject.TYPE:
@@ -0,0 +1,635 @@
+package com.slack.api.util.json;
+
+import com.google.gson.FieldNamingStrategy;
+import com.google.gson.Gson;
+import com.google.gson.JsonDeserializationContext;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonSerializationContext;
+import com.google.gson.JsonSerializer;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.internal.$Gson$Types;
+import com.google.gson.internal.Excluder;
+import com.google.gson.internal.bind.ReflectiveTypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.lang.reflect.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A type adapter factory for the data classes in this SDK that works as a lean alternative to Gson's reflective one.
+ * <p>
+ * The field bindings of a class are resolved only once when the adapter is created. Then, the boolean, int, long,
+ * double, and String fields are read from and written to the JSON stream directly with the typed accessors,
+ * without boxing values or going through a type adapter per property. The other fields are delegated to
+ * the adapters registered in the Gson instance. The field naming, exclusion, null handling, field-level
+ * {@link JsonAdapter} annotations, special floating point values, and skipping unknown properties are the same
+ * as Gson's reflective adapter. The classes annotated with {@link JsonAdapter} are left to Gson.
+ * <p>
+ * As this factory resolves the field types with Gson's internal API, the SDK enables it only for the Block Kit
+ * classes by default. See {@code SlackConfig#modelTypeAdapterFactoryEnabled}.
+ * <p>
+ * Unknown properties are passed to the {@link UnknownPropertyHandler} if it's given. As the known property names
+ * are resolved along with the field bindings, the detection costs only a map lookup per property.
+ * {@link UnknownPropertyDetectionAdapterFactory} doesn't affect the adapters created by this factory.
+ */
+public class ModelTypeAdapterFactory implements TypeAdapterFactory {
+
+    private final UnknownPropertyHandler unknownPropertyHandler;
+    private final List<String> packagePrefixes;
+
+    /**
+     * @param packagePrefixes the packages of the classes this factory creates adapters for
+     */
+    public ModelTypeAdapterFactory(String... packagePrefixes) {
+        this(null, packagePrefixes);
+    }
+
+    /**
+     * @param unknownPropertyHandler the handler of unknown properties (nullable)
+     * @param packagePrefixes        the packages of the classes this factory creates adapters for
+     */
+    public ModelTypeAdapterFactory(UnknownPropertyHandler unknownPropertyHandler, String... packagePrefixes) {
+        this.unknownPropertyHandler = unknownPropertyHandler;
+        List<String> prefixes = new ArrayList<>();
+        for (String prefix : packagePrefixes) {
+            prefixes.add(prefix.endsWith(".") ? prefix : prefix + ".");
+        }
+        this.packagePrefixes = Collections.unmodifiableList(prefixes);
+    }
+
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> raw = type.getRawType();
+        if (!isTarget(raw)) {
+            return null;
+        }
+        Constructor<? super T> constructor = getNoArgsConstructor(raw);
+        if (constructor == null) {
+            // Gson's reflective adapter instantiates such classes without calling any constructors
+            return null;
+        }
+        List<Binding> bindings = new ArrayList<>();
+        Map<String, Binding> readBindings = new HashMap<>();
+        // in the declaration order as the unknown property error lists them
+        Map<String, Binding> allNames = new LinkedHashMap<>();
+        TypeToken<?> current = type;
+        Class<?> currentRaw = raw;
+        while (currentRaw != Object.class) {
+            for (Field field : currentRaw.getDeclaredFields()) {
+                boolean serialize = isIncluded(gson.excluder(), field, true);
+                boolean deserialize = isIncluded(gson.excluder(), field, false);
+                if (!serialize && !deserialize) {
+                    continue;
+                }
+                field.setAccessible(true);
+                Type fieldType = $Gson$Types.resolve(current.getType(), currentRaw, field.getGenericType());
+                List<String> names = getFieldNames(gson.fieldNamingStrategy(), field);
+                Binding binding;
+                JsonAdapter annotation = field.getAnnotation(JsonAdapter.class);
+                if (annotation != null) {
+                    TypeAdapter<?> annotatedAdapter = createAnnotatedAdapter(gson, annotation, TypeToken.get(fieldType));
+                    if (annotatedAdapter == null) {
+                        return null;
+                    }
+                    binding = new ObjectBinding(gson, field, names.get(0), TypeToken.get(fieldType), annotatedAdapter);
+                } else {
+                    binding = createBinding(gson, field, names.get(0), TypeToken.get(fieldType));
+                }
+                for (String name : names) {
+                    if (allNames.put(name, binding) != null) {
+                        throw new IllegalArgumentException(raw + " declares multiple JSON fields named " + name);
+                    }
+                    if (deserialize) {
+                        readBindings.put(name, binding);
+                    }
+                }
+                if (serialize) {
+                    bindings.add(binding);
+                }
+            }
+            current = TypeToken.get($Gson$Types.resolve(current.getType(), currentRaw, currentRaw.getGenericSuperclass()));
+            currentRaw = current.getRawType();
+        }
+        return new Adapter<>(raw, constructor, bindings.toArray(new Binding[0]), readBindings,
+                allNames.keySet(), unknownPropertyHandler);
+    }
+
+    private boolean isTarget(Class<?> raw) {
+        if (raw.isInterface() || raw.isArray() || raw.isEnum() || raw.isPrimitive()
+                || Modifier.isAbstract(raw.getModifiers())
+                || raw.isAnonymousClass() || raw.isLocalClass()
+                || (raw.isMemberClass() && !Modifier.isStatic(raw.getModifiers()))
+                || raw.getTypeParameters().length > 0
+                || raw.isAnnotationPresent(JsonAdapter.class)) {
+            return false;
+        }
+        String name = raw.getName();
+        for (String prefix : packagePrefixes) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T> Constructor<T> getNoArgsConstructor(Class<T> type) {
+        try {
+            Constructor<T> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates the adapter specified by a field-level {@link JsonAdapter} in the same way as Gson does.
+     * Returns null if the specified class cannot be instantiated without Gson's internal constructors.
+     */
+    @SuppressWarnings("unchecked")
+    private static TypeAdapter<?> createAnnotatedAdapter(Gson gson, JsonAdapter annotation, TypeToken<?> fieldType) {
+        Constructor<?> constructor = getNoArgsConstructor(annotation.value());
+        if (constructor == null) {
+            return null;
+        }
+        Object instance;
+        try {
+            instance = constructor.newInstance();
+        } catch (InvocationTargetException e) {
+            throw new RuntimeException("Failed to invoke " + constructor + " with no args", e.getTargetException());
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new RuntimeException("Failed to invoke " + constructor + " with no args", e);
+        }
+        TypeAdapter<?> adapter;
+        boolean nullSafe = annotation.nullSafe();
+        if (instance instanceof TypeAdapter) {
+            adapter = (TypeAdapter<?>) instance;
+        } else if (instance instanceof TypeAdapterFactory) {
+            adapter = ((TypeAdapterFactory) instance).create(gson, fieldType);
+        } else if (instance instanceof JsonSerializer || instance instanceof JsonDeserializer) {
+            adapter = new TreeAdapter<>(gson, fieldType,
+                    instance instanceof JsonSerializer ? (JsonSerializer<Object>) instance : null,
+                    instance instanceof JsonDeserializer ? (JsonDeserializer<Object>) instance : null,
+                    nullSafe);
+            nullSafe = false;
+        } else {
+            throw new IllegalArgumentException("Invalid attempt to bind an instance of "
+                    + instance.getClass().getName() + " as a @JsonAdapter for " + fieldType.toString()
+                    + ". @JsonAdapter value must be a TypeAdapter, TypeAdapterFactory, JsonSerializer or JsonDeserializer.");
+        }
+        if (adapter != null && nullSafe) {
+            adapter = adapter.nullSafe();
+        }
+        return adapter;
+    }
+
+    private static boolean isIncluded(Excluder excluder, Field field, boolean serialize) {
+        return !excluder.excludeClass(field.getType(), serialize) && !excluder.excludeField(field, serialize);
+    }
+
+    private static List<String> getFieldNames(FieldNamingStrategy namingStrategy, Field field) {
+        SerializedName annotation = field.getAnnotation(SerializedName.class);
+        if (annotation == null) {
+            return Collections.singletonList(namingStrategy.translateName(field));
+        }
+        List<String> names = new ArrayList<>();
+        names.add(annotation.value());
+        Collections.addAll(names, annotation.alternate());
+        return names;
+    }
+
+    private static Binding createBinding(Gson gson, Field field, String name, TypeToken<?> fieldType) {
+        Class<?> type = field.getType();
+        if (type == boolean.class) {
+            return new BooleanBinding(field, name);
+        } else if (type == int.class) {
+            return new IntBinding(field, name);
+        } else if (type == long.class) {
+            return new LongBinding(field, name);
+        } else if (type == double.class) {
+            return new DoubleBinding(field, name, gson.getAdapter(double.class));
+        } else if (type == String.class) {
+            return new StringBinding(field, name);
+        } else {
+            return new ObjectBinding(gson, field, name, fieldType);
+        }
+    }
+
+    // ----------------------------------------------------------------
+
+    static final class Adapter<T> extends TypeAdapter<T> {
+
+        private final Class<?> type;
+        private final Constructor<? super T> constructor;
+        private final Binding[] bindings;
+        private final Map<String, Binding> readBindings;
+        private final Set<String> knownNames;
+        private final UnknownPropertyHandler unknownPropertyHandler;
+
+        Adapter(
+                Class<?> type,
+                Constructor<? super T> constructor,
+                Binding[] bindings,
+                Map<String, Binding> readBindings,
+                Set<String> knownNames,
+                UnknownPropertyHandler unknownPropertyHandler) {
+            this.type = type;
+            this.constructor = constructor;
+            this.bindings = bindings;
+            this.readBindings = readBindings;
+            this.knownNames = knownNames;
+            this.unknownPropertyHandler = unknownPropertyHandler;
+        }
+
+        @Override
+        public T read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            T instance = newInstance();
+            in.beginObject();
+            readProperties(in, instance);
+            return instance;
+        }
+
+        /**
+         * Returns true if {@link #readRemainingProperties(JsonReader, String, String)} accepts the property.
+         */
+        boolean acceptsStringProperty(String name) {
+            Binding binding = readBindings.get(name);
+            return binding == null || binding instanceof StringBinding;
+        }
+
+        /**
+         * Reads an object whose first property has already been consumed from the reader.
+         * This is used by {@link PolymorphicTypeAdapter} to avoid buffering the object after looking up its type.
+         */
+        T readRemainingProperties(JsonReader in, String name, String value) throws IOException {
+            T instance = newInstance();
+            Binding binding = readBindings.get(name);
+            if (binding == null) {
+                detectUnknownProperty(name);
+            } else {
+                try {
+                    ((StringBinding) binding).set(instance, value);
+                } catch (IllegalAccessException e) {
+                    throw new AssertionError(e);
+                }
+            }
+            readProperties(in, instance);
+            return instance;
+        }
+
+        @SuppressWarnings("unchecked")
+        private T newInstance() {
+            try {
+                return (T) constructor.newInstance();
+            } catch (InvocationTargetException e) {
+                throw new RuntimeException("Failed to invoke " + constructor + " with no args", e.getTargetException());
+            } catch (InstantiationException | IllegalAccessException e) {
+                throw new RuntimeException("Failed to invoke " + constructor + " with no args", e);
+            }
+        }
+
+        private void readProperties(JsonReader in, T instance) throws IOException {
+            try {
+                while (in.hasNext()) {
+                    String name = in.nextName();
+                    Binding binding = readBindings.get(name);
+                    if (binding == null) {
+                        detectUnknownProperty(name);
+                        in.skipValue();
+                    } else {
+                        binding.read(in, instance);
+                    }
+                }
+            } catch (IllegalStateException e) {
+                throw new JsonSyntaxException(e);
+            } catch (IllegalAccessException e) {
+                throw new AssertionError(e);
+            }
+            in.endObject();
+        }
+
+        private void detectUnknownProperty(String name) {
+            if (unknownPropertyHandler != null && !knownNames.contains(name)) {
+                unknownPropertyHandler.onUnknownProperty(type, name, knownNames);
+            }
+        }
+
+        @Override
+        public void write(JsonWriter out, T value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            try {
+                for (Binding binding : bindings) {
+                    binding.write(out, value);
+                }
+            } catch (IllegalAccessException e) {
+                throw new AssertionError(e);
+            }
+            out.endObject();
+        }
+    }
+
+    private abstract static class Binding {
+        protected final Field field;
+        protected final String name;
+
+        Binding(Field field, String name) {
+            this.field = field;
+            this.name = name;
+        }
+
+        abstract void read(JsonReader in, Object instance) throws IOException, IllegalAccessException;
+
+        abstract void write(JsonWriter out, Object instance) throws IOException, IllegalAccessException;
+    }
+
+    private static final class BooleanBinding extends Binding {
+        BooleanBinding(Field field, String name) {
+            super(field, name);
+        }
+
+        @Override
+        void read(JsonReader in, Object instance) throws IOException, IllegalAccessException {
+            JsonToken token = in.peek();
+            if (token == JsonToken.NULL) {
+                in.nextNull();
+            } else if (token == JsonToken.STRING) {
+                field.setBoolean(instance, Boolean.parseBoolean(in.nextString()));
+            } else {
+                field.setBoolean(instance, in.nextBoolean());
+            }
+        }
+
+        @Override
+        void write(JsonWriter out, Object instance) throws IOException, IllegalAccessException {
+            out.name(name).value(field.getBoolean(instance));
+        }
+    }
+
+    private static final class IntBinding extends Binding {
+        IntBinding(Field field, String name) {
+            super(field, name);
+        }
+
+        @Override
+        void read(JsonReader in, Object instance) throws IOException, IllegalAccessException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return;
+            }
+            try {
+                field.setInt(instance, in.nextInt());
+            } catch (NumberFormatException e) {
+                throw new JsonSyntaxException(e);
+            }
+        }
+
+        @Override
+        void write(JsonWriter out, Object instance) throws IOException, IllegalAccessException {
+            out.name(name).value(field.getInt(instance));
+        }
+    }
+
+    private static final class LongBinding extends Binding {
+        LongBinding(Field field, String name) {
+            super(field, name);
+        }
+
+        @Override
+        void read(JsonReader in, Object instance) throws IOException, IllegalAccessException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return;
+            }
+            try {
+                field.setLong(instance, in.nextLong());
+            } catch (NumberFormatException e) {
+                throw new JsonSyntaxException(e);
+            }
+        }
+
+        @Override
+        void write(JsonWriter out, Object instance) throws IOException, IllegalAccessException {
+            out.name(name).value(field.getLong(instance));
+        }
+    }
+
+    private static final class DoubleBinding extends Binding {
+        // Gson's double adapter, which knows if the special floating point values are allowed
+        private final TypeAdapter<Double> specialValueAdapter;
+
+        DoubleBinding(Field field, String name, TypeAdapter<Double> specialValueAdapter) {
+            super(field, name);
+            this.specialValueAdapter = specialValueAdapter;
+        }
+
+        @Override
+        void read(JsonReader in, Object instance) throws IOException, IllegalAccessException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return;
+            }
+            field.setDouble(instance, in.nextDouble());
+        }
+
+        @Override
+        void write(JsonWriter out, Object instance) throws IOException, IllegalAccessException {
+            double value = field.getDouble(instance);
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                out.name(name);
+                specialValueAdapter.write(out, value);
+            } else {
+                out.name(name).value(value);
+            }
+        }
+    }
+
+    private static final class StringBinding extends Binding {
+        StringBinding(Field field, String name) {
+            super(field, name);
+        }
+
+        @Override
+        void read(JsonReader in, Object instance) throws IOException, IllegalAccessException {
+            JsonToken token = in.peek();
+            if (token == JsonToken.NULL) {
+                in.nextNull();
+                field.set(instance, null);
+            } else if (token == JsonToken.BOOLEAN) {
+                field.set(instance, Boolean.toString(in.nextBoolean()));
+            } else {
+                field.set(instance, in.nextString());
+            }
+        }
+
+        void set(Object instance, String value) throws IllegalAccessException {
+            field.set(instance, value);
+        }
+
+        @Override
+        void write(JsonWriter out, Object instance) throws IOException, IllegalAccessException {
+            // JsonWriter omits the name as well when the value is null unless serializeNulls is enabled
+            out.name(name).value((String) field.get(instance));
+        }
+    }
+
+    private static final class ObjectBinding extends Binding {
+        private final Gson gson;
+        private final Type declaredType;
+        private final TypeAdapter<Object> adapter;
+        private final boolean primitive;
+        // Gson doesn't look up the adapter for the runtime type when the field has @JsonAdapter
+        private final boolean annotated;
+
+        ObjectBinding(Gson gson, Field field, String name, TypeToken<?> fieldType) {
+            this(gson, field, name, fieldType, null);
+        }
+
+        @SuppressWarnings("unchecked")
+        ObjectBinding(Gson gson, Field field, String name, TypeToken<?> fieldType, TypeAdapter<?> annotatedAdapter) {
+            super(field, name);
+            this.gson = gson;
+            this.declaredType = fieldType.getType();
+            this.annotated = annotatedAdapter != null;
+            this.adapter = (TypeAdapter<Object>) (annotated ? annotatedAdapter : gson.getAdapter(fieldType));
+            this.primitive = field.getType().isPrimitive();
+        }
+
+        @Override
+        void read(JsonReader in, Object instance) throws IOException, IllegalAccessException {
+            Object value = adapter.read(in);
+            if (value != null || !primitive) {
+                field.set(instance, value);
+            }
+        }
+
+        @Override
+        void write(JsonWriter out, Object instance) throws IOException, IllegalAccessException {
+            Object value = field.get(instance);
+            if (value == instance) {
+                return;
+            }
+            out.name(name);
+            chooseAdapter(value).write(out, value);
+        }
+
+        /**
+         * Picks the adapter for the runtime type in the same way as Gson's reflective adapter does.
+         */
+        @SuppressWarnings("unchecked")
+        private TypeAdapter<Object> chooseAdapter(Object value) {
+            if (annotated || value == null || value.getClass() == declaredType
+                    || !(declaredType == Object.class || declaredType instanceof TypeVariable<?> || declaredType instanceof Class<?>)) {
+                return adapter;
+            }
+            TypeAdapter<Object> runtimeTypeAdapter = (TypeAdapter<Object>) gson.getAdapter(value.getClass());
+            if (!isReflective(runtimeTypeAdapter)) {
+                return runtimeTypeAdapter;
+            } else if (!isReflective(adapter)) {
+                return adapter;
+            } else {
+                return runtimeTypeAdapter;
+            }
+        }
+
+        private static boolean isReflective(TypeAdapter<?> adapter) {
+            return adapter instanceof ReflectiveTypeAdapterFactory.Adapter || adapter instanceof Adapter;
+        }
+    }
+
+    /**
+     * Works as Gson's adapter for a {@link JsonSerializer} and/or {@link JsonDeserializer} given by {@link JsonAdapter}.
+     */
+    private static final class TreeAdapter<T> extends TypeAdapter<T>
+            implements JsonSerializationContext, JsonDeserializationContext {
+        private final Gson gson;
+        private final TypeToken<T> type;
+        private final JsonSerializer<T> serializer;
+        private final JsonDeserializer<T> deserializer;
+        private final boolean nullSafe;
+        private volatile TypeAdapter<T> delegate;
+
+        @SuppressWarnings("unchecked")
+        TreeAdapter(Gson gson, TypeToken<?> type, JsonSerializer<T> serializer, JsonDeserializer<T> deserializer, boolean nullSafe) {
+            this.gson = gson;
+            this.type = (TypeToken<T>) type;
+            this.serializer = serializer;
+            this.deserializer = deserializer;
+            this.nullSafe = nullSafe;
+        }
+
+        private TypeAdapter<T> delegate() {
+            TypeAdapter<T> d = delegate;
+            if (d == null) {
+                d = gson.getAdapter(type);
+                delegate = d;
+            }
+            return d;
+        }
+
+        @Override
+        public T read(JsonReader in) throws IOException {
+            if (deserializer == null) {
+                return delegate().read(in);
+            }
+            JsonElement value = gson.getAdapter(JsonElement.class).read(in);
+            if (nullSafe && value.isJsonNull()) {
+                return null;
+            }
+            return deserializer.deserialize(value, type.getType(), this);
+        }
+
+        @Override
+        public void write(JsonWriter out, T value) throws IOException {
+            if (serializer == null) {
+                delegate().write(out, value);
+                return;
+            }
+            if (nullSafe && value == null) {
+                out.nullValue();
+                return;
+            }
+            gson.getAdapter(JsonElement.class).write(out, serializer.serialize(value, type.getType(), this));
+        }
+
+        @Override
+        public JsonElement serialize(Object src) {
+            return gson.toJsonTree(src);
+        }
+
+        @Override
+        public JsonElement serialize(Object src, Type typeOfSrc) {
+            return gson.toJsonTree(src, typeOfSrc);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <R> R deserialize(JsonElement json, Type typeOfT) throws JsonParseException {
+            return (R) gson.fromJson(json, typeOfT);
+        }
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.slack.api.util.json;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.internal.bind.TypeAdapters;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * A streaming type adapter for the Block Kit interfaces whose implementation is determined by the "type" property.
+ * <p>
+ * When "type" is the first property of an object, the object is passed to the adapter for the concrete class
+ * without being buffered. Otherwise, the object is buffered as a {@link JsonObject} to find the "type" property.
+ */
+class PolymorphicTypeAdapter<T> extends TypeAdapter<T> {
+
+    private static final String TYPE = "type";
+
+    private final Gson gson;
+    private final Function<String, Class<? extends T>> classLookup;
+    private final ConcurrentMap<Class<? extends T>, TypeAdapter<? extends T>> delegates = new ConcurrentHashMap<>();
+
+    PolymorphicTypeAdapter(Gson gson, Function<String, Class<? extends T>> classLookup) {
+        this.gson = gson;
+        this.classLookup = classLookup;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        in.beginObject();
+        JsonObject buffered = new JsonObject();
+        if (in.hasNext()) {
+            String firstName = in.nextName();
+            if (firstName.equals(TYPE) && in.peek() == JsonToken.STRING) {
+                String typeName = in.nextString();
+                TypeAdapter<? extends T> delegate = getDelegate(typeName);
+                if (delegate instanceof ModelTypeAdapterFactory.Adapter
+                        && ((ModelTypeAdapterFactory.Adapter<? extends T>) delegate).acceptsStringProperty(TYPE)) {
+                    return ((ModelTypeAdapterFactory.Adapter<? extends T>) delegate).readRemainingProperties(in, TYPE, typeName);
+                }
+                buffered.addProperty(TYPE, typeName);
+            } else {
+                buffered.add(firstName, TypeAdapters.JSON_ELEMENT.read(in));
+            }
+        }
+        while (in.hasNext()) {
+            buffered.add(in.nextName(), TypeAdapters.JSON_ELEMENT.read(in));
+        }
+        in.endObject();
+
+        JsonElement type = buffered.get(TYPE);
+        if (type == null || !type.isJsonPrimitive()) {
+            throw new JsonParseException("The type property is missing in " + in.getPath());
+        }
+        return getDelegate(type.getAsString()).fromJsonTree(buffered);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void write(JsonWriter out, T value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        TypeAdapter<T> adapter = (TypeAdapter<T>) gson.getAdapter(value.getClass());
+        adapter.write(out, value);
+    }
+
+    private TypeAdapter<? extends T> getDelegate(String typeName) {
+        Class<? extends T> clazz = classLookup.apply(typeName);
+        TypeAdapter<? extends T> delegate = delegates.get(clazz);
+        if (delegate == null) {
+            delegate = gson.getAdapter(clazz);
+            delegates.put(clazz, delegate);
+        }
+        return delegate;
+    }
+
+}
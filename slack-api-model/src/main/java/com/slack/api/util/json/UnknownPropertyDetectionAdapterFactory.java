@@ -13,9 +13,25 @@ import java.util.Map;
 
 /**
  * https://github.com/google/gson/issues/188#issuecomment-282746095
+ * <p>
+ * This factory works only with Gson's reflective adapters. For the classes handled by
+ * {@link ModelTypeAdapterFactory}, pass an {@link UnknownPropertyHandler} to the factory instead.
  */
 public class UnknownPropertyDetectionAdapterFactory implements TypeAdapterFactory {
 
+    // Resolved only once as looking up a declared field is not cheap
+    private static volatile Field boundFieldsField;
+
+    private static Field getBoundFieldsField(Class<?> adapterClass) throws NoSuchFieldException {
+        Field f = boundFieldsField;
+        if (f == null) {
+            f = adapterClass.getDeclaredField("boundFields");
+            f.setAccessible(true);
+            boundFieldsField = f;
+        }
+        return f;
+    }
+
     @Override
     public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
         // If the type adapter is a reflective type adapter, we want to modify the implementation using reflection. The
@@ -28,8 +44,7 @@ public class UnknownPropertyDetectionAdapterFactory implements TypeAdapterFactor
 
             try {
                 // Get reference to the existing boundFields.
-                Field f = delegate.getClass().getDeclaredField("boundFields");
-                f.setAccessible(true);
+                Field f = getBoundFieldsField(delegate.getClass());
                 Map boundFields = (Map) f.get(delegate);
                 StringBuilder sb = new StringBuilder();
                 for (Object key : boundFields.keySet()) {
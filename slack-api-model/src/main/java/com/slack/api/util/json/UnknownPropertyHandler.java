@@ -0,0 +1,44 @@
+package com.slack.api.util.json;
+
+import com.google.gson.JsonParseException;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Handles the JSON properties that don't match any field of the class being deserialized by
+ * {@link ModelTypeAdapterFactory}. This handler is invoked on the parsing thread, so it should return quickly.
+ */
+@FunctionalInterface
+public interface UnknownPropertyHandler {
+
+    /**
+     * Stops deserializing by throwing an exception. The message is the same as
+     * {@link UnknownPropertyDetectionAdapterFactory}'s.
+     */
+    UnknownPropertyHandler FAIL = new UnknownPropertyHandler() {
+        @Override
+        public void onUnknownProperty(Class<?> type, String propertyName) {
+            onUnknownProperty(type, propertyName, Collections.emptyList());
+        }
+
+        @Override
+        public void onUnknownProperty(Class<?> type, String propertyName, Collection<String> knownNames) {
+            StringBuilder sb = new StringBuilder();
+            for (String name : knownNames) {
+                sb.append(name + ", ");
+            }
+            throw new JsonParseException("Unknown property detected: " + propertyName + " in " + sb.append("...").toString());
+        }
+    };
+
+    void onUnknownProperty(Class<?> type, String propertyName);
+
+    /**
+     * @param knownNames the property names of the class in the declaration order
+     */
+    default void onUnknownProperty(Class<?> type, String propertyName, Collection<String> knownNames) {
+        onUnknownProperty(type, propertyName);
+    }
+
+}
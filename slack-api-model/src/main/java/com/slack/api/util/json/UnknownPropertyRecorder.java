@@ -0,0 +1,106 @@
+package com.slack.api.util.json;
+
+import com.slack.api.util.thread.ExecutorServiceFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An unknown property handler that counts the unknown properties per class instead of failing.
+ * <p>
+ * Recording an occurrence is a map lookup and a counter increment. When a property is detected
+ * for the first time, the listeners are notified in a background thread.
+ */
+public class UnknownPropertyRecorder implements UnknownPropertyHandler {
+
+    private static final UnknownPropertyRecorder INSTANCE = new UnknownPropertyRecorder();
+
+    public static UnknownPropertyRecorder getInstance() {
+        return INSTANCE;
+    }
+
+    @FunctionalInterface
+    public interface Listener {
+        void onNewUnknownProperty(Class<?> type, String propertyName);
+    }
+
+    // Class -> Property name -> Count
+    private final ConcurrentMap<Class<?>, ConcurrentMap<String, LongAdder>> counts = new ConcurrentHashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    // lazily created as most apps don't register any listeners
+    private volatile ExecutorService notifier;
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public void onUnknownProperty(Class<?> type, String propertyName) {
+        ConcurrentMap<String, LongAdder> properties = counts.get(type);
+        if (properties == null) {
+            properties = counts.computeIfAbsent(type, t -> new ConcurrentHashMap<>());
+        }
+        LongAdder count = properties.get(propertyName);
+        if (count == null) {
+            LongAdder newCount = new LongAdder();
+            count = properties.putIfAbsent(propertyName, newCount);
+            if (count == null) {
+                count = newCount;
+                notifyListeners(type, propertyName);
+            }
+        }
+        count.increment();
+    }
+
+    /**
+     * Returns the number of occurrences of the unknown properties. The keys are the class names.
+     */
+    public Map<String, Map<String, Long>> getCounts() {
+        Map<String, Map<String, Long>> result = new HashMap<>();
+        for (Map.Entry<Class<?>, ConcurrentMap<String, LongAdder>> type : counts.entrySet()) {
+            Map<String, Long> properties = new HashMap<>();
+            for (Map.Entry<String, LongAdder> property : type.getValue().entrySet()) {
+                properties.put(property.getKey(), property.getValue().sum());
+            }
+            result.put(type.getKey().getName(), properties);
+        }
+        return result;
+    }
+
+    public void clear() {
+        counts.clear();
+    }
+
+    private void notifyListeners(Class<?> type, String propertyName) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        getOrCreateNotifier().execute(() -> {
+            for (Listener listener : listeners) {
+                listener.onNewUnknownProperty(type, propertyName);
+            }
+        });
+    }
+
+    private ExecutorService getOrCreateNotifier() {
+        if (notifier == null) {
+            synchronized (this) {
+                if (notifier == null) {
+                    notifier = ExecutorServiceFactory.createDaemonThreadPoolExecutor("slack-unknown-property-recorder", 1);
+                }
+            }
+        }
+        return notifier;
+    }
+
+}